@@ -0,0 +1,316 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.aws.common;
+
+import com.github.tsc4j.core.Tsc4jException;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Minimal EC2 instance metadata service (IMDS) client.
+ * <p>
+ * Unlike SDK metadata utilities, which request new IMDSv2 session token for every metadata request, this client
+ * obtains session token once and reuses it for all requests until it's about to expire. If instance metadata service
+ * doesn't support session tokens, client falls back to IMDSv1 requests. Instances are thread-safe.
+ *
+ * @see <a href="https://docs.aws.amazon.com/AWSEC2/latest/UserGuide/configuring-instance-metadata-service.html">IMDS</a>
+ */
+@Slf4j
+public final class EC2MetadataClient {
+    /**
+     * Default instance metadata service endpoint (value: <b>{@value}</b>)
+     */
+    public static final String DEFAULT_ENDPOINT = "http://169.254.169.254";
+
+    /**
+     * Default session token time-to-live, maximum allowed by IMDS.
+     */
+    public static final Duration DEFAULT_TOKEN_TTL = Duration.ofHours(6);
+
+    /**
+     * Default connect and read timeout.
+     */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final String TOKEN_PATH = "api/token";
+    private static final String TOKEN_HEADER = "X-aws-ec2-metadata-token";
+    private static final String TOKEN_TTL_HEADER = "X-aws-ec2-metadata-token-ttl-seconds";
+
+    /**
+     * Token is renewed this long before it's expiration.
+     */
+    private static final Duration TOKEN_RENEWAL_MARGIN = Duration.ofMinutes(1);
+
+    private final String endpoint;
+    private final Duration tokenTtl;
+    private final int timeoutMillis;
+    private final Clock clock;
+
+    private final AtomicLong numTokenRequests = new AtomicLong();
+
+    /**
+     * Guards session creation; lock instead of monitor, because session is created while doing blocking I/O which
+     * would pin carrier of a virtual thread.
+     */
+    private final Lock sessionLock = new ReentrantLock();
+    private volatile Session session;
+
+    /**
+     * Creates new instance with default token ttl and timeouts.
+     *
+     * @param endpoint instance metadata service endpoint, for example {@value #DEFAULT_ENDPOINT}
+     */
+    public EC2MetadataClient(@NonNull String endpoint) {
+        this(endpoint, DEFAULT_TOKEN_TTL, DEFAULT_TIMEOUT, Clock.systemUTC());
+    }
+
+    /**
+     * Creates new instance.
+     *
+     * @param endpoint instance metadata service endpoint, for example {@value #DEFAULT_ENDPOINT}
+     * @param tokenTtl session token time-to-live, must be between 1 second and 6 hours
+     * @param timeout  connect and read timeout
+     * @param clock    clock used to track token expiration
+     * @throws IllegalArgumentException in case of invalid arguments
+     */
+    public EC2MetadataClient(@NonNull String endpoint,
+                             @NonNull Duration tokenTtl,
+                             @NonNull Duration timeout,
+                             @NonNull Clock clock) {
+        val ep = endpoint.trim().replaceAll("/+$", "");
+        if (ep.isEmpty()) {
+            throw new IllegalArgumentException("EC2 metadata endpoint cannot be empty.");
+        }
+        if (tokenTtl.getSeconds() < 1 || tokenTtl.compareTo(DEFAULT_TOKEN_TTL) > 0) {
+            throw new IllegalArgumentException("Invalid EC2 metadata token ttl: " + tokenTtl);
+        }
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Invalid EC2 metadata timeout: " + timeout);
+        }
+
+        this.endpoint = ep;
+        this.tokenTtl = tokenTtl;
+        this.timeoutMillis = (int) Math.min(Integer.MAX_VALUE, timeout.toMillis());
+        this.clock = clock;
+    }
+
+    /**
+     * Returns instance metadata service endpoint.
+     *
+     * @return endpoint
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Returns number of session token requests issued so far.
+     *
+     * @return number of token requests
+     */
+    public long getNumTokenRequests() {
+        return numTokenRequests.get();
+    }
+
+    /**
+     * Fetches metadata item.
+     *
+     * @param path item path relative to {@code /latest/}, for example {@code meta-data/instance-id}
+     * @return optional of item value, empty if item doesn't exist
+     * @throws Tsc4jException if item can't be fetched
+     */
+    public Optional<String> get(@NonNull String path) {
+        try {
+            Response response = doGet(path, session());
+            if (response.code == HttpURLConnection.HTTP_UNAUTHORIZED) {
+                log.debug("{} session token has been rejected, requesting new one.", this);
+                session = null;
+                response = doGet(path, session());
+            }
+
+            if (response.code == HttpURLConnection.HTTP_NOT_FOUND) {
+                return Optional.empty();
+            } else if (response.code != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Unexpected HTTP response status: " + response.code);
+            }
+            return Optional.of(response.body);
+        } catch (IOException e) {
+            throw Tsc4jException.of("Error fetching EC2 metadata item %s: %%s", e, path);
+        }
+    }
+
+    /**
+     * Fetches metadata item that contains newline separated list of values, such as metadata directory listing.
+     *
+     * @param path item path relative to {@code /latest/}
+     * @return optional of list of non-empty trimmed values, empty if item doesn't exist
+     * @throws Tsc4jException if item can't be fetched
+     * @see #get(String)
+     */
+    public Optional<List<String>> getList(@NonNull String path) {
+        return get(path).map(EC2MetadataClient::toList);
+    }
+
+    private static List<String> toList(String body) {
+        return Arrays.stream(body.split("\n"))
+            .map(String::trim)
+            .filter(e -> !e.isEmpty())
+            .collect(Collectors.toList());
+    }
+
+    private Response doGet(String path, Session session) throws IOException {
+        val conn = openConnection(path, "GET");
+        if (session.token != null) {
+            conn.setRequestProperty(TOKEN_HEADER, session.token);
+        }
+        return execute(conn);
+    }
+
+    /**
+     * Returns current session, requesting new session token if there is no valid one.
+     *
+     * @return session
+     * @throws IOException in case of I/O errors
+     */
+    private Session session() throws IOException {
+        val current = session;
+        if (current != null && current.isValid(clock.millis())) {
+            return current;
+        }
+
+        sessionLock.lock();
+        try {
+            if (session == null || !session.isValid(clock.millis())) {
+                session = createSession();
+            }
+            return session;
+        } finally {
+            sessionLock.unlock();
+        }
+    }
+
+    private Session createSession() throws IOException {
+        val renewAt = clock.millis() + tokenTtl.toMillis() - Math.min(
+            TOKEN_RENEWAL_MARGIN.toMillis(), tokenTtl.toMillis() / 2);
+
+        val conn = openConnection(TOKEN_PATH, "PUT");
+        conn.setRequestProperty(TOKEN_TTL_HEADER, Long.toString(tokenTtl.getSeconds()));
+        conn.setDoOutput(true);
+        conn.setFixedLengthStreamingMode(0);
+        numTokenRequests.incrementAndGet();
+        val response = execute(conn);
+
+        if (response.code == HttpURLConnection.HTTP_OK) {
+            log.debug("{} obtained new IMDSv2 session token.", this);
+            return new Session(response.body.trim(), renewAt);
+        } else if (response.code == HttpURLConnection.HTTP_FORBIDDEN
+            || response.code == HttpURLConnection.HTTP_NOT_FOUND
+            || response.code == HttpURLConnection.HTTP_BAD_METHOD) {
+            log.debug("{} IMDSv2 session tokens are not supported (HTTP status {}), using IMDSv1.",
+                this, response.code);
+            return new Session(null, renewAt);
+        }
+        throw new IOException("Unable to obtain IMDSv2 session token, HTTP response status: " + response.code);
+    }
+
+    private HttpURLConnection openConnection(String path, String method) throws IOException {
+        val url = new URL(endpoint + "/latest/" + path);
+        val conn = (HttpURLConnection) url.openConnection(Proxy.NO_PROXY);
+        conn.setRequestMethod(method);
+        conn.setConnectTimeout(timeoutMillis);
+        conn.setReadTimeout(timeoutMillis);
+        conn.setUseCaches(false);
+        conn.setInstanceFollowRedirects(false);
+        return conn;
+    }
+
+    private Response execute(HttpURLConnection conn) throws IOException {
+        if (conn.getDoOutput()) {
+            conn.getOutputStream().close();
+        }
+
+        val code = conn.getResponseCode();
+        val stream = (code < HttpURLConnection.HTTP_BAD_REQUEST) ? conn.getInputStream() : conn.getErrorStream();
+        return new Response(code, readBody(stream));
+    }
+
+    private static String readBody(InputStream stream) throws IOException {
+        if (stream == null) {
+            return "";
+        }
+
+        try (val in = stream) {
+            val out = new ByteArrayOutputStream();
+            val buf = new byte[4096];
+            int len;
+            while ((len = in.read(buf)) != -1) {
+                out.write(buf, 0, len);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + endpoint + ")";
+    }
+
+    /**
+     * IMDS session: session token (null if IMDSv1 is used) and time at which it needs to be renewed.
+     */
+    private static final class Session {
+        private final String token;
+        private final long renewAtMillis;
+
+        Session(String token, long renewAtMillis) {
+            this.token = token;
+            this.renewAtMillis = renewAtMillis;
+        }
+
+        boolean isValid(long nowMillis) {
+            return nowMillis < renewAtMillis;
+        }
+    }
+
+    private static final class Response {
+        private final int code;
+        private final String body;
+
+        Response(int code, String body) {
+            this.code = code;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.aws.common;
+
+import com.github.tsc4j.core.Tsc4jImplUtils;
+import com.github.tsc4j.core.impl.Stopwatch;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigParseOptions;
+import com.typesafe.config.ConfigSyntax;
+import com.typesafe.config.ConfigValue;
+import com.typesafe.config.ConfigValueFactory;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reads EC2 instance metadata into a {@link Config}.
+ * <p>
+ * Most of instance metadata can't change during the lifetime of a running instance; such items are fetched once
+ * and memoized, subsequent reads fetch only mutable items (pending instance actions, IAM instance profile, network
+ * interfaces and security groups). Items are fetched concurrently if parallel fetching is enabled. Items that can't
+ * be fetched are omitted from the result and are retried on next read. Instances are thread-safe.
+ */
+@Slf4j
+public final class EC2MetadataReader {
+    private static final String ORIGIN_DESCRIPTION = "AWS EC2 metadata";
+
+    /**
+     * Bulkhead in which parallel metadata requests are executed.
+     *
+     * @see Tsc4jImplUtils#runTasks(String, java.util.Collection, boolean)
+     */
+    private static final String BULKHEAD = "aws.ec2.metadata";
+
+    private static final String INTERFACES_PATH = "meta-data/network/interfaces/macs/";
+    private static final String IDENTITY_DOCUMENT_PATH = "dynamic/instance-identity/document";
+    private static final String BLOCK_DEVICE_MAPPING_PATH = "meta-data/block-device-mapping/";
+
+    /**
+     * Network interface string attributes: metadata name -&gt; config key.
+     */
+    private static final Map<String, String> INTERFACE_ATTRIBUTES = newOrderedMap(
+        "owner-id", "owner-id",
+        "profile", "profile",
+        "local-hostname", "hostname",
+        "public-hostname", "public-hostname",
+        "subnet-ipv4-cidr-block", "subnet-ipv4-cidr-block",
+        "subnet-id", "subnet-id",
+        "vpc-ipv4-cidr-block", "vpc-ipv4-cidr-block",
+        "vpc-id", "vpc-id");
+
+    /**
+     * Network interface list attributes, metadata names are the same as config keys.
+     */
+    private static final List<String> INTERFACE_LIST_ATTRIBUTES = Collections.unmodifiableList(Arrays.asList(
+        "local-ipv4s", "public-ipv4s", "security-groups", "security-group-ids"));
+
+    private final EC2MetadataClient client;
+    private final boolean parallel;
+    private final List<Item> items;
+
+    /**
+     * Memoized values of immutable items; items that don't exist are memoized as empty optionals.
+     */
+    private final Map<String, Optional<ConfigValue>> immutableValues = new ConcurrentHashMap<>();
+
+    /**
+     * Creates new instance.
+     *
+     * @param client   instance metadata client
+     * @param parallel fetch metadata items concurrently?
+     */
+    public EC2MetadataReader(@NonNull EC2MetadataClient client, boolean parallel) {
+        this.client = client;
+        this.parallel = parallel;
+        this.items = Collections.unmodifiableList(Arrays.asList(
+            immutable("ami-id", () -> string("meta-data/ami-id")),
+            immutable("ami-launch-index", () -> string("meta-data/ami-launch-index")),
+            immutable("ami-manifest-path", () -> string("meta-data/ami-manifest-path")),
+            immutable("ancestor-ami-ids", () -> list("meta-data/ancestor-ami-ids")),
+            immutable("availability-zone", () -> string("meta-data/placement/availability-zone")),
+            immutable("block-device-mapping", this::blockDeviceMapping),
+            immutable("ec2-instance-region", () -> identityDocument().map(e -> e.get("region")).orElse(null)),
+            immutable("host-address-for-ec2-metadata-service", client::getEndpoint),
+            mutable("iam-instance-profile-info", () -> json("meta-data/iam/info")),
+            mutable("instance-action", () -> string("meta-data/instance-action")),
+            immutable("instance-id", () -> string("meta-data/instance-id")),
+            immutable("instance-info", () -> identityDocument().orElse(null)),
+            immutable("instance-signature", () -> string("dynamic/instance-identity/signature")),
+            immutable("instance-type", () -> string("meta-data/instance-type")),
+            immutable("local-host-name", () -> string("meta-data/local-hostname")),
+            immutable("mac-address", () -> string("meta-data/mac")),
+            mutable("network-interfaces", this::networkInterfaces),
+            immutable("private-ip-address", () -> string("meta-data/local-ipv4")),
+            immutable("product-codes", () -> list("meta-data/product-codes")),
+            immutable("public-key", () -> string("meta-data/public-keys/0/openssh-key")),
+            immutable("ramdisk-id", () -> string("meta-data/ramdisk-id")),
+            immutable("reservation-id", () -> string("meta-data/reservation-id")),
+            mutable("security-groups", () -> list("meta-data/security-groups")),
+            immutable("user-data", () -> string("user-data"))
+        ));
+    }
+
+    /**
+     * Reads instance metadata.
+     *
+     * @return config containing instance metadata items.
+     */
+    public Config read() {
+        val sw = new Stopwatch();
+        val pending = items.stream()
+            .filter(it -> !(it.immutable && immutableValues.containsKey(it.key)))
+            .collect(Collectors.toList());
+        val tasks = pending.stream()
+            .map(it -> (Callable<Optional<ConfigValue>>) () -> fetch(it))
+            .collect(Collectors.toList());
+        val results = Tsc4jImplUtils.runTasks(BULKHEAD, tasks, parallel);
+
+        val fetched = new LinkedHashMap<String, Optional<ConfigValue>>();
+        for (int i = 0; i < pending.size(); i++) {
+            val item = pending.get(i);
+            val value = results.get(i);
+            if (value != null) {
+                fetched.put(item.key, value);
+                if (item.immutable) {
+                    immutableValues.put(item.key, value);
+                }
+            }
+        }
+
+        val map = new LinkedHashMap<String, ConfigValue>();
+        items.forEach(it -> {
+            val value = it.immutable ? immutableValues.get(it.key) : fetched.get(it.key);
+            if (value != null && value.isPresent()) {
+                map.put(it.key, value.get());
+            }
+        });
+
+        log.debug("{} fetched {}/{} metadata item(s) in {}", this, fetched.size(), items.size(), sw);
+        return ConfigValueFactory.fromMap(map, ORIGIN_DESCRIPTION).toConfig();
+    }
+
+    /**
+     * Fetches single item.
+     *
+     * @param item item to fetch
+     * @return optional of item value, empty if item doesn't exist, null if item couldn't be fetched.
+     */
+    private Optional<ConfigValue> fetch(Item item) {
+        try {
+            return Optional.ofNullable(item.fetcher.call())
+                .map(e -> ConfigValueFactory.fromAnyRef(e, ORIGIN_DESCRIPTION));
+        } catch (Exception e) {
+            log.warn("{} error fetching ec2 metadata path {}: {}", this, item.key, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private String string(String path) {
+        return client.get(path).orElse(null);
+    }
+
+    private List<String> list(String path) {
+        return client.getList(path).orElse(null);
+    }
+
+    private Map<String, Object> json(String path) {
+        return client.get(path).map(EC2MetadataReader::parseJson).orElse(null);
+    }
+
+    private Optional<Map<String, Object>> identityDocument() {
+        return Optional.ofNullable(json(IDENTITY_DOCUMENT_PATH));
+    }
+
+    private Map<String, String> blockDeviceMapping() {
+        return client.getList(BLOCK_DEVICE_MAPPING_PATH)
+            .map(names -> {
+                val result = new LinkedHashMap<String, String>();
+                names.forEach(name -> client.get(BLOCK_DEVICE_MAPPING_PATH + name)
+                    .ifPresent(value -> result.put(name, value.trim())));
+                return result;
+            })
+            .orElse(null);
+    }
+
+    private List<Map<String, Object>> networkInterfaces() {
+        val macs = client.getList(INTERFACES_PATH).orElse(null);
+        if (macs == null) {
+            return null;
+        }
+
+        val tasks = macs.stream()
+            .map(EC2MetadataReader::stripTrailingSlash)
+            .map(mac -> (Callable<Map<String, Object>>) () -> networkInterface(mac))
+            .collect(Collectors.toList());
+        return Tsc4jImplUtils.runTasks(BULKHEAD, tasks, parallel);
+    }
+
+    private Map<String, Object> networkInterface(String mac) {
+        val path = INTERFACES_PATH + mac + "/";
+        val available = client.getList(path).orElse(Collections.emptyList()).stream()
+            .map(EC2MetadataReader::stripTrailingSlash)
+            .collect(Collectors.toSet());
+
+        val result = new LinkedHashMap<String, Object>();
+        result.put("mac-address", mac);
+        INTERFACE_ATTRIBUTES.forEach((name, key) -> {
+            if (available.contains(name)) {
+                client.get(path + name).ifPresent(value -> result.put(key, value.trim()));
+            }
+        });
+        INTERFACE_LIST_ATTRIBUTES.forEach(name -> {
+            if (available.contains(name)) {
+                client.getList(path + name).ifPresent(value -> result.put(name, value));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Parses metadata JSON document and converts it's camel-cased keys to config-style lower-cased hyphenated keys;
+     * {@code null} values are omitted.
+     *
+     * @param json json document
+     * @return map
+     */
+    private static Map<String, Object> parseJson(String json) {
+        val options = ConfigParseOptions.defaults()
+            .setSyntax(ConfigSyntax.JSON)
+            .setOriginDescription(ORIGIN_DESCRIPTION);
+        val result = new LinkedHashMap<String, Object>();
+        ConfigFactory.parseString(json, options).root().unwrapped().forEach((key, value) -> {
+            if (value != null) {
+                result.put(toHyphenated(key), value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Converts camel-cased string to lower-cased hyphenated string, for example {@code InstanceProfileArn} to
+     * {@code instance-profile-arn}.
+     *
+     * @param s string
+     * @return hyphenated string
+     */
+    static String toHyphenated(@NonNull String s) {
+        val sb = new StringBuilder(s.length() + 8);
+        for (int i = 0; i < s.length(); i++) {
+            val c = s.charAt(i);
+            if (Character.isUpperCase(c)) {
+                if (i > 0 && !Character.isUpperCase(s.charAt(i - 1))) {
+                    sb.append('-');
+                }
+                sb.append(Character.toLowerCase(c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String stripTrailingSlash(String s) {
+        return s.endsWith("/") ? s.substring(0, s.length() - 1) : s;
+    }
+
+    private static Map<String, String> newOrderedMap(String... keysAndValues) {
+        val map = new LinkedHashMap<String, String>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static Item immutable(String key, Callable<Object> fetcher) {
+        return new Item(key, true, fetcher);
+    }
+
+    private static Item mutable(String key, Callable<Object> fetcher) {
+        return new Item(key, false, fetcher);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + client.getEndpoint() + ")";
+    }
+
+    /**
+     * Metadata item definition.
+     */
+    private static final class Item {
+        private final String key;
+        private final boolean immutable;
+        private final Callable<Object> fetcher;
+
+        Item(String key, boolean immutable, Callable<Object> fetcher) {
+            this.key = key;
+            this.immutable = immutable;
+            this.fetcher = fetcher;
+        }
+    }
+}
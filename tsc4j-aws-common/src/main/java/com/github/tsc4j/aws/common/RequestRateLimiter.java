@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.aws.common;
+
+import com.github.tsc4j.core.Tsc4jException;
+import lombok.val;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocking rate limiter that spaces AWS API requests evenly, so that requests issued concurrently by multiple
+ * threads sharing the instance don't exceed configured rate and don't get throttled.
+ */
+public final class RequestRateLimiter {
+    private final double maxPerSecond;
+    private final long intervalNanos;
+
+    /**
+     * Earliest time at which next permit can be handed out, guarded by {@code this}.
+     */
+    private long nextPermitNanos = System.nanoTime();
+
+    /**
+     * Creates new instance.
+     *
+     * @param maxPerSecond maximum number of requests per second, must be positive
+     * @throws IllegalArgumentException in case of invalid rate
+     */
+    public RequestRateLimiter(double maxPerSecond) {
+        if (!(maxPerSecond > 0)) {
+            throw new IllegalArgumentException("Max requests per second must be positive: " + maxPerSecond);
+        }
+        this.maxPerSecond = maxPerSecond;
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / maxPerSecond));
+    }
+
+    /**
+     * Blocks until request is allowed to be issued.
+     *
+     * @throws Tsc4jException if thread is interrupted while waiting
+     */
+    public void acquire() {
+        val waitNanos = reserve();
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw Tsc4jException.of("Interrupted while waiting for AWS request permit: %%s", e);
+            }
+        }
+    }
+
+    /**
+     * Reserves next permit.
+     *
+     * @return number of nanoseconds caller needs to wait before using the permit
+     */
+    private synchronized long reserve() {
+        val now = System.nanoTime();
+        val permitAt = Math.max(now, nextPermitNanos);
+        nextPermitNanos = permitAt + intervalNanos;
+        return permitAt - now;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + maxPerSecond + "/s)";
+    }
+}
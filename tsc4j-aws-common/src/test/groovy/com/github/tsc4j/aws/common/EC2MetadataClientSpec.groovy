@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.aws.common
+
+import com.github.tsc4j.core.Tsc4jException
+import com.github.tsc4j.testsupport.TestClock
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Clock
+import java.time.Duration
+
+@Unroll
+class EC2MetadataClientSpec extends Specification {
+    @AutoCleanup
+    def server = new FakeEc2MetadataServer()
+
+    def "should refuse invalid token ttl: #ttl"() {
+        when:
+        new EC2MetadataClient(server.endpoint, ttl, Duration.ofSeconds(1), Clock.systemUTC())
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        ttl << [Duration.ZERO, Duration.ofMillis(500), Duration.ofHours(7)]
+    }
+
+    def "should reuse single session token for many requests"() {
+        given:
+        server.items.put('meta-data/instance-id', 'i-123')
+        def client = new EC2MetadataClient(server.endpoint + "/")
+
+        when:
+        def results = (1..10).collect { client.get('meta-data/instance-id') }
+
+        then:
+        results.every { it.get() == 'i-123' }
+        client.getNumTokenRequests() == 1
+        server.numRequests('api/token') == 1
+        server.numRequests('meta-data/instance-id') == 10
+    }
+
+    def "should renew session token before it expires"() {
+        given:
+        server.items.put('meta-data/instance-id', 'i-123')
+        def clock = new TestClock()
+        def client = new EC2MetadataClient(server.endpoint, Duration.ofMinutes(5), Duration.ofSeconds(1), clock)
+
+        when: "token is obtained"
+        client.get('meta-data/instance-id')
+
+        then:
+        client.getNumTokenRequests() == 1
+
+        when: "token is still valid"
+        clock.plus(Duration.ofSeconds(30))
+        client.get('meta-data/instance-id')
+
+        then:
+        client.getNumTokenRequests() == 1
+
+        when: "token is about to expire"
+        clock.plus(Duration.ofSeconds(240))
+        client.get('meta-data/instance-id')
+
+        then:
+        client.getNumTokenRequests() == 2
+    }
+
+    def "should fall back to IMDSv1 if session tokens are not supported"() {
+        given:
+        server.tokensSupported = false
+        server.items.put('meta-data/ami-id', 'ami-1')
+        def client = new EC2MetadataClient(server.endpoint)
+
+        expect:
+        client.get('meta-data/ami-id').get() == 'ami-1'
+        client.get('meta-data/ami-id').get() == 'ami-1'
+        server.numRequests('api/token') == 1
+    }
+
+    def "should return empty optional for non-existing item"() {
+        given:
+        def client = new EC2MetadataClient(server.endpoint)
+
+        expect:
+        !client.get('meta-data/non-existing').isPresent()
+        !client.getList('meta-data/non-existing').isPresent()
+    }
+
+    def "should split list items"() {
+        given:
+        server.items.put('meta-data/security-groups', 'a\nb \n\nc\n')
+        def client = new EC2MetadataClient(server.endpoint)
+
+        expect:
+        client.getList('meta-data/security-groups').get() == ['a', 'b', 'c']
+    }
+
+    def "should throw tsc4j exception if metadata service is not reachable"() {
+        given:
+        def port = new ServerSocket(0).withCloseable { it.getLocalPort() }
+        def client = new EC2MetadataClient("http://127.0.0.1:" + port)
+
+        when:
+        client.get('meta-data/instance-id')
+
+        then:
+        def ex = thrown(Tsc4jException)
+        ex.message.contains('meta-data/instance-id')
+    }
+}
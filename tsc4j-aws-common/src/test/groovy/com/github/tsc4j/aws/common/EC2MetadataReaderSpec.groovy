@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.aws.common
+
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+import spock.lang.Unroll
+
+@Unroll
+class EC2MetadataReaderSpec extends Specification {
+    static final String MAC = '0e:49:61:0f:c3:11'
+    static final String IFACE = "meta-data/network/interfaces/macs/${MAC}/"
+
+    @AutoCleanup
+    def server = new FakeEc2MetadataServer()
+
+    def setup() {
+        server.items.putAll([
+            'meta-data/ami-id'                             : 'ami-0a887e401f7654935',
+            'meta-data/instance-id'                        : 'i-1234567890abcdef0',
+            'meta-data/instance-action'                    : 'none',
+            'meta-data/placement/availability-zone'        : 'us-east-1a',
+            'meta-data/security-groups'                    : 'sg-a\nsg-b',
+            'meta-data/block-device-mapping/'              : 'ami\nroot',
+            'meta-data/block-device-mapping/ami'           : '/dev/xvda',
+            'meta-data/block-device-mapping/root'          : '/dev/xvda',
+            'meta-data/iam/info'                           : '{"Code":"Success","InstanceProfileArn":"arn:x","LastUpdated":"2020"}',
+            'dynamic/instance-identity/document'           : '{"accountId":"0123456789","region":"us-east-1","kernelId":null,"privateIp":"10.0.7.10"}',
+            'meta-data/network/interfaces/macs/'           : "${MAC}/".toString(),
+            (IFACE.toString())                             : 'local-hostname\nlocal-ipv4s\nvpc-id\n',
+            (IFACE + 'local-hostname').toString()          : 'ip-10-0-7-10',
+            (IFACE + 'local-ipv4s').toString()             : '10.0.7.10\n10.0.7.11',
+            (IFACE + 'vpc-id').toString()                  : 'vpc-1',
+        ])
+    }
+
+    def "should convert camel case '#str' to '#expected'"() {
+        expect:
+        EC2MetadataReader.toHyphenated(str) == expected
+
+        where:
+        str                  | expected
+        ""                   | ""
+        "region"             | "region"
+        "privateIp"          | "private-ip"
+        "InstanceProfileArn" | "instance-profile-arn"
+        "imageID"            | "image-id"
+    }
+
+    def "should read metadata with parallel: #parallel"() {
+        given:
+        def reader = new EC2MetadataReader(new EC2MetadataClient(server.endpoint), parallel)
+
+        when:
+        def config = reader.read()
+
+        then:
+        with(config) {
+            getString('ami-id') == 'ami-0a887e401f7654935'
+            getString('instance-id') == 'i-1234567890abcdef0'
+            getString('instance-action') == 'none'
+            getString('availability-zone') == 'us-east-1a'
+            getString('ec2-instance-region') == 'us-east-1'
+            getString('host-address-for-ec2-metadata-service') == server.endpoint
+            getStringList('security-groups') == ['sg-a', 'sg-b']
+            getConfig('block-device-mapping').root().unwrapped() == [ami: '/dev/xvda', root: '/dev/xvda']
+            getConfig('iam-instance-profile-info').root().unwrapped() ==
+                [code: 'Success', 'instance-profile-arn': 'arn:x', 'last-updated': '2020']
+            getConfig('instance-info').root().unwrapped() ==
+                ['account-id': '0123456789', region: 'us-east-1', 'private-ip': '10.0.7.10']
+
+            def ifaces = getConfigList('network-interfaces')
+            ifaces.size() == 1
+            ifaces[0].root().unwrapped() == [
+                'mac-address': MAC,
+                hostname     : 'ip-10-0-7-10',
+                'vpc-id'     : 'vpc-1',
+                'local-ipv4s': ['10.0.7.10', '10.0.7.11']
+            ]
+
+            // items that don't exist are omitted
+            !hasPath('user-data')
+            !hasPath('ramdisk-id')
+        }
+
+        and: "single session token was used"
+        server.numRequests('api/token') == 1
+
+        where:
+        parallel << [true, false]
+    }
+
+    def "should fetch immutable items only once"() {
+        given:
+        def reader = new EC2MetadataReader(new EC2MetadataClient(server.endpoint), true)
+
+        when:
+        def first = reader.read()
+        server.items.put('meta-data/instance-action', 'stop')
+        server.items.put('meta-data/ami-id', 'ami-changed')
+        server.items.put('user-data', 'foo')
+        def second = reader.read()
+
+        then: "immutable items, including non-existing ones are fetched once"
+        server.numRequests('meta-data/ami-id') == 1
+        server.numRequests('user-data') == 1
+        server.numRequests('dynamic/instance-identity/document') == 2 // region and instance info
+        second.getString('ami-id') == 'ami-0a887e401f7654935'
+        !second.hasPath('user-data')
+
+        and: "mutable items are refreshed"
+        server.numRequests('meta-data/instance-action') == 2
+        server.numRequests('meta-data/iam/info') == 2
+        server.numRequests('meta-data/network/interfaces/macs/') == 2
+        first.getString('instance-action') == 'none'
+        second.getString('instance-action') == 'stop'
+
+        and:
+        server.numRequests('api/token') == 1
+    }
+
+    def "should retry immutable items that failed to be fetched"() {
+        given:
+        def reader = new EC2MetadataReader(new EC2MetadataClient(server.endpoint), false)
+        server.failing.add('meta-data/instance-id')
+
+        when:
+        def first = reader.read()
+
+        then:
+        !first.hasPath('instance-id')
+        first.getString('ami-id') == 'ami-0a887e401f7654935'
+
+        when:
+        server.failing.clear()
+        def second = reader.read()
+
+        then:
+        second.getString('instance-id') == 'i-1234567890abcdef0'
+        server.numRequests('meta-data/instance-id') == 2
+        server.numRequests('meta-data/ami-id') == 1
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.aws.common
+
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpHandler
+import com.sun.net.httpserver.HttpServer
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Minimal in-process EC2 instance metadata service used by tests.
+ */
+class FakeEc2MetadataServer implements Closeable {
+    static final String TOKEN = "fake-imds-token"
+
+    /**
+     * Items served by the server: path relative to {@code /latest/} -> body
+     */
+    final Map<String, String> items = new ConcurrentHashMap<>()
+
+    /**
+     * Number of requests: path relative to {@code /latest/} -> count
+     */
+    final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>()
+
+    /**
+     * Paths for which server responds with internal server error.
+     */
+    final Set<String> failing = ConcurrentHashMap.newKeySet()
+
+    /**
+     * Whether server supports IMDSv2 session tokens.
+     */
+    volatile boolean tokensSupported = true
+
+    private final HttpServer server
+
+    FakeEc2MetadataServer() {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0)
+        server.createContext("/", { HttpExchange exchange -> handle(exchange) } as HttpHandler)
+        server.start()
+    }
+
+    String getEndpoint() {
+        "http://127.0.0.1:" + server.getAddress().getPort()
+    }
+
+    int numRequests(String path) {
+        requests.get(path)?.get() ?: 0
+    }
+
+    private void handle(HttpExchange exchange) {
+        def path = exchange.getRequestURI().getPath().replaceFirst('^/latest/', '')
+        requests.computeIfAbsent(path, { new AtomicInteger() }).incrementAndGet()
+
+        if (path == 'api/token') {
+            if (!tokensSupported) {
+                respond(exchange, 405, '')
+            } else if (exchange.getRequestMethod() == 'PUT' &&
+                exchange.getRequestHeaders().getFirst('X-aws-ec2-metadata-token-ttl-seconds')) {
+                respond(exchange, 200, TOKEN)
+            } else {
+                respond(exchange, 400, '')
+            }
+            return
+        }
+
+        if (tokensSupported && exchange.getRequestHeaders().getFirst('X-aws-ec2-metadata-token') != TOKEN) {
+            respond(exchange, 401, '')
+            return
+        }
+
+        if (failing.contains(path)) {
+            respond(exchange, 500, 'boom')
+            return
+        }
+
+        def body = items.get(path)
+        body == null ? respond(exchange, 404, '') : respond(exchange, 200, body)
+    }
+
+    private static void respond(HttpExchange exchange, int code, String body) {
+        def bytes = body.getBytes(StandardCharsets.UTF_8)
+        exchange.sendResponseHeaders(code, bytes.length == 0 ? -1 : bytes.length)
+        exchange.getResponseBody().withCloseable { it.write(bytes) }
+    }
+
+    @Override
+    void close() {
+        server.stop(0)
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.aws.common
+
+import com.github.tsc4j.core.Tsc4jException
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+@Unroll
+class RequestRateLimiterSpec extends Specification {
+    def "should refuse invalid rate: #rate"() {
+        when:
+        new RequestRateLimiter(rate)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        rate << [0, -1, Double.NaN]
+    }
+
+    def "should space requests evenly across threads"() {
+        given:
+        def limiter = new RequestRateLimiter(50)
+        def numRequests = 26
+        def executor = Executors.newFixedThreadPool(8)
+        def tasks = (1..numRequests).collect { { -> limiter.acquire(); System.nanoTime() } as Callable<Long> }
+
+        when:
+        def start = System.nanoTime()
+        def timestamps = executor.invokeAll(tasks).collect { it.get() }.sort()
+        def elapsedMillis = (timestamps.last() - start) / 1_000_000
+
+        then: "first permit is immediate, remaining ones are 20 msec apart"
+        elapsedMillis >= 480
+        elapsedMillis < 2000
+
+        cleanup:
+        executor?.shutdownNow()
+    }
+
+    def "should throw tsc4j exception if interrupted while waiting"() {
+        given:
+        def limiter = new RequestRateLimiter(0.1)
+        limiter.acquire()
+
+        when:
+        Thread.currentThread().interrupt()
+        limiter.acquire()
+
+        then:
+        thrown(Tsc4jException)
+        Thread.interrupted()
+    }
+}
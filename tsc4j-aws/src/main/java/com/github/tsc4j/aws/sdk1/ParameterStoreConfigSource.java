@@ -16,6 +16,7 @@
 
 package com.github.tsc4j.aws.sdk1;
 
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
 import com.github.tsc4j.aws.common.AwsConfig;
 import com.github.tsc4j.aws.common.WithAwsConfig;
 import com.github.tsc4j.core.AbstractConfigSource;
@@ -34,16 +35,32 @@ import lombok.val;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * <a href="https://docs.aws.amazon.com/systems-manager/latest/userguide/systems-manager-paramstore.html">AWS SSM
  * Parameter store</a> {@link ConfigSource} implementation. Fetches parameters from AWS SSM parameter store and builds
  * parameter tree.
+ * <p>
+ * By default parameters are fetched incrementally: every fetch lists parameters without decryption, which is cheap,
+ * and only new or changed secure string parameters are fetched again with decryption. When no parameter version
+ * changed since the last fetch, previously built config instance is returned.
  */
 public final class ParameterStoreConfigSource extends AbstractConfigSource {
     private final SsmFacade ssm;
     private final List<String> paths;
     private final String atPath;
+    private final boolean incremental;
+
+    /**
+     * Decrypted secure string parameters by name, reused while their version stays the same.
+     */
+    private final Map<String, Parameter> secureParams = new ConcurrentHashMap<>();
+
+    private volatile FetchResult lastResult;
 
     /**
      * Creates new instance.
@@ -55,6 +72,7 @@ public final class ParameterStoreConfigSource extends AbstractConfigSource {
         this.ssm = new SsmFacade(builder.getName(), builder.getAwsConfig(), true, builder.isParallel());
         this.paths = Tsc4jImplUtils.toUniqueList(builder.getPaths());
         this.atPath = builder.getAtPath();
+        this.incremental = builder.isIncremental();
     }
 
     /**
@@ -70,17 +88,65 @@ public final class ParameterStoreConfigSource extends AbstractConfigSource {
     protected List<Config> fetchConfigs(@NonNull ConfigQuery query) {
         val ssmPaths = interpolateVarStrings(paths, query);
         log.debug("{} will fetch parameters using SSM param store paths: {}", this, ssmPaths);
-        val params = ssm.fetchByPath(ssmPaths);
+        val params = incremental ? fetchIncrementally(ssmPaths) : ssm.fetchByPath(ssmPaths);
         log.trace("{} fetched {} parameters: {}", this, params.size(), params);
 
+        // parameter values can't change without their version being changed
+        val versions = params.stream()
+            .map(it -> it.getName() + "@" + ((it.getVersion() == null) ? it.getValue() : it.getVersion()))
+            .collect(Collectors.toList());
+        val last = lastResult;
+        if (last != null && last.versions.equals(versions) && last.ssmPaths.equals(ssmPaths)) {
+            log.debug("{} parameters didn't change, returning previously fetched config.", this);
+            return Collections.singletonList(last.config);
+        }
+
         // convert parameters to config an install at correct path
         val config = ssm.toConfig(params);
         val finalConfig = (this.atPath.isEmpty()) ? config : config.atPath(this.atPath);
         log.trace("{} fetched config: {}", this, finalConfig);
 
+        lastResult = new FetchResult(ssmPaths, versions, finalConfig);
         return Collections.singletonList(finalConfig);
     }
 
+    /**
+     * Lists parameters without decryption and fetches only new or changed secure string parameters with decryption.
+     *
+     * @param ssmPaths SSM parameter store paths
+     * @return list of parameters with decrypted values
+     */
+    private List<Parameter> fetchIncrementally(List<String> ssmPaths) {
+        val listed = ssm.fetchByPath(ssmPaths, false);
+
+        val changed = listed.stream()
+            .filter(SsmFacade::isSecure)
+            .filter(it -> !isCurrent(secureParams.get(it.getName()), it))
+            .map(Parameter::getName)
+            .distinct()
+            .collect(Collectors.toList());
+        if (!changed.isEmpty()) {
+            log.debug("{} decrypting {} new or changed secure parameter(s).", this, changed.size());
+            ssm.fetch(changed).forEach(it -> secureParams.put(it.getName(), it));
+        }
+
+        // forget parameters that don't exist anymore
+        val secureNames = listed.stream()
+            .filter(SsmFacade::isSecure)
+            .map(Parameter::getName)
+            .collect(Collectors.toSet());
+        secureParams.keySet().retainAll(secureNames);
+
+        return listed.stream()
+            .map(it -> SsmFacade.isSecure(it) ? secureParams.get(it.getName()) : it)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    private static boolean isCurrent(Parameter cached, Parameter listed) {
+        return cached != null && listed.getVersion() != null && listed.getVersion().equals(cached.getVersion());
+    }
+
     @Override
     protected void doClose() {
         super.doClose();
@@ -92,6 +158,21 @@ public final class ParameterStoreConfigSource extends AbstractConfigSource {
         return SsmFacade.TYPE;
     }
 
+    /**
+     * Result of the last fetch.
+     */
+    private static final class FetchResult {
+        final List<String> ssmPaths;
+        final List<String> versions;
+        final Config config;
+
+        FetchResult(List<String> ssmPaths, List<String> versions, Config config) {
+            this.ssmPaths = ssmPaths;
+            this.versions = versions;
+            this.config = config;
+        }
+    }
+
     /**
      * Builder class for {@link ParameterStoreConfigSource}.
      */
@@ -115,6 +196,13 @@ public final class ParameterStoreConfigSource extends AbstractConfigSource {
          */
         private String atPath = "";
 
+        /**
+         * Fetch parameters incrementally: list parameters without decryption and fetch only new or changed secure
+         * string parameters with decryption (default: true). Requires {@code ssm:GetParameters} permission in
+         * addition to {@code ssm:GetParametersByPath}.
+         */
+        private boolean incremental = true;
+
         /**
          * Adds single AWS SSM parameter store path, which might contain {@link ConfigQuery} magic variables.
          *
@@ -136,6 +224,7 @@ public final class ParameterStoreConfigSource extends AbstractConfigSource {
 
             cfgExtract(config, "paths", Config::getStringList, this::setPaths);
             cfgString(config, "at-path", this::setAtPath);
+            cfgBoolean(config, "incremental", this::setIncremental);
         }
 
         @Override
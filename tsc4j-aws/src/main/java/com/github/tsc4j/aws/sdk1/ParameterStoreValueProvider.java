@@ -49,7 +49,8 @@ public final class ParameterStoreValueProvider extends AbstractConfigValueProvid
      */
     protected ParameterStoreValueProvider(@NonNull Builder builder) {
         super(builder.getName(), SsmFacade.TYPE, SsmFacade.TYPE_ALIASES, builder.isAllowMissing(), builder.isParallel());
-        this.ssmFacade = new SsmFacade(builder.getName(), builder.getAwsConfig(), builder.isDecrypt(), builder.isParallel());
+        this.ssmFacade = new SsmFacade(builder.getName(), builder.getAwsConfig(), builder.isDecrypt(),
+            builder.isParallel(), builder.getMaxRequestsPerSecond());
     }
 
     /**
@@ -114,12 +115,19 @@ public final class ParameterStoreValueProvider extends AbstractConfigValueProvid
          */
         boolean decrypt = true;
 
+        /**
+         * Maximum number of AWS SSM requests per second, shared by all concurrently executing requests of the value
+         * provider; {@code 0} disables rate limiting (default: 0).
+         */
+        double maxRequestsPerSecond = 0;
+
         @Override
         public void withConfig(@NonNull Config config) {
             super.withConfig(config);
             getAwsConfig().withConfig(config);
             
             cfgBoolean(config, "decrypt", this::setDecrypt);
+            cfgExtract(config, "max-requests-per-second", Config::getDouble, this::setMaxRequestsPerSecond);
         }
 
         @Override
@@ -19,6 +19,7 @@ package com.github.tsc4j.aws.sdk1;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.github.tsc4j.aws.common.AwsConfig;
 import com.github.tsc4j.aws.common.WithAwsConfig;
@@ -30,18 +31,19 @@ import com.github.tsc4j.core.Tsc4jException;
 import com.github.tsc4j.core.Tsc4jImplUtils;
 import com.github.tsc4j.core.WithCache;
 import com.github.tsc4j.core.utils.CollectionUtils;
+import com.github.tsc4j.core.utils.CompressionUtils;
+import com.github.tsc4j.core.utils.PathIndex;
 import com.typesafe.config.Config;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.val;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
-import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -54,7 +56,7 @@ import java.util.stream.Stream;
  * <a href="https://aws.amazon.com/s3/">Amazon S3</a> implementation of {@link ConfigSource}.
  */
 public final class S3ConfigSource
-    extends FilesystemLikeConfigSource<Map<String, S3ObjectSummary>>
+    extends FilesystemLikeConfigSource<PathIndex<S3ObjectSummary>>
     implements WithCache<String, Config> {
     private static final String S3_URL_PREFIX = "s3://";
     private static final Pattern S3_URL_PATTERN = Pattern.compile("^" + S3_URL_PREFIX + "([\\w\\-\\.]+)/(.*)");
@@ -86,7 +88,8 @@ public final class S3ConfigSource
     protected S3ConfigSource(@NonNull Builder builder, @NonNull AmazonS3 s3Client) {
         super(builder);
         this.s3Client = s3Client;
-        this.cache = Tsc4jImplUtils.newCache(toString(), builder.getCacheTtl(), builder.getClock());
+        this.cache = Tsc4jImplUtils.newCache(
+            toString(), builder.getCacheTtl(), builder.getCacheMaxSize(), builder.getClock());
     }
 
     /**
@@ -138,13 +141,13 @@ public final class S3ConfigSource
     }
 
     @Override
-    protected Map<String, S3ObjectSummary> createFetchContext(@NonNull ConfigQuery query) {
+    protected PathIndex<S3ObjectSummary> createFetchContext(@NonNull ConfigQuery query) {
         val tasks = createFetchContextTasks(query);
         val results = runTasks(tasks, isParallel());
 
-        val map = new LinkedHashMap<String, S3ObjectSummary>();
-        results.forEach(e -> map.putAll(e));
-        return map;
+        val index = new PathIndex<S3ObjectSummary>();
+        results.forEach(index::putAll);
+        return index;
     }
 
     /**
@@ -153,11 +156,11 @@ public final class S3ConfigSource
      * @param query query
      * @return list of tasks
      */
-    private List<Callable<Map<String, S3ObjectSummary>>> createFetchContextTasks(@NonNull ConfigQuery query) {
+    private List<Callable<PathIndex<S3ObjectSummary>>> createFetchContextTasks(@NonNull ConfigQuery query) {
         return interpolateVarStrings(getPaths(), query).stream()
             .flatMap(this::restrictS3Path)
             .distinct()
-            .map(s3Url -> (Callable<Map<String, S3ObjectSummary>>) () -> fetchSummary(s3Url))
+            .map(s3Url -> (Callable<PathIndex<S3ObjectSummary>>) () -> fetchSummary(s3Url))
             .collect(Collectors.toList());
     }
 
@@ -170,8 +173,8 @@ public final class S3ConfigSource
     }
 
     @Override
-    protected Config loadConfig(String path, Map<String, S3ObjectSummary> context) {
-        val etag = Optional.ofNullable(context.get(path))
+    protected Config loadConfig(String path, PathIndex<S3ObjectSummary> context) {
+        val etag = context.get(path)
             .map(e -> e.getETag())
             .orElse("");
 
@@ -186,25 +189,28 @@ public final class S3ConfigSource
     }
 
     /**
-     * Fetches summary for s3Url and returns map of all objects.
+     * Fetches summary for s3Url and returns index of all objects; all result pages are fetched.
      *
      * @param s3Url s3 url with path
-     * @return map of object summaries; empty map is returned if s3 url or bucket doesn't exist.
+     * @return index of object summaries; empty index is returned if s3 url or bucket doesn't exist.
      * @throws RuntimeException if there was a problem fetching object summaries.
      * @see #createFetchContext(ConfigQuery)
      */
-    private Map<String, S3ObjectSummary> fetchSummary(String s3Url) {
-        val map = new LinkedHashMap<String, S3ObjectSummary>();
+    private PathIndex<S3ObjectSummary> fetchSummary(String s3Url) {
+        val index = new PathIndex<S3ObjectSummary>();
 
         try {
-            s3Client.listObjects(bucketName(s3Url), bucketPath(s3Url))
-                .getObjectSummaries()
-                .stream()
-                .sorted(Comparator.comparing(S3ObjectSummary::getKey))
-                .forEach(summary -> {
+            ObjectListing listing = s3Client.listObjects(bucketName(s3Url), bucketPath(s3Url));
+            while (true) {
+                listing.getObjectSummaries().forEach(summary -> {
                     val url = S3_URL_PREFIX + summary.getBucketName() + "/" + summary.getKey();
-                    map.put(url, summary);
+                    index.put(url, summary);
                 });
+                if (!listing.isTruncated()) {
+                    break;
+                }
+                listing = s3Client.listNextBatchOfObjects(listing);
+            }
         } catch (AmazonS3Exception e) {
             if (e.getStatusCode() == 404) {
                 warnOrThrowOnMissingConfigLocation(s3Url);
@@ -217,50 +223,52 @@ public final class S3ConfigSource
         }
 
         if (log.isDebugEnabled()) {
-            if (map.isEmpty()) {
+            if (index.isEmpty()) {
                 log.debug("{} empty fetch summary for: {}", this, s3Url);
             } else {
                 val sb = new StringBuilder();
-                map.forEach((k, v) -> sb.append("  " + k + " -> " + v + "\n"));
+                index.asMap().forEach((k, v) -> sb.append("  " + k + " -> " + v + "\n"));
                 log.debug("{} fetch summary for {}:\n  {}", this, s3Url, sb.toString().trim());
             }
         }
 
-        return map;
+        return index;
     }
 
     @Override
-    protected Optional<Reader> openConfig(@NonNull String s3Url, Map<String, S3ObjectSummary> context) {
+    protected Optional<Reader> openConfig(@NonNull String s3Url, PathIndex<S3ObjectSummary> context) {
+        return openStream(s3Url, context)
+            .map(is -> new InputStreamReader(is, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected Optional<InputStream> openStream(@NonNull String s3Url, PathIndex<S3ObjectSummary> context) {
         log.debug("{} opening config: {}", this, s3Url);
         try {
-            val data = s3Client.getObjectAsString(bucketName(s3Url), bucketPath(s3Url));
-            return Optional.of(new StringReader(data));
+            val object = s3Client.getObject(bucketName(s3Url), bucketPath(s3Url));
+            val is = object.getObjectContent();
+
+            // objects with compression suffix are decompressed while being parsed
+            val encoding = CompressionUtils.isCompressed(s3Url) ? null : object.getObjectMetadata().getContentEncoding();
+            return Optional.of(CompressionUtils.decompress(is, encoding));
         } catch (Exception e) {
             throw Tsc4jException.of("Error loading config %s: %%s", e, s3Url);
         }
     }
 
     @Override
-    protected boolean isDirectory(String s3Url, Map<String, S3ObjectSummary> context) {
-        val result = context.keySet().stream()
-            .anyMatch(e -> e.startsWith(s3Url + "/"));
-        return debugIsDirectory(s3Url, result);
+    protected boolean isDirectory(String s3Url, PathIndex<S3ObjectSummary> context) {
+        return debugIsDirectory(s3Url, context.isDirectory(s3Url));
     }
 
     @Override
-    protected boolean pathExists(String s3Url, Map<String, S3ObjectSummary> context) {
-        val result = context.keySet().stream()
-            .anyMatch(e -> e.startsWith(s3Url));
-        return debugPathExists(s3Url, result);
+    protected boolean pathExists(String s3Url, PathIndex<S3ObjectSummary> context) {
+        return debugPathExists(s3Url, context.containsPrefix(s3Url));
     }
 
     @Override
-    protected Stream<String> listDirectory(String s3Url, Map<String, S3ObjectSummary> context) {
-        val prefix = s3Url + "/";
-        return context.keySet().stream()
-            .filter(e -> e.startsWith(prefix))
-            .map(e -> e.replace(s3Url, "").substring(1))
-            .filter(e -> !e.isEmpty());
+    protected Stream<String> listDirectory(String s3Url, PathIndex<S3ObjectSummary> context) {
+        return context.listDirectory(s3Url);
     }
 
     private Matcher s3UrlMatcher(@NonNull String s3Url) {
@@ -28,12 +28,13 @@ import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
 import com.amazonaws.services.simplesystemsmanagement.model.ParameterMetadata;
 import com.amazonaws.services.simplesystemsmanagement.model.ParameterType;
 import com.github.tsc4j.aws.common.AwsConfig;
+import com.github.tsc4j.aws.common.RequestRateLimiter;
 import com.github.tsc4j.core.BaseInstance;
 import com.github.tsc4j.core.Tsc4jException;
 import com.github.tsc4j.core.Tsc4jImplUtils;
 import com.github.tsc4j.core.utils.CollectionUtils;
+import com.github.tsc4j.core.utils.ConfigTreeBuilder;
 import com.typesafe.config.Config;
-import com.typesafe.config.ConfigFactory;
 import com.typesafe.config.ConfigValue;
 import com.typesafe.config.ConfigValueFactory;
 import lombok.NonNull;
@@ -96,6 +97,11 @@ final class SsmFacade extends BaseInstance implements Closeable {
     private final boolean decrypt;
     private final boolean parallel;
 
+    /**
+     * Rate limiter shared by all requests issued by this instance, may be null.
+     */
+    private final RequestRateLimiter rateLimiter;
+
     /**
      * Creates new anonymous instance.
      *
@@ -116,7 +122,25 @@ final class SsmFacade extends BaseInstance implements Closeable {
      * @param parallel parallel parameter fetching?
      */
     SsmFacade(String name, @NonNull AwsConfig awsInfo, boolean decrypt, boolean parallel) {
-        this(name, createSsmClient(awsInfo), decrypt, parallel);
+        this(name, awsInfo, decrypt, parallel, 0);
+    }
+
+    /**
+     * Creates new named instance.
+     *
+     * @param name                 instance name
+     * @param awsInfo              aws info
+     * @param decrypt              decrypt secure parameters?
+     * @param parallel             parallel parameter fetching?
+     * @param maxRequestsPerSecond maximum number of AWS SSM requests per second issued by this instance, {@code 0}
+     *                             disables rate limiting
+     */
+    SsmFacade(String name,
+              @NonNull AwsConfig awsInfo,
+              boolean decrypt,
+              boolean parallel,
+              double maxRequestsPerSecond) {
+        this(name, createSsmClient(awsInfo), decrypt, parallel, maxRequestsPerSecond);
     }
 
     /**
@@ -128,10 +152,29 @@ final class SsmFacade extends BaseInstance implements Closeable {
      * @param parallel parallel parameter fetching?
      */
     SsmFacade(String name, @NonNull AWSSimpleSystemsManagement ssm, boolean decrypt, boolean parallel) {
+        this(name, ssm, decrypt, parallel, 0);
+    }
+
+    /**
+     * Creates new instance.
+     *
+     * @param name                 instance name
+     * @param ssm                  ssm client
+     * @param decrypt              decrypt secure parameters?
+     * @param parallel             parallel parameter fetching?
+     * @param maxRequestsPerSecond maximum number of AWS SSM requests per second issued by this instance, {@code 0}
+     *                             disables rate limiting
+     */
+    SsmFacade(String name,
+              @NonNull AWSSimpleSystemsManagement ssm,
+              boolean decrypt,
+              boolean parallel,
+              double maxRequestsPerSecond) {
         super(name);
         this.ssm = ssm;
         this.decrypt = decrypt;
         this.parallel = parallel;
+        this.rateLimiter = (maxRequestsPerSecond > 0) ? new RequestRateLimiter(maxRequestsPerSecond) : null;
     }
 
     /**
@@ -184,6 +227,7 @@ final class SsmFacade extends BaseInstance implements Closeable {
 
         log.debug("{} describing aws ssm parameter store parameters: {}", this, realReq);
         try {
+            acquirePermit();
             return ssm.describeParameters(realReq);
         } catch (Exception e) {
             throw Tsc4jException.of("Error while describing AWS SSM parameters request %s: %%s",
@@ -191,6 +235,16 @@ final class SsmFacade extends BaseInstance implements Closeable {
         }
     }
 
+    /**
+     * Tells whether parameter is a secure string.
+     *
+     * @param param parameter
+     * @return true/false
+     */
+    static boolean isSecure(@NonNull Parameter param) {
+        return ParameterType.SecureString.toString().equals(param.getType());
+    }
+
     /**
      * Converts parameter to config value.
      *
@@ -204,8 +258,8 @@ final class SsmFacade extends BaseInstance implements Closeable {
         val updated = Optional.ofNullable(param.getLastModifiedDate())
             .map(e -> e.toInstant().atZone(ZoneOffset.UTC).toString())
             .orElse("n/a");
-        val originDescription = String.format("%s:%s, version: %d, modified: %s, arn: %s",
-            TYPE, param.getName(), param.getVersion(), updated, param.getARN());
+        val originDescription = TYPE + ":" + param.getName() + ", version: " + param.getVersion() +
+            ", modified: " + updated + ", arn: " + param.getARN();
 
         if (type == StringList) {
             val chunks = SPLIT_PATTERN.split(param.getValue());
@@ -216,26 +270,38 @@ final class SsmFacade extends BaseInstance implements Closeable {
     }
 
     /**
-     * Converts collection of parameters to config.
+     * Converts collection of parameters to config in linear time; parameter name components separated by
+     * {@code /} or {@code .} become config path keys.
      *
      * @param params collection of parameters
      * @return config.
      */
     Config toConfig(@NonNull Collection<Parameter> params) {
-        return params.stream()
-            .reduce(ConfigFactory.empty(),
-                (cfg, param) -> cfg.withValue(parameterTooConfigPath(param), parameterToConfigValue(param)),
-                (previous, current) -> current);
-    }
-
-    private ConfigValue parameterToConfigValue(@NonNull Parameter parameter) {
-        return toConfigValue(parameter);
+        val builder = new ConfigTreeBuilder();
+        params.forEach(param -> {
+            val path = parameterToConfigPath(param);
+            if (path.isEmpty()) {
+                log.warn("{} ignoring parameter with invalid name: {}", this, param.getName());
+            } else {
+                builder.put(path, toConfigValue(param));
+            }
+        });
+        return builder.build(TYPE);
     }
 
-    private String parameterTooConfigPath(@NonNull Parameter parameter) {
-        return parameter.getName()
-            .replace('/', '.')
-            .replaceAll("^\\.*", "");
+    private static List<String> parameterToConfigPath(@NonNull Parameter parameter) {
+        val name = parameter.getName();
+        val path = new ArrayList<String>();
+        int start = 0;
+        for (int i = 0; i <= name.length(); i++) {
+            if (i == name.length() || name.charAt(i) == '/' || name.charAt(i) == '.') {
+                if (i > start) {
+                    path.add(name.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return path;
     }
 
     /**
@@ -255,8 +321,20 @@ final class SsmFacade extends BaseInstance implements Closeable {
      * @return list of fetched parameters.
      */
     List<Parameter> fetchByPath(@NonNull Collection<String> paths) {
+        return fetchByPath(paths, decrypt);
+    }
+
+    /**
+     * Fetches parameters by one or more paths.
+     *
+     * @param paths   parameters paths
+     * @param decrypt decrypt secure parameters? Values of secure parameters fetched without decryption are
+     *                ciphertexts, while all other parameter attributes are retrieved as usual.
+     * @return list of fetched parameters.
+     */
+    List<Parameter> fetchByPath(@NonNull Collection<String> paths, boolean decrypt) {
         val tasks = Tsc4jImplUtils.uniqStream(paths)
-            .map(this::createGetParametersRequest)
+            .map(path -> createGetParametersRequest(path, decrypt))
             .map(this::toGetByPathTask)
             .collect(Collectors.toList());
 
@@ -265,7 +343,7 @@ final class SsmFacade extends BaseInstance implements Closeable {
             .collect(Collectors.toList());
     }
 
-    private GetParametersByPathRequest createGetParametersRequest(String path) {
+    private GetParametersByPathRequest createGetParametersRequest(String path, boolean decrypt) {
         return new GetParametersByPathRequest()
             .withPath(path)
             .withMaxResults(MAX_RESULTS)
@@ -302,6 +380,7 @@ final class SsmFacade extends BaseInstance implements Closeable {
 
     private GetParametersByPathResult getParametersByPath(@NonNull GetParametersByPathRequest req, String nextToken) {
         val realReq = req.clone().withNextToken(nextToken);
+        acquirePermit();
         return ssm.getParametersByPath(realReq);
     }
 
@@ -314,13 +393,16 @@ final class SsmFacade extends BaseInstance implements Closeable {
     List<Parameter> fetch(@NonNull List<String> names) {
         log.debug("{} fetching parameters: {}", this, names);
 
-        val requests = Tsc4jImplUtils.partitionList(names, MAX_RESULTS).stream()
+        val requests = Tsc4jImplUtils.partitionList(Tsc4jImplUtils.toUniqueList(names), MAX_RESULTS).stream()
             .map(e -> toGetParametersRequest(e, decrypt))
             .collect(Collectors.toList());
 
         val tasks = createFetchParametersTasks(ssm, requests);
 
-        log.debug("{} created {} fetching tasks.", this, tasks.size());
+        val numParams = requests.stream().mapToInt(it -> it.getNames().size()).sum();
+        val mode = parallel ? "concurrent" : "sequential";
+        log.debug("{} fetch plan: {} parameter(s) in {} GetParameters request(s), {}, rate limit: {}",
+            this, numParams, tasks.size(), mode, (rateLimiter == null) ? "none" : rateLimiter);
         val results = runTasks(tasks, this.parallel);
         log.debug("{} retrieved {} get parameters results.", this, results.size());
 
@@ -353,6 +435,7 @@ final class SsmFacade extends BaseInstance implements Closeable {
                                                                    @NonNull GetParametersRequest request) {
         return () -> {
             try {
+                acquirePermit();
                 return ssm.getParameters(request);
             } catch (Exception e) {
                 throw Tsc4jException.of("Error fetching %d AWS SSM parameters: %%s", e, request.getNames().size());
@@ -397,6 +480,12 @@ final class SsmFacade extends BaseInstance implements Closeable {
         return res;
     }
 
+    private void acquirePermit() {
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+    }
+
     @Override
     protected void doClose() {
         super.doClose();
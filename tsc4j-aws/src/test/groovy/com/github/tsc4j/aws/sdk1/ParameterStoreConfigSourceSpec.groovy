@@ -18,6 +18,7 @@
 package com.github.tsc4j.aws.sdk1
 
 import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagement
+import com.amazonaws.services.simplesystemsmanagement.model.DeleteParameterRequest
 import com.amazonaws.services.simplesystemsmanagement.model.DeleteParametersRequest
 import com.amazonaws.services.simplesystemsmanagement.model.ParameterType
 import com.amazonaws.services.simplesystemsmanagement.model.PutParameterRequest
@@ -152,6 +153,7 @@ class ParameterStoreConfigSourceSpec extends Specification {
             // config source specific configuration parameters
             "paths"               : ['/foo', '/bar/baz', '/blah'],
             "at-path"             : "/aws-ssm",
+            "incremental"         : false,
         ]
         def config = ConfigFactory.parseMap(cfgMap)
 
@@ -174,6 +176,7 @@ class ParameterStoreConfigSourceSpec extends Specification {
 
         builder.getPaths().isEmpty()
         builder.getAtPath().isEmpty()
+        builder.isIncremental()
 
         when:
         builder.withConfig(config)
@@ -193,5 +196,51 @@ class ParameterStoreConfigSourceSpec extends Specification {
 
         builder.getPaths() == cfgMap.paths
         builder.getAtPath() == cfgMap.'at-path'
+        !builder.isIncremental()
+    }
+
+    def "should fetch only changed parameters and reuse previous config if nothing changed (incremental: #incremental)"() {
+        given:
+        def ssm = AwsTestEnv.ssmClient()
+        def params = [
+            "/incremental/plain" : [ParameterType.String, "foo"],
+            "/incremental/secret": [ParameterType.SecureString, "s3cr3t"],
+        ]
+        AwsTestEnv.createSSMParams(ssm, params)
+
+        and:
+        def incSource = ParameterStoreConfigSource.builder()
+                                                  .setEndpoint(AwsTestEnv.awsEndpoint)
+                                                  .setRegion("us-east-1")
+                                                  .withPath('/incremental')
+                                                  .setIncremental(incremental)
+                                                  .build()
+        def query = TestConstants.defaultConfigQuery
+
+        when:
+        def first = incSource.fetchConfigs(query)
+        def second = incSource.fetchConfigs(query)
+
+        then:
+        first.size() == 1
+        first[0].getString("incremental.plain") == "foo"
+        first[0].getString("incremental.secret") == "s3cr3t"
+        second[0].is(first[0])
+
+        when: "secure parameter is updated"
+        AwsTestEnv.createSSMParams(ssm, ["/incremental/secret": [ParameterType.SecureString, "n3w"]])
+        def third = incSource.fetchConfigs(query)
+
+        then:
+        !third[0].is(first[0])
+        third[0].getString("incremental.plain") == "foo"
+        third[0].getString("incremental.secret") == "n3w"
+
+        cleanup:
+        incSource?.close()
+        params.keySet().each { ssm.deleteParameter(new DeleteParameterRequest().withName(it)) }
+
+        where:
+        incremental << [true, false]
     }
 }
@@ -58,6 +58,7 @@ class ParameterStoreValueProviderSpec extends Specification {
 
             // value provider specific configuration parameters
             "decrypt"             : true,
+            "max-requests-per-second": 25,
         ]
         def config = ConfigFactory.parseMap(cfgMap)
 
@@ -78,6 +79,7 @@ class ParameterStoreValueProviderSpec extends Specification {
             getS3PathStyleAccess() == null
         }
         builder.isDecrypt() == true
+        builder.getMaxRequestsPerSecond() == 0
 
         when:
         builder.withConfig(config)
@@ -96,6 +98,7 @@ class ParameterStoreValueProviderSpec extends Specification {
         }
 
         builder.isDecrypt() == true
+        builder.getMaxRequestsPerSecond() == 25
 
         when:
         provider = builder.build()
@@ -18,6 +18,7 @@
 package com.github.tsc4j.aws.sdk1
 
 import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagement
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter
 import com.amazonaws.services.simplesystemsmanagement.model.ParameterType
 import com.github.tsc4j.core.Tsc4jException
 import spock.lang.AutoCleanup
@@ -64,6 +65,31 @@ class SsmFacadeSpec extends Specification {
         '/b/c/d/'          | []
     }
 
+    def "toConfig() should convert parameters to config"() {
+        given:
+        def facade = new SsmFacade("", Mock(AWSSimpleSystemsManagement), true, false)
+        def params = [
+            ["/app/db/host", ParameterType.String, "localhost"],
+            ["/app/db/port", ParameterType.String, "5432"],
+            ["app.db.user", ParameterType.String, "joe"],
+            ["//app//hosts/", ParameterType.StringList, "a, b ,c"],
+            ["/other", ParameterType.String, "x"],
+            ["/", ParameterType.String, "invalid"],
+        ].collect { new Parameter().withName(it[0]).withType(it[1]).withValue(it[2]).withVersion(1L) }
+
+        when:
+        def config = facade.toConfig(params)
+
+        then:
+        config.root().keySet() == ["app", "other"] as Set
+        config.getString("app.db.host") == "localhost"
+        config.getInt("app.db.port") == 5432
+        config.getString("app.db.user") == "joe"
+        config.getStringList("app.hosts") == ["a", "b", "c"]
+        config.getString("other") == "x"
+        config.getValue("app.db.host").origin().description().contains("/app/db/host, version: 1")
+    }
+
     def "should throw tsc4j exception in case of errors"() {
         given:
         def ssm = Mock(AWSSimpleSystemsManagement)
@@ -16,6 +16,8 @@
 
 package com.github.tsc4j.aws.sdk2;
 
+import com.github.tsc4j.aws.common.EC2MetadataClient;
+import com.github.tsc4j.aws.common.EC2MetadataReader;
 import com.github.tsc4j.core.AbstractConfigSource;
 import com.github.tsc4j.core.ConfigQuery;
 import com.github.tsc4j.core.ConfigSource;
@@ -23,36 +25,26 @@ import com.github.tsc4j.core.ConfigSourceBuilder;
 import com.github.tsc4j.core.Tsc4j;
 import com.github.tsc4j.core.utils.CollectionUtils;
 import com.typesafe.config.Config;
-import com.typesafe.config.ConfigValue;
-import com.typesafe.config.ConfigValueFactory;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
-import lombok.SneakyThrows;
 import lombok.experimental.Accessors;
 import lombok.val;
-import software.amazon.awssdk.regions.internal.util.EC2MetadataUtils;
-import software.amazon.awssdk.regions.internal.util.EC2MetadataUtils.InstanceInfo;
-import software.amazon.awssdk.regions.internal.util.EC2MetadataUtils.NetworkInterface;
+import software.amazon.awssdk.core.SdkSystemSetting;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
-import java.util.function.Supplier;
-
-import static com.typesafe.config.ConfigFactory.empty;
 
 /**
  * EC2 Metadata configuration source.
+ * <p>
+ * Instance metadata items that can't change during the lifetime of an instance are fetched only once, subsequent
+ * fetches retrieve only mutable items; see {@link EC2MetadataReader}. Metadata service is accessed with a single
+ * IMDSv2 session token that is reused until it expires.
  *
  * @see <a href="https://docs.aws.amazon.com/AWSEC2/latest/UserGuide/ec2-instance-metadata.html">EC2 instance
  * metadata</a>
- * @see <a href="https://docs.aws.amazon.com/AWSJavaSDK/latest/javadoc/com/amazonaws/util/EC2MetadataUtils.html">EC2MetadataUtils</a>
  */
 public final class EC2MetadataConfigSource extends AbstractConfigSource {
     /**
@@ -62,8 +54,6 @@ public final class EC2MetadataConfigSource extends AbstractConfigSource {
      */
     protected static final String DEFAULT_CFG_PATH = "aws.ec2.metadata";
 
-    private static final String ORIGIN_DESCRIPTION = "AWS EC2 metadata";
-
     static final String TYPE = "aws2.ec2.metadata";
     static final Set<String> TYPE_ALIASES = CollectionUtils.toImmutableSet(
         "aws.ec2.metadata", "ec2.metadata", "ec2");
@@ -73,6 +63,12 @@ public final class EC2MetadataConfigSource extends AbstractConfigSource {
      */
     private final String atPath;
 
+    /**
+     * Metadata reader, created on first fetch so that metadata endpoint overrides set after source creation are
+     * honoured.
+     */
+    private EC2MetadataReader reader;
+
     /**
      * Creates new instance
      *
@@ -100,133 +96,17 @@ public final class EC2MetadataConfigSource extends AbstractConfigSource {
 
     @Override
     protected List<Config> fetchConfigs(@NonNull ConfigQuery query) {
-        val configOpts = Arrays.asList(
-            fetchEc2MetadataValue("ami-id", EC2MetadataUtils::getAmiId),
-            fetchEc2MetadataValue("ami-launch-index", EC2MetadataUtils::getAmiLaunchIndex),
-            fetchEc2MetadataValue("ami-manifest-path", EC2MetadataUtils::getAmiManifestPath),
-            fetchEc2MetadataValue("ancestor-ami-ids", EC2MetadataUtils::getAncestorAmiIds),
-            fetchEc2MetadataValue("availability-zone", EC2MetadataUtils::getAvailabilityZone),
-            fetchEc2MetadataValue("block-device-mapping", EC2MetadataUtils::getBlockDeviceMapping),
-            fetchEc2MetadataValue("ec2-instance-region", EC2MetadataUtils::getEC2InstanceRegion),
-            fetchEc2MetadataValue("instance-action", EC2MetadataUtils::getInstanceAction),
-            fetchEc2MetadataValue("instance-id", EC2MetadataUtils::getInstanceId),
-            fetchEc2MetadataValue("instance-info", EC2MetadataUtils::getInstanceInfo),
-            fetchEc2MetadataValue("instance-signature", EC2MetadataUtils::getInstanceSignature),
-            fetchEc2MetadataValue("instance-type", EC2MetadataUtils::getInstanceType),
-            fetchEc2MetadataValue("local-host-name", EC2MetadataUtils::getLocalHostName),
-            fetchEc2MetadataValue("mac-address", EC2MetadataUtils::getMacAddress),
-            fetchEc2MetadataValue("network-interfaces", EC2MetadataUtils::getNetworkInterfaces),
-            fetchEc2MetadataValue("private-ip-address", EC2MetadataUtils::getPrivateIpAddress),
-            fetchEc2MetadataValue("product-codes", EC2MetadataUtils::getProductCodes),
-            fetchEc2MetadataValue("public-key", EC2MetadataUtils::getPublicKey),
-            fetchEc2MetadataValue("ramdisk-id", EC2MetadataUtils::getRamdiskId),
-            fetchEc2MetadataValue("reservation-id", EC2MetadataUtils::getReservationId),
-            fetchEc2MetadataValue("security-groups", EC2MetadataUtils::getSecurityGroups),
-            fetchEc2MetadataValue("user-data", EC2MetadataUtils::getUserData)
-        );
-
-        val config = configOpts.stream()
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .reduce(empty(), (acc, cur) -> cur.withFallback(acc));
-
+        val config = reader().read();
         val result = atPath.isEmpty() ? config : config.atPath(atPath);
         return Collections.singletonList(result);
     }
 
-
-    private Optional<Config> fetchEc2MetadataValue(@NonNull String path, Supplier<Object> supplier) {
-        try {
-            return Optional.ofNullable(supplier.get())
-                .map(e -> empty().withValue(path, toConfigValue(e)));
-        } catch (Exception e) {
-            log.warn("{} error fetching ec2 metadata path {}: {}", this, path, e.getMessage(), e);
-            return Optional.empty();
-        }
-    }
-
-    /**
-     * {@link ConfigValueFactory#fromAnyRef(Object)} can't handle list or bean values, this method works around this.
-     *
-     * @param o object to convert to {@link ConfigValue}
-     * @return object as {@link ConfigValue}
-     */
-    @SneakyThrows
-    private ConfigValue toConfigValue(Object o) {
-        if (o == null) {
-            return createConfigValue(null);
-        }
-
-        if (o instanceof Iterable) {
-            val list = new ArrayList<>();
-            val i = (Iterable<?>) o;
-            i.forEach(it -> list.add(toConfigValue(it)));
-            return createConfigValue(list);
-        } else if (o instanceof InstanceInfo) {
-            return toConfigValue((InstanceInfo) o);
-        } else if (o instanceof NetworkInterface) {
-            return toConfigValue((NetworkInterface) o);
-        } else {
-            return createConfigValue(o);
-        }
-    }
-
-    private ConfigValue toConfigValue(NetworkInterface n) {
-        return new ConfigValueMap()
-            .add("mac-address", n::getMacAddress)
-            .add("owner-id", n::getOwnerId)
-            .add("profile", n::getProfile)
-            .add("hostname", n::getHostname)
-            .add("local-ipv4s", n::getLocalIPv4s)
-            .add("public-hostname", n::getPublicHostname)
-            .add("public-ipv4s", n::getPublicIPv4s)
-            .add("security-groups", n::getSecurityGroups)
-            .add("security-group-ids", n::getSecurityGroupIds)
-            .add("subnet-ipv4-cidr-block", n::getSubnetIPv4CidrBlock)
-            .add("subnet-id", n::getSubnetId)
-            .add("vpc-ipv4-cidr-block", n::getVpcIPv4CidrBlock)
-            .add("vpc-id", n::getVpcId)
-            .toConfigValue();
-    }
-
-    private ConfigValue toConfigValue(InstanceInfo i) {
-        return new ConfigValueMap()
-            .add("pending-time", i::getPendingTime)
-            .add("instance-type", i::getInstanceType)
-            .add("image-id", i::getImageId)
-            .add("instance-id", i::getInstanceId)
-            .add("billing-products", i::getBillingProducts)
-            .add("architecture", i::getArchitecture)
-            .add("account-id", i::getAccountId)
-            .add("kernel-id", i::getKernelId)
-            .add("ramdisk-id", i::getRamdiskId)
-            .add("region", i::getRegion)
-            .add("version", i::getVersion)
-            .add("availability-zone", i::getAvailabilityZone)
-            .add("private-ip", i::getPrivateIp)
-            .add("devpay-product-codes", i::getDevpayProductCodes)
-            .add("marketplace-product-codes", i::getMarketplaceProductCodes)
-            .toConfigValue();
-    }
-
-    private static ConfigValue createConfigValue(Object o) {
-        return ConfigValueFactory.fromAnyRef(o, ORIGIN_DESCRIPTION);
-    }
-
-    private static class ConfigValueMap {
-        private final Map<String, Object> map = new LinkedHashMap<>();
-
-        ConfigValueMap add(String key, Supplier<Object> valueSupplier) {
-            val value = valueSupplier.get();
-            if (value != null) {
-                map.put(key, value);
-            }
-            return this;
-        }
-
-        ConfigValue toConfigValue() {
-            return createConfigValue(map);
+    private synchronized EC2MetadataReader reader() {
+        if (reader == null) {
+            val client = new EC2MetadataClient(SdkSystemSetting.AWS_EC2_METADATA_SERVICE_ENDPOINT.getStringValueOrThrow());
+            reader = new EC2MetadataReader(client, isParallel());
         }
+        return reader;
     }
 
     /**
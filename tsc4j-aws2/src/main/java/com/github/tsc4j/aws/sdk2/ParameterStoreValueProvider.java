@@ -29,6 +29,7 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.experimental.Accessors;
 import lombok.val;
+import software.amazon.awssdk.services.ssm.SsmClient;
 import software.amazon.awssdk.services.ssm.model.ParameterMetadata;
 
 import java.util.List;
@@ -48,8 +49,24 @@ public final class ParameterStoreValueProvider extends AbstractConfigValueProvid
      * @param builder instance builder
      */
     protected ParameterStoreValueProvider(@NonNull Builder builder) {
+        this(builder, new SsmFacade(builder.getName(), builder.getAwsConfig(), builder.isDecrypt(),
+            builder.isParallel(), builder.getMaxRequestsPerSecond()));
+    }
+
+    /**
+     * Creates new instance.
+     *
+     * @param builder   instance builder
+     * @param ssmClient ssm client
+     */
+    protected ParameterStoreValueProvider(@NonNull Builder builder, @NonNull SsmClient ssmClient) {
+        this(builder, new SsmFacade(builder.getName(), ssmClient, builder.isDecrypt(),
+            builder.isParallel(), builder.getMaxRequestsPerSecond()));
+    }
+
+    private ParameterStoreValueProvider(@NonNull Builder builder, @NonNull SsmFacade ssmFacade) {
         super(builder.getName(), SsmFacade.TYPE, SsmFacade.TYPE_ALIASES, builder.isAllowMissing(), builder.isParallel());
-        this.ssmFacade = new SsmFacade(builder.getName(), builder.getAwsConfig(), builder.isDecrypt(), builder.isParallel());
+        this.ssmFacade = ssmFacade;
     }
 
     /**
@@ -114,12 +131,19 @@ public final class ParameterStoreValueProvider extends AbstractConfigValueProvid
          */
         boolean decrypt = true;
 
+        /**
+         * Maximum number of AWS SSM requests per second, shared by all concurrently executing requests of the value
+         * provider; {@code 0} disables rate limiting (default: 0).
+         */
+        double maxRequestsPerSecond = 0;
+
         @Override
         public void withConfig(@NonNull Config config) {
             super.withConfig(config);
             getAwsConfig().withConfig(config);
             
             cfgBoolean(config, "decrypt", this::setDecrypt);
+            cfgExtract(config, "max-requests-per-second", Config::getDouble, this::setMaxRequestsPerSecond);
         }
 
         @Override
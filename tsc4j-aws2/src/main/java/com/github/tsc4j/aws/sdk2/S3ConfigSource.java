@@ -26,6 +26,8 @@ import com.github.tsc4j.core.Tsc4jException;
 import com.github.tsc4j.core.Tsc4jImplUtils;
 import com.github.tsc4j.core.WithCache;
 import com.github.tsc4j.core.utils.CollectionUtils;
+import com.github.tsc4j.core.utils.CompressionUtils;
+import com.github.tsc4j.core.utils.PathIndex;
 import com.typesafe.config.Config;
 import lombok.Getter;
 import lombok.NonNull;
@@ -38,13 +40,12 @@ import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
-import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -57,7 +58,7 @@ import java.util.stream.Stream;
  * <a href="https://aws.amazon.com/s3/">Amazon S3</a> implementation of {@link ConfigSource}.
  */
 public final class S3ConfigSource
-    extends FilesystemLikeConfigSource<Map<String, S3Object>>
+    extends FilesystemLikeConfigSource<PathIndex<S3Object>>
     implements WithCache<String, Config> {
     private static final String S3_URL_PREFIX = "s3://";
     private static final Pattern S3_URL_PATTERN = Pattern.compile("^" + S3_URL_PREFIX + "([\\w\\-\\.]+)/(.*)");
@@ -89,7 +90,8 @@ public final class S3ConfigSource
     protected S3ConfigSource(@NonNull Builder builder, @NonNull S3Client s3Client) {
         super(builder);
         this.s3Client = s3Client;
-        this.cache = Tsc4jImplUtils.newCache(toString(), builder.getCacheTtl(), builder.getClock());
+        this.cache = Tsc4jImplUtils.newCache(
+            toString(), builder.getCacheTtl(), builder.getCacheMaxSize(), builder.getClock());
     }
 
     /**
@@ -143,13 +145,13 @@ public final class S3ConfigSource
     }
 
     @Override
-    protected Map<String, S3Object> createFetchContext(@NonNull ConfigQuery query) {
+    protected PathIndex<S3Object> createFetchContext(@NonNull ConfigQuery query) {
         val tasks = createFetchContextTasks(query);
         val results = runTasks(tasks, isParallel());
 
-        val map = new LinkedHashMap<String, S3Object>();
-        results.forEach(e -> map.putAll(e));
-        return map;
+        val index = new PathIndex<S3Object>();
+        results.forEach(index::putAll);
+        return index;
     }
 
     /**
@@ -158,11 +160,11 @@ public final class S3ConfigSource
      * @param query query
      * @return list of tasks
      */
-    private List<Callable<Map<String, S3Object>>> createFetchContextTasks(@NonNull ConfigQuery query) {
+    private List<Callable<PathIndex<S3Object>>> createFetchContextTasks(@NonNull ConfigQuery query) {
         return interpolateVarStrings(getPaths(), query).stream()
             .flatMap(this::restrictS3Path)
             .distinct()
-            .map(s3Url -> (Callable<Map<String, S3Object>>) () -> fetchSummary(s3Url))
+            .map(s3Url -> (Callable<PathIndex<S3Object>>) () -> fetchSummary(s3Url))
             .collect(Collectors.toList());
     }
 
@@ -175,8 +177,8 @@ public final class S3ConfigSource
     }
 
     @Override
-    protected Config loadConfig(String path, Map<String, S3Object> context) {
-        val etag = Optional.ofNullable(context.get(path))
+    protected Config loadConfig(String path, PathIndex<S3Object> context) {
+        val etag = context.get(path)
             .map(e -> e.eTag())
             .orElse("");
 
@@ -191,15 +193,15 @@ public final class S3ConfigSource
     }
 
     /**
-     * Fetches summary for s3Url and returns map of all objects.
+     * Fetches summary for s3Url and returns index of all objects; all result pages are fetched.
      *
      * @param s3Url s3 url with path
-     * @return map of object summaries; empty map is returned if s3 url or bucket doesn't exist.
+     * @return index of object summaries; empty index is returned if s3 url or bucket doesn't exist.
      * @throws RuntimeException if there was a problem fetching object summaries.
      * @see #createFetchContext(ConfigQuery)
      */
-    private Map<String, S3Object> fetchSummary(String s3Url) {
-        val map = new LinkedHashMap<String, S3Object>();
+    private PathIndex<S3Object> fetchSummary(String s3Url) {
+        val index = new PathIndex<S3Object>();
 
         try {
             val bucketName = bucketName(s3Url);
@@ -207,14 +209,10 @@ public final class S3ConfigSource
                 .bucket(bucketName)
                 .prefix(bucketPath(s3Url))
                 .build();
-            s3Client.listObjectsV2(request)
+            // paginator transparently follows continuation tokens, objects are returned sorted by key
+            s3Client.listObjectsV2Paginator(request)
                 .contents()
-                .stream()
-                .sorted(Comparator.comparing(S3Object::key))
-                .forEach(it -> {
-                    val url = S3_URL_PREFIX + bucketName + "/" + it.key();
-                    map.put(url, it);
-                });
+                .forEach(it -> index.put(S3_URL_PREFIX + bucketName + "/" + it.key(), it));
         } catch (S3Exception e) {
             if (e.statusCode() == 404) {
                 warnOrThrowOnMissingConfigLocation(s3Url);
@@ -227,57 +225,55 @@ public final class S3ConfigSource
         }
 
         if (log.isDebugEnabled()) {
-            if (map.isEmpty()) {
+            if (index.isEmpty()) {
                 log.debug("{} empty fetch summary for: {}", this, s3Url);
             } else {
                 val sb = new StringBuilder();
-                map.forEach((k, v) -> sb.append("  " + k + " -> " + v + "\n"));
+                index.asMap().forEach((k, v) -> sb.append("  " + k + " -> " + v + "\n"));
                 log.debug("{} fetch summary for {}:\n  {}", this, s3Url, sb.toString().trim());
             }
         }
 
-        return map;
+        return index;
     }
 
     @Override
-    protected Optional<Reader> openConfig(@NonNull String s3Url, Map<String, S3Object> context) {
+    protected Optional<Reader> openConfig(@NonNull String s3Url, PathIndex<S3Object> context) {
+        return openStream(s3Url, context)
+            .map(is -> new InputStreamReader(is, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected Optional<InputStream> openStream(@NonNull String s3Url, PathIndex<S3Object> context) {
         log.debug("{} opening config: {}", this, s3Url);
         try {
             val req = GetObjectRequest.builder()
                 .bucket(bucketName(s3Url))
                 .key(bucketPath(s3Url))
                 .build();
+            val is = s3Client.getObject(req);
 
-            return Optional.ofNullable(s3Client.getObjectAsBytes(req))
-                .map(it -> it.asUtf8String())
-                .filter(it -> !it.isEmpty())
-                .map(StringReader::new);
+            // objects with compression suffix are decompressed while being parsed
+            val encoding = CompressionUtils.isCompressed(s3Url) ? null : is.response().contentEncoding();
+            return Optional.of(CompressionUtils.decompress(is, encoding));
         } catch (Exception e) {
             throw Tsc4jException.of("Error loading config %s: %%s", e, s3Url);
         }
     }
 
     @Override
-    protected boolean isDirectory(String s3Url, Map<String, S3Object> context) {
-        val result = context.keySet().stream()
-            .anyMatch(e -> e.startsWith(s3Url + "/"));
-        return debugIsDirectory(s3Url, result);
+    protected boolean isDirectory(String s3Url, PathIndex<S3Object> context) {
+        return debugIsDirectory(s3Url, context.isDirectory(s3Url));
     }
 
     @Override
-    protected boolean pathExists(String s3Url, Map<String, S3Object> context) {
-        val result = context.keySet().stream()
-            .anyMatch(e -> e.startsWith(s3Url));
-        return debugPathExists(s3Url, result);
+    protected boolean pathExists(String s3Url, PathIndex<S3Object> context) {
+        return debugPathExists(s3Url, context.containsPrefix(s3Url));
     }
 
     @Override
-    protected Stream<String> listDirectory(String s3Url, Map<String, S3Object> context) {
-        val prefix = s3Url + "/";
-        return context.keySet().stream()
-            .filter(e -> e.startsWith(prefix))
-            .map(e -> e.replace(s3Url, "").substring(1))
-            .filter(e -> !e.isEmpty());
+    protected Stream<String> listDirectory(String s3Url, PathIndex<S3Object> context) {
+        return context.listDirectory(s3Url);
     }
 
     private Matcher s3UrlMatcher(@NonNull String s3Url) {
@@ -22,6 +22,7 @@ import com.github.tsc4j.testsupport.TestConstants
 import com.typesafe.config.ConfigFactory
 import groovy.util.logging.Slf4j
 import software.amazon.awssdk.services.ssm.SsmClient
+import software.amazon.awssdk.services.ssm.model.DeleteParameterRequest
 import software.amazon.awssdk.services.ssm.model.ParameterType
 import spock.lang.AutoCleanup
 import spock.lang.Shared
@@ -130,6 +131,7 @@ class ParameterStoreConfigSourceSpec extends Specification {
             // config source specific configuration parameters
             "paths"               : ['/foo', '/bar/baz', '/blah'],
             "at-path"             : "/aws-ssm",
+            "incremental"         : false,
         ]
         def config = ConfigFactory.parseMap(cfgMap)
 
@@ -152,6 +154,7 @@ class ParameterStoreConfigSourceSpec extends Specification {
 
         builder.getPaths().isEmpty()
         builder.getAtPath().isEmpty()
+        builder.isIncremental()
 
         when:
         builder.withConfig(config)
@@ -171,5 +174,51 @@ class ParameterStoreConfigSourceSpec extends Specification {
 
         builder.getPaths() == cfgMap.paths
         builder.getAtPath() == cfgMap.'at-path'
+        !builder.isIncremental()
+    }
+
+    def "should fetch only changed parameters and reuse previous config if nothing changed (incremental: #incremental)"() {
+        given:
+        def ssm = AwsTestEnv.ssmClient()
+        def params = [
+            "/incremental/plain" : [ParameterType.STRING, "foo"],
+            "/incremental/secret": [ParameterType.SECURE_STRING, "s3cr3t"],
+        ]
+        AwsTestEnv.createSSMParams(ssm, params)
+
+        and:
+        def incSource = ParameterStoreConfigSource.builder()
+                                                  .setEndpoint(AwsTestEnv.awsEndpoint)
+                                                  .setRegion("us-east-1")
+                                                  .withPath('/incremental')
+                                                  .setIncremental(incremental)
+                                                  .build()
+        def query = TestConstants.defaultConfigQuery
+
+        when:
+        def first = incSource.fetchConfigs(query)
+        def second = incSource.fetchConfigs(query)
+
+        then:
+        first.size() == 1
+        first[0].getString("incremental.plain") == "foo"
+        first[0].getString("incremental.secret") == "s3cr3t"
+        second[0].is(first[0])
+
+        when: "secure parameter is updated"
+        AwsTestEnv.createSSMParams(ssm, ["/incremental/secret": [ParameterType.SECURE_STRING, "n3w"]])
+        def third = incSource.fetchConfigs(query)
+
+        then:
+        !third[0].is(first[0])
+        third[0].getString("incremental.plain") == "foo"
+        third[0].getString("incremental.secret") == "n3w"
+
+        cleanup:
+        incSource?.close()
+        params.keySet().each { ssm.deleteParameter(DeleteParameterRequest.builder().name(it).build()) }
+
+        where:
+        incremental << [true, false]
     }
 }
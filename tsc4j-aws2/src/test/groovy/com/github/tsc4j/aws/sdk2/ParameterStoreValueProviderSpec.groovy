@@ -56,6 +56,7 @@ class ParameterStoreValueProviderSpec extends Specification {
 
             // value provider specific configuration parameters
             "decrypt"          : true,
+            "max-requests-per-second": 25,
         ]
         def config = ConfigFactory.parseMap(cfgMap)
 
@@ -78,6 +79,7 @@ class ParameterStoreValueProviderSpec extends Specification {
         }
 
         builder.isDecrypt() == true
+        builder.getMaxRequestsPerSecond() == 25
 
         when:
         provider = builder.build()
@@ -18,6 +18,7 @@ package com.github.tsc4j.aws.sdk2
 
 import com.github.tsc4j.core.Tsc4jException
 import software.amazon.awssdk.services.ssm.SsmClient
+import software.amazon.awssdk.services.ssm.model.Parameter
 import software.amazon.awssdk.services.ssm.model.ParameterType
 import spock.lang.AutoCleanup
 import spock.lang.Shared
@@ -66,6 +67,31 @@ class SsmFacadeSpec extends Specification {
         '/b/c/d/'       | []
     }
 
+    def "toConfig() should convert parameters to config"() {
+        given:
+        def facade = new SsmFacade("", Mock(SsmClient), true, false)
+        def params = [
+            ["/app/db/host", ParameterType.STRING, "localhost"],
+            ["/app/db/port", ParameterType.STRING, "5432"],
+            ["app.db.user", ParameterType.STRING, "joe"],
+            ["//app//hosts/", ParameterType.STRING_LIST, "a, b ,c"],
+            ["/other", ParameterType.STRING, "x"],
+            ["/", ParameterType.STRING, "invalid"],
+        ].collect { Parameter.builder().name(it[0]).type(it[1]).value(it[2]).version(1L).build() }
+
+        when:
+        def config = facade.toConfig(params)
+
+        then:
+        config.root().keySet() == ["app", "other"] as Set
+        config.getString("app.db.host") == "localhost"
+        config.getInt("app.db.port") == 5432
+        config.getString("app.db.user") == "joe"
+        config.getStringList("app.hosts") == ["a", "b", "c"]
+        config.getString("other") == "x"
+        config.getValue("app.db.host").origin().description().contains("/app/db/host, version: 1")
+    }
+
     def "should throw tsc4j exception in case of errors"() {
         given:
         def ssm = Mock(SsmClient)
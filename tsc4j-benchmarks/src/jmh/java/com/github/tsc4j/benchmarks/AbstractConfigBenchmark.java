@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.benchmarks;
+
+import com.typesafe.config.Config;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Base class for benchmarks that operate on a synthetic config of parameterized size and nesting depth.
+ *
+ * @see BenchmarkConfigs
+ */
+@State(Scope.Benchmark)
+public abstract class AbstractConfigBenchmark {
+    /**
+     * Number of config leaf values.
+     */
+    @Param({"100", "10000", "100000"})
+    protected int keys;
+
+    /**
+     * Config nesting depth.
+     */
+    @Param({"1", "4", "8"})
+    protected int depth;
+
+    /**
+     * Generated config.
+     */
+    protected Config config;
+
+    @Setup
+    public final void setupConfig() {
+        config = BenchmarkConfigs.create(keys, depth);
+        setup();
+    }
+
+    /**
+     * Performs benchmark specific setup, invoked after {@link #config} is created.
+     */
+    protected void setup() {
+    }
+}
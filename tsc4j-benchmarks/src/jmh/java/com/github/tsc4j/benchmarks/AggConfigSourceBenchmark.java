@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.benchmarks;
+
+import com.github.tsc4j.core.AggConfigSource;
+import com.github.tsc4j.core.ConfigQuery;
+import com.github.tsc4j.core.ConfigSource;
+import com.typesafe.config.Config;
+import lombok.NonNull;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link AggConfigSource#get(ConfigQuery)}: merge and resolution of configs fetched from in-memory config
+ * sources, each of them containing part of generated config.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AggConfigSourceBenchmark extends AbstractConfigBenchmark {
+    /**
+     * Number of config sources.
+     */
+    @Param({"1", "4"})
+    private int sources;
+
+    private final ConfigQuery query = ConfigQuery.builder().appName("benchmark").build();
+    private AggConfigSource source;
+
+    @Override
+    protected void setup() {
+        val builder = AggConfigSource.builder();
+        BenchmarkConfigs.split(config, sources).forEach(it -> builder.source(new StaticConfigSource(it)));
+        source = builder.build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        source.close();
+    }
+
+    @Benchmark
+    public Config get() {
+        return source.get(query);
+    }
+
+    /**
+     * Config source that always returns the same config.
+     */
+    private static final class StaticConfigSource implements ConfigSource {
+        private final Config config;
+
+        StaticConfigSource(@NonNull Config config) {
+            this.config = config;
+        }
+
+        @Override
+        public boolean allowErrors() {
+            return false;
+        }
+
+        @Override
+        public Config get(@NonNull ConfigQuery query) {
+            return config;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.benchmarks;
+
+import com.github.tsc4j.core.BeanMapper;
+import com.github.tsc4j.core.ReflectiveBeanMapper;
+import com.github.tsc4j.jackson.JacksonBeanMapper;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import lombok.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ReflectiveBeanMapper} and {@link JacksonBeanMapper}: mapping of a bean with a few scalar
+ * properties, list of beans and a map property that contains the whole generated config.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BeanMapperBenchmark extends AbstractConfigBenchmark {
+    private final BeanMapper reflectiveMapper = new ReflectiveBeanMapper();
+    private final BeanMapper jacksonMapper = new JacksonBeanMapper();
+
+    private Config beanConfig;
+
+    @Override
+    protected void setup() {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("id", "item");
+        item.put("weight", 10);
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", "benchmark");
+        map.put("port", 8080);
+        map.put("enabled", true);
+        map.put("items", Arrays.asList(item, item, item));
+
+        beanConfig = ConfigFactory.parseMap(map).withValue("values", config.root());
+    }
+
+    @Benchmark
+    public Settings reflectiveBeanMapper() {
+        return reflectiveMapper.create(Settings.class, beanConfig, "");
+    }
+
+    @Benchmark
+    public Settings jacksonBeanMapper() {
+        return jacksonMapper.create(Settings.class, beanConfig, "");
+    }
+
+    @Data
+    public static class Settings {
+        private String name;
+        private int port;
+        private boolean enabled;
+        private List<Item> items;
+        private Map<String, Object> values;
+    }
+
+    @Data
+    public static class Item {
+        private String id;
+        private int weight;
+    }
+}
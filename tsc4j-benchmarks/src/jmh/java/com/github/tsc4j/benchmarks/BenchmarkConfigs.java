@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.benchmarks;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Generates synthetic configurations of given size and shape.
+ */
+@UtilityClass
+public class BenchmarkConfigs {
+    /**
+     * Creates config with given number of leaf values, nested to given depth. Every third value is a string, others
+     * are numbers and booleans.
+     *
+     * @param numKeys number of leaf values
+     * @param depth   nesting depth, 1 creates a flat config
+     * @return config
+     * @throws IllegalArgumentException in case of invalid arguments
+     * @see #paths(int, int)
+     */
+    public Config create(int numKeys, int depth) {
+        val map = new LinkedHashMap<String, Object>();
+        val paths = paths(numKeys, depth);
+        for (int i = 0; i < paths.size(); i++) {
+            map.put(paths.get(i), value(i));
+        }
+        return ConfigFactory.parseMap(map, "benchmark config [keys: " + numKeys + ", depth: " + depth + "]");
+    }
+
+    /**
+     * Creates config that contains the same paths as {@link #create(int, int)}, but different values.
+     *
+     * @param numKeys number of leaf values
+     * @param depth   nesting depth
+     * @return config
+     */
+    public Config createUpdated(int numKeys, int depth) {
+        val map = new LinkedHashMap<String, Object>();
+        val paths = paths(numKeys, depth);
+        for (int i = 0; i < paths.size(); i++) {
+            map.put(paths.get(i), value(i + 3));
+        }
+        return ConfigFactory.parseMap(map, "updated benchmark config [keys: " + numKeys + ", depth: " + depth + "]");
+    }
+
+    /**
+     * Returns leaf value paths of config created by {@link #create(int, int)}; every parent object has roughly the
+     * same number of children.
+     *
+     * @param numKeys number of leaf values
+     * @param depth   nesting depth
+     * @return list of paths
+     */
+    public List<String> paths(int numKeys, int depth) {
+        if (numKeys < 1 || depth < 1) {
+            throw new IllegalArgumentException("Number of keys and depth must be positive.");
+        }
+
+        val fanout = Math.max(2, (int) Math.ceil(Math.pow(numKeys, 1.0 / depth)));
+        val result = new ArrayList<String>(numKeys);
+        for (int i = 0; i < numKeys; i++) {
+            val sb = new StringBuilder();
+            long divisor = 1;
+            for (int level = 1; level < depth; level++) {
+                divisor *= fanout;
+                sb.append("level").append(level).append('-').append((i / divisor) % fanout).append('.');
+            }
+            result.add(sb.append("key").append(i).toString());
+        }
+        return result;
+    }
+
+    /**
+     * Returns paths of string values in config created by {@link #create(int, int)}.
+     *
+     * @param numKeys number of leaf values
+     * @param depth   nesting depth
+     * @return list of paths
+     */
+    public List<String> stringPaths(int numKeys, int depth) {
+        val paths = paths(numKeys, depth);
+        val result = new ArrayList<String>();
+        for (int i = 0; i < paths.size(); i += 3) {
+            result.add(paths.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Splits config to given number of configs with disjoint top-level paths.
+     *
+     * @param config config to split
+     * @param parts  number of parts
+     * @return list of configs
+     */
+    public List<Config> split(@NonNull Config config, int parts) {
+        val maps = new ArrayList<LinkedHashMap<String, Object>>();
+        for (int i = 0; i < parts; i++) {
+            maps.add(new LinkedHashMap<>());
+        }
+
+        int i = 0;
+        for (val entry : config.root().entrySet()) {
+            maps.get(i++ % parts).put(entry.getKey(), entry.getValue().unwrapped());
+        }
+
+        val result = new ArrayList<Config>(parts);
+        maps.forEach(it -> result.add(ConfigFactory.parseMap(it)));
+        return result;
+    }
+
+    private Object value(int i) {
+        switch (i % 3) {
+            case 0:
+                return "value-" + i;
+            case 1:
+                return i;
+            default:
+                return i % 2 == 0;
+        }
+    }
+}
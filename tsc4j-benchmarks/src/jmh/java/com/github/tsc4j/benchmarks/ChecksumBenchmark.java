@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.benchmarks;
+
+import com.github.tsc4j.core.Tsc4jImplUtils;
+import com.typesafe.config.Config;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link Tsc4jImplUtils#objectChecksum(Object)}, which is computed for every fetched config and for every
+ * reloadable value on each refresh.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChecksumBenchmark extends AbstractConfigBenchmark {
+    private Config updatedConfig;
+
+    @Override
+    protected void setup() {
+        updatedConfig = BenchmarkConfigs.createUpdated(keys, depth);
+    }
+
+    @Benchmark
+    public String objectChecksum() {
+        return Tsc4jImplUtils.objectChecksum(config);
+    }
+
+    @Benchmark
+    public boolean objectChecksumDiffers() {
+        return Tsc4jImplUtils.objectChecksumDiffers(config, updatedConfig);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.benchmarks;
+
+import com.github.tsc4j.core.AbstractConfigTransformer;
+import com.github.tsc4j.core.ConfigTransformer;
+import com.github.tsc4j.core.ConfigTransformerBuilder;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigValue;
+import com.typesafe.config.ConfigValueFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks config traversal and reassembly done by {@link AbstractConfigTransformer}, using transformer that
+ * upper-cases string values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConfigTransformerBenchmark extends AbstractConfigBenchmark {
+    private final ConfigTransformer transformer = new UpperCaseTransformer.Builder().build();
+
+    @Benchmark
+    public Config transform() {
+        return transformer.transform(config);
+    }
+
+    /**
+     * Transformer that upper-cases string values.
+     */
+    private static final class UpperCaseTransformer extends AbstractConfigTransformer<Void> {
+        private UpperCaseTransformer(Builder builder) {
+            super(builder);
+        }
+
+        @Override
+        protected Void createTransformationContext(Config config) {
+            return null;
+        }
+
+        @Override
+        protected ConfigValue transformString(String path, ConfigValue value, Void ctx) {
+            return ConfigValueFactory.fromAnyRef(value.unwrapped().toString().toUpperCase(Locale.ENGLISH));
+        }
+
+        @Override
+        public String getType() {
+            return "uppercase";
+        }
+
+        static final class Builder extends ConfigTransformerBuilder<Builder> {
+            @Override
+            public ConfigTransformer build() {
+                return new UpperCaseTransformer(this);
+            }
+        }
+    }
+}
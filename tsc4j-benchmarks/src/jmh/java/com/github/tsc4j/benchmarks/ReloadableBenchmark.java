@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.benchmarks;
+
+import com.github.tsc4j.api.Reloadable;
+import com.github.tsc4j.core.impl.DefaultReloadableConfig;
+import com.typesafe.config.Config;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link Reloadable#get()} and config refresh that updates all registered reloadables. Reloadables are
+ * registered for string values of generated config; if there are more reloadables than string values, some paths
+ * are registered more than once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReloadableBenchmark extends AbstractConfigBenchmark {
+    /**
+     * Number of registered reloadables.
+     */
+    @Param({"1", "100", "1000"})
+    private int reloadables;
+
+    private Config updatedConfig;
+    private volatile Config currentConfig;
+
+    private DefaultReloadableConfig reloadableConfig;
+    private List<Reloadable<String>> registered;
+
+    @Override
+    protected void setup() {
+        updatedConfig = BenchmarkConfigs.createUpdated(keys, depth);
+        currentConfig = config;
+
+        // too small refresh interval disables automatic refresh
+        reloadableConfig = DefaultReloadableConfig.builder()
+            .configSupplier(() -> currentConfig)
+            .refreshInterval(Duration.ZERO)
+            .build();
+        reloadableConfig.refresh().toCompletableFuture().join();
+
+        val paths = BenchmarkConfigs.stringPaths(keys, depth);
+        registered = new ArrayList<>(reloadables);
+        for (int i = 0; i < reloadables; i++) {
+            registered.add(reloadableConfig.register(paths.get(i % paths.size()), String.class));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        reloadableConfig.close();
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for (val reloadable : registered) {
+            blackhole.consume(reloadable.get());
+        }
+    }
+
+    /**
+     * Refreshes config, alternating between two configs with different values, so that every refresh updates all
+     * registered reloadables.
+     *
+     * @return refreshed config
+     */
+    @Benchmark
+    public Config refresh() {
+        currentConfig = (currentConfig == config) ? updatedConfig : config;
+        return reloadableConfig.refresh().toCompletableFuture().join();
+    }
+}
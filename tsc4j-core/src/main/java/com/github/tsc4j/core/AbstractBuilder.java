@@ -73,6 +73,13 @@ public abstract class AbstractBuilder<V, T extends AbstractBuilder<V, T>> implem
         return Duration.ZERO;
     }
 
+    /**
+     * Maximum number of entries in cache; cache is not size-bounded if value is {@code <= 0} (default: {@value
+     * Tsc4jImplUtils#DEFAULT_CACHE_MAX_SIZE})
+     */
+    @Getter
+    private int cacheMaxSize = Tsc4jImplUtils.DEFAULT_CACHE_MAX_SIZE;
+
     /**
      * Sets built instance name.
      *
@@ -132,12 +139,25 @@ public abstract class AbstractBuilder<V, T extends AbstractBuilder<V, T>> implem
         return getThis();
     }
 
+    /**
+     * Sets maximum number of entries in cache.
+     *
+     * @param cacheMaxSize maximum number of cache entries, cache is not size-bounded if value is {@code <= 0}
+     * @return reference to itself
+     * @see #getCacheMaxSize()
+     */
+    public T setCacheMaxSize(int cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+        return getThis();
+    }
+
     @Override
     public void withConfig(@NonNull Config config) {
         cfgString(config, "name", this::setName);
         cfgBoolean(config, "allow-errors", this::setAllowErrors);
         cfgBoolean(config, "parallel", this::setParallel);
         cfgDuration(config, "cache-ttl", this::setCacheTtl);
+        cfgInt(config, "cache-max-size", this::setCacheMaxSize);
     }
 
     /**
@@ -17,6 +17,8 @@
 package com.github.tsc4j.core;
 
 import com.github.tsc4j.core.impl.Stopwatch;
+import com.github.tsc4j.core.utils.CompressionUtils;
+import com.github.tsc4j.core.utils.ConfigBundles;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import lombok.AccessLevel;
@@ -24,6 +26,7 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.val;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.Reader;
 import java.util.Arrays;
@@ -31,9 +34,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -81,6 +86,7 @@ public abstract class AbstractConfigSource extends BaseInstance implements Confi
     private final boolean parallel;
 
     private final AtomicBoolean firstFetch = new AtomicBoolean(true);
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
     private final Set<String> alreadyWarnedMissingLocations = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
     /**
@@ -121,6 +127,28 @@ public abstract class AbstractConfigSource extends BaseInstance implements Confi
         return debugLoadedConfig("", config);
     }
 
+    @Override
+    public void addChangeListener(@NonNull Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Notifies registered change listeners that configuration has changed and should be fetched again; meant to be
+     * invoked by config sources that are able to detect changes on their own.
+     *
+     * @see #addChangeListener(Runnable)
+     */
+    protected final void notifyChangeListeners() {
+        log.debug("{} notifying {} change listener(s)", this, changeListeners.size());
+        changeListeners.forEach(listener -> {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                log.warn("{} exception while notifying change listener {}: {}", this, listener, e.getMessage(), e);
+            }
+        });
+    }
+
     /**
      * Method supposed to be fired on first fetch by the actual aliases.
      */
@@ -185,6 +213,101 @@ public abstract class AbstractConfigSource extends BaseInstance implements Confi
         return Tsc4jImplUtils.readConfig(reader, origin);
     }
 
+    /**
+     * Loads configuration from an input stream of a config object, which is transparently decompressed and/or expanded
+     * as a config bundle according to {@code path} suffix (see {@link CompressionUtils} and {@link ConfigBundles});
+     * decompression is streamed directly into config parser. {@code inputStream} is automatically closed after
+     * configuration is parsed.
+     *
+     * @param inputStream input stream to read config object from
+     * @param path        config object path, also used as config origin
+     * @return config instance.
+     * @throws NullPointerException                in case of null arguments
+     * @throws com.typesafe.config.ConfigException when configuration cannot be loaded or parsed from the source
+     */
+    protected final Config readConfigObject(@NonNull InputStream inputStream, @NonNull String path) {
+        val uncompressedPath = CompressionUtils.stripCompressionSuffix(path);
+        val is = decompress(inputStream, path);
+        return ConfigBundles.isBundle(uncompressedPath) ?
+            readConfigBundle(is, uncompressedPath) :
+            readConfig(is, path);
+    }
+
+    private InputStream decompress(InputStream inputStream, String path) {
+        try {
+            return CompressionUtils.decompressPath(inputStream, path);
+        } catch (RuntimeException e) {
+            Tsc4jImplUtils.close(inputStream, log);
+            throw e;
+        }
+    }
+
+    /**
+     * Loads configuration from a config bundle (see {@link ConfigBundles}): valid config files found in the bundle are
+     * parsed and merged in the same order as {@link FilesystemLikeConfigSource} would load them from a directory.
+     *
+     * @param bundleBytes bundle contents
+     * @param origin      bundle origin (path, url), also used to determine bundle format
+     * @return merged config
+     * @throws NullPointerException                in case of null arguments
+     * @throws com.typesafe.config.ConfigException when any of bundled configs cannot be parsed
+     * @see #bundleEntryNames(Collection)
+     */
+    protected final Config readConfigBundle(@NonNull byte[] bundleBytes, @NonNull String origin) {
+        return readConfigBundle(new ByteArrayInputStream(bundleBytes), origin);
+    }
+
+    /**
+     * Loads configuration from a config bundle input stream; {@code inputStream} is automatically closed after bundle is
+     * read.
+     *
+     * @param inputStream bundle input stream
+     * @param origin      bundle origin (path, url), also used to determine bundle format
+     * @return merged config
+     * @throws NullPointerException                in case of null arguments
+     * @throws com.typesafe.config.ConfigException when any of bundled configs cannot be parsed
+     * @see #readConfigBundle(byte[], String)
+     */
+    protected final Config readConfigBundle(@NonNull InputStream inputStream, @NonNull String origin) {
+        val entries = readBundleEntries(inputStream, origin);
+        val entryNames = bundleEntryNames(entries.keySet());
+        log.debug("{} loading {} config(s) from bundle {}: {}", this, entryNames.size(), origin, entryNames);
+
+        val config = entryNames.stream()
+            .map(name -> readConfigObject(new ByteArrayInputStream(entries.get(name)), origin + "!/" + name))
+            .reduce(ConfigFactory.empty(), (previous, current) -> current.withFallback(previous));
+        return debugLoadedConfig(origin, config);
+    }
+
+    private Map<String, byte[]> readBundleEntries(InputStream inputStream, String origin) {
+        try {
+            return ConfigBundles.extract(inputStream, origin);
+        } finally {
+            Tsc4jImplUtils.close(inputStream, log);
+        }
+    }
+
+    /**
+     * Selects and orders bundle entries that should be loaded: valid config names in bundle root (sorted) followed by
+     * {@value #CONF_D_DIR} entries (sorted).
+     *
+     * @param names bundle-relative entry names
+     * @return ordered list of entry names to load
+     * @see #readConfigBundle(byte[], String)
+     */
+    protected List<String> bundleEntryNames(@NonNull Collection<String> names) {
+        val confdPrefix = CONF_D_DIR + "/";
+        val rootNames = names.stream()
+            .filter(e -> !e.contains("/"))
+            .filter(this::isValidConfigName)
+            .sorted();
+        val confdNames = names.stream()
+            .filter(e -> e.startsWith(confdPrefix) && e.indexOf('/', confdPrefix.length()) < 0)
+            .filter(e -> isValidConfigName("/" + e))
+            .sorted();
+        return Stream.concat(rootNames, confdNames).collect(Collectors.toList());
+    }
+
     /**
      * Returns unique, non-empty environment names from config query.
      *
@@ -281,6 +404,7 @@ public abstract class AbstractConfigSource extends BaseInstance implements Confi
     protected abstract List<Config> fetchConfigs(@NonNull ConfigQuery query);
 
     protected boolean isValidConfigName(@NonNull String path) {
+        path = CompressionUtils.stripCompressionSuffix(path);
         val basename = basename(path);
         if (CONFIG_BASENAMES.contains(basename)) {
             return true;
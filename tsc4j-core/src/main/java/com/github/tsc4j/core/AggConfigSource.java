@@ -54,6 +54,8 @@ import java.util.stream.Collectors;
 @Builder
 @EqualsAndHashCode(callSuper = false)
 public final class AggConfigSource extends CloseableInstance implements ConfigSource {
+    private static final String TYPE = "agg";
+
     /**
      * Configuration supplier that provides {@link Config} instance that overrides all other fetched configs. Default
      * is
@@ -116,13 +118,17 @@ public final class AggConfigSource extends CloseableInstance implements ConfigSo
         }
     }
 
+    @Override
+    public void addChangeListener(@NonNull Runnable listener) {
+        sources.forEach(e -> e.addChangeListener(listener));
+    }
+
     private Config doGet(@NonNull ConfigQuery query) {
         // fetch override config
         val overrideConfig = fetchConfig(overrideSupplier).orElse(ConfigFactory.empty());
 
         // fetch configs from all normal config sources and merge them in one
-        val mergedConfig = fetchConfigs(query).stream()
-            .reduce(ConfigFactory.empty(), (previous, current) -> current.withFallback(previous));
+        val mergedConfig = merge(fetchConfigs(query));
 
         // fetch fallback config and merge it with current config
         val configWithFallback = fetchConfig(fallbackSupplier)
@@ -137,12 +143,39 @@ public final class AggConfigSource extends CloseableInstance implements ConfigSo
         log.trace("config before resolving (resolved: {}): {}", finalConfig.isResolved(), finalConfig);
 
         // moment of truth, resolve configuration
-        val resolvedConfig = finalConfig.resolve();
+        val resolvedConfig = resolve(finalConfig);
         log.trace("resolved config: {}", resolvedConfig);
 
         return Tsc4j.withoutSystemPropertiesAndEnvVars(resolvedConfig);
     }
 
+    private Config merge(List<Config> configs) {
+        try (Tsc4jSpan span = Tsc4jImplUtils.tracer().start(Tsc4jStage.MERGE, TYPE)) {
+            val config = configs.stream()
+                .reduce(ConfigFactory.empty(), (previous, current) -> current.withFallback(previous));
+            if (span.isRecording()) {
+                span.setAttribute(Tsc4jSpan.CONFIGS, configs.size())
+                    .setAttribute(Tsc4jSpan.PATHS, config.root().size());
+            }
+            return config;
+        }
+    }
+
+    private Config resolve(Config config) {
+        try (Tsc4jSpan span = Tsc4jImplUtils.tracer().start(Tsc4jStage.RESOLVE, TYPE)) {
+            try {
+                val resolvedConfig = config.resolve();
+                if (span.isRecording()) {
+                    span.setAttribute(Tsc4jSpan.PATHS, resolvedConfig.root().size());
+                }
+                return resolvedConfig;
+            } catch (RuntimeException e) {
+                span.setError(e);
+                throw e;
+            }
+        }
+    }
+
 
     /**
      * Fetches configs from all registered configuration suppliers.
@@ -187,14 +220,29 @@ public final class AggConfigSource extends CloseableInstance implements ConfigSo
      * @see ConfigSource#allowErrors()
      */
     protected Optional<Config> fetchConfig(@NonNull ConfigSource source, @NonNull ConfigQuery query) {
+        val name = Tsc4jImplUtils.metricsName(source);
+        val sw = new Stopwatch();
+        try (Tsc4jSpan span = Tsc4jImplUtils.tracer().start(Tsc4jStage.SOURCE_FETCH, name)) {
+            return fetchConfig(source, query, name, span, sw);
+        }
+    }
+
+    private Optional<Config> fetchConfig(ConfigSource source, ConfigQuery query,
+                                         String name, Tsc4jSpan span, Stopwatch sw) {
         try {
             val result = fetchConfig(() -> source.get(query));
+            Tsc4jImplUtils.metrics().sourceFetch(name, sw.durationNanos(), true);
+            if (span.isRecording()) {
+                span.setAttribute(Tsc4jSpan.PATHS, result.map(e -> e.root().size()).orElse(0));
+            }
             if (log.isDebugEnabled()) {
                 val numPaths = result.map(e -> e.root().size()).orElse(0);
-                log.debug("{} source {} returned config with {} path(s)", this, source, numPaths);
+                log.debug("{} source {} returned config with {} path(s) in {}", this, source, numPaths, sw);
             }
             return result;
         } catch (Exception e) {
+            Tsc4jImplUtils.metrics().sourceFetch(name, sw.durationNanos(), false);
+            span.setError(e);
             if (source.allowErrors()) {
                 log.warn("config source {} threw exception while fetching configuration, ignoring: {}",
                     source, e.getMessage(), e);
@@ -16,6 +16,7 @@
 
 package com.github.tsc4j.core;
 
+import com.github.tsc4j.core.impl.Stopwatch;
 import com.typesafe.config.Config;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -109,18 +110,33 @@ public final class AggConfigTransformer implements ConfigTransformer {
      * @see ConfigTransformer#allowErrors()
      */
     protected Config transformConfig(@NonNull Config config, @NonNull ConfigTransformer transformer) {
+        val name = Tsc4jImplUtils.metricsName(transformer);
+        val sw = new Stopwatch();
+        try (Tsc4jSpan span = Tsc4jImplUtils.tracer().start(Tsc4jStage.TRANSFORM, name)) {
+            return transformConfig(config, transformer, name, span, sw);
+        }
+    }
+
+    private Config transformConfig(Config config, ConfigTransformer transformer,
+                                   String name, Tsc4jSpan span, Stopwatch sw) {
         try {
             log.trace("{} transforming config with transformer {}: {}", this, transformer, config);
             val transformedConfig = transformer.transform(config);
+            Tsc4jImplUtils.metrics().transform(name, sw.durationNanos(), true);
             if (transformedConfig == null) {
                 log.warn("{} config transformer {} returned null, returning original config.",
                     this, transformer);
                 return config;
             }
+            if (span.isRecording()) {
+                span.setAttribute(Tsc4jSpan.PATHS, transformedConfig.root().size());
+            }
             log.trace("{} config transformer {} result:\n  ORIG: {}\n  NEW:  {}",
                 this, transformer, config, transformedConfig);
             return transformedConfig;
         } catch (Exception e) {
+            Tsc4jImplUtils.metrics().transform(name, sw.durationNanos(), false);
+            span.setError(e);
             if (transformer.allowErrors()) {
                 log.warn("{} error while transforming config with transformer {}: {} " +
                         "(error tolerance is enabled, returning original config)",
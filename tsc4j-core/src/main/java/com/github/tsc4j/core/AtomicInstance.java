@@ -18,13 +18,14 @@ package com.github.tsc4j.core;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import lombok.Synchronized;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
 import java.io.Closeable;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -49,6 +50,12 @@ public final class AtomicInstance<T> implements Closeable {
     @NonNull
     private final Consumer<T> destroyer;
 
+    /**
+     * Guards instance creation and destruction; lock instead of monitor, because creators and destroyers may block
+     * which would pin carrier of a virtual thread.
+     */
+    private final Lock lock = new ReentrantLock();
+
     /**
      * Stored instance.
      */
@@ -91,7 +98,6 @@ public final class AtomicInstance<T> implements Closeable {
      * @throws NullPointerException if supplier returns {@code null}
      * @see #getOrCreate(Supplier)
      */
-    @Synchronized
     public T getOrCreate() {
         return getOrCreate(this.creator);
     }
@@ -103,12 +109,16 @@ public final class AtomicInstance<T> implements Closeable {
      * @return stored instance
      * @throws NullPointerException if supplier returns {@code null}
      */
-    @Synchronized
     public T getOrCreate(@NonNull Supplier<T> creator) {
-        if (instance == null) {
-            instance = Objects.requireNonNull(creator.get(), "Instance creator returned null: " + creator);
+        lock.lock();
+        try {
+            if (instance == null) {
+                instance = Objects.requireNonNull(creator.get(), "Instance creator returned null: " + creator);
+            }
+            return instance;
+        } finally {
+            lock.unlock();
         }
-        return instance;
     }
 
     /**
@@ -125,21 +135,25 @@ public final class AtomicInstance<T> implements Closeable {
      *
      * @return reference to itself
      */
-    @Synchronized
     public AtomicInstance<T> clear() {
-        // fetch and un-assign instance
-        val i = this.instance;
-        this.instance = null;
-
-        if (i != null) {
-            try {
-                destroyer.accept(i);
-            } catch (Throwable t) {
-                log.error("exception while destroying atomic instance {} using destroyer {}", i, destroyer, t);
+        lock.lock();
+        try {
+            // fetch and un-assign instance
+            val i = this.instance;
+            this.instance = null;
+
+            if (i != null) {
+                try {
+                    destroyer.accept(i);
+                } catch (Throwable t) {
+                    log.error("exception while destroying atomic instance {} using destroyer {}", i, destroyer, t);
+                }
             }
-        }
 
-        return this;
+            return this;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
@@ -70,16 +70,18 @@ public abstract class BaseInstance extends CloseableInstance {
     public abstract String getType();
 
     /**
-     * Invokes all given tasks ({@link Callable}s) and returns list of execution results.
+     * Invokes all given tasks ({@link Callable}s) and returns list of execution results; parallel tasks are run in
+     * bulkhead named by instance type.
      *
      * @param callables tasks to run
      * @param parallel  execute tasks in parallel or not?
      * @param <T>       callable return type
      * @return list of callable results
      * @throws Exception if any of tasks throw
+     * @see Tsc4jImplUtils#executor(String)
      */
     protected final <T> List<T> runTasks(@NonNull Collection<Callable<T>> callables, boolean parallel) {
-        return Tsc4jImplUtils.runTasks(callables, parallel);
+        return Tsc4jImplUtils.runTasks(getType(), callables, parallel);
     }
 
     /**
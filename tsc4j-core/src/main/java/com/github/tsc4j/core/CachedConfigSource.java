@@ -19,18 +19,59 @@ package com.github.tsc4j.core;
 import com.typesafe.config.Config;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * Config source that wraps delegate and caches delegate's responses.
+ * <p>
+ * Concurrent requests for the same query that miss the cache are coalesced into a single delegate call. If max
+ * staleness is configured, expired entry that is not older than cache ttl plus max staleness is served immediately
+ * while single background task revalidates it. If delegate fails, last successfully fetched config for the query is
+ * returned instead of propagating the exception; delegate errors are swallowed this way even if
+ * {@link #allowErrors()} is false. Last good configs are kept in a cache bounded to
+ * {@value Tsc4jImplUtils#DEFAULT_CACHE_MAX_SIZE} entries and expire after cache ttl plus max staleness, but not sooner
+ * than {@link #MIN_LAST_GOOD_AGE}; delegate errors are propagated once last good config expires.
  */
+@Slf4j
 public final class CachedConfigSource implements ConfigSource, WithCache<ConfigQuery, Config> {
+    /**
+     * Minimum duration for which last successfully fetched config is retained as a fallback for delegate errors.
+     */
+    public static final Duration MIN_LAST_GOOD_AGE = Duration.ofHours(1);
+
     private final ConfigSource delegate;
 
     @Getter
     private final Tsc4jCache<ConfigQuery, Config> cache;
 
+    /**
+     * Maximum age of last good config that can be served while being revalidated, 0 if stale entries should not be
+     * served.
+     */
+    private final long maxStaleAgeMillis;
+    private final Clock clock;
+    private final Executor executor;
+
+    /**
+     * Last successfully fetched config for each query, bounded by size and age.
+     */
+    private final Tsc4jCache<ConfigQuery, LastGood> lastGood;
+
+    /**
+     * Delegate fetches in progress.
+     */
+    private final Map<ConfigQuery, CompletableFuture<Config>> inFlight = new ConcurrentHashMap<>();
+
     /**
      * Creates new instance.
      *
@@ -38,7 +79,20 @@ public final class CachedConfigSource implements ConfigSource, WithCache<ConfigQ
      * @param cacheTtl cache ttl
      */
     public CachedConfigSource(@NonNull ConfigSource delegate, @NonNull Duration cacheTtl) {
-        this(delegate, Tsc4jImplUtils.newCache(delegate.toString(), cacheTtl));
+        this(delegate, cacheTtl, Duration.ZERO);
+    }
+
+    /**
+     * Creates new instance that serves stale entries while revalidating them.
+     *
+     * @param delegate delegate config source
+     * @param cacheTtl cache ttl
+     * @param maxStale for how long after expiration cached entry can be served while being revalidated in the
+     *                 background; stale entries are not served if duration is zero
+     */
+    public CachedConfigSource(@NonNull ConfigSource delegate, @NonNull Duration cacheTtl, @NonNull Duration maxStale) {
+        this(delegate, Tsc4jImplUtils.newCache(delegate.toString(), cacheTtl), cacheTtl, maxStale,
+            Clock.systemDefaultZone(), bulkheadExecutor(delegate));
     }
 
     /**
@@ -48,8 +102,53 @@ public final class CachedConfigSource implements ConfigSource, WithCache<ConfigQ
      * @param cache    cache implementation
      */
     protected CachedConfigSource(@NonNull ConfigSource delegate, @NonNull Tsc4jCache<ConfigQuery, Config> cache) {
+        this(delegate, cache, Duration.ZERO, Duration.ZERO, Clock.systemDefaultZone(), bulkheadExecutor(delegate));
+    }
+
+    /**
+     * Creates new instance.
+     *
+     * @param delegate delegate config source
+     * @param cache    cache implementation
+     * @param cacheTtl cache ttl
+     * @param maxStale for how long after expiration cached entry can be served while being revalidated
+     * @param clock    clock
+     * @param executor executor used for background revalidation
+     * @throws IllegalArgumentException if durations are negative
+     */
+    protected CachedConfigSource(@NonNull ConfigSource delegate,
+                                 @NonNull Tsc4jCache<ConfigQuery, Config> cache,
+                                 @NonNull Duration cacheTtl,
+                                 @NonNull Duration maxStale,
+                                 @NonNull Clock clock,
+                                 @NonNull Executor executor) {
+        if (cacheTtl.isNegative() || maxStale.isNegative()) {
+            throw new IllegalArgumentException("Cache ttl and max staleness cannot be negative.");
+        }
         this.delegate = delegate;
         this.cache = cache;
+        this.maxStaleAgeMillis = maxStale.isZero() ? 0 : cacheTtl.plus(maxStale).toMillis();
+        this.clock = clock;
+        this.executor = executor;
+        this.lastGood = Tsc4jImplUtils.newCache(delegate + "-last-good", lastGoodTtl(cacheTtl, maxStale),
+            Tsc4jImplUtils.DEFAULT_CACHE_MAX_SIZE, clock);
+    }
+
+    private static Duration lastGoodTtl(Duration cacheTtl, Duration maxStale) {
+        val ttl = cacheTtl.plus(maxStale);
+        return (ttl.compareTo(MIN_LAST_GOOD_AGE) > 0) ? ttl : MIN_LAST_GOOD_AGE;
+    }
+
+    /**
+     * Creates executor that runs background revalidation in bulkhead named by delegate's type.
+     *
+     * @param delegate delegate config source
+     * @return executor
+     */
+    private static Executor bulkheadExecutor(ConfigSource delegate) {
+        val bulkhead = (delegate instanceof BaseInstance) ?
+            ((BaseInstance) delegate).getType() : Tsc4jExecutorStrategy.DEFAULT_BULKHEAD;
+        return task -> Tsc4jImplUtils.executor(bulkhead).execute(Tsc4jImplUtils.tracer().wrap(task));
     }
 
     @Override
@@ -59,8 +158,108 @@ public final class CachedConfigSource implements ConfigSource, WithCache<ConfigQ
 
     @Override
     public Config get(@NonNull ConfigQuery query) {
-        return getFromCache(query)
-            .orElseGet(() -> putToCache(query, delegate.get(query)));
+        val span = Tsc4jImplUtils.tracer().current();
+        val cached = getFromCache(query);
+        if (cached.isPresent()) {
+            span.setAttribute(Tsc4jSpan.CACHE_HIT, true);
+            return cached.get();
+        }
+
+        val stale = lastGood.get(query).orElse(null);
+        if (stale != null && clock.millis() - stale.fetchedAt < maxStaleAgeMillis) {
+            span.setAttribute(Tsc4jSpan.CACHE_HIT, true);
+            log.debug("{} serving stale config, revalidating in background: {}", this, query);
+            fetch(query, true).whenComplete((config, exception) -> {
+                if (exception != null) {
+                    log.warn("{} error revalidating config: {}", this, unwrap(exception).toString());
+                }
+            });
+            return stale.config;
+        }
+
+        span.setAttribute(Tsc4jSpan.CACHE_HIT, false);
+        try {
+            return fetch(query, false).join();
+        } catch (CompletionException e) {
+            val lastGoodConfig = lastGood.get(query).orElse(null);
+            if (lastGoodConfig == null) {
+                throw rethrow(unwrap(e));
+            }
+            log.warn("{} error fetching config, using last good config fetched at {}: {}",
+                this, Instant.ofEpochMilli(lastGoodConfig.fetchedAt), unwrap(e).toString());
+            return lastGoodConfig.config;
+        }
+    }
+
+    /**
+     * Fetches config from delegate; if fetch for the same query is already in progress, it's result is returned.
+     *
+     * @param query config query
+     * @param async run delegate fetch on executor instead of calling thread?
+     * @return future of fetched config
+     */
+    private CompletableFuture<Config> fetch(ConfigQuery query, boolean async) {
+        val future = new CompletableFuture<Config>();
+        val existing = inFlight.putIfAbsent(query, future);
+        if (existing != null) {
+            log.trace("{} joining in-flight fetch: {}", this, query);
+            return existing;
+        }
+
+        // fetch that completed between cache lookup and registration of this fetch has already populated the cache
+        val cached = getFromCache(query);
+        if (cached.isPresent()) {
+            inFlight.remove(query, future);
+            future.complete(cached.get());
+            return future;
+        }
+
+        Runnable task = () -> {
+            try {
+                val config = delegate.get(query);
+                putToCache(query, config);
+                lastGood.put(query, new LastGood(config, clock.millis()));
+                inFlight.remove(query, future);
+                future.complete(config);
+            } catch (Throwable t) {
+                inFlight.remove(query, future);
+                future.completeExceptionally(t);
+            }
+        };
+
+        if (!async) {
+            task.run();
+        } else {
+            try {
+                executor.execute(task);
+            } catch (RuntimeException e) {
+                inFlight.remove(query, future);
+                future.completeExceptionally(e);
+            }
+        }
+        return future;
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        return (t instanceof CompletionException && t.getCause() != null) ? t.getCause() : t;
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return Tsc4jException.of("Error fetching configuration: %%s", t);
+    }
+
+    @Override
+    public void addChangeListener(@NonNull Runnable listener) {
+        // cached configs are stale after delegate detects change
+        delegate.addChangeListener(() -> {
+            clear();
+            listener.run();
+        });
     }
 
     /**
@@ -70,6 +269,7 @@ public final class CachedConfigSource implements ConfigSource, WithCache<ConfigQ
      */
     public CachedConfigSource clear() {
         getCache().clear();
+        lastGood.clear();
         return this;
     }
 
@@ -86,5 +286,24 @@ public final class CachedConfigSource implements ConfigSource, WithCache<ConfigQ
     public void close() {
         delegate.close();
         cache.clear();
+        lastGood.clear();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + delegate + ")";
+    }
+
+    /**
+     * Last successfully fetched config.
+     */
+    private static final class LastGood {
+        private final Config config;
+        private final long fetchedAt;
+
+        LastGood(Config config, long fetchedAt) {
+            this.config = config;
+            this.fetchedAt = fetchedAt;
+        }
     }
 }
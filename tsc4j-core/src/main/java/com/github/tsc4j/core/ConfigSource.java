@@ -46,6 +46,17 @@ public interface ConfigSource extends Closeable {
      */
     Config get(@NonNull ConfigQuery query) throws RuntimeException;
 
+    /**
+     * Registers listener that is invoked when config source detects configuration change on it's own (for example by
+     * receiving push notification from remote server) and configuration should be fetched again. Most config sources
+     * can't detect changes and ignore registered listeners.
+     *
+     * @param listener change listener
+     * @throws NullPointerException in case of null arguments
+     */
+    default void addChangeListener(@NonNull Runnable listener) {
+    }
+
     /**
      * Closes instance and releases any held resources. All methods
      */
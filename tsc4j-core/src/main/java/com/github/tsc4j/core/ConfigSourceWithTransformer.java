@@ -57,6 +57,11 @@ public final class ConfigSourceWithTransformer implements ConfigSource {
         return transformer.transform(config);
     }
 
+    @Override
+    public void addChangeListener(@NonNull Runnable listener) {
+        source.addChangeListener(listener);
+    }
+
     @Override
     public void close() {
         Tsc4jImplUtils.close(source, log);
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Tsc4jExecutor} that runs tasks of a bulkhead using executor of currently installed
+ * {@link Tsc4jExecutorStrategy}; submission that fails because strategy was replaced and closed in the meantime is
+ * retried using the replacement strategy.
+ *
+ * @see Tsc4jImplUtils#executor(String)
+ */
+@Slf4j
+final class CurrentStrategyTsc4jExecutor extends AbstractExecutorService implements Tsc4jExecutor {
+    @Getter
+    private final String bulkhead;
+
+    /**
+     * Creates new instance.
+     *
+     * @param bulkhead bulkhead name
+     */
+    CurrentStrategyTsc4jExecutor(@NonNull String bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+        while (true) {
+            val strategy = Tsc4jImplUtils.executorStrategy();
+            try {
+                // closed strategy throws IllegalStateException, shut down executor rejects the task
+                val executor = strategy.executor(bulkhead);
+                executor.execute(command);
+                return;
+            } catch (IllegalStateException | RejectedExecutionException e) {
+                if (Tsc4jImplUtils.executorStrategy() == strategy) {
+                    throw e;
+                }
+                log.debug("{} executor strategy {} was replaced while submitting task, retrying.", this, strategy);
+            }
+        }
+    }
+
+    private Tsc4jExecutor current() {
+        return Tsc4jImplUtils.executorStrategy().executor(bulkhead);
+    }
+
+    @Override
+    public String getName() {
+        return current().getName();
+    }
+
+    @Override
+    public Tsc4jExecutorStats stats() {
+        return current().stats();
+    }
+
+    @Override
+    public void shutdown() {
+        current().shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return current().shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return current().isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return current().isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+        return current().awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + bulkhead + ")";
+    }
+}
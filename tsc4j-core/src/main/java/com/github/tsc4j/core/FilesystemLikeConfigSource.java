@@ -17,6 +17,8 @@
 package com.github.tsc4j.core;
 
 
+import com.github.tsc4j.core.utils.CompressionUtils;
+import com.github.tsc4j.core.utils.ConfigBundles;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import lombok.AccessLevel;
@@ -24,6 +26,7 @@ import lombok.Getter;
 import lombok.NonNull;
 import lombok.val;
 
+import java.io.InputStream;
 import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -175,6 +178,13 @@ public abstract class FilesystemLikeConfigSource<T> extends AbstractConfigSource
      */
     protected Config loadConfig(@NonNull String path, @NonNull T context) {
         log.trace("{} loading configuration for path: {} (context: {})", this, path, context);
+        if (isStreamedConfigObject(path)) {
+            val config = openStream(path, context)
+                .map(is -> readConfigObject(is, path))
+                .orElse(ConfigFactory.empty());
+            return debugLoadedConfig(path, config);
+        }
+
         val config = openConfig(path, context)
             .map(reader -> readConfig(reader, path))
             .orElse(ConfigFactory.empty());
@@ -195,6 +205,46 @@ public abstract class FilesystemLikeConfigSource<T> extends AbstractConfigSource
             "You should implement method openConfig(String path, T context) in class" + getClass().getName());
     }
 
+    /**
+     * Tells whether config object at given path needs to be read as a byte stream instead of {@link Reader} because it's
+     * compressed (see {@link CompressionUtils}) or a config bundle (see {@link ConfigBundles}).
+     *
+     * @param path configuration path
+     * @return true/false
+     * @see #openStream(String, Object)
+     */
+    protected final boolean isStreamedConfigObject(@NonNull String path) {
+        return CompressionUtils.isCompressed(path) || ConfigBundles.isBundle(path);
+    }
+
+    /**
+     * Opens config object as a byte stream; used for compressed config objects and config bundles which are
+     * decompressed and expanded on the fly while being parsed.
+     *
+     * @param path    configuration path
+     * @param context configuration fetch context.
+     * @return optional of input stream
+     * @throws NullPointerException in case of null arguments
+     * @throws RuntimeException     if config object cannot be opened for some reason
+     * @see #isStreamedConfigObject(String)
+     * @see #readConfigObject(InputStream, String)
+     */
+    protected Optional<InputStream> openStream(String path, T context) throws RuntimeException {
+        throw new UnsupportedOperationException(
+            "Compressed config objects and config bundles are not supported by " + getClass().getName() + ": " + path);
+    }
+
+    @Override
+    protected List<String> bundleEntryNames(@NonNull Collection<String> names) {
+        val entryNames = super.bundleEntryNames(names);
+        if (isConfdEnabled()) {
+            return entryNames;
+        }
+        return entryNames.stream()
+            .filter(e -> !e.startsWith(CONF_D_DIR + "/"))
+            .collect(Collectors.toList());
+    }
+
     /**
      * Creates a stream of all possible filename paths where configuration should be looked up.
      *
@@ -16,9 +16,11 @@
 
 package com.github.tsc4j.core;
 
+import com.github.tsc4j.core.impl.ConfigSnapshotStore;
 import com.github.tsc4j.core.impl.ConfigSupplier;
 import com.github.tsc4j.core.impl.DefaultReloadableConfig;
 import com.github.tsc4j.core.impl.Stopwatch;
+import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import lombok.Data;
 import lombok.NonNull;
@@ -26,11 +28,13 @@ import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static com.github.tsc4j.core.Tsc4jImplUtils.*;
 
@@ -179,6 +183,10 @@ public class ReloadableConfigFactory {
         val source = Tsc4j.configSource(config, envs, ConfigFactory::empty, ConfigFactory::load);
         log.debug("created config source in {}", srcTimer);
 
+        // load last-known-good snapshot
+        val snapshotStore = createSnapshotStore(config, query);
+        val initialConfig = snapshotStore.flatMap(ConfigSnapshotStore::load).orElse(null);
+
         // create reloadable config
         val configSupplier = new ConfigSupplier(source, query);
         val rc = DefaultReloadableConfig.builder()
@@ -187,9 +195,38 @@ public class ReloadableConfigFactory {
             .refreshJitterPct(config.getRefreshIntervalJitterPct())
             .reverseUpdateOrder(config.isReverseUpdateOrder())
             .logFirstFetch(isVerboseInit())
+            .initialConfig(initialConfig)
             .build();
 
+        // persist every successfully fetched config
+        snapshotStore.ifPresent(store -> rc.register(Function.<Config>identity()).register(store::save));
+
+        // config sources that are able to detect changes trigger immediate refresh
+        source.addChangeListener(() -> {
+            if (!rc.isClosed()) {
+                rc.refresh();
+            }
+        });
+
         log.debug("created reloadable config in {}: {}", sw, rc);
         return rc;
     }
+
+    /**
+     * Creates snapshot store if snapshots are enabled in bootstrap config.
+     *
+     * @param config bootstrap config
+     * @param query  config query
+     * @return optional of snapshot store
+     */
+    private Optional<ConfigSnapshotStore> createSnapshotStore(@NonNull Tsc4jConfig config, @NonNull ConfigQuery query) {
+        return optString(config.getSnapshotPath())
+            .map(path -> {
+                // snapshot is valid only for the same sources, transformers, value providers and query
+                val fingerprint = Tsc4jImplUtils.objectChecksum(
+                    config.getSources() + "|" + config.getTransformers() + "|" + config.getValueProviders() + "|" +
+                        query);
+                return new ConfigSnapshotStore(Paths.get(path), fingerprint, config.getSnapshotKey());
+            });
+    }
 }
@@ -439,7 +439,8 @@ public class Tsc4j {
     }
 
     /**
-     * Creates config source that encapsulates all sources and transformers defined in config.
+     * Creates config source that encapsulates all sources and transformers defined in config; executor strategy is
+     * configured as well if config contains executor configuration.
      *
      * @param config                 tsc4j config
      * @param appEnvs                application's enabled environments
@@ -447,11 +448,15 @@ public class Tsc4j {
      * @param fallbackConfigSupplier fallback config supplier
      * @return config source
      * @throws RuntimeException if any of sources or transformers cannot be initialized
+     * @see Tsc4jImplUtils#configureExecutorStrategy(Tsc4jExecutorConfig)
      */
     public ConfigSource configSource(@NonNull Tsc4jConfig config,
                                      @NonNull Collection<String> appEnvs,
                                      @NonNull Supplier<Config> overrideConfigSupplier,
                                      @NonNull Supplier<Config> fallbackConfigSupplier) {
+        if (config.getExecutor() != null) {
+            Tsc4jImplUtils.configureExecutorStrategy(config.getExecutor());
+        }
         val source = Tsc4jImplUtils.aggConfigSource(config, appEnvs, overrideConfigSupplier, fallbackConfigSupplier);
         val transformer = Tsc4jImplUtils.aggConfigTransformer(config, appEnvs);
         val result = new ConfigSourceWithTransformer(source, transformer);
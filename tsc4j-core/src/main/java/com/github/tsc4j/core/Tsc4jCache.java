@@ -59,4 +59,13 @@ public interface Tsc4jCache<K, E> {
      * @return number of entries in cache
      */
     int size();
+
+    /**
+     * Returns snapshot of cache statistics.
+     *
+     * @return cache statistics, {@link Tsc4jCacheStats#EMPTY} if implementation doesn't record statistics.
+     */
+    default Tsc4jCacheStats stats() {
+        return Tsc4jCacheStats.EMPTY;
+    }
 }
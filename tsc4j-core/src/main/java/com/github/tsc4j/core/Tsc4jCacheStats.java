@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core;
+
+import lombok.Value;
+import lombok.val;
+
+/**
+ * Immutable snapshot of {@link Tsc4jCache} statistics.
+ */
+@Value
+public class Tsc4jCacheStats {
+    /**
+     * Statistics snapshot with all counters set to zero.
+     */
+    public static final Tsc4jCacheStats EMPTY = new Tsc4jCacheStats(0, 0, 0, 0);
+
+    /**
+     * Number of lookups that returned cached value.
+     */
+    long hitCount;
+
+    /**
+     * Number of lookups that didn't find a (valid) cached value.
+     */
+    long missCount;
+
+    /**
+     * Number of entries that were evicted because cache exceeded it's maximum size.
+     */
+    long evictionCount;
+
+    /**
+     * Number of entries that were removed because they expired.
+     */
+    long expirationCount;
+
+    /**
+     * Returns number of lookups.
+     *
+     * @return number of lookups
+     */
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Returns ratio of lookups that returned cached value.
+     *
+     * @return hit rate between {@code 0.0} and {@code 1.0}, {@code 1.0} if there were no lookups yet.
+     */
+    public double hitRate() {
+        val requests = requestCount();
+        return (requests == 0) ? 1.0 : (double) hitCount / requests;
+    }
+}
@@ -24,6 +24,7 @@ import lombok.Builder;
 import lombok.Builder.Default;
 import lombok.NonNull;
 import lombok.Singular;
+import lombok.ToString;
 import lombok.Value;
 
 import java.time.Duration;
@@ -98,6 +99,29 @@ public class Tsc4jConfig {
     @Singular("valueProvider")
     List<Config> valueProviders;
 
+    /**
+     * Path of the last-known-good configuration snapshot file; snapshot is loaded on startup and served until first
+     * configuration fetch completes and is rewritten after every successful fetch. Snapshots are disabled if not set.
+     *
+     * @see com.github.tsc4j.core.impl.ConfigSnapshotStore
+     */
+    String snapshotPath;
+
+    /**
+     * Base64 encoded AES key used to encrypt configuration snapshot, snapshot is not encrypted if not set.
+     *
+     * @see #getSnapshotPath()
+     */
+    @ToString.Exclude
+    String snapshotKey;
+
+    /**
+     * Executor strategy configuration; JVM-wide executor strategy is left intact if not set.
+     *
+     * @see Tsc4jImplUtils#configureExecutorStrategy(Tsc4jExecutorConfig)
+     */
+    Tsc4jExecutorConfig executor;
+
     /**
      * Builder for {@link Tsc4jConfig}.
      */
@@ -111,6 +135,13 @@ public class Tsc4jConfig {
             cfgExtract(config, "sources", Config::getConfigList, this::sources);
             cfgExtract(config, "transformers", Config::getConfigList, this::transformers);
             cfgExtract(config, "value-providers", Config::getConfigList, this::valueProviders);
+            cfgString(config, "snapshot-path", this::snapshotPath);
+            cfgString(config, "snapshot-key", this::snapshotKey);
+            cfgConfig(config, "executor", it -> {
+                Tsc4jExecutorConfig.Tsc4jExecutorConfigBuilder executorBuilder = Tsc4jExecutorConfig.builder();
+                executorBuilder.withConfig(it);
+                executor(executorBuilder.build());
+            });
         }
     }
 }
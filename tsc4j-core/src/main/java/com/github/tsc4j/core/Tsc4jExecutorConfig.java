@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core;
+
+import com.github.tsc4j.api.Tsc4jBeanBuilder;
+import com.github.tsc4j.api.WithConfig;
+import com.typesafe.config.Config;
+import lombok.Builder;
+import lombok.Builder.Default;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Configuration of {@link Tsc4jExecutorStrategy}, {@code executor} section of tsc4j bootstrap config:
+ * <pre>
+ * {@code
+ * executor {
+ *   # bounded, bulkhead or virtual
+ *   strategy     = bulkhead
+ *   max-threads  = 20
+ *   queue-size   = 0
+ *   keep-alive   = 5s
+ * }
+ * }
+ * </pre>
+ * Tasks that are rejected by saturated executor are run by the submitting thread. Non-zero queue size should be used
+ * with care: tasks that wait for results of their own sub-tasks queued behind them can block until they time out.
+ *
+ * @see Tsc4jConfig#getExecutor()
+ * @see Tsc4jImplUtils#createExecutorStrategy(Tsc4jExecutorConfig)
+ */
+@Value
+@Builder(toBuilder = true)
+@Tsc4jBeanBuilder
+public class Tsc4jExecutorConfig {
+    /**
+     * Executor strategy.
+     */
+    @Default
+    Strategy strategy = Strategy.BOUNDED;
+
+    /**
+     * Maximum number of threads of each thread pool; ignored by {@link Strategy#VIRTUAL} strategy.
+     */
+    @Default
+    int maxThreads = 500;
+
+    /**
+     * Maximum number of tasks waiting for a thread in each thread pool, {@code 0} if tasks should not be queued;
+     * ignored by {@link Strategy#VIRTUAL} strategy.
+     */
+    @Default
+    int queueSize = 0;
+
+    /**
+     * How long idle threads are kept alive; ignored by {@link Strategy#VIRTUAL} strategy.
+     */
+    @Default
+    Duration keepAlive = Duration.ofSeconds(5);
+
+    /**
+     * Validates this instance.
+     *
+     * @return reference to itself
+     * @throws IllegalArgumentException if configuration is invalid
+     */
+    public Tsc4jExecutorConfig validate() {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("Executor max threads must be positive: " + maxThreads);
+        }
+        if (queueSize < 0) {
+            throw new IllegalArgumentException("Executor queue size cannot be negative: " + queueSize);
+        }
+        if (keepAlive.isNegative()) {
+            throw new IllegalArgumentException("Executor keep alive cannot be negative: " + keepAlive);
+        }
+        return this;
+    }
+
+    /**
+     * Executor strategies.
+     */
+    public enum Strategy {
+        /**
+         * All bulkheads share single bounded thread pool.
+         */
+        BOUNDED,
+
+        /**
+         * Each bulkhead gets it's own bounded thread pool.
+         */
+        BULKHEAD,
+
+        /**
+         * Each task runs in new virtual thread; requires JDK 21 or newer, {@link #BOUNDED} strategy is used on older
+         * runtimes.
+         */
+        VIRTUAL;
+
+        /**
+         * Parses strategy name, case insensitive.
+         *
+         * @param name strategy name
+         * @return strategy
+         * @throws IllegalArgumentException if strategy name is invalid
+         */
+        public static Strategy parse(@NonNull String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                val names = Arrays.stream(values())
+                    .map(it -> it.name().toLowerCase(Locale.ENGLISH))
+                    .collect(Collectors.joining(", "));
+                throw new IllegalArgumentException("Invalid executor strategy '" + name + "', valid: " + names);
+            }
+        }
+    }
+
+    public static final class Tsc4jExecutorConfigBuilder implements WithConfig {
+        @Override
+        public void withConfig(@NonNull Config config) {
+            cfgString(config, "strategy", it -> strategy(Strategy.parse(it)));
+            cfgInt(config, "max-threads", this::maxThreads);
+            cfgInt(config, "queue-size", this::queueSize);
+            cfgDuration(config, "keep-alive", this::keepAlive);
+        }
+    }
+}
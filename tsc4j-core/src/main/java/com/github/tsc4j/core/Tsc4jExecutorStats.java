@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core;
+
+import lombok.Value;
+
+/**
+ * Immutable snapshot of {@link Tsc4jExecutor} statistics.
+ */
+@Value
+public class Tsc4jExecutorStats {
+    /**
+     * Statistics snapshot with all counters set to zero.
+     */
+    public static final Tsc4jExecutorStats EMPTY = new Tsc4jExecutorStats(0, 0, 0, 0, 0, 0);
+
+    /**
+     * Number of tasks that are currently running.
+     */
+    int activeCount;
+
+    /**
+     * Number of threads that currently exist in the pool.
+     */
+    int poolSize;
+
+    /**
+     * Maximum number of threads in the pool, {@code 0} if number of threads is not bounded.
+     */
+    int maxPoolSize;
+
+    /**
+     * Number of tasks waiting in the queue.
+     */
+    int queueSize;
+
+    /**
+     * Number of tasks that completed execution.
+     */
+    long completedTaskCount;
+
+    /**
+     * Number of tasks that were rejected by saturated executor and were run by submitting thread instead.
+     */
+    long rejectedTaskCount;
+
+    /**
+     * Returns ratio of running tasks to maximum number of threads.
+     *
+     * @return utilization between {@code 0.0} and {@code 1.0}, {@code 0.0} if number of threads is not bounded.
+     */
+    public double utilization() {
+        return (maxPoolSize <= 0) ? 0.0 : Math.min(1.0, (double) activeCount / maxPoolSize);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core;
+
+import lombok.NonNull;
+
+import java.io.Closeable;
+import java.util.Map;
+
+/**
+ * Strategy that decides which {@link Tsc4jExecutor} runs tasks of a bulkhead.
+ * <p>
+ * Bulkhead is a name of a group of tasks that should be isolated from other groups, usually a type of config source
+ * or config value provider that submitted them (for example {@code aws2.s3}), so that one slow backend cannot
+ * exhaust threads used by all the others. Strategies decide whether bulkheads actually get separate executors.
+ * Instances are thread-safe.
+ *
+ * @see Tsc4jImplUtils#executorStrategy()
+ * @see Tsc4jExecutorConfig
+ */
+public interface Tsc4jExecutorStrategy extends Closeable {
+    /**
+     * Bulkhead used for tasks that don't specify one (value: <b>{@value}</b>)
+     */
+    String DEFAULT_BULKHEAD = "default";
+
+    /**
+     * Bulkhead used for reloadable config refreshes (value: <b>{@value}</b>)
+     */
+    String REFRESH_BULKHEAD = "refresh";
+
+    /**
+     * Returns strategy type.
+     *
+     * @return strategy type
+     */
+    Tsc4jExecutorConfig.Strategy getType();
+
+    /**
+     * Returns executor that runs tasks of given bulkhead.
+     *
+     * @param bulkhead bulkhead name
+     * @return executor
+     * @throws IllegalStateException if strategy is closed
+     */
+    Tsc4jExecutor executor(@NonNull String bulkhead);
+
+    /**
+     * Returns statistics of all executors created by this strategy.
+     *
+     * @return map of executor name to it's statistics
+     */
+    Map<String, Tsc4jExecutorStats> stats();
+
+    /**
+     * Shuts down all executors created by this strategy; already submitted tasks are still executed.
+     */
+    @Override
+    void close();
+}
@@ -18,17 +18,24 @@ package com.github.tsc4j.core;
 
 
 import com.github.tsc4j.api.WithConfig;
+import com.github.tsc4j.core.impl.BoundedExecutorStrategy;
+import com.github.tsc4j.core.impl.BoundedTsc4jCache;
+import com.github.tsc4j.core.impl.BulkheadExecutorStrategy;
 import com.github.tsc4j.core.impl.ClasspathConfigSource;
 import com.github.tsc4j.core.impl.CliConfigSource;
+import com.github.tsc4j.core.impl.CompositeTsc4jMetrics;
+import com.github.tsc4j.core.impl.CompositeTsc4jTracer;
 import com.github.tsc4j.core.impl.ConfigValueProviderConfigTransformer;
 import com.github.tsc4j.core.impl.NoopConfigTransformer;
-import com.github.tsc4j.core.impl.SimpleTsc4jCache;
 import com.github.tsc4j.core.impl.Stopwatch;
+import com.github.tsc4j.core.impl.VirtualThreadExecutorStrategy;
+import com.github.tsc4j.core.utils.ConfigBinaryFormat;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import com.typesafe.config.ConfigList;
 import com.typesafe.config.ConfigObject;
 import com.typesafe.config.ConfigParseOptions;
+import com.typesafe.config.ConfigUtil;
 import com.typesafe.config.ConfigValue;
 import com.typesafe.config.ConfigValueType;
 import lombok.NonNull;
@@ -38,6 +45,7 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.slf4j.Logger;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.IOException;
@@ -59,10 +67,9 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -145,6 +152,12 @@ public class Tsc4jImplUtils {
      */
     public static final String DEFAULT_DATACENTER_NAME = "default";
 
+    /**
+     * Default maximum number of entries in caches created by {@link #newCache(String, Duration)} (value:
+     * <b>{@value}</b>)
+     */
+    public static final int DEFAULT_CACHE_MAX_SIZE = 10_000;
+
     /**
      * Default timeout in seconds for {@link #parallelCall(Collection)} (value: <b>{@value}</b>)
      */
@@ -180,9 +193,22 @@ public class Tsc4jImplUtils {
     private final Object executorLock = new Object();
 
     /**
-     * Default shared executor service
+     * Executor strategy used to run tsc4j tasks.
+     *
+     * @see #executorStrategy()
+     */
+    private volatile Tsc4jExecutorStrategy executorStrategy;
+
+    /**
+     * Configuration of {@link #executorStrategy}, {@code null} if strategy was set using
+     * {@link #setExecutorStrategy(Tsc4jExecutorStrategy)}; guarded by {@link #executorLock}.
+     */
+    private Tsc4jExecutorConfig executorStrategyConfig;
+
+    /**
+     * Executors returned by {@link #executor(String)}, keyed by bulkhead name.
      */
-    private volatile ExecutorService defaultExecutor;
+    private final Map<String, Tsc4jExecutor> bulkheadExecutors = new ConcurrentHashMap<>();
 
     /**
      * Default shared scheduled executor service
@@ -214,8 +240,16 @@ public class Tsc4jImplUtils {
             return objectChecksum("");
         }
 
-        val base = object.hashCode() + "|" + object.toString();
-        val hash = getMessageDigest().digest(base.getBytes(StandardCharsets.UTF_8));
+        try (Tsc4jSpan span = tracer().start(Tsc4jStage.CHECKSUM, object.getClass().getName())) {
+            val base = object.hashCode() + "|" + object.toString();
+            val bytes = base.getBytes(StandardCharsets.UTF_8);
+            span.setAttribute(Tsc4jSpan.BYTES, bytes.length);
+            return checksum(bytes);
+        }
+    }
+
+    private String checksum(byte[] bytes) {
+        val hash = getMessageDigest().digest(bytes);
 
         val hexString = new StringBuilder();
         for (int i = 0; i < hash.length; i++) {
@@ -557,7 +591,8 @@ public class Tsc4jImplUtils {
 
     /**
      * Loads configuration from {@link InputStream} source; {@code inputStream} is automatically closed after
-     * configuration is parsed.
+     * configuration is parsed. Binary configs (see {@link ConfigBinaryFormat}) are detected automatically; their
+     * origins are preserved and {@code origin} is ignored.
      *
      * @param inputStream input stream to read config from
      * @param origin      config origin, name, path, see {@link com.typesafe.config.ConfigOrigin}
@@ -567,7 +602,15 @@ public class Tsc4jImplUtils {
      * @see Config#origin()
      */
     public Config readConfig(@NonNull InputStream inputStream, @NonNull String origin) {
-        return readConfig(new InputStreamReader(inputStream, UTF_8), origin);
+        val is = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+        if (ConfigBinaryFormat.isBinaryConfig(is)) {
+            try {
+                return ConfigBinaryFormat.read(is);
+            } finally {
+                close(is, log);
+            }
+        }
+        return readConfig(new InputStreamReader(is, UTF_8), origin);
     }
 
     /**
@@ -674,6 +717,86 @@ public class Tsc4jImplUtils {
         }
     }
 
+    /**
+     * Computes structural difference between two config instances. Config objects that are the same instance in both
+     * configs are skipped without being traversed, lists and scalar values are compared as leafs, exactly as they are
+     * returned by {@link Config#entrySet()}.
+     *
+     * @param oldConfig previous config, may be null
+     * @param newConfig new config, may be null
+     * @return sorted map of changed config paths to their previous values; paths that are not present in {@code
+     *     oldConfig} are mapped to their new value.
+     */
+    public SortedMap<String, ConfigValue> configDiff(Config oldConfig, Config newConfig) {
+        val result = new TreeMap<String, ConfigValue>();
+        val oldRoot = (oldConfig == null) ? ConfigFactory.empty().root() : oldConfig.root();
+        val newRoot = (newConfig == null) ? ConfigFactory.empty().root() : newConfig.root();
+        diffConfigValues("", oldRoot, newRoot, result);
+        return result;
+    }
+
+    private void diffConfigValues(@NonNull String path,
+                                  ConfigValue oldValue,
+                                  ConfigValue newValue,
+                                  @NonNull Map<String, ConfigValue> result) {
+        if (oldValue == newValue) {
+            return;
+        }
+
+        if (isConfigObject(oldValue) && isConfigObject(newValue)) {
+            val oldObj = (ConfigObject) oldValue;
+            val newObj = (ConfigObject) newValue;
+            oldObj.forEach((key, value) -> diffConfigValues(configDiffPath(path, key), value, newObj.get(key), result));
+            newObj.forEach((key, value) -> {
+                if (!oldObj.containsKey(key)) {
+                    diffConfigValues(configDiffPath(path, key), null, value, result);
+                }
+            });
+        } else if (isConfigObject(oldValue) || isConfigObject(newValue)) {
+            // object got replaced by a leaf or vice versa, compare all leafs
+            val oldLeafs = new HashMap<String, ConfigValue>();
+            val newLeafs = new HashMap<String, ConfigValue>();
+            collectConfigLeafs(path, oldValue, oldLeafs);
+            collectConfigLeafs(path, newValue, newLeafs);
+
+            oldLeafs.forEach((leafPath, value) -> {
+                if (!value.equals(newLeafs.get(leafPath))) {
+                    result.put(leafPath, value);
+                }
+            });
+            newLeafs.forEach((leafPath, value) -> result.putIfAbsent(leafPath, value));
+        } else {
+            val oldLeaf = isNullConfigValue(oldValue) ? null : oldValue;
+            val newLeaf = isNullConfigValue(newValue) ? null : newValue;
+            if (oldLeaf != null && !oldLeaf.equals(newLeaf)) {
+                result.put(path, oldLeaf);
+            } else if (oldLeaf == null && newLeaf != null) {
+                result.put(path, newLeaf);
+            }
+        }
+    }
+
+    private void collectConfigLeafs(String path, ConfigValue value, Map<String, ConfigValue> result) {
+        if (isConfigObject(value)) {
+            ((ConfigObject) value).forEach((key, e) -> collectConfigLeafs(configDiffPath(path, key), e, result));
+        } else if (!isNullConfigValue(value)) {
+            result.put(path, value);
+        }
+    }
+
+    private boolean isConfigObject(ConfigValue value) {
+        return value != null && value.valueType() == ConfigValueType.OBJECT;
+    }
+
+    private boolean isNullConfigValue(ConfigValue value) {
+        return value == null || value.valueType() == ConfigValueType.NULL;
+    }
+
+    private String configDiffPath(String prefix, String key) {
+        val element = ConfigUtil.joinPath(key);
+        return prefix.isEmpty() ? element : prefix + "." + element;
+    }
+
     /**
      * Safely trims provided nullable string.
      *
@@ -700,18 +823,123 @@ public class Tsc4jImplUtils {
      * Returns default tsc4j executor service
      *
      * @return executor service
+     * @see #executor(String)
      */
     public ExecutorService defaultExecutor() {
-        if (defaultExecutor == null) {
-            synchronized (executorLock) {
-                if (defaultExecutor == null) {
-                    defaultExecutor = createExecutorService("default");
-                    registerShutdownHook(() -> shutdownExecutor(defaultExecutor()));
-                }
+        return executor(Tsc4jExecutorStrategy.DEFAULT_BULKHEAD);
+    }
+
+    /**
+     * Returns executor that runs tasks of given bulkhead using current executor strategy. Returned executor is safe to
+     * hold on to: tasks are always submitted to executor of currently installed strategy, even if strategy gets
+     * replaced after this method returns.
+     *
+     * @param bulkhead bulkhead name, usually type of config source or value provider that submits tasks
+     * @return executor
+     * @see #executorStrategy()
+     */
+    public Tsc4jExecutor executor(@NonNull String bulkhead) {
+        return bulkheadExecutors.computeIfAbsent(bulkhead, CurrentStrategyTsc4jExecutor::new);
+    }
+
+    /**
+     * Returns executor strategy used to run tsc4j tasks; {@link Tsc4jExecutorConfig.Strategy#BOUNDED} strategy with
+     * default settings is created on first invocation unless other strategy has been configured.
+     *
+     * @return executor strategy
+     * @see #configureExecutorStrategy(Tsc4jExecutorConfig)
+     * @see #setExecutorStrategy(Tsc4jExecutorStrategy)
+     */
+    public Tsc4jExecutorStrategy executorStrategy() {
+        val strategy = executorStrategy;
+        if (strategy != null) {
+            return strategy;
+        }
+
+        synchronized (executorLock) {
+            if (executorStrategy == null) {
+                val config = Tsc4jExecutorConfig.builder().build();
+                installExecutorStrategy(createExecutorStrategy(config), config);
             }
+            return executorStrategy;
         }
+    }
 
-        return defaultExecutor;
+    /**
+     * Creates executor strategy from configuration and installs it, unless strategy with the same configuration is
+     * already installed; previously installed strategy is closed.
+     *
+     * @param config executor strategy configuration
+     * @return installed executor strategy
+     * @throws IllegalArgumentException if configuration is invalid
+     * @see Tsc4jConfig#getExecutor()
+     */
+    public Tsc4jExecutorStrategy configureExecutorStrategy(@NonNull Tsc4jExecutorConfig config) {
+        Tsc4jExecutorStrategy previous;
+        Tsc4jExecutorStrategy strategy;
+        synchronized (executorLock) {
+            if (executorStrategy != null && config.equals(executorStrategyConfig)) {
+                return executorStrategy;
+            }
+            strategy = createExecutorStrategy(config);
+            previous = installExecutorStrategy(strategy, config);
+        }
+
+        close(previous, log);
+        log.debug("configured executor strategy: {}", strategy);
+        return strategy;
+    }
+
+    /**
+     * Installs given executor strategy; previously installed strategy is closed.
+     *
+     * @param strategy executor strategy
+     * @see #executorStrategy()
+     */
+    public void setExecutorStrategy(@NonNull Tsc4jExecutorStrategy strategy) {
+        Tsc4jExecutorStrategy previous;
+        synchronized (executorLock) {
+            previous = installExecutorStrategy(strategy, null);
+        }
+
+        if (previous != strategy) {
+            close(previous, log);
+        }
+    }
+
+    private Tsc4jExecutorStrategy installExecutorStrategy(Tsc4jExecutorStrategy strategy,
+                                                          Tsc4jExecutorConfig config) {
+        val previous = executorStrategy;
+        if (previous == null) {
+            registerShutdownHook(() -> close(executorStrategy, log));
+        }
+        executorStrategy = strategy;
+        executorStrategyConfig = config;
+        return previous;
+    }
+
+    /**
+     * Creates new executor strategy.
+     *
+     * @param config executor strategy configuration
+     * @return executor strategy
+     * @throws IllegalArgumentException if configuration is invalid
+     */
+    public Tsc4jExecutorStrategy createExecutorStrategy(@NonNull Tsc4jExecutorConfig config) {
+        config.validate();
+        switch (config.getStrategy()) {
+            case BULKHEAD:
+                return new BulkheadExecutorStrategy(config);
+            case VIRTUAL:
+                if (VirtualThreadExecutorStrategy.isSupported()) {
+                    return new VirtualThreadExecutorStrategy();
+                }
+                log.warn("virtual threads are not supported by java {}, falling back to bounded executor strategy.",
+                    System.getProperty("java.version"));
+                return new BoundedExecutorStrategy(config);
+            default:
+                return new BoundedExecutorStrategy(config);
+        }
     }
 
     public ScheduledExecutorService defaultScheduledExecutor() {
@@ -743,16 +971,17 @@ public class Tsc4jImplUtils {
      * @throws InterruptedException                  if thread waiting for results gets interrupted
      * @throws Exception                             if any of calls fails with exception, first exception cause will be
      *                                               thrown
-     * @see #createExecutorService(String)
+     * @see #executor(String)
      * @see #sequentialCall(Collection)
      */
     private <T> List<T> parallelCall(@NonNull Collection<Callable<T>> callables) {
-        return parallelCall(callables, DEFAULT_TIMEOUT, TimeUnit.SECONDS);
+        return parallelCall(Tsc4jExecutorStrategy.DEFAULT_BULKHEAD, callables, DEFAULT_TIMEOUT, TimeUnit.SECONDS);
     }
 
     /**
-     * Creates new temporary executor service, submits all callables to it and waits until all results are collected.
+     * Submits all callables to executor of given bulkhead and waits until all results are collected.
      *
+     * @param bulkhead  bulkhead name
      * @param callables callables to execute
      * @param timeout   execution timeout
      * @param unit      execution timeout unit
@@ -761,12 +990,13 @@ public class Tsc4jImplUtils {
      * @throws java.util.concurrent.TimeoutException when timeout expires and all tasks didn't finish yet
      * @throws InterruptedException                  if thread waiting for results gets interrupted
      * @throws Exception                             if any of calls fails with exception, first exception cause will be
-     * @see #createExecutorService(String)
+     * @see #executor(String)
      */
-    private <T> List<T> parallelCall(@NonNull Collection<Callable<T>> callables,
+    private <T> List<T> parallelCall(@NonNull String bulkhead,
+                                     @NonNull Collection<Callable<T>> callables,
                                      long timeout,
                                      @NonNull TimeUnit unit) {
-        return parallelCall(defaultExecutor(), callables, timeout, unit);
+        return parallelCall(executor(bulkhead), callables, timeout, unit);
     }
 
     /**
@@ -791,26 +1021,15 @@ public class Tsc4jImplUtils {
             return Collections.emptyList();
         }
 
+        val tracer = tracer();
         val futures = callables.stream()
-            .map(executor::submit)
+            .map(it -> executor.submit(tracer.wrap(it)))
             .collect(Collectors.toList());
         return futures.stream()
             .map(f -> collectFutureResult(f, timeout, unit))
             .collect(Collectors.toList());
     }
 
-    /**
-     * Creates executor service used for quick async tasks.
-     *
-     * @param name executor service name
-     * @return executor service
-     */
-    private ExecutorService createExecutorService(@NonNull String name) {
-        val threadFactory = createThreadFactory(name);
-        return new ThreadPoolExecutor(0, 500, 5, TimeUnit.SECONDS,
-            new SynchronousQueue<>(), threadFactory);
-    }
-
     @SneakyThrows
     private <T> T collectFutureResult(@NonNull Future<T> f, long timeout, @NonNull TimeUnit unit) {
         try {
@@ -850,7 +1069,8 @@ public class Tsc4jImplUtils {
     }
 
     /**
-     * Invokes all callables in
+     * Invokes all callables, parallel tasks are run by executor of
+     * {@value Tsc4jExecutorStrategy#DEFAULT_BULKHEAD} bulkhead.
      *
      * @param callables tasks to run
      * @param parallel  run tasks in parallel or not
@@ -859,13 +1079,32 @@ public class Tsc4jImplUtils {
      * @throws Exception if any of tasks throw
      */
     public <T> List<T> runTasks(@NonNull Collection<Callable<T>> callables, boolean parallel) {
+        return runTasks(Tsc4jExecutorStrategy.DEFAULT_BULKHEAD, callables, parallel);
+    }
+
+    /**
+     * Invokes all callables, parallel tasks are run by executor of given bulkhead.
+     *
+     * @param bulkhead  bulkhead name, usually type of config source or value provider that submits tasks
+     * @param callables tasks to run
+     * @param parallel  run tasks in parallel or not
+     * @param <T>       callable return type
+     * @return list of callable results
+     * @throws Exception if any of tasks throw
+     * @see #executor(String)
+     */
+    public <T> List<T> runTasks(@NonNull String bulkhead,
+                                @NonNull Collection<Callable<T>> callables,
+                                boolean parallel) {
         // SubstrateVM, TLS and multithreading don't play along well
         // with aws-java-sdk; disable paralelism if running under substratevm
         if (isSubstrateVm()) {
             parallel = false;
         }
 
-        return parallel ? parallelCall(callables) : sequentialCall(callables);
+        return parallel ?
+            parallelCall(bulkhead, callables, DEFAULT_TIMEOUT, TimeUnit.SECONDS) :
+            sequentialCall(callables);
     }
 
     /**
@@ -884,7 +1123,7 @@ public class Tsc4jImplUtils {
      * @param name thread pool name
      * @return thread factory.
      */
-    protected ThreadFactory createThreadFactory(@NonNull String name) {
+    public ThreadFactory createThreadFactory(@NonNull String name) {
         val poolNum = threadPoolCount(name);
         val threadCounter = new AtomicInteger();
         return runnable -> {
@@ -1793,7 +2032,7 @@ public class Tsc4jImplUtils {
     }
 
     /**
-     * Creates new cache.
+     * Creates new cache bounded to {@value #DEFAULT_CACHE_MAX_SIZE} entries.
      *
      * @param name     cache name
      * @param cacheTtl cache entry TTL
@@ -1806,19 +2045,148 @@ public class Tsc4jImplUtils {
         return newCache(name, cacheTtl, Clock.systemDefaultZone());
     }
 
+    /**
+     * Creates new cache bounded to {@value #DEFAULT_CACHE_MAX_SIZE} entries.
+     *
+     * @param name     cache name
+     * @param cacheTtl cache entry TTL
+     * @param clock    clock
+     * @param <K>      key type
+     * @param <E>      value type
+     * @return new cache
+     */
+    public static <K, E> Tsc4jCache<K, E> newCache(@NonNull String name,
+                                                   @NonNull Duration cacheTtl,
+                                                   @NonNull Clock clock) {
+        return newCache(name, cacheTtl, DEFAULT_CACHE_MAX_SIZE, clock);
+    }
+
     /**
      * Creates new cache.
      *
      * @param name     cache name
      * @param cacheTtl cache entry TTL
+     * @param maxSize  maximum number of cache entries, cache is not size-bounded if value is {@code <= 0}
      * @param clock    clock
      * @param <K>      key type
      * @param <E>      value type
      * @return new cache
+     * @see BoundedTsc4jCache
+     * @see Tsc4jMetrics#cacheCreated(String, Tsc4jCache)
      */
     public static <K, E> Tsc4jCache<K, E> newCache(@NonNull String name,
                                                    @NonNull Duration cacheTtl,
+                                                   int maxSize,
                                                    @NonNull Clock clock) {
-        return new SimpleTsc4jCache<>(name, cacheTtl, clock);
+        val cache = new BoundedTsc4jCache<K, E>(name, cacheTtl, maxSize, clock);
+        metrics().cacheCreated(name, cache);
+        return cache;
+    }
+
+    private static final CompositeTsc4jMetrics METRICS = new CompositeTsc4jMetrics();
+    private static final AtomicBoolean METRICS_LOADED = new AtomicBoolean();
+
+    /**
+     * Returns metrics singleton that dispatches measurements to all registered {@link Tsc4jMetrics} implementations;
+     * implementations available via {@link ServiceLoader} are registered on first invocation.
+     *
+     * @return metrics
+     * @see #registerMetrics(Tsc4jMetrics)
+     */
+    public static Tsc4jMetrics metrics() {
+        if (!METRICS_LOADED.get() && METRICS_LOADED.compareAndSet(false, true)) {
+            val implementations = loadImplementations(Tsc4jMetrics.class);
+            log.debug("loaded {} metrics implementation(s): {}", implementations.size(), implementations);
+            implementations.forEach(METRICS::add);
+        }
+        return METRICS;
+    }
+
+    /**
+     * Registers metrics implementation.
+     *
+     * @param metrics metrics implementation
+     * @return true if implementation was registered, false if it was already registered
+     * @see #metrics()
+     */
+    public static boolean registerMetrics(@NonNull Tsc4jMetrics metrics) {
+        metrics();
+        return METRICS.add(metrics);
+    }
+
+    /**
+     * Unregisters metrics implementation.
+     *
+     * @param metrics metrics implementation
+     * @return true if implementation was unregistered, false if it was not registered
+     */
+    public static boolean unregisterMetrics(@NonNull Tsc4jMetrics metrics) {
+        return METRICS.remove(metrics);
+    }
+
+    private static final CompositeTsc4jTracer TRACER = new CompositeTsc4jTracer();
+    private static final AtomicBoolean TRACERS_LOADED = new AtomicBoolean();
+
+    /**
+     * Returns tracer singleton that starts spans using all registered {@link Tsc4jTracer} implementations;
+     * implementations available via {@link ServiceLoader} are registered on first invocation.
+     *
+     * @return tracer
+     * @see #registerTracer(Tsc4jTracer)
+     */
+    public static Tsc4jTracer tracer() {
+        if (!TRACERS_LOADED.get() && TRACERS_LOADED.compareAndSet(false, true)) {
+            val implementations = loadImplementations(Tsc4jTracer.class);
+            log.debug("loaded {} tracer implementation(s): {}", implementations.size(), implementations);
+            implementations.forEach(TRACER::add);
+        }
+        return TRACER;
+    }
+
+    /**
+     * Registers tracer implementation.
+     *
+     * @param tracer tracer implementation
+     * @return true if implementation was registered, false if it was already registered
+     * @see #tracer()
+     */
+    public static boolean registerTracer(@NonNull Tsc4jTracer tracer) {
+        tracer();
+        return TRACER.add(tracer);
+    }
+
+    /**
+     * Unregisters tracer implementation.
+     *
+     * @param tracer tracer implementation
+     * @return true if implementation was unregistered, false if it was not registered
+     */
+    public static boolean unregisterTracer(@NonNull Tsc4jTracer tracer) {
+        return TRACER.remove(tracer);
+    }
+
+    /**
+     * Returns name under which given pipeline component (config source, transformer, value provider) is reported to
+     * {@link Tsc4jMetrics}: component name if it has one, otherwise it's type.
+     *
+     * @param component component
+     * @return metrics name
+     */
+    public static String metricsName(@NonNull Object component) {
+        if (component instanceof BaseInstance) {
+            val instance = (BaseInstance) component;
+            return metricsName(instance.getName(), instance.getType());
+        } else if (component instanceof ConfigTransformer) {
+            val transformer = (ConfigTransformer) component;
+            return metricsName(transformer.getName(), transformer.getType());
+        } else if (component instanceof ConfigValueProvider) {
+            val provider = (ConfigValueProvider) component;
+            return metricsName(provider.getName(), provider.getType());
+        }
+        return component.toString();
+    }
+
+    private static String metricsName(String name, String type) {
+        return optString(name).orElseGet(() -> validString(type));
     }
 }
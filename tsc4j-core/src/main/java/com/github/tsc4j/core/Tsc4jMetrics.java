@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core;
+
+/**
+ * Metrics SPI, receives measurements of configuration refresh pipeline.
+ * <p>
+ * Implementations are registered using {@link Tsc4jImplUtils#registerMetrics(Tsc4jMetrics)} or discovered using
+ * {@link java.util.ServiceLoader}. Methods are invoked synchronously by threads that perform measured operations,
+ * therefore implementations must be thread-safe and should return quickly; exceptions they throw are logged and
+ * ignored. All methods are no-ops by default.
+ *
+ * @see Tsc4jImplUtils#metrics()
+ */
+public interface Tsc4jMetrics {
+    /**
+     * Records configuration refresh of a {@link com.github.tsc4j.api.ReloadableConfig}.
+     *
+     * @param name          reloadable config name
+     * @param durationNanos refresh duration in nanoseconds
+     * @param succeeded     whether refresh succeeded
+     */
+    default void configRefresh(String name, long durationNanos, boolean succeeded) {
+    }
+
+    /**
+     * Records configuration fetch from a {@link ConfigSource}.
+     *
+     * @param name          config source name
+     * @param durationNanos fetch duration in nanoseconds
+     * @param succeeded     whether fetch succeeded
+     */
+    default void sourceFetch(String name, long durationNanos, boolean succeeded) {
+    }
+
+    /**
+     * Records configuration transformation by a {@link ConfigTransformer}.
+     *
+     * @param name          config transformer name
+     * @param durationNanos transformation duration in nanoseconds
+     * @param succeeded     whether transformation succeeded
+     */
+    default void transform(String name, long durationNanos, boolean succeeded) {
+    }
+
+    /**
+     * Records single {@link ConfigValueProvider#get(java.util.Collection)} call.
+     *
+     * @param name          config value provider name
+     * @param batchSize     number of requested value names
+     * @param durationNanos call duration in nanoseconds
+     * @param succeeded     whether call succeeded
+     */
+    default void valueProviderFetch(String name, int batchSize, long durationNanos, boolean succeeded) {
+    }
+
+    /**
+     * Invoked when new cache is created; implementations may poll {@link Tsc4jCache#stats()} and
+     * {@link Tsc4jCache#size()} of given cache. Caches created before implementation was registered are announced
+     * at registration.
+     *
+     * @param name  cache name
+     * @param cache cache
+     */
+    default void cacheCreated(String name, Tsc4jCache<?, ?> cache) {
+    }
+
+    /**
+     * Invoked when new executor is created; implementations may poll {@link Tsc4jExecutor#stats()} of given executor
+     * to report it's saturation. Executors created before implementation was registered are announced at
+     * registration.
+     *
+     * @param name     executor name
+     * @param executor executor
+     * @see Tsc4jExecutorStrategy
+     */
+    default void executorCreated(String name, Tsc4jExecutor executor) {
+    }
+
+    /**
+     * Records update of a {@link com.github.tsc4j.api.Reloadable} with newly fetched configuration, including
+     * invocation of it's update consumers.
+     *
+     * @param path          reloadable config path, empty string for root path
+     * @param durationNanos update duration in nanoseconds
+     */
+    default void reloadableUpdate(String path, long durationNanos) {
+    }
+
+    /**
+     * Records invocation of reloadable update consumer that took longer than
+     * {@link com.github.tsc4j.core.impl.AbstractReloadable#SLOW_CONSUMER_THRESHOLD_MILLIS}.
+     *
+     * @param path          reloadable config path, empty string for root path or if path is unknown
+     * @param durationNanos consumer invocation duration in nanoseconds
+     */
+    default void slowConsumer(String path, long durationNanos) {
+    }
+}
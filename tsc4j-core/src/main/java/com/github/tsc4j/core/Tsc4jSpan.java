@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core;
+
+/**
+ * Observation of a single configuration refresh pipeline stage, created by {@link Tsc4jTracer}. Span is finished by
+ * invoking {@link #close()}, usually by a try-with-resources statement.
+ * <p>
+ * Span methods must not throw. Callers should check {@link #isRecording()} before computing attribute values that
+ * are not free to obtain.
+ */
+public interface Tsc4jSpan extends AutoCloseable {
+    /**
+     * Number of top-level configuration paths.
+     */
+    String PATHS = "paths";
+
+    /**
+     * Number of merged configurations.
+     */
+    String CONFIGS = "configs";
+
+    /**
+     * Number of requested values.
+     */
+    String BATCH_SIZE = "batch-size";
+
+    /**
+     * Number of returned values.
+     */
+    String VALUES = "values";
+
+    /**
+     * Number of bytes.
+     */
+    String BYTES = "bytes";
+
+    /**
+     * Update consumer class name.
+     */
+    String CONSUMER = "consumer";
+
+    /**
+     * Whether result was served from cache.
+     */
+    String CACHE_HIT = "cache-hit";
+
+    /**
+     * Span that doesn't record anything.
+     */
+    Tsc4jSpan NOOP = new Tsc4jSpan() {
+        @Override
+        public boolean isRecording() {
+            return false;
+        }
+
+        @Override
+        public Tsc4jSpan setAttribute(String key, long value) {
+            return this;
+        }
+
+        @Override
+        public Tsc4jSpan setAttribute(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public Tsc4jSpan setError(Throwable error) {
+            return this;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return "Tsc4jSpan.NOOP";
+        }
+    };
+
+    /**
+     * Tells whether span records attributes.
+     *
+     * @return true/false
+     */
+    boolean isRecording();
+
+    /**
+     * Sets numeric attribute.
+     *
+     * @param key   attribute key
+     * @param value attribute value
+     * @return reference to itself
+     */
+    Tsc4jSpan setAttribute(String key, long value);
+
+    /**
+     * Sets string attribute.
+     *
+     * @param key   attribute key
+     * @param value attribute value
+     * @return reference to itself
+     */
+    Tsc4jSpan setAttribute(String key, String value);
+
+    /**
+     * Sets boolean attribute.
+     *
+     * @param key   attribute key
+     * @param value attribute value
+     * @return reference to itself
+     */
+    default Tsc4jSpan setAttribute(String key, boolean value) {
+        return setAttribute(key, Boolean.toString(value));
+    }
+
+    /**
+     * Marks span as failed.
+     *
+     * @param error error that caused stage failure
+     * @return reference to itself
+     */
+    Tsc4jSpan setError(Throwable error);
+
+    /**
+     * Stops span from being current span of the calling thread without finishing it; must be invoked by the thread
+     * that started the span if span is going to be closed by some other thread. Does nothing if span has been already
+     * detached or closed.
+     *
+     * @return reference to itself
+     * @see Tsc4jTracer#wrap(Runnable)
+     */
+    default Tsc4jSpan detach() {
+        return this;
+    }
+
+    /**
+     * Finishes span.
+     */
+    @Override
+    void close();
+}
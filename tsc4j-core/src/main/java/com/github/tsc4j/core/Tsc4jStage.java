@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core;
+
+/**
+ * Configuration refresh pipeline stages observed by {@link Tsc4jTracer}.
+ */
+public enum Tsc4jStage {
+    /**
+     * Refresh of a {@link com.github.tsc4j.api.ReloadableConfig}, named by reloadable config.
+     */
+    REFRESH,
+
+    /**
+     * Configuration fetch from a single {@link ConfigSource}, named by config source.
+     */
+    SOURCE_FETCH,
+
+    /**
+     * Merge of configurations fetched from all config sources.
+     */
+    MERGE,
+
+    /**
+     * Resolution of merged configuration.
+     */
+    RESOLVE,
+
+    /**
+     * Configuration transformation by a single {@link ConfigTransformer}, named by config transformer.
+     */
+    TRANSFORM,
+
+    /**
+     * Single {@link ConfigValueProvider#get(java.util.Collection)} call, named by config value provider.
+     */
+    VALUE_PROVIDER_FETCH,
+
+    /**
+     * Checksum computation, named by checksummed object class name.
+     */
+    CHECKSUM,
+
+    /**
+     * Invocation of a {@link com.github.tsc4j.api.Reloadable} update consumer, named by reloadable config path.
+     */
+    CONSUMER
+}
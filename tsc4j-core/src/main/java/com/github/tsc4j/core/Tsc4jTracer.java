@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Tracing SPI, creates {@link Tsc4jSpan spans} that observe configuration refresh pipeline stages as they happen.
+ * <p>
+ * Implementations are registered using {@link Tsc4jImplUtils#registerTracer(Tsc4jTracer)} or discovered using
+ * {@link java.util.ServiceLoader}. Spans are started and finished by threads that perform observed stages;
+ * implementations must be thread-safe and their spans must not throw. If no tracer is registered,
+ * {@link Tsc4jSpan#NOOP} is used, which doesn't allocate anything.
+ * <p>
+ * Started span becomes current span of the starting thread until it's closed or {@link Tsc4jSpan#detach() detached};
+ * spans started by the same thread in the meantime are it's children. Tasks handed over to other threads need to be
+ * {@link #wrap(Runnable) wrapped} in order to keep parent-child relationship.
+ *
+ * @see Tsc4jImplUtils#tracer()
+ * @see Tsc4jMetrics
+ */
+public interface Tsc4jTracer {
+    /**
+     * Starts new span.
+     *
+     * @param stage pipeline stage
+     * @param name  stage name, see {@link Tsc4jStage} for stage naming
+     * @return started span
+     */
+    Tsc4jSpan start(Tsc4jStage stage, String name);
+
+    /**
+     * Returns current span of the calling thread. Returned span can be used to set attributes, but must not be
+     * closed.
+     *
+     * @return current span, {@link Tsc4jSpan#NOOP} if there is no current span or if tracer doesn't track it.
+     */
+    default Tsc4jSpan current() {
+        return Tsc4jSpan.NOOP;
+    }
+
+    /**
+     * Wraps task so that it runs in the trace context of the calling thread, regardless of the thread that runs it.
+     *
+     * @param task task to wrap
+     * @return wrapped task, or {@code task} itself if tracer doesn't propagate context.
+     */
+    default Runnable wrap(Runnable task) {
+        return task;
+    }
+
+    /**
+     * Wraps task so that it runs in the trace context of the calling thread, regardless of the thread that runs it.
+     *
+     * @param task task to wrap
+     * @param <T>  task result type
+     * @return wrapped task, or {@code task} itself if tracer doesn't propagate context.
+     */
+    default <T> Callable<T> wrap(Callable<T> task) {
+        return task;
+    }
+}
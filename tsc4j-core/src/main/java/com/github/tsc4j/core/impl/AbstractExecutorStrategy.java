@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl;
+
+import com.github.tsc4j.core.CloseableInstance;
+import com.github.tsc4j.core.Tsc4jExecutor;
+import com.github.tsc4j.core.Tsc4jExecutorConfig;
+import com.github.tsc4j.core.Tsc4jExecutorStats;
+import com.github.tsc4j.core.Tsc4jExecutorStrategy;
+import com.github.tsc4j.core.Tsc4jImplUtils;
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class for {@link Tsc4jExecutorStrategy} implementations; executors are created lazily, on first request for a
+ * bulkhead they serve, and are announced to {@link Tsc4jImplUtils#metrics()}.
+ */
+public abstract class AbstractExecutorStrategy extends CloseableInstance implements Tsc4jExecutorStrategy {
+    private final Map<String, Tsc4jExecutor> executors = new ConcurrentHashMap<>();
+
+    @Override
+    public final Tsc4jExecutor executor(@NonNull String bulkhead) {
+        checkClosed();
+        return executors.computeIfAbsent(executorName(bulkhead), this::createExecutor);
+    }
+
+    private Tsc4jExecutor createExecutor(String name) {
+        val executor = new InstrumentedTsc4jExecutor(name, createExecutorService(name));
+        log.debug("{} created executor: {}", this, executor);
+        Tsc4jImplUtils.metrics().executorCreated(name, executor);
+        return executor;
+    }
+
+    /**
+     * Returns name of executor that runs tasks of given bulkhead.
+     *
+     * @param bulkhead bulkhead name
+     * @return executor name
+     */
+    protected abstract String executorName(@NonNull String bulkhead);
+
+    /**
+     * Creates executor service that will run tasks submitted to executor with given name.
+     *
+     * @param name executor name
+     * @return executor service
+     */
+    protected abstract ExecutorService createExecutorService(@NonNull String name);
+
+    /**
+     * Creates bounded thread pool.
+     *
+     * @param name   thread pool name
+     * @param config executor configuration
+     * @return thread pool
+     */
+    protected static ThreadPoolExecutor createThreadPool(@NonNull String name, @NonNull Tsc4jExecutorConfig config) {
+        val maxThreads = config.getMaxThreads();
+        val keepAliveMillis = config.getKeepAlive().toMillis();
+        val threadFactory = Tsc4jImplUtils.createThreadFactory(name);
+        if (config.getQueueSize() == 0) {
+            return new ThreadPoolExecutor(0, maxThreads, keepAliveMillis, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), threadFactory);
+        }
+
+        // pool doesn't grow beyond core size until queue is full, all threads need to be core threads
+        BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>(config.getQueueSize());
+        val pool = new ThreadPoolExecutor(maxThreads, maxThreads, keepAliveMillis, TimeUnit.MILLISECONDS,
+            queue, threadFactory);
+        pool.allowCoreThreadTimeOut(keepAliveMillis > 0);
+        return pool;
+    }
+
+    @Override
+    public Map<String, Tsc4jExecutorStats> stats() {
+        val result = new TreeMap<String, Tsc4jExecutorStats>();
+        executors.forEach((name, executor) -> result.put(name, executor.stats()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    protected void doClose() {
+        executors.values().forEach(ExecutorService::shutdown);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + getType().name().toLowerCase(Locale.ENGLISH) + ")";
+    }
+}
@@ -19,6 +19,10 @@ package com.github.tsc4j.core.impl;
 
 import com.github.tsc4j.api.Reloadable;
 import com.github.tsc4j.core.CloseableInstance;
+import com.github.tsc4j.core.Tsc4jImplUtils;
+import com.github.tsc4j.core.Tsc4jMetrics;
+import com.github.tsc4j.core.Tsc4jSpan;
+import com.github.tsc4j.core.Tsc4jStage;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -29,6 +33,7 @@ import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -40,6 +45,14 @@ import java.util.function.Supplier;
  */
 @Slf4j
 public abstract class AbstractReloadable<T> extends CloseableInstance implements Reloadable<T> {
+    /**
+     * Update consumer invocations that take longer than this number of milliseconds are logged and reported as slow
+     * consumers to {@link Tsc4jMetrics} (value: <b>{@value}</b>)
+     *
+     * @see Tsc4jMetrics#slowConsumer(String, long)
+     */
+    public static final long SLOW_CONSUMER_THRESHOLD_MILLIS = 100;
+
     /**
      * List of update consumers.
      */
@@ -219,10 +232,38 @@ public abstract class AbstractReloadable<T> extends CloseableInstance implements
         val value = fetchValue();
 
         // TODO: in the future don't run update consumers if `value` == null
-        onUpdate.forEach(consumer -> Consumers.safeRun(consumer, value));
+        onUpdate.forEach(consumer -> runConsumer(consumer, value));
         numUpdates.incrementAndGet();
     }
 
+    private void runConsumer(Consumer<T> consumer, T value) {
+        val sw = new Stopwatch();
+        try (Tsc4jSpan span = Tsc4jImplUtils.tracer().start(Tsc4jStage.CONSUMER, getMetricsName())) {
+            span.setAttribute(Tsc4jSpan.CONSUMER, consumer.getClass().getName());
+            try {
+                consumer.accept(value);
+            } catch (Throwable t) {
+                span.setError(t);
+                log.error("{} exception while running update consumer {}: {}", this, consumer, t.getMessage(), t);
+            }
+        }
+
+        val durationNanos = sw.durationNanos();
+        if (durationNanos > TimeUnit.MILLISECONDS.toNanos(SLOW_CONSUMER_THRESHOLD_MILLIS)) {
+            log.warn("{} slow update consumer {} took {}", this, consumer, sw);
+            Tsc4jImplUtils.metrics().slowConsumer(getMetricsName(), durationNanos);
+        }
+    }
+
+    /**
+     * Returns name under which this reloadable is reported to {@link Tsc4jMetrics}.
+     *
+     * @return metrics name, empty string by default
+     */
+    protected String getMetricsName() {
+        return "";
+    }
+
     /**
      * Tells how many updates has been already done on this reloadable.
      *
@@ -23,13 +23,15 @@ import com.github.tsc4j.core.CloseableInstance;
 import com.github.tsc4j.core.CloseableReloadableConfig;
 import com.github.tsc4j.core.Tsc4j;
 import com.github.tsc4j.core.Tsc4jException;
+import com.github.tsc4j.core.Tsc4jExecutorStrategy;
 import com.github.tsc4j.core.Tsc4jImplUtils;
+import com.github.tsc4j.core.Tsc4jSpan;
+import com.github.tsc4j.core.Tsc4jStage;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.Synchronized;
 import lombok.val;
 
 import java.util.ArrayList;
@@ -49,6 +51,8 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -134,6 +138,14 @@ public abstract class AbstractReloadableConfig extends CloseableInstance impleme
      */
     private volatile CompletableFuture<Config> configFuture = new CompletableFuture<>();
 
+    /**
+     * Serializes config assignments; lock instead of monitor, because reloadable update consumers may block which
+     * would pin carrier of a virtual thread.
+     *
+     * @see #assignConfig(Config)
+     */
+    private final Lock assignLock = new ReentrantLock();
+
     /**
      * Creates new instance.
      *
@@ -168,6 +180,15 @@ public abstract class AbstractReloadableConfig extends CloseableInstance impleme
         return idCounter.incrementAndGet();
     }
 
+    /**
+     * Returns name under which this instance is reported to {@link com.github.tsc4j.core.Tsc4jMetrics}.
+     *
+     * @return metrics name
+     */
+    protected String getMetricsName() {
+        return getClass().getSimpleName() + "-" + instanceId;
+    }
+
     /**
      * Tells whether reloadables should be updated in reverse order.
      *
@@ -187,7 +208,8 @@ public abstract class AbstractReloadableConfig extends CloseableInstance impleme
     public final CompletionStage<Config> get() {
         val future = getConfigFuture();
 
-        if (numFetches.get() < 1) {
+        // initial config (i.e. local snapshot) might have been assigned before first refresh
+        if (numFetches.get() < 1 && !isPresent()) {
             return refresh();
         }
 
@@ -239,22 +261,27 @@ public abstract class AbstractReloadableConfig extends CloseableInstance impleme
         }
 
         val sw = new Stopwatch();
+        val span = Tsc4jImplUtils.tracer().start(Tsc4jStage.REFRESH, getMetricsName());
         try {
             val refreshNum = numFetches.incrementAndGet();
             log.debug("{} triggering configuration refresh #{}", this, refreshNum);
             val future = doRefresh();
-            return decorateRefreshFuture(future, sw);
+            return decorateRefreshFuture(future, sw, span);
         } catch (Throwable e) {
             val failedFuture = new CompletableFuture<Config>();
             failedFuture.completeExceptionally(e);
-            return decorateRefreshFuture(failedFuture, sw);
+            return decorateRefreshFuture(failedFuture, sw, span);
+        } finally {
+            // refresh might be completed by another thread, which also closes the span
+            span.detach();
         }
     }
 
     private CompletionStage<Config> decorateRefreshFuture(@NonNull CompletionStage<Config> future,
-                                                          @NonNull Stopwatch sw) {
+                                                          @NonNull Stopwatch sw,
+                                                          @NonNull Tsc4jSpan span) {
         // perform side effect: assign fetched configuration or handle refresh error when given future is completed;
-        return future.whenComplete((config, exception) -> finishRefreshAttempt(config, exception, sw));
+        return future.whenComplete((config, exception) -> finishRefreshAttempt(config, exception, sw, span));
 
         //return future;
     }
@@ -265,8 +292,10 @@ public abstract class AbstractReloadableConfig extends CloseableInstance impleme
      * @param config    non-null fetched config if refresh attempt succeeded.
      * @param exception non-null exception if refresh attempt was not successful
      * @param sw        stopwatch for timings.
+     * @param span      refresh span, finished after refresh attempt is finished.
      */
-    private void finishRefreshAttempt(Config config, Throwable exception, @NonNull Stopwatch sw) {
+    private void finishRefreshAttempt(Config config, Throwable exception, @NonNull Stopwatch sw,
+                                      @NonNull Tsc4jSpan span) {
         try {
             val succeeded = (exception == null);
             if (succeeded) {
@@ -276,6 +305,7 @@ public abstract class AbstractReloadableConfig extends CloseableInstance impleme
                     assignConfig(config);
                 }
             } else {
+                span.setError(exception);
                 onRefreshError(exception);
             }
             onRefreshComplete(sw, succeeded);
@@ -284,6 +314,7 @@ public abstract class AbstractReloadableConfig extends CloseableInstance impleme
             log.error("{} error completing config refresh attempt.", this, t);
             //onRefreshError(t);
         } finally {
+            span.close();
             endRefresh();
         }
     }
@@ -302,6 +333,8 @@ public abstract class AbstractReloadableConfig extends CloseableInstance impleme
     }
 
     private void onRefreshComplete(@NonNull Stopwatch sw, boolean succeeded) {
+        Tsc4jImplUtils.metrics().configRefresh(getMetricsName(), sw.durationNanos(), succeeded);
+
         val refreshNum = numFetches.get();
         val isFirst = refreshNum == 1;
         val marker = succeeded ? "succeeded" : "failed";
@@ -333,7 +366,8 @@ public abstract class AbstractReloadableConfig extends CloseableInstance impleme
         val runnable = createFetchRunnable(future);
 
         if (runRefreshInExecutor()) {
-            Tsc4jImplUtils.defaultExecutor().submit(runnable);
+            Tsc4jImplUtils.executor(Tsc4jExecutorStrategy.REFRESH_BULKHEAD)
+                .submit(Tsc4jImplUtils.tracer().wrap(runnable));
         } else {
             runnable.run();
         }
@@ -392,8 +426,16 @@ public abstract class AbstractReloadableConfig extends CloseableInstance impleme
      * @throws NullPointerException     if {@code newConfig} is null
      * @throws IllegalArgumentException if {@code newConfig} is not resolved
      */
-    @Synchronized
     protected final Config assignConfig(@NonNull Config newConfig) {
+        assignLock.lock();
+        try {
+            return doAssignConfig(newConfig);
+        } finally {
+            assignLock.unlock();
+        }
+    }
+
+    private Config doAssignConfig(Config newConfig) {
         if (!newConfig.isResolved()) {
             throw new IllegalArgumentException("Configuration is not resolved.");
         }
@@ -543,6 +585,8 @@ public abstract class AbstractReloadableConfig extends CloseableInstance impleme
             log.trace("{} updated reloadable in {}: {}", this, sw, reloadable);
         } catch (Throwable t) {
             log.error("{} error updating reloadable (duration: {}) {}: {}", this, sw, reloadable, t.getMessage(), t);
+        } finally {
+            Tsc4jImplUtils.metrics().reloadableUpdate(reloadable.getPath(), sw.durationNanos());
         }
     }
 
@@ -0,0 +1,560 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl;
+
+import com.github.tsc4j.core.Tsc4jCache;
+import com.github.tsc4j.core.Tsc4jCacheStats;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache implementation with fixed time-to-live of entries.
+ * <p>
+ * Eviction policy is modelled after <a href="https://arxiv.org/abs/1512.00727">W-TinyLFU</a>: new entries enter
+ * small LRU admission window; entries leaving the window are admitted to segmented LRU main space only if their
+ * estimated access frequency (recorded in a compact count-min sketch) is higher than the one of the main space
+ * eviction victim. This keeps frequently used entries cached even when cache is flooded with one-time entries.
+ * <p>
+ * Because all entries share the same time-to-live, their expiration order equals their write order; expired entries
+ * are removed from the head of the write-order queue before every operation, which takes amortized constant time.
+ * <p>
+ * Cache can optionally refresh entries ahead of their expiration: lookup of an entry older than configured refresh
+ * interval returns cached value and triggers asynchronous reload of it.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @param <K> key type
+ * @param <E> value type
+ */
+@Slf4j
+public final class BoundedTsc4jCache<K, E> implements Tsc4jCache<K, E> {
+    /**
+     * Percentage of maximum size reserved for admission window.
+     */
+    private static final int WINDOW_PERCENT = 1;
+
+    /**
+     * Percentage of main space reserved for protected segment.
+     */
+    private static final int PROTECTED_PERCENT = 80;
+
+    private final String name;
+    private final Duration cacheTtl;
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Clock clock;
+
+    private final int windowMax;
+    private final int protectedMax;
+    private final FrequencySketch sketch;
+
+    private final Map<K, Node<K, E>> data = new HashMap<>();
+    private final AccessQueue<K, E> window = new AccessQueue<>();
+    private final AccessQueue<K, E> probation = new AccessQueue<>();
+    private final AccessQueue<K, E> protectedQueue = new AccessQueue<>();
+    private final WriteQueue<K, E> writeQueue = new WriteQueue<>();
+
+    private long refreshAfterMillis = -1;
+    private Function<? super K, ? extends E> loader;
+    private Executor refreshExecutor;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long expirationCount;
+
+    /**
+     * Creates new instance.
+     *
+     * @param name     cache name
+     * @param cacheTtl cache entry ttl
+     * @param maxSize  maximum number of entries, cache is not size-bounded if value is {@code <= 0}
+     * @param clock    clock used for entry expiration
+     */
+    public BoundedTsc4jCache(@NonNull String name, @NonNull Duration cacheTtl, int maxSize, @NonNull Clock clock) {
+        this.name = name;
+        this.cacheTtl = cacheTtl;
+        this.ttlMillis = cacheTtl.toMillis();
+        this.maxSize = (maxSize > 0) ? maxSize : Integer.MAX_VALUE;
+        this.clock = clock;
+
+        this.windowMax = (maxSize > 0) ? Math.max(1, (int) ((long) maxSize * WINDOW_PERCENT / 100)) : Integer.MAX_VALUE;
+        this.protectedMax = (int) ((long) (this.maxSize - windowMax) * PROTECTED_PERCENT / 100);
+        this.sketch = (maxSize > 0) ? new FrequencySketch(maxSize) : null;
+    }
+
+    /**
+     * Enables refresh-ahead: lookup of an entry that was written more than {@code refreshAfter} ago returns cached
+     * value and reloads entry asynchronously using given loader. Loader returning {@code null} or throwing exception
+     * leaves cached entry intact. Refresh-ahead should be enabled before cache is used.
+     *
+     * @param refreshAfter entry age after which lookups trigger reload, should be shorter than cache ttl
+     * @param loader       entry loader
+     * @param executor     executor on which entries are reloaded
+     * @return reference to itself
+     * @throws IllegalArgumentException if refresh interval is negative
+     */
+    public synchronized BoundedTsc4jCache<K, E> setRefreshAhead(@NonNull Duration refreshAfter,
+                                                               @NonNull Function<? super K, ? extends E> loader,
+                                                               @NonNull Executor executor) {
+        if (refreshAfter.isNegative()) {
+            throw new IllegalArgumentException("Refresh interval cannot be negative: " + refreshAfter);
+        }
+        this.refreshAfterMillis = refreshAfter.toMillis();
+        this.loader = loader;
+        this.refreshExecutor = executor;
+        return this;
+    }
+
+    @Override
+    public Optional<E> get(@NonNull K key) {
+        Node<K, E> refreshNode = null;
+        E value = null;
+
+        synchronized (this) {
+            val now = clock.millis();
+            expire(now);
+            recordAccess(key);
+
+            val node = data.get(key);
+            if (node == null) {
+                missCount++;
+            } else {
+                hitCount++;
+                onHit(node);
+                value = node.value;
+                if (shouldRefresh(node, now)) {
+                    node.refreshing = true;
+                    refreshNode = node;
+                }
+            }
+        }
+
+        if (refreshNode != null) {
+            refresh(refreshNode);
+        }
+        if (value != null) {
+            log.trace("{} retrieving element from cache: {} -> {}", this, key, value);
+        }
+        return Optional.ofNullable(value);
+    }
+
+    @Override
+    public synchronized Tsc4jCache<K, E> put(@NonNull K key, @NonNull E value) {
+        val now = clock.millis();
+        expire(now);
+        recordAccess(key);
+
+        val existing = data.get(key);
+        if (existing != null) {
+            existing.value = value;
+            existing.writtenAt = now;
+            writeQueue.moveToTail(existing);
+            onHit(existing);
+            return this;
+        }
+
+        val node = new Node<K, E>(key, value, now);
+        data.put(key, node);
+        writeQueue.add(node);
+        node.queue = window;
+        window.add(node);
+        evictIfNecessary();
+        return this;
+    }
+
+    @Override
+    public synchronized Tsc4jCache<K, E> clear() {
+        log.debug("{} clearing cache.", this);
+        data.values().forEach(node -> node.removed = true);
+        data.clear();
+        window.clear();
+        probation.clear();
+        protectedQueue.clear();
+        writeQueue.clear();
+        return this;
+    }
+
+    @Override
+    public synchronized int size() {
+        expire(clock.millis());
+        return data.size();
+    }
+
+    @Override
+    public synchronized Tsc4jCacheStats stats() {
+        return new Tsc4jCacheStats(hitCount, missCount, evictionCount, expirationCount);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Removes expired entries from the head of the write-order queue.
+     *
+     * @param now current timestamp in milliseconds
+     */
+    private void expire(long now) {
+        Node<K, E> node;
+        while ((node = writeQueue.peek()) != null && now >= node.writtenAt + ttlMillis) {
+            log.trace("{} cache element '{}' is expired, removing.", this, node.key);
+            remove(node);
+            expirationCount++;
+        }
+    }
+
+    private void recordAccess(K key) {
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+    }
+
+    /**
+     * Updates entry position in eviction queues after it has been accessed.
+     *
+     * @param node accessed entry
+     */
+    private void onHit(Node<K, E> node) {
+        if (node.queue == probation) {
+            // promote to protected segment, demote least recently used protected entry if segment overflows
+            probation.remove(node);
+            node.queue = protectedQueue;
+            protectedQueue.add(node);
+            if (protectedQueue.size() > protectedMax) {
+                val demoted = protectedQueue.poll();
+                demoted.queue = probation;
+                probation.add(demoted);
+            }
+        } else {
+            node.queue.moveToTail(node);
+        }
+    }
+
+    /**
+     * Moves entries overflowing admission window to main space, evicting either the candidate or main space victim.
+     */
+    private void evictIfNecessary() {
+        while (window.size() > windowMax) {
+            val candidate = window.poll();
+            if (data.size() <= maxSize) {
+                candidate.queue = probation;
+                probation.add(candidate);
+                continue;
+            }
+
+            val victim = (probation.size() > 0) ? probation.peek() : protectedQueue.peek();
+            if (victim != null && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                evict(victim);
+                candidate.queue = probation;
+                probation.add(candidate);
+            } else {
+                candidate.queue = null;
+                evict(candidate);
+            }
+        }
+    }
+
+    private void evict(Node<K, E> node) {
+        log.trace("{} evicting cache element '{}'", this, node.key);
+        remove(node);
+        evictionCount++;
+    }
+
+    private void remove(Node<K, E> node) {
+        data.remove(node.key);
+        writeQueue.remove(node);
+        if (node.queue != null) {
+            node.queue.remove(node);
+            node.queue = null;
+        }
+        node.removed = true;
+    }
+
+    private boolean shouldRefresh(Node<K, E> node, long now) {
+        return loader != null && !node.refreshing && now - node.writtenAt >= refreshAfterMillis;
+    }
+
+    private void refresh(Node<K, E> node) {
+        try {
+            refreshExecutor.execute(() -> reload(node));
+        } catch (Exception e) {
+            log.warn("{} unable to schedule refresh of cache element '{}': {}", this, node.key, e.toString());
+            synchronized (this) {
+                node.refreshing = false;
+            }
+        }
+    }
+
+    private void reload(Node<K, E> node) {
+        try {
+            log.debug("{} refreshing cache element: {}", this, node.key);
+            val value = loader.apply(node.key);
+            if (value != null) {
+                synchronized (this) {
+                    if (!node.removed) {
+                        put(node.key, value);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("{} error refreshing cache element '{}': {}", this, node.key, e.toString(), e);
+        } finally {
+            synchronized (this) {
+                node.refreshing = false;
+            }
+        }
+    }
+
+    /**
+     * Cache entry, linked into exactly one access-order queue and into write-order queue.
+     */
+    private static final class Node<K, E> {
+        private final K key;
+        private E value;
+        private long writtenAt;
+        private boolean refreshing = false;
+        private boolean removed = false;
+
+        private AccessQueue<K, E> queue;
+        private Node<K, E> accessPrev;
+        private Node<K, E> accessNext;
+        private Node<K, E> writePrev;
+        private Node<K, E> writeNext;
+
+        Node(K key, E value, long writtenAt) {
+            this.key = key;
+            this.value = value;
+            this.writtenAt = writtenAt;
+        }
+    }
+
+    /**
+     * Intrusive doubly-linked LRU queue: head is least recently used entry.
+     */
+    private static final class AccessQueue<K, E> {
+        private Node<K, E> head;
+        private Node<K, E> tail;
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        Node<K, E> peek() {
+            return head;
+        }
+
+        Node<K, E> poll() {
+            val node = head;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+
+        void add(Node<K, E> node) {
+            node.accessPrev = tail;
+            node.accessNext = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.accessNext = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        void remove(Node<K, E> node) {
+            if (node.accessPrev == null) {
+                head = node.accessNext;
+            } else {
+                node.accessPrev.accessNext = node.accessNext;
+            }
+            if (node.accessNext == null) {
+                tail = node.accessPrev;
+            } else {
+                node.accessNext.accessPrev = node.accessPrev;
+            }
+            node.accessPrev = null;
+            node.accessNext = null;
+            size--;
+        }
+
+        void moveToTail(Node<K, E> node) {
+            if (node != tail) {
+                remove(node);
+                add(node);
+            }
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+
+    /**
+     * Intrusive doubly-linked write-order queue: head is the oldest written entry.
+     */
+    private static final class WriteQueue<K, E> {
+        private Node<K, E> head;
+        private Node<K, E> tail;
+
+        Node<K, E> peek() {
+            return head;
+        }
+
+        void add(Node<K, E> node) {
+            node.writePrev = tail;
+            node.writeNext = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.writeNext = node;
+            }
+            tail = node;
+        }
+
+        void remove(Node<K, E> node) {
+            if (node.writePrev == null) {
+                head = node.writeNext;
+            } else {
+                node.writePrev.writeNext = node.writeNext;
+            }
+            if (node.writeNext == null) {
+                tail = node.writePrev;
+            } else {
+                node.writeNext.writePrev = node.writePrev;
+            }
+            node.writePrev = null;
+            node.writeNext = null;
+        }
+
+        void moveToTail(Node<K, E> node) {
+            if (node != tail) {
+                remove(node);
+                add(node);
+            }
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+        }
+    }
+
+    /**
+     * Count-min sketch with 4-bit counters that estimates access frequency of keys; counters are halved after
+     * number of recorded accesses reaches sample size, so that estimates reflect recent history.
+     */
+    static final class FrequencySketch {
+        private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int tableMask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maxSize) {
+            val capacity = Math.max(16, Math.min(maxSize, 1 << 24));
+            val tableSize = Integer.highestOneBit(capacity - 1) << 1;
+            this.table = new long[tableSize];
+            this.tableMask = tableSize - 1;
+            this.sampleSize = 10 * capacity;
+        }
+
+        /**
+         * Returns estimated access frequency of a key.
+         *
+         * @param key key
+         * @return frequency between 0 and 15
+         */
+        int frequency(Object key) {
+            val hash = spread(key.hashCode());
+            int frequency = 15;
+            for (int i = 0; i < 4; i++) {
+                val shift = counterOffset(hash, i) << 2;
+                val count = (int) ((table[indexOf(hash, i)] >>> shift) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        /**
+         * Records access of a key.
+         *
+         * @param key key
+         */
+        void increment(Object key) {
+            val hash = spread(key.hashCode());
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                added |= incrementAt(indexOf(hash, i), counterOffset(hash, i));
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        private boolean incrementAt(int index, int offset) {
+            val shift = offset << 2;
+            val mask = 0xfL << shift;
+            if ((table[index] & mask) != mask) {
+                table[index] += 1L << shift;
+                return true;
+            }
+            return false;
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions /= 2;
+        }
+
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return ((int) h) & tableMask;
+        }
+
+        private static int counterOffset(int hash, int i) {
+            return (hash >>> (i << 3)) & 0xf;
+        }
+
+        private static int spread(int x) {
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            return (x >>> 16) ^ x;
+        }
+    }
+}
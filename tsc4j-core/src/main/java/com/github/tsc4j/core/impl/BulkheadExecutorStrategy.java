@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl;
+
+import com.github.tsc4j.core.Tsc4jExecutorConfig;
+import lombok.NonNull;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * {@link com.github.tsc4j.core.Tsc4jExecutorStrategy} that runs tasks of each bulkhead in it's own bounded thread
+ * pool, so that slow backend of one config source type can only exhaust threads of it's own pool.
+ *
+ * @see Tsc4jExecutorConfig.Strategy#BULKHEAD
+ */
+public final class BulkheadExecutorStrategy extends AbstractExecutorStrategy {
+    private final Tsc4jExecutorConfig config;
+
+    /**
+     * Creates new instance.
+     *
+     * @param config executor configuration, thread pool settings apply to each bulkhead
+     * @throws IllegalArgumentException if configuration is invalid
+     */
+    public BulkheadExecutorStrategy(@NonNull Tsc4jExecutorConfig config) {
+        this.config = config.validate();
+    }
+
+    @Override
+    public Tsc4jExecutorConfig.Strategy getType() {
+        return Tsc4jExecutorConfig.Strategy.BULKHEAD;
+    }
+
+    @Override
+    protected String executorName(@NonNull String bulkhead) {
+        return bulkhead;
+    }
+
+    @Override
+    protected ExecutorService createExecutorService(@NonNull String name) {
+        return createThreadPool(name, config);
+    }
+}
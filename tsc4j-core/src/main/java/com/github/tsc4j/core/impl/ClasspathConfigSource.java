@@ -20,27 +20,27 @@ package com.github.tsc4j.core.impl;
 import com.github.tsc4j.core.ConfigQuery;
 import com.github.tsc4j.core.ConfigSource;
 import com.github.tsc4j.core.FilesystemLikeConfigSource;
-import com.github.tsc4j.core.Tsc4jImplUtils;
+import com.github.tsc4j.core.Tsc4jException;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import lombok.NonNull;
 import lombok.val;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.InputStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
-import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * Classpath implementation of {@link ConfigSource}.
+ * <p>
+ * Classpath contents can't change at runtime, therefore resource lookups, directory listings (also inside jars and
+ * nested jars) and parsed configurations are memoized for the lifetime of the class loader.
  */
 public final class ClasspathConfigSource extends FilesystemLikeConfigSource<String> {
     /**
@@ -56,6 +56,8 @@ public final class ClasspathConfigSource extends FilesystemLikeConfigSource<Stri
 
     static final String TYPE = "classpath";
 
+    private final ClasspathResourceIndex index = ClasspathResourceIndex.forClassLoader(defaultClassLoader());
+
     /**
      * Creates new instance with specified application name and configuration classpath prefixes set to
      * {@link #DEFAULT_CLASSPATH_PATHS}.
@@ -122,30 +124,26 @@ public final class ClasspathConfigSource extends FilesystemLikeConfigSource<Stri
         return false;
     }
 
+    private static ClassLoader defaultClassLoader() {
+        val classLoader = ClasspathConfigSource.class.getClassLoader();
+        return (classLoader == null) ? ClassLoader.getSystemClassLoader() : classLoader;
+    }
+
     @Override
     protected boolean isDirectory(@NonNull String path, String context) {
-        val result = Optional.ofNullable(getClass().getResource(path))
-            .map(url -> new File(url.getFile()))
-            .map(file -> file.exists() && file.isDirectory())
-            .orElse(false);
+        val result = index.isDirectory(path);
         return debugIsDirectory(path, result);
     }
 
     @Override
     protected boolean pathExists(@NonNull String path, String context) {
-        val result = Optional.ofNullable(getClass().getResource(path)).isPresent();
+        val result = index.exists(path);
         return debugPathExists(path, result);
     }
 
     @Override
     protected Stream<String> listDirectory(@NonNull String path, String context) {
-        return openFromClasspath(path)
-            .map(reader -> {
-                val items = reader.lines().collect(Collectors.toList());
-                Tsc4jImplUtils.close(reader, log);
-                return items.stream();
-            })
-            .orElse(Stream.empty());
+        return index.list(path).stream();
     }
 
     @Override
@@ -161,20 +159,26 @@ public final class ClasspathConfigSource extends FilesystemLikeConfigSource<Stri
     @Override
     protected Config loadConfig(String path, String context) {
         log.debug("{} loading: {}", this, path);
-
-        // remove slash from beginning of the path because ConfigFactory.parseResources()
-        // returns empty configuration object with path starts with "/"
-        if (path.startsWith("/") && path.length() > 1) {
-            path = path.substring(1);
-        }
-
-        val config = ConfigFactory.parseResources(path);
+        // compressed resources and config bundles are decompressed while being parsed
+        val config = isStreamedConfigObject(path) ?
+            index.parse(path, () -> readStreamedConfigObject(path, context)) :
+            index.parse(path);
         return debugLoadedConfig(path, config);
     }
 
-    private Optional<BufferedReader> openFromClasspath(@NonNull String path) {
-        return Tsc4jImplUtils.openFromClassPath(path)
-            .map(is -> new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8)));
+    private Config readStreamedConfigObject(String path, String context) {
+        return openStream(path, context)
+            .map(is -> readConfigObject(is, path))
+            .orElse(ConfigFactory.empty());
+    }
+
+    @Override
+    protected Optional<InputStream> openStream(@NonNull String path, String context) {
+        try {
+            return index.open(path);
+        } catch (IOException e) {
+            throw Tsc4jException.of("Error opening classpath resource %s: %%s", e, path);
+        }
     }
 
     /**
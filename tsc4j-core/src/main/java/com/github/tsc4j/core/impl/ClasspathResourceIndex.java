@@ -0,0 +1,309 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Memoizing index of classpath resources of a single class loader. Classpath contents can't change at runtime, so
+ * resource lookups, directory listings and parsed configs are computed once and kept for the lifetime of the class
+ * loader.
+ * <p>
+ * Directories are recognized and listed both on filesystem and inside jars, including nested jars
+ * ({@code jar:file:/app.jar!/BOOT-INF/lib/config.jar!/config/}) and jar sub-directories used as classpath roots
+ * ({@code jar:file:/app.jar!/BOOT-INF/classes!/config/}).
+ */
+@Slf4j
+final class ClasspathResourceIndex {
+    private static final Map<ClassLoader, ClasspathResourceIndex> INSTANCES = new WeakHashMap<>();
+
+    /**
+     * Weak reference, because index is a value in a {@link WeakHashMap} keyed by the same class loader.
+     */
+    private final WeakReference<ClassLoader> classLoaderRef;
+    private final Map<String, List<URL>> resources = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> directories = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> listings = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> archives = new ConcurrentHashMap<>();
+    private final Map<String, Config> configs = new ConcurrentHashMap<>();
+
+    private ClasspathResourceIndex(@NonNull ClassLoader classLoader) {
+        this.classLoaderRef = new WeakReference<>(classLoader);
+    }
+
+    /**
+     * Returns index for a given class loader.
+     *
+     * @param classLoader class loader
+     * @return resource index
+     */
+    static ClasspathResourceIndex forClassLoader(@NonNull ClassLoader classLoader) {
+        synchronized (INSTANCES) {
+            return INSTANCES.computeIfAbsent(classLoader, ClasspathResourceIndex::new);
+        }
+    }
+
+    /**
+     * Tells whether resource exists.
+     *
+     * @param path resource path, leading slash is optional
+     * @return true/false
+     */
+    boolean exists(@NonNull String path) {
+        return !resources(resourceName(path)).isEmpty();
+    }
+
+    /**
+     * Tells whether resource denotes a directory in at least one of classpath roots.
+     *
+     * @param path resource path, leading slash is optional
+     * @return true/false
+     */
+    boolean isDirectory(@NonNull String path) {
+        return directories.computeIfAbsent(resourceName(path),
+            name -> resources(name).stream().anyMatch(this::isDirectory));
+    }
+
+    /**
+     * Lists directory contents across all classpath roots.
+     *
+     * @param path directory resource path, leading slash is optional
+     * @return sorted list of unique basenames
+     */
+    List<String> list(@NonNull String path) {
+        return listings.computeIfAbsent(resourceName(path), name -> {
+            val result = resources(name).stream()
+                .flatMap(this::list)
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+            return Collections.unmodifiableList(result);
+        });
+    }
+
+    /**
+     * Parses resource(s) using {@link ConfigFactory#parseResources(ClassLoader, String)}; result is memoized.
+     *
+     * @param path resource path, leading slash is optional
+     * @return parsed config
+     */
+    Config parse(@NonNull String path) {
+        return configs.computeIfAbsent(resourceName(path), name -> ConfigFactory.parseResources(classLoader(), name));
+    }
+
+    /**
+     * Parses resource using given parser; result is memoized.
+     *
+     * @param path   resource path, leading slash is optional
+     * @param parser config parser
+     * @return parsed config
+     */
+    Config parse(@NonNull String path, @NonNull Supplier<Config> parser) {
+        return configs.computeIfAbsent(resourceName(path), name -> parser.get());
+    }
+
+    /**
+     * Opens first resource found on classpath as a byte stream.
+     *
+     * @param path resource path, leading slash is optional
+     * @return optional of input stream, empty if resource doesn't exist
+     * @throws IOException if resource cannot be opened
+     */
+    Optional<InputStream> open(@NonNull String path) throws IOException {
+        val urls = resources(resourceName(path));
+        return urls.isEmpty() ? Optional.empty() : Optional.of(urls.get(0).openStream());
+    }
+
+    private ClassLoader classLoader() {
+        val classLoader = classLoaderRef.get();
+        if (classLoader == null) {
+            throw new IllegalStateException("Class loader has been garbage collected.");
+        }
+        return classLoader;
+    }
+
+    private static String resourceName(String path) {
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(start, end);
+    }
+
+    private List<URL> resources(String name) {
+        return resources.computeIfAbsent(name, it -> {
+            try {
+                return Collections.unmodifiableList(Collections.list(classLoader().getResources(it)));
+            } catch (IOException e) {
+                log.debug("error looking up classpath resource {}: {}", it, e.toString());
+                return Collections.emptyList();
+            }
+        });
+    }
+
+    private boolean isDirectory(URL url) {
+        if (url.getProtocol().equals("file")) {
+            return toFile(url).map(File::isDirectory).orElse(false);
+        }
+        return jarLocation(url)
+            .map(loc -> loc.entryPath.isEmpty() || archiveEntries(loc).stream()
+                .anyMatch(e -> e.startsWith(loc.entryPath + "/")))
+            .orElse(false);
+    }
+
+    private Stream<String> list(URL url) {
+        if (url.getProtocol().equals("file")) {
+            return toFile(url)
+                .map(File::list)
+                .map(Stream::of)
+                .orElse(Stream.empty());
+        }
+        return jarLocation(url)
+            .map(loc -> {
+                val prefix = loc.entryPath.isEmpty() ? "" : loc.entryPath + "/";
+                return archiveEntries(loc).stream()
+                    .filter(e -> e.startsWith(prefix) && e.length() > prefix.length())
+                    .map(e -> e.substring(prefix.length()))
+                    .map(e -> e.contains("/") ? e.substring(0, e.indexOf('/')) : e);
+            })
+            .orElse(Stream.empty());
+    }
+
+    private Optional<File> toFile(URL url) {
+        try {
+            return Optional.of(new File(url.toURI()));
+        } catch (Exception e) {
+            return Optional.of(new File(url.getFile()));
+        }
+    }
+
+    /**
+     * Parses {@code jar:} url into archive chain and entry path.
+     *
+     * @param url url
+     * @return optional of jar location
+     */
+    private Optional<JarLocation> jarLocation(URL url) {
+        val spec = url.toString();
+        if (!spec.startsWith("jar:")) {
+            return Optional.empty();
+        }
+
+        val parts = spec.substring(4).split("!/", -1);
+        val chain = new ArrayList<String>();
+        chain.add(parts[0]);
+
+        String dirPrefix = "";
+        for (int i = 1; i < parts.length - 1; i++) {
+            if (parts[i].toLowerCase(Locale.ENGLISH).endsWith(".jar")) {
+                chain.add(dirPrefix + parts[i]);
+                dirPrefix = "";
+            } else {
+                dirPrefix = dirPrefix + parts[i] + "/";
+            }
+        }
+
+        return Optional.of(new JarLocation(chain, resourceName(dirPrefix + parts[parts.length - 1])));
+    }
+
+    private List<String> archiveEntries(JarLocation location) {
+        return archives.computeIfAbsent(String.join("!/", location.archiveChain), key -> {
+            try {
+                return Collections.unmodifiableList(readArchiveEntries(location.archiveChain));
+            } catch (Exception e) {
+                log.debug("error indexing classpath archive {}: {}", key, e.toString());
+                return Collections.emptyList();
+            }
+        });
+    }
+
+    private List<String> readArchiveEntries(List<String> chain) throws Exception {
+        val file = new File(new URL(chain.get(0)).toURI());
+        try (val jarFile = new JarFile(file)) {
+            if (chain.size() == 1) {
+                return jarFile.stream().map(JarEntry::getName).collect(Collectors.toList());
+            }
+
+            val entry = jarFile.getEntry(chain.get(1));
+            if (entry == null) {
+                return Collections.emptyList();
+            }
+            try (val is = jarFile.getInputStream(entry)) {
+                return readNestedEntries(is, chain.subList(2, chain.size()));
+            }
+        }
+    }
+
+    private List<String> readNestedEntries(InputStream is, List<String> chain) throws IOException {
+        val jis = new JarInputStream(is);
+        val result = new ArrayList<String>();
+        for (JarEntry entry = jis.getNextJarEntry(); entry != null; entry = jis.getNextJarEntry()) {
+            if (chain.isEmpty()) {
+                result.add(entry.getName());
+            } else if (entry.getName().equals(chain.get(0))) {
+                return readNestedEntries(jis, chain.subList(1, chain.size()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + classLoaderRef.get() + ")";
+    }
+
+    /**
+     * Location of a resource inside (possibly nested) archive.
+     */
+    private static final class JarLocation {
+        final List<String> archiveChain;
+        final String entryPath;
+
+        JarLocation(List<String> archiveChain, String entryPath) {
+            this.archiveChain = archiveChain;
+            this.entryPath = entryPath;
+        }
+    }
+}
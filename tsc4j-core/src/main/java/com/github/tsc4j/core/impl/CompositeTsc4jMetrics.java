@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl;
+
+import com.github.tsc4j.core.Tsc4jCache;
+import com.github.tsc4j.core.Tsc4jExecutor;
+import com.github.tsc4j.core.Tsc4jMetrics;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link Tsc4jMetrics} implementation that dispatches measurements to all registered delegates; exceptions thrown
+ * by delegates are logged and ignored.
+ * <p>
+ * Created caches and executors are remembered (without preventing their garbage collection), so that delegates
+ * registered later are notified about them as well. Instances are thread-safe.
+ */
+@Slf4j
+public final class CompositeTsc4jMetrics implements Tsc4jMetrics {
+    private final CopyOnWriteArrayList<Tsc4jMetrics> delegates = new CopyOnWriteArrayList<>();
+    private final Map<Tsc4jCache<?, ?>, String> caches = new WeakHashMap<>();
+    private final Map<Tsc4jExecutor, String> executors = new WeakHashMap<>();
+
+    /**
+     * Registers delegate and notifies it about already created caches and executors.
+     *
+     * @param metrics delegate
+     * @return true if delegate was registered, false if it was already registered
+     */
+    public boolean add(@NonNull Tsc4jMetrics metrics) {
+        if (metrics == this || !delegates.addIfAbsent(metrics)) {
+            return false;
+        }
+
+        Map<Tsc4jCache<?, ?>, String> existing;
+        synchronized (caches) {
+            existing = new LinkedHashMap<>(caches);
+        }
+        existing.forEach((cache, name) -> safeRun(metrics, it -> it.cacheCreated(name, cache)));
+
+        Map<Tsc4jExecutor, String> existingExecutors;
+        synchronized (executors) {
+            existingExecutors = new LinkedHashMap<>(executors);
+        }
+        existingExecutors.forEach((executor, name) -> safeRun(metrics, it -> it.executorCreated(name, executor)));
+        log.debug("{} registered metrics: {}", this, metrics);
+        return true;
+    }
+
+    /**
+     * Unregisters delegate.
+     *
+     * @param metrics delegate
+     * @return true if delegate was unregistered, false if it was not registered
+     */
+    public boolean remove(@NonNull Tsc4jMetrics metrics) {
+        return delegates.remove(metrics);
+    }
+
+    /**
+     * Tells whether there are no registered delegates.
+     *
+     * @return true/false
+     */
+    public boolean isEmpty() {
+        return delegates.isEmpty();
+    }
+
+    @Override
+    public void configRefresh(String name, long durationNanos, boolean succeeded) {
+        dispatch(it -> it.configRefresh(name, durationNanos, succeeded));
+    }
+
+    @Override
+    public void sourceFetch(String name, long durationNanos, boolean succeeded) {
+        dispatch(it -> it.sourceFetch(name, durationNanos, succeeded));
+    }
+
+    @Override
+    public void transform(String name, long durationNanos, boolean succeeded) {
+        dispatch(it -> it.transform(name, durationNanos, succeeded));
+    }
+
+    @Override
+    public void valueProviderFetch(String name, int batchSize, long durationNanos, boolean succeeded) {
+        dispatch(it -> it.valueProviderFetch(name, batchSize, durationNanos, succeeded));
+    }
+
+    @Override
+    public void cacheCreated(@NonNull String name, @NonNull Tsc4jCache<?, ?> cache) {
+        synchronized (caches) {
+            caches.put(cache, name);
+        }
+        dispatch(it -> it.cacheCreated(name, cache));
+    }
+
+    @Override
+    public void executorCreated(@NonNull String name, @NonNull Tsc4jExecutor executor) {
+        synchronized (executors) {
+            executors.put(executor, name);
+        }
+        dispatch(it -> it.executorCreated(name, executor));
+    }
+
+    @Override
+    public void reloadableUpdate(String path, long durationNanos) {
+        dispatch(it -> it.reloadableUpdate(path, durationNanos));
+    }
+
+    @Override
+    public void slowConsumer(String path, long durationNanos) {
+        dispatch(it -> it.slowConsumer(path, durationNanos));
+    }
+
+    private void dispatch(Consumer<Tsc4jMetrics> action) {
+        delegates.forEach(it -> safeRun(it, action));
+    }
+
+    private void safeRun(Tsc4jMetrics metrics, Consumer<Tsc4jMetrics> action) {
+        try {
+            action.accept(metrics);
+        } catch (Throwable t) {
+            log.warn("{} exception while recording metrics using {}: {}", this, metrics, t.getMessage(), t);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + delegates + ")";
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl;
+
+import com.github.tsc4j.core.Tsc4jSpan;
+import com.github.tsc4j.core.Tsc4jStage;
+import com.github.tsc4j.core.Tsc4jTracer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * {@link Tsc4jTracer} implementation that starts spans using all registered delegates: if there are no delegates,
+ * {@link Tsc4jSpan#NOOP} is returned, if there is exactly one, it's span is returned as-is. Exceptions thrown by
+ * delegates while starting spans are logged and ignored. Instances are thread-safe.
+ */
+@Slf4j
+public final class CompositeTsc4jTracer implements Tsc4jTracer {
+    private static final Tsc4jTracer[] EMPTY = new Tsc4jTracer[0];
+
+    private final List<Tsc4jTracer> delegates = new ArrayList<>();
+
+    /**
+     * Snapshot of delegates, avoids iterator allocation on every started span.
+     */
+    private volatile Tsc4jTracer[] snapshot = EMPTY;
+
+    /**
+     * Registers delegate.
+     *
+     * @param tracer delegate
+     * @return true if delegate was registered, false if it was already registered
+     */
+    public synchronized boolean add(@NonNull Tsc4jTracer tracer) {
+        if (tracer == this || delegates.contains(tracer)) {
+            return false;
+        }
+        delegates.add(tracer);
+        snapshot = delegates.toArray(EMPTY);
+        log.debug("{} registered tracer: {}", this, tracer);
+        return true;
+    }
+
+    /**
+     * Unregisters delegate.
+     *
+     * @param tracer delegate
+     * @return true if delegate was unregistered, false if it was not registered
+     */
+    public synchronized boolean remove(@NonNull Tsc4jTracer tracer) {
+        val result = delegates.remove(tracer);
+        snapshot = delegates.toArray(EMPTY);
+        return result;
+    }
+
+    /**
+     * Tells whether there are no registered delegates.
+     *
+     * @return true/false
+     */
+    public boolean isEmpty() {
+        return snapshot.length == 0;
+    }
+
+    @Override
+    public Tsc4jSpan start(Tsc4jStage stage, String name) {
+        val tracers = snapshot;
+        if (tracers.length == 0) {
+            return Tsc4jSpan.NOOP;
+        } else if (tracers.length == 1) {
+            return start(tracers[0], stage, name);
+        }
+
+        val spans = new ArrayList<Tsc4jSpan>(tracers.length);
+        for (val tracer : tracers) {
+            val span = start(tracer, stage, name);
+            if (span != Tsc4jSpan.NOOP) {
+                spans.add(span);
+            }
+        }
+        return spans.isEmpty() ? Tsc4jSpan.NOOP : new CompositeSpan(spans.toArray(new Tsc4jSpan[0]));
+    }
+
+    @Override
+    public Tsc4jSpan current() {
+        val tracers = snapshot;
+        if (tracers.length == 0) {
+            return Tsc4jSpan.NOOP;
+        } else if (tracers.length == 1) {
+            return current(tracers[0]);
+        }
+
+        val spans = new ArrayList<Tsc4jSpan>(tracers.length);
+        for (val tracer : tracers) {
+            val span = current(tracer);
+            if (span != Tsc4jSpan.NOOP) {
+                spans.add(span);
+            }
+        }
+        return spans.isEmpty() ? Tsc4jSpan.NOOP : new CompositeSpan(spans.toArray(new Tsc4jSpan[0]));
+    }
+
+    @Override
+    public Runnable wrap(@NonNull Runnable task) {
+        Runnable result = task;
+        for (val tracer : snapshot) {
+            try {
+                result = tracer.wrap(result);
+            } catch (Throwable t) {
+                log.warn("{} exception while wrapping task using {}: {}", this, tracer, t.getMessage(), t);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public <T> Callable<T> wrap(@NonNull Callable<T> task) {
+        Callable<T> result = task;
+        for (val tracer : snapshot) {
+            try {
+                result = tracer.wrap(result);
+            } catch (Throwable t) {
+                log.warn("{} exception while wrapping task using {}: {}", this, tracer, t.getMessage(), t);
+            }
+        }
+        return result;
+    }
+
+    private Tsc4jSpan start(Tsc4jTracer tracer, Tsc4jStage stage, String name) {
+        try {
+            val span = tracer.start(stage, name);
+            return (span == null) ? Tsc4jSpan.NOOP : span;
+        } catch (Throwable t) {
+            log.warn("{} exception while starting {} span using {}: {}", this, stage, tracer, t.getMessage(), t);
+            return Tsc4jSpan.NOOP;
+        }
+    }
+
+    private Tsc4jSpan current(Tsc4jTracer tracer) {
+        try {
+            val span = tracer.current();
+            return (span == null) ? Tsc4jSpan.NOOP : span;
+        } catch (Throwable t) {
+            log.warn("{} exception while retrieving current span from {}: {}", this, tracer, t.getMessage(), t);
+            return Tsc4jSpan.NOOP;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + Arrays.toString(snapshot);
+    }
+
+    /**
+     * Span that delegates to multiple spans.
+     */
+    private static final class CompositeSpan implements Tsc4jSpan {
+        private final Tsc4jSpan[] spans;
+
+        CompositeSpan(Tsc4jSpan[] spans) {
+            this.spans = spans;
+        }
+
+        @Override
+        public boolean isRecording() {
+            for (val span : spans) {
+                if (span.isRecording()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Tsc4jSpan setAttribute(String key, long value) {
+            for (val span : spans) {
+                span.setAttribute(key, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Tsc4jSpan setAttribute(String key, String value) {
+            for (val span : spans) {
+                span.setAttribute(key, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Tsc4jSpan setAttribute(String key, boolean value) {
+            for (val span : spans) {
+                span.setAttribute(key, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Tsc4jSpan setError(Throwable error) {
+            for (val span : spans) {
+                span.setError(error);
+            }
+            return this;
+        }
+
+        @Override
+        public Tsc4jSpan detach() {
+            for (val span : spans) {
+                span.detach();
+            }
+            return this;
+        }
+
+        @Override
+        public void close() {
+            for (val span : spans) {
+                span.close();
+            }
+        }
+    }
+}
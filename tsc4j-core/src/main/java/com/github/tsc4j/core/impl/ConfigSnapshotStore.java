@@ -0,0 +1,242 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl;
+
+import com.github.tsc4j.core.Tsc4jImplUtils;
+import com.github.tsc4j.core.utils.ConfigBinaryFormat;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigRenderOptions;
+import com.typesafe.config.ConfigValueFactory;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+/**
+ * Stores last-known-good configuration on local disk, so that application can start without waiting for (or in
+ * case of unavailability of) remote configuration sources.
+ * <p>
+ * Snapshot carries fingerprint of configuration sources and config query that produced it; snapshot with different
+ * fingerprint is never loaded. Snapshots are written atomically (write to temporary file, fsync, atomic rename);
+ * config payload is stored in {@link ConfigBinaryFormat} and can be encrypted with a local AES key (AES-GCM,
+ * fingerprint is used as additional authenticated data).
+ */
+@Slf4j
+public final class ConfigSnapshotStore {
+    private static final String ROOT = "tsc4j-snapshot";
+    private static final int FORMAT_VERSION = 2;
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Path path;
+    private final String fingerprint;
+    private final SecretKeySpec key;
+
+    /**
+     * Checksum of last loaded or saved config, used to avoid rewriting unchanged snapshot.
+     */
+    private volatile String lastChecksum;
+
+    /**
+     * Creates new instance.
+     *
+     * @param path        snapshot file path
+     * @param fingerprint fingerprint of configuration sources and query
+     * @param key         base64 encoded AES key (16, 24 or 32 bytes), may be null if payload should not be encrypted
+     * @throws NullPointerException     in case of null arguments
+     * @throws IllegalArgumentException in case of invalid key
+     */
+    public ConfigSnapshotStore(@NonNull Path path, @NonNull String fingerprint, String key) {
+        this.path = path.toAbsolutePath();
+        this.fingerprint = fingerprint;
+        this.key = Tsc4jImplUtils.optString(key).map(ConfigSnapshotStore::createKey).orElse(null);
+    }
+
+    private static SecretKeySpec createKey(String base64Key) {
+        val bytes = Base64.getDecoder().decode(base64Key);
+        if (bytes.length != 16 && bytes.length != 24 && bytes.length != 32) {
+            throw new IllegalArgumentException("Snapshot key must be base64 encoded 128, 192 or 256 bit AES key.");
+        }
+        return new SecretKeySpec(bytes, "AES");
+    }
+
+    /**
+     * Loads snapshot from disk.
+     *
+     * @return optional of resolved config, empty if snapshot doesn't exist, can't be read or has been created with
+     *     different fingerprint.
+     */
+    public Optional<Config> load() {
+        if (!Files.isRegularFile(path)) {
+            log.debug("{} snapshot doesn't exist.", this);
+            return Optional.empty();
+        }
+
+        try {
+            val content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+            val snapshot = ConfigFactory.parseString(content).getConfig(ROOT);
+
+            if (snapshot.getInt("version") != FORMAT_VERSION) {
+                log.warn("{} ignoring snapshot with unsupported format version.", this);
+                return Optional.empty();
+            }
+            if (!fingerprint.equals(snapshot.getString("fingerprint"))) {
+                log.warn("{} ignoring snapshot created for different configuration sources.", this);
+                return Optional.empty();
+            }
+
+            val payload = snapshot.getString("payload");
+            val bytes = snapshot.getBoolean("encrypted") ? decrypt(payload) : Base64.getDecoder().decode(payload);
+            val config = ConfigBinaryFormat.read(bytes).resolve();
+            lastChecksum = Tsc4jImplUtils.objectChecksum(config);
+
+            log.info("{} loaded configuration snapshot created at {}", this, snapshot.getString("created"));
+            return Optional.of(config);
+        } catch (Exception e) {
+            log.warn("{} error loading configuration snapshot: {}", this, e.toString());
+            log.debug("{} snapshot load exception", this, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Atomically writes snapshot of given config to disk unless it's the same as the last loaded/saved one.
+     *
+     * @param config resolved config
+     * @return true if snapshot was written, otherwise false
+     */
+    public boolean save(@NonNull Config config) {
+        val checksum = Tsc4jImplUtils.objectChecksum(config);
+        if (checksum.equals(lastChecksum)) {
+            log.debug("{} config didn't change, not rewriting snapshot.", this);
+            return false;
+        }
+
+        Path tmpFile = null;
+        try {
+            val bytes = ConfigBinaryFormat.write(config);
+            val snapshot = new LinkedHashMap<String, Object>();
+            snapshot.put("version", FORMAT_VERSION);
+            snapshot.put("fingerprint", fingerprint);
+            snapshot.put("created", Instant.now().toString());
+            snapshot.put("encrypted", key != null);
+            snapshot.put("payload", (key == null) ? Base64.getEncoder().encodeToString(bytes) : encrypt(bytes));
+
+            val content = ConfigValueFactory.fromMap(snapshot).atKey(ROOT).root()
+                .render(ConfigRenderOptions.concise().setFormatted(true));
+
+            val dir = path.getParent();
+            Files.createDirectories(dir);
+            tmpFile = Files.createTempFile(dir, "." + path.getFileName(), ".tmp");
+            writeAndSync(tmpFile, content.getBytes(StandardCharsets.UTF_8));
+            moveAtomically(tmpFile, path);
+
+            lastChecksum = checksum;
+            log.debug("{} wrote configuration snapshot.", this);
+            return true;
+        } catch (Exception e) {
+            log.warn("{} error writing configuration snapshot: {}", this, e.toString());
+            log.debug("{} snapshot write exception", this, e);
+            return false;
+        } finally {
+            deleteQuietly(tmpFile);
+        }
+    }
+
+    private void writeAndSync(Path file, byte[] bytes) throws IOException {
+        try (val channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            val buf = ByteBuffer.wrap(bytes);
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            channel.force(true);
+        }
+    }
+
+    private void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            log.debug("{} atomic move is not supported, falling back to regular move.", this);
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.trace("{} error removing temporary file {}", this, file, e);
+            }
+        }
+    }
+
+    @SneakyThrows
+    private String encrypt(byte[] plaintext) {
+        val iv = new byte[IV_LENGTH];
+        RANDOM.nextBytes(iv);
+
+        val cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+        cipher.updateAAD(fingerprint.getBytes(StandardCharsets.UTF_8));
+        val encrypted = cipher.doFinal(plaintext);
+
+        val result = ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array();
+        return Base64.getEncoder().encodeToString(result);
+    }
+
+    @SneakyThrows
+    private byte[] decrypt(String payload) {
+        if (key == null) {
+            throw new IllegalStateException("Snapshot is encrypted, but no snapshot key is configured.");
+        }
+
+        val bytes = Base64.getDecoder().decode(payload);
+        val cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, bytes, 0, IV_LENGTH));
+        cipher.updateAAD(fingerprint.getBytes(StandardCharsets.UTF_8));
+        return cipher.doFinal(bytes, IV_LENGTH, bytes.length - IV_LENGTH);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + path + ")";
+    }
+}
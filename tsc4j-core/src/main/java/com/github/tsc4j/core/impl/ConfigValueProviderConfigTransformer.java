@@ -22,6 +22,8 @@ import com.github.tsc4j.core.ConfigTransformerBuilder;
 import com.github.tsc4j.core.ConfigValueProvider;
 import com.github.tsc4j.core.Tsc4j;
 import com.github.tsc4j.core.Tsc4jImplUtils;
+import com.github.tsc4j.core.Tsc4jSpan;
+import com.github.tsc4j.core.Tsc4jStage;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigValue;
 import com.typesafe.config.ConfigValueFactory;
@@ -508,8 +510,23 @@ public final class ConfigValueProviderConfigTransformer
         private ConfigValueProvider executeValueProviderFetch(@NonNull ConfigValueProvider provider,
                                                               @NonNull Set<String> providerVars,
                                                               @NonNull Map<String, List<UpdatableConfigValue>> varMap) {
-            val resultMap = provider.get(providerVars);
-            log.trace("{} config value provider {} returned: {}", this, provider, resultMap);
+            val sw = new Stopwatch();
+            val metricsName = Tsc4jImplUtils.metricsName(provider);
+            final Map<String, ConfigValue> resultMap;
+            try (Tsc4jSpan span = Tsc4jImplUtils.tracer().start(Tsc4jStage.VALUE_PROVIDER_FETCH, metricsName)) {
+                span.setAttribute(Tsc4jSpan.BATCH_SIZE, providerVars.size());
+                try {
+                    resultMap = provider.get(providerVars);
+                } catch (RuntimeException e) {
+                    span.setError(e);
+                    Tsc4jImplUtils.metrics()
+                        .valueProviderFetch(metricsName, providerVars.size(), sw.durationNanos(), false);
+                    throw e;
+                }
+                span.setAttribute(Tsc4jSpan.VALUES, (resultMap == null) ? 0 : resultMap.size());
+            }
+            Tsc4jImplUtils.metrics().valueProviderFetch(metricsName, providerVars.size(), sw.durationNanos(), true);
+            log.trace("{} config value provider {} returned in {}: {}", this, provider, sw, resultMap);
             if (resultMap == null) {
                 log.warn("{} config value provider {} returned null result map.", this, provider);
                 return provider;
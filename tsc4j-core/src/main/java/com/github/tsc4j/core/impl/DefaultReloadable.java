@@ -108,6 +108,11 @@ public final class DefaultReloadable<T> extends AbstractReloadable<T> implements
         return Long.compare(getId(), o.getId());
     }
 
+    @Override
+    protected String getMetricsName() {
+        return getPath();
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() +
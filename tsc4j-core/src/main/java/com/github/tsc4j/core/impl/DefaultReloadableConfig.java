@@ -16,6 +16,8 @@
 
 package com.github.tsc4j.core.impl;
 
+import com.github.tsc4j.core.Tsc4j;
+import com.github.tsc4j.core.Tsc4jExecutorStrategy;
 import com.github.tsc4j.core.Tsc4jImplUtils;
 import com.typesafe.config.Config;
 import lombok.Builder;
@@ -51,6 +53,8 @@ public final class DefaultReloadableConfig extends AbstractReloadableConfig {
      * @param scheduledExecutorService scheduled executor service for running scheduled tasks, may be null
      * @param reverseUpdateOrder       update reloadables in reverse order
      * @param logFirstFetch            log first configuration fetch?
+     * @param initialConfig            config that is served until first refresh completes (i.e. last-known-good
+     *                                 local snapshot), may be null
      */
     @Builder
     protected DefaultReloadableConfig(
@@ -59,14 +63,25 @@ public final class DefaultReloadableConfig extends AbstractReloadableConfig {
         int refreshJitterPct,
         ScheduledExecutorService scheduledExecutorService,
         boolean reverseUpdateOrder,
-        boolean logFirstFetch) {
+        boolean logFirstFetch,
+        Config initialConfig) {
         super(configSupplier, reverseUpdateOrder, logFirstFetch);
 
+        if (initialConfig != null) {
+            assignConfig(initialConfig.isResolved() ? initialConfig : Tsc4j.resolveConfig(initialConfig));
+            log.info("{} assigned initial config, it will be replaced after first refresh.", this);
+        }
+
         this.shutdownScheduledExecutor = (scheduledExecutorService != null);
 
         val refreshMillis = computeRefreshInterval(refreshInterval, refreshJitterPct);
         this.scheduledExecutor = getOrCreateScheduledExecutor(scheduledExecutorService, refreshMillis);
         this.refreshTicker = init(refreshMillis, this.scheduledExecutor);
+
+        // initial config needs to be replaced with fetched one as soon as possible
+        if (initialConfig != null && this.refreshTicker == null) {
+            Tsc4jImplUtils.executor(Tsc4jExecutorStrategy.REFRESH_BULKHEAD).submit(this::refresh);
+        }
     }
 
     /**
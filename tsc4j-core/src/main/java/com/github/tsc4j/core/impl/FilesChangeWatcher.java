@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl;
+
+import com.github.tsc4j.core.Tsc4jImplUtils;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches directories for changes using NIO {@link WatchService} and invokes change callback after events settle
+ * down for a debounce period. Runs in it's own daemon thread until closed.
+ * <p>
+ * Kubernetes-style atomic updates of mounted volumes are understood: new content is written into a hidden
+ * {@code ..<timestamp>} directory and then published by atomically swapping the {@code ..data} symlink. Events for
+ * hidden entries other than {@code ..data} are ignored, so callback is invoked only after the swap.
+ */
+@Slf4j
+final class FilesChangeWatcher implements Closeable {
+    /**
+     * Name of the symlink that points to current content of Kubernetes volume: {@value}
+     */
+    static final String K8S_DATA_DIR = "..data";
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final WatchService watchService;
+    private final long debounceMillis;
+    private final Runnable onChange;
+    private final Map<Path, WatchKey> watchedDirs = new ConcurrentHashMap<>();
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    /**
+     * Creates new instance.
+     *
+     * @param debounce duration of quiet period after last change before callback is invoked
+     * @param onChange change callback
+     * @throws RuntimeException if watch service can't be created
+     */
+    @SneakyThrows
+    FilesChangeWatcher(@NonNull Duration debounce, @NonNull Runnable onChange) {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.debounceMillis = debounce.toMillis();
+        this.onChange = onChange;
+
+        this.thread = new Thread(this::run, "tsc4j-files-watch-" + THREAD_COUNTER.incrementAndGet());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Starts watching given directory unless it's already being watched; non-existing directories and directories
+     * within hidden {@code ..<name>} snapshot directories (which are immutable) are ignored.
+     *
+     * @param dir directory
+     * @return true if directory is being watched, otherwise false
+     */
+    boolean watch(@NonNull Path dir) {
+        val absDir = dir.toAbsolutePath().normalize();
+        for (val segment : absDir) {
+            if (segment.toString().startsWith("..")) {
+                return false;
+            }
+        }
+
+        val existing = watchedDirs.get(absDir);
+        if (existing != null && existing.isValid()) {
+            return true;
+        }
+        if (!running || !Files.isDirectory(absDir)) {
+            return false;
+        }
+
+        try {
+            val key = absDir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            watchedDirs.put(absDir, key);
+            log.debug("{} watching directory: {}", this, absDir);
+            return true;
+        } catch (IOException | ClosedWatchServiceException e) {
+            log.warn("{} can't watch directory {}: {}", this, absDir, e.toString());
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+        watchedDirs.clear();
+        Tsc4jImplUtils.close(watchService, log);
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                val key = watchService.take();
+                if (processEvents(key) && awaitQuietPeriod()) {
+                    log.info("{} detected filesystem changes", this);
+                    onChange.run();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            log.trace("{} watch thread interrupted", this);
+        } catch (Exception e) {
+            log.error("{} unexpected exception in watch thread", this, e);
+        }
+        log.debug("{} stopped watching for changes", this);
+    }
+
+    /**
+     * Waits until no relevant events arrive for a debounce period.
+     *
+     * @return true if watcher is still running
+     * @throws InterruptedException if interrupted
+     */
+    private boolean awaitQuietPeriod() throws InterruptedException {
+        while (running) {
+            val key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+            if (key == null) {
+                return true;
+            }
+            processEvents(key);
+        }
+        return false;
+    }
+
+    /**
+     * Consumes pending events of a watch key.
+     *
+     * @param key watch key
+     * @return true if any of the events is relevant
+     */
+    private boolean processEvents(WatchKey key) {
+        boolean relevant = false;
+        for (val event : key.pollEvents()) {
+            if (isRelevant(event)) {
+                log.debug("{} {}: {}", this, event.kind().name(), key.watchable() + "/" + event.context());
+                relevant = true;
+            }
+        }
+        if (!key.reset()) {
+            watchedDirs.values().remove(key);
+            // directory itself went away
+            relevant = true;
+        }
+        return relevant;
+    }
+
+    private boolean isRelevant(WatchEvent<?> event) {
+        if (event.kind() == OVERFLOW) {
+            return true;
+        }
+        val name = String.valueOf(event.context());
+        return !name.startsWith("..") || name.equals(K8S_DATA_DIR);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + watchedDirs.size() + " dirs)";
+    }
+}
@@ -20,21 +20,62 @@ package com.github.tsc4j.core.impl;
 import com.github.tsc4j.core.ConfigQuery;
 import com.github.tsc4j.core.ConfigSource;
 import com.github.tsc4j.core.FilesystemLikeConfigSource;
+import com.github.tsc4j.core.Tsc4jException;
+import com.github.tsc4j.core.Tsc4jImplUtils;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigIncludeContext;
+import com.typesafe.config.ConfigIncluder;
+import com.typesafe.config.ConfigIncluderFile;
+import com.typesafe.config.ConfigObject;
+import com.typesafe.config.ConfigParseOptions;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Value;
 import lombok.val;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 /**
  * {@link ConfigSource} implementation that is able to load configurations from filesystem.
+ * <p>
+ * Kubernetes volume layout (files symlinked via atomically swapped {@code ..data} directory) is recognized: all files
+ * are read from the same {@code ..data} snapshot during single fetch, so that half-updated volume is never observed.
+ * <p>
+ * In watch mode (see {@link Builder#setWatch(boolean)}) configuration directories are watched using NIO
+ * {@link java.nio.file.WatchService} and change listeners are notified as soon as changes settle down; parsed files
+ * are cached by path, modification time, size and file key (inode) of the file and all of it's includes.
  */
-public final class FilesConfigSource extends FilesystemLikeConfigSource<String> {
+public final class FilesConfigSource extends FilesystemLikeConfigSource<FilesConfigSource.FetchContext> {
     static final String TYPE = "files";
 
+    private final boolean watch;
+    private final Duration watchDebounce;
+
+    /**
+     * Parsed files by resolved path, used in watch mode only.
+     */
+    private final Map<String, ParsedFile> parsedFiles = new ConcurrentHashMap<>();
+
+    private volatile FilesChangeWatcher watcher;
+
     /**
      * Creates new instance.
      *
@@ -44,6 +85,8 @@ public final class FilesConfigSource extends FilesystemLikeConfigSource<String>
      */
     protected FilesConfigSource(Builder builder) {
         super(builder);
+        this.watch = builder.isWatch();
+        this.watchDebounce = builder.getWatchDebounce();
     }
 
     /**
@@ -66,42 +109,295 @@ public final class FilesConfigSource extends FilesystemLikeConfigSource<String>
     }
 
     @Override
-    protected String createFetchContext(ConfigQuery query) {
-        return "";
+    protected FetchContext createFetchContext(ConfigQuery query) {
+        return new FetchContext();
     }
 
     @Override
-    protected Config loadConfig(String path, String context) {
-        log.debug("{} loading: {}", this, path);
-        val config = ConfigFactory.parseFile(new File(path));
-        return debugLoadedConfig(path, config);
+    protected List<Config> fetchConfigs(@NonNull ConfigQuery query) {
+        if (watch) {
+            watchPaths(query);
+        }
+        return super.fetchConfigs(query);
     }
 
     @Override
-    protected boolean isDirectory(@NonNull String path, String context) {
+    protected Config loadConfig(String path, FetchContext context) {
+        // compressed files and config bundles are decompressed while being parsed
+        if (isStreamedConfigObject(path)) {
+            return super.loadConfig(path, context);
+        }
+
+        val resolvedPath = context.resolve(path);
+        log.debug("{} loading: {}", this, resolvedPath);
+
+        if (!watch) {
+            val config = ConfigFactory.parseFile(new File(resolvedPath));
+            return debugLoadedConfig(path, config);
+        }
+
+        val cached = parsedFiles.get(resolvedPath);
+        if (cached != null && cached.isCurrent()) {
+            log.debug("{} file didn't change, reusing parsed config: {}", this, resolvedPath);
+            return cached.getConfig();
+        }
+
+        val parsed = parseFile(new File(resolvedPath));
+        parsedFiles.put(resolvedPath, parsed);
+        parsed.getStamps().stream()
+            .skip(1)
+            .map(e -> e.getPath().getParent())
+            .forEach(this::watchDir);
+        return debugLoadedConfig(path, parsed.getConfig());
+    }
+
+    @Override
+    protected Optional<InputStream> openStream(@NonNull String path, @NonNull FetchContext context) {
+        val resolvedPath = context.resolve(path);
+        log.debug("{} opening: {}", this, resolvedPath);
+        try {
+            return Optional.of(Files.newInputStream(Paths.get(resolvedPath)));
+        } catch (IOException e) {
+            throw Tsc4jException.of("Error opening file %s: %%s", e, resolvedPath);
+        }
+    }
+
+    /**
+     * Parses file and records stamps of it and all of it's includes.
+     *
+     * @param file file to parse
+     * @return parsed file
+     */
+    private ParsedFile parseFile(File file) {
+        val includes = new LinkedHashSet<File>();
+        val stamp = FileStamp.of(file.toPath());
+        val options = ConfigParseOptions.defaults().setIncluder(new TrackingIncluder(includes, null));
+        val config = ConfigFactory.parseFile(file, options);
+
+        val stamps = new ArrayList<FileStamp>();
+        stamps.add(stamp);
+        includes.forEach(e -> stamps.add(FileStamp.of(e.toPath())));
+        return new ParsedFile(config, Collections.unmodifiableList(stamps));
+    }
+
+    @Override
+    protected boolean isDirectory(@NonNull String path, FetchContext context) {
         val file = new File(path);
         val result = file.isDirectory() && file.canRead();
         return debugIsDirectory(path, result);
     }
 
     @Override
-    protected boolean pathExists(@NonNull String path, String context) {
+    protected boolean pathExists(@NonNull String path, FetchContext context) {
         val file = new File(path);
         val result = file.exists() && file.canRead();
         return debugPathExists(path, result);
     }
 
     @Override
-    protected Stream<String> listDirectory(@NonNull String path, String context) {
+    protected Stream<String> listDirectory(@NonNull String path, FetchContext context) {
         return Optional.ofNullable(new File(path).list())
             .map(Stream::of)
             .orElse(Stream.empty());
     }
 
+    private void watchPaths(ConfigQuery query) {
+        interpolateVarStrings(getPaths(), query).forEach(path -> {
+            val file = new File(path);
+            if (file.isDirectory()) {
+                watchDir(file.toPath());
+                watchDir(file.toPath().resolve(CONF_D_DIR));
+            } else {
+                watchDir(file.toPath().toAbsolutePath().getParent());
+            }
+        });
+    }
+
+    private void watchDir(Path dir) {
+        if (dir != null) {
+            getWatcher().ifPresent(e -> e.watch(dir));
+        }
+    }
+
+    private synchronized Optional<FilesChangeWatcher> getWatcher() {
+        if (watcher == null && !isClosed()) {
+            watcher = new FilesChangeWatcher(watchDebounce, this::onFilesChanged);
+        }
+        return Optional.ofNullable(watcher);
+    }
+
+    private void onFilesChanged() {
+        parsedFiles.clear();
+        notifyChangeListeners();
+    }
+
+    @Override
+    protected synchronized void doClose() {
+        super.doClose();
+        Tsc4jImplUtils.close(watcher, log);
+        watcher = null;
+        parsedFiles.clear();
+    }
+
+    /**
+     * Fetch context: remembers resolved Kubernetes {@code ..data} directories, so that all files within the same fetch
+     * are read from the same volume snapshot.
+     */
+    protected static final class FetchContext {
+        private final Map<Path, Optional<Path>> dataDirs = new ConcurrentHashMap<>();
+
+        /**
+         * Resolves path through the nearest ancestor's {@code ..data} directory if it exists.
+         *
+         * @param path file path
+         * @return resolved path if file exists in {@code ..data} snapshot, otherwise original path
+         */
+        String resolve(@NonNull String path) {
+            val file = Paths.get(path).toAbsolutePath().normalize();
+            for (Path dir = file.getParent(); dir != null; dir = dir.getParent()) {
+                val dataDir = dataDirs.computeIfAbsent(dir, FetchContext::resolveDataDir);
+                if (dataDir.isPresent()) {
+                    val resolved = dataDir.get().resolve(dir.relativize(file));
+                    return Files.exists(resolved) ? resolved.toString() : path;
+                }
+            }
+            return path;
+        }
+
+        private static Optional<Path> resolveDataDir(Path dir) {
+            val dataDir = dir.resolve(FilesChangeWatcher.K8S_DATA_DIR);
+            if (!Files.isDirectory(dataDir)) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(dataDir.toRealPath());
+            } catch (IOException e) {
+                return Optional.empty();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "FetchContext(" + dataDirs.size() + " dirs)";
+        }
+    }
+
+    /**
+     * File modification stamp.
+     */
+    @Value
+    private static class FileStamp {
+        Path path;
+        long mtime;
+        long size;
+        Object fileKey;
+
+        static FileStamp of(Path path) {
+            try {
+                val attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                return new FileStamp(path, attrs.lastModifiedTime().to(TimeUnit.NANOSECONDS), attrs.size(), attrs.fileKey());
+            } catch (IOException e) {
+                return new FileStamp(path, -1, -1, null);
+            }
+        }
+
+        boolean isCurrent() {
+            return equals(of(path));
+        }
+    }
+
+    /**
+     * Parsed config along with stamps of a parsed file and all of it's includes.
+     */
+    @Value
+    private static class ParsedFile {
+        Config config;
+        List<FileStamp> stamps;
+
+        boolean isCurrent() {
+            return stamps.stream().allMatch(FileStamp::isCurrent);
+        }
+    }
+
+    /**
+     * Config includer that records all included files and delegates actual inclusion to fallback includer.
+     */
+    private static final class TrackingIncluder implements ConfigIncluder, ConfigIncluderFile {
+        private final Set<File> files;
+        private final ConfigIncluder fallback;
+
+        TrackingIncluder(Set<File> files, ConfigIncluder fallback) {
+            this.files = files;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public ConfigIncluder withFallback(ConfigIncluder fallback) {
+            return (fallback == this.fallback) ? this : new TrackingIncluder(files, fallback);
+        }
+
+        @Override
+        public ConfigObject include(ConfigIncludeContext context, String what) {
+            val parseable = context.relativeTo(what);
+            if (parseable != null && parseable.origin().filename() != null) {
+                files.add(new File(parseable.origin().filename()));
+            }
+            return fallback.include(context, what);
+        }
+
+        @Override
+        public ConfigObject includeFile(ConfigIncludeContext context, File what) {
+            files.add(what);
+            return ((ConfigIncluderFile) fallback).includeFile(context, what);
+        }
+    }
+
     /**
      * Builder for {@link FilesConfigSource}.
      */
     public static class Builder extends FilesystemLikeConfigSource.Builder<Builder> {
+        /**
+         * Tells whether configuration directories are watched for changes.
+         */
+        @Getter
+        private boolean watch = false;
+
+        /**
+         * Quiet period after last filesystem change before change listeners are notified.
+         */
+        @Getter
+        private Duration watchDebounce = Duration.ofMillis(100);
+
+        /**
+         * Sets whether configuration directories should be watched for changes.
+         *
+         * @param watch true/false
+         * @return reference to itself
+         */
+        public Builder setWatch(boolean watch) {
+            this.watch = watch;
+            return getThis();
+        }
+
+        /**
+         * Sets quiet period after last filesystem change before change listeners are notified.
+         *
+         * @param watchDebounce debounce duration
+         * @return reference to itself
+         */
+        public Builder setWatchDebounce(@NonNull Duration watchDebounce) {
+            this.watchDebounce = watchDebounce;
+            return getThis();
+        }
+
+        @Override
+        public void withConfig(Config config) {
+            super.withConfig(config);
+
+            cfgBoolean(config, "watch", this::setWatch);
+            cfgDuration(config, "watch-debounce", this::setWatchDebounce);
+        }
+
         @Override
         public ConfigSource build() {
             return new FilesConfigSource(this);
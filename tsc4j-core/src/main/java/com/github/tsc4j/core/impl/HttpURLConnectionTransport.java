@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link UrlTransport} that sends requests synchronously using {@link HttpURLConnection}; used on Java 8 and for
+ * long-lived change watch requests.
+ */
+@Slf4j
+final class HttpURLConnectionTransport implements UrlTransport {
+    private static final HostnameVerifier insecureHostnameVerifier = (hostname, session) -> true;
+    private static final SSLContext insecureTlsCtx = createInsecureTlsContext();
+
+    private final boolean verifyTls;
+
+    /**
+     * Creates new instance.
+     *
+     * @param verifyTls verify TLS certificates and hostnames?
+     */
+    HttpURLConnectionTransport(boolean verifyTls) {
+        this.verifyTls = verifyTls;
+    }
+
+    @Override
+    public boolean isAsync() {
+        return false;
+    }
+
+    @Override
+    public CompletableFuture<Response> send(@NonNull Request request) {
+        val future = new CompletableFuture<Response>();
+        try {
+            future.complete(execute(request));
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private Response execute(Request request) throws IOException {
+        val conn = open(request);
+        val status = conn.getResponseCode();
+        val body = (status >= 400) ? conn.getErrorStream() : conn.getInputStream();
+
+        val headers = new LinkedHashMap<String, String>();
+        conn.getHeaderFields().forEach((name, values) -> {
+            if (name != null && !values.isEmpty()) {
+                headers.put(name.toLowerCase(Locale.ENGLISH), values.get(values.size() - 1));
+            }
+        });
+
+        return new Response(status, Collections.unmodifiableMap(headers),
+            (body == null) ? new ByteArrayInputStream(new byte[0]) : body);
+    }
+
+    /**
+     * Opens connection for a given request; connection is not connected yet.
+     *
+     * @param request request
+     * @return connection
+     * @throws IOException in case of I/O errors
+     */
+    HttpURLConnection open(@NonNull Request request) throws IOException {
+        log.debug("{} opening connection to: {}", this, request.getUrl());
+        val conn = maybeDisableTLSVerification((HttpURLConnection) new URL(request.getUrl()).openConnection());
+
+        val timeoutMillis = (int) request.getTimeout().toMillis();
+        conn.setRequestMethod(request.getMethod());
+        conn.setConnectTimeout(timeoutMillis);
+        conn.setReadTimeout(timeoutMillis);
+        request.getHeaders().forEach(conn::setRequestProperty);
+
+        return conn;
+    }
+
+    /**
+     * Disables TLS validation on a specified connection if {@link #verifyTls} is false.
+     *
+     * @param conn connection
+     * @return connection
+     */
+    private HttpURLConnection maybeDisableTLSVerification(@NonNull HttpURLConnection conn) {
+        if (!verifyTls && conn instanceof HttpsURLConnection) {
+            val httpsConn = (HttpsURLConnection) conn;
+            httpsConn.setSSLSocketFactory(insecureTlsCtx.getSocketFactory());
+            httpsConn.setHostnameVerifier(insecureHostnameVerifier);
+            log.debug("{} disabled TLS verification on: {}", this, httpsConn);
+        }
+
+        return conn;
+    }
+
+    /**
+     * Returns TLS context that trusts all certificates.
+     *
+     * @return TLS context
+     */
+    static SSLContext insecureTlsContext() {
+        return insecureTlsCtx;
+    }
+
+    @SneakyThrows
+    private static SSLContext createInsecureTlsContext() {
+        final TrustManager[] insecureTrustManagers = new TrustManager[]{insecureTrustManager()};
+
+        // create context
+        val ctx = SSLContext.getInstance("SSL");
+        ctx.init(null, insecureTrustManagers, new SecureRandom());
+
+        return ctx;
+    }
+
+    private static TrustManager insecureTrustManager() {
+        return new X509TrustManager() {
+            @Override
+            public java.security.cert.X509Certificate[] getAcceptedIssuers() {
+                return null;
+            }
+
+            @Override
+            public void checkClientTrusted(X509Certificate[] certs, String authType) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] certs, String authType) {
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(verifyTls=" + verifyTls + ")";
+    }
+}
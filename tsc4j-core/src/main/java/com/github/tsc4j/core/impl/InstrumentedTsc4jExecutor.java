@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl;
+
+import com.github.tsc4j.core.Tsc4jExecutor;
+import com.github.tsc4j.core.Tsc4jExecutorStats;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Tsc4jExecutor} that wraps delegate executor service and records it's statistics.
+ * <p>
+ * Tasks rejected by delegate that is not shut down are run by the submitting thread.
+ */
+@Slf4j
+final class InstrumentedTsc4jExecutor extends AbstractExecutorService implements Tsc4jExecutor {
+    @Getter
+    private final String name;
+    private final ExecutorService delegate;
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final LongAdder completedTaskCount = new LongAdder();
+    private final LongAdder rejectedTaskCount = new LongAdder();
+
+    /**
+     * Creates new instance.
+     *
+     * @param name     executor name
+     * @param delegate delegate executor service
+     */
+    InstrumentedTsc4jExecutor(@NonNull String name, @NonNull ExecutorService delegate) {
+        this.name = name;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+        Runnable task = () -> run(command);
+        try {
+            delegate.execute(task);
+        } catch (RejectedExecutionException e) {
+            if (delegate.isShutdown()) {
+                throw e;
+            }
+            rejectedTaskCount.increment();
+            log.debug("{} is saturated, running task in submitting thread.", this);
+            task.run();
+        }
+    }
+
+    private void run(Runnable command) {
+        activeCount.incrementAndGet();
+        try {
+            command.run();
+        } finally {
+            activeCount.decrementAndGet();
+            completedTaskCount.increment();
+        }
+    }
+
+    @Override
+    public Tsc4jExecutorStats stats() {
+        val active = activeCount.get();
+        val completed = completedTaskCount.sum();
+        val rejected = rejectedTaskCount.sum();
+        if (delegate instanceof ThreadPoolExecutor) {
+            val pool = (ThreadPoolExecutor) delegate;
+            return new Tsc4jExecutorStats(active, pool.getPoolSize(), pool.getMaximumPoolSize(),
+                pool.getQueue().size(), completed, rejected);
+        }
+        return new Tsc4jExecutorStats(active, active, 0, 0, completed, rejected);
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + name + ")";
+    }
+}
@@ -34,7 +34,7 @@ public class Stopwatch {
      *
      * @return duration
      */
-    long durationNanos() {
+    public long durationNanos() {
         return System.nanoTime() - timeStarted;
     }
 
@@ -22,26 +22,22 @@ import com.github.tsc4j.core.ConfigSource;
 import com.github.tsc4j.core.ConfigSourceBuilder;
 import com.github.tsc4j.core.Tsc4jException;
 import com.github.tsc4j.core.Tsc4jImplUtils;
+import com.github.tsc4j.core.utils.CompressionUtils;
+import com.github.tsc4j.core.utils.ConfigBundles;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import lombok.SneakyThrows;
+import lombok.Value;
 import lombok.experimental.Accessors;
 import lombok.val;
 
-import javax.net.ssl.HostnameVerifier;
-import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLContext;
-import javax.net.ssl.TrustManager;
-import javax.net.ssl.X509TrustManager;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.security.SecureRandom;
-import java.security.cert.X509Certificate;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Base64;
@@ -49,12 +45,27 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 /**
  * {@link ConfigSource} that fetches configurations using HTTP protocol.
+ * <p>
+ * On Java 11+ all urls are requested asynchronously at once using shared {@code java.net.http.HttpClient} with
+ * pooled, HTTP/2 multiplexed connections, on Java 8 {@link HttpURLConnection} is used (see {@link UrlTransports}).
+ * Responses carrying {@code ETag} or {@code Last-Modified} validators are remembered, so that subsequent fetches are
+ * conditional requests and {@code 304} responses reuse previously parsed configs.
+ * <p>
+ * Source can optionally watch for changes using long-polling or server-sent events (see {@link WatchMode}) and
+ * notify registered change listeners as soon as server reports a change; periodic refresh then serves only as a
+ * fallback heartbeat.
  */
 public final class URLConfigSource extends AbstractConfigSource {
     static final String TYPE = "url";
@@ -74,11 +85,30 @@ public final class URLConfigSource extends AbstractConfigSource {
      */
     private final Map<String, String> headers;
 
-    private final boolean verifyTls;
-    private final int timeoutMillis;
+    private final Duration timeout;
 
-    private static final HostnameVerifier insecureHostnameVerifier = (hostname, session) -> true;
-    private static final SSLContext insecureTlsCtx = createInsecureTlsContext();
+    /**
+     * Transport used to fetch configurations.
+     */
+    private final UrlTransport transport;
+
+    /**
+     * Transport used to open long-lived change watch connections.
+     */
+    private final HttpURLConnectionTransport watchTransport;
+
+    /**
+     * Last successful responses with validators by url, used for conditional requests.
+     */
+    private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+    private final WatchMode watchMode;
+    private final String watchUrl;
+    private final Duration watchTimeout;
+    private final Duration watchIdleTimeout;
+    private final Duration watchRetryInterval;
+    private final AtomicBoolean watchersStarted = new AtomicBoolean();
+    private final List<UrlChangeWatcher> watchers = new CopyOnWriteArrayList<>();
 
     /**
      * Creates new instance.
@@ -86,13 +116,29 @@ public final class URLConfigSource extends AbstractConfigSource {
      * @param builder instance builder.
      */
     protected URLConfigSource(@NonNull Builder builder) {
+        this(builder, UrlTransports.create(builder.isVerifyTLS()));
+    }
+
+    /**
+     * Creates new instance.
+     *
+     * @param builder   instance builder.
+     * @param transport transport used to fetch configurations
+     */
+    URLConfigSource(@NonNull Builder builder, @NonNull UrlTransport transport) {
         super(builder);
         this.method = Tsc4jImplUtils.optString(builder.getMethod()).orElseThrow(IllegalArgumentException::new);
         this.urls = Tsc4jImplUtils.toUniqueList(builder.getUrls());
         this.headers = createHeaders(builder);
-        this.verifyTls = builder.isVerifyTLS();
-        this.timeoutMillis = (int) builder.getTimeout().toMillis();
-        //this.httpClient = HttpClientUtils.createHttpClient(builder.isVerifyTLS());
+        this.timeout = builder.getTimeout();
+        this.transport = transport;
+        this.watchTransport = new HttpURLConnectionTransport(builder.isVerifyTLS());
+        this.watchMode = builder.getWatchMode();
+        this.watchUrl = Tsc4jImplUtils.optString(builder.getWatchUrl())
+            .orElseGet(() -> urls.stream().findFirst().orElse(null));
+        this.watchTimeout = builder.getWatchTimeout();
+        this.watchIdleTimeout = builder.getWatchIdleTimeout();
+        this.watchRetryInterval = builder.getWatchRetryInterval();
     }
 
     private Map<String, String> createHeaders(@NonNull Builder builder) {
@@ -129,89 +175,235 @@ public final class URLConfigSource extends AbstractConfigSource {
 
     @Override
     protected List<Config> fetchConfigs(@NonNull ConfigQuery query) {
-        val tasks = createFetchTasks(query);
-        return runTasks(tasks, isParallel());
-    }
+        maybeStartWatchers(query);
+        val fetchUrls = interpolateVarStrings(urls, query);
+        if (transport.isAsync()) {
+            // all requests are in flight at once, results are collected in url order
+            val futures = fetchUrls.stream()
+                .map(this::fetchConfig)
+                .collect(Collectors.toList());
+            return futures.stream()
+                .map(URLConfigSource::await)
+                .collect(Collectors.toList());
+        }
 
-    private List<Callable<Config>> createFetchTasks(@NonNull ConfigQuery query) {
-        return interpolateVarStrings(urls, query).stream()
+        val tasks = fetchUrls.stream()
             .map(this::toFetchTask)
             .collect(Collectors.toList());
+        return runTasks(tasks, isParallel());
+    }
+
+    /**
+     * Starts change watchers on first fetch, because watch url can only be interpolated with a config query.
+     *
+     * @param query config query
+     */
+    private void maybeStartWatchers(@NonNull ConfigQuery query) {
+        if (watchMode == WatchMode.NONE || watchUrl == null || !watchersStarted.compareAndSet(false, true)) {
+            return;
+        }
+
+        interpolateVarStrings(Collections.singletonList(watchUrl), query).stream()
+            .map(url -> new UrlChangeWatcher(watchMode, url, watchTimeout, watchIdleTimeout, watchRetryInterval,
+                this::openWatchConnection, this::notifyChangeListeners))
+            .map(UrlChangeWatcher::start)
+            .forEach(watchers::add);
+    }
+
+    @Override
+    protected void doClose() {
+        super.doClose();
+        watchers.forEach(e -> Tsc4jImplUtils.close(e, log));
+        watchers.clear();
     }
 
     private Callable<Config> toFetchTask(@NonNull String url) {
-        return () -> fetchConfig(url);
+        return () -> await(fetchConfig(url));
     }
 
-    private Config fetchConfig(@NonNull String url) {
+    /**
+     * Waits for fetch to complete.
+     *
+     * @param future fetch future
+     * @return fetched config
+     * @throws RuntimeException if fetch failed
+     */
+    private static Config await(CompletableFuture<Config> future) {
         try {
-            val conn = openConnection(new URL(url));
-            return readConfig(conn.getInputStream(), url);
-        } catch (FileNotFoundException e) {
+            return future.join();
+        } catch (CompletionException e) {
+            // fetch stages throw runtime exceptions only
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Config> fetchConfig(@NonNull String url) {
+        val lastResponse = responses.get(url);
+        return transport.send(createRequest(url, lastResponse))
+            .handle((response, exception) -> {
+                if (exception != null) {
+                    val cause = (exception instanceof CompletionException && exception.getCause() != null) ?
+                        exception.getCause() : exception;
+                    throw Tsc4jException.of("Error fetching config from url %s: %%s", cause, url);
+                }
+                return toConfig(url, response, lastResponse);
+            });
+    }
+
+    private Config toConfig(String url, UrlTransport.Response response, CachedResponse lastResponse) {
+        val status = response.getStatus();
+        if (lastResponse != null && status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            log.debug("{} configuration not modified, reusing previously parsed config: {}", this, url);
+            response.close();
+            return lastResponse.getConfig();
+        }
+        if (status == HttpURLConnection.HTTP_NOT_FOUND || status == HttpURLConnection.HTTP_GONE) {
+            responses.remove(url);
+            discardBody(response);
             warnOrThrowOnMissingConfigLocation(url);
             return ConfigFactory.empty();
+        }
+
+        try {
+            if (status >= 400) {
+                discardBody(response);
+                throw new IOException("Server returned HTTP response code: " + status);
+            }
+            val config = readResponse(url, response);
+            rememberResponse(url, response, config);
+            return config;
         } catch (Exception e) {
             throw Tsc4jException.of("Error fetching config from url %s: %%s", e, url);
         }
     }
 
-    @SneakyThrows
-    private HttpURLConnection openConnection(@NonNull URL url) {
-        log.debug("{} fetching configuration from: {} ", this, url);
-        val conn = maybeDisableTLSVerification((HttpURLConnection) url.openConnection());
+    private Config readResponse(String url, UrlTransport.Response response) {
+        val urlPath = stripQuery(url);
+        val isCompressed = CompressionUtils.isCompressed(urlPath);
 
-        conn.setRequestMethod(method);
-        conn.setConnectTimeout(timeoutMillis);
-        conn.setReadTimeout(timeoutMillis);
+        // objects with compression suffix are decompressed while being parsed
+        val encoding = isCompressed ? null : response.header("Content-Encoding").orElse(null);
+        val is = CompressionUtils.decompress(response.getBody(), encoding);
+        return (isCompressed || ConfigBundles.isBundle(urlPath)) ?
+            readConfigObject(is, urlPath) :
+            readConfig(is, url);
+    }
 
-        headers.forEach(conn::setRequestProperty);
+    /**
+     * Creates request for a given url; request is conditional if {@code lastResponse} carries validators.
+     *
+     * @param url          url
+     * @param lastResponse last successful response, may be null
+     * @return request
+     */
+    private UrlTransport.Request createRequest(String url, CachedResponse lastResponse) {
+        val requestHeaders = new LinkedHashMap<String, String>();
+        if (lastResponse != null) {
+            if (lastResponse.getEtag() != null) {
+                requestHeaders.put("if-none-match", lastResponse.getEtag());
+            }
+            if (lastResponse.getLastModified() != null) {
+                requestHeaders.put("if-modified-since", lastResponse.getLastModified());
+            }
+        }
+        if (!headers.containsKey("accept-encoding")) {
+            requestHeaders.put("accept-encoding", CompressionUtils.acceptEncoding());
+        }
+        requestHeaders.putAll(headers);
 
-        return conn;
+        log.debug("{} fetching configuration from: {} ", this, url);
+        return new UrlTransport.Request(url, method, Collections.unmodifiableMap(requestHeaders), timeout);
     }
 
     /**
-     * Disables TLS validation on a specified connection if {@link #verifyTls} is false.
+     * Remembers response validators and parsed config, so that next fetch can be a conditional request.
      *
-     * @param conn connection
-     * @return connection
+     * @param url      url
+     * @param response response
+     * @param config   parsed config
      */
-    private HttpURLConnection maybeDisableTLSVerification(@NonNull HttpURLConnection conn) {
-        if (!verifyTls && conn instanceof HttpsURLConnection) {
-            val httpsConn = (HttpsURLConnection) conn;
-            httpsConn.setSSLSocketFactory(insecureTlsCtx.getSocketFactory());
-            httpsConn.setHostnameVerifier(insecureHostnameVerifier);
-            log.debug("{} disabled TLS verification on: {}", this, httpsConn);
+    private void rememberResponse(String url, UrlTransport.Response response, Config config) {
+        val etag = response.header("ETag").orElse(null);
+        val lastModified = response.header("Last-Modified").orElse(null);
+        if (etag == null && lastModified == null) {
+            responses.remove(url);
+        } else {
+            responses.put(url, new CachedResponse(etag, lastModified, config));
         }
+    }
 
-        return conn;
+    /**
+     * Reads and closes response body so that underlying connection can be reused.
+     *
+     * @param response response
+     */
+    private void discardBody(UrlTransport.Response response) {
+        try {
+            val buf = new byte[1024];
+            while (response.getBody().read(buf) >= 0) {
+                // discard
+            }
+        } catch (IOException e) {
+            log.trace("{} error discarding response body", this, e);
+        } finally {
+            response.close();
+        }
+    }
+
+    private String stripQuery(String url) {
+        val idx = url.indexOf('?') >= 0 ? url.indexOf('?') : url.indexOf('#');
+        return idx >= 0 ? url.substring(0, idx) : url;
     }
 
     @SneakyThrows
-    private static SSLContext createInsecureTlsContext() {
-        final TrustManager[] insecureTrustManagers = new TrustManager[]{insecureTrustManager()};
+    private HttpURLConnection openWatchConnection(@NonNull URL url) {
+        return watchTransport.open(createRequest(url.toString(), null));
+    }
 
-        // create context
-        val ctx = SSLContext.getInstance("SSL");
-        ctx.init(null, insecureTrustManagers, new SecureRandom());
+    /**
+     * Change watch mode.
+     */
+    public enum WatchMode {
+        /**
+         * Don't watch for changes, rely on periodic refresh only.
+         */
+        NONE,
 
-        return ctx;
-    }
+        /**
+         * Long-poll watch url: request {@code <watch-url>?wait=<seconds>&version=<version>} is expected to be held by
+         * the server until version changes or wait period expires. Server responds with {@code 200} and current
+         * version in {@code ETag} header or response body, or with {@code 304} if version didn't change.
+         */
+        LONG_POLL,
 
-    private static TrustManager insecureTrustManager() {
-        return new X509TrustManager() {
-            @Override
-            public java.security.cert.X509Certificate[] getAcceptedIssuers() {
-                return null;
-            }
+        /**
+         * Consume {@code text/event-stream} from watch url; every event with data is treated as change notification.
+         */
+        SSE;
 
-            @Override
-            public void checkClientTrusted(X509Certificate[] certs, String authType) {
-            }
+        /**
+         * Parses watch mode from string, case-insensitive; dashes are treated as underscores.
+         *
+         * @param str string
+         * @return watch mode
+         * @throws IllegalArgumentException if string doesn't denote valid watch mode
+         */
+        public static WatchMode parse(@NonNull String str) {
+            return valueOf(str.trim().replace('-', '_').toUpperCase(Locale.ENGLISH));
+        }
+    }
 
-            @Override
-            public void checkServerTrusted(X509Certificate[] certs, String authType) {
-            }
-        };
+    /**
+     * Response validators and config parsed from response body.
+     */
+    @Value
+    private static class CachedResponse {
+        String etag;
+        String lastModified;
+        Config config;
     }
 
     /**
@@ -256,6 +448,32 @@ public final class URLConfigSource extends AbstractConfigSource {
          */
         private Duration timeout = Duration.ofSeconds(10);
 
+        /**
+         * Change watch mode.
+         */
+        private WatchMode watchMode = WatchMode.NONE;
+
+        /**
+         * URL pattern (can contain magic variables) to watch for changes; first url is watched if not set.
+         */
+        private String watchUrl;
+
+        /**
+         * Long-poll wait period.
+         */
+        private Duration watchTimeout = Duration.ofSeconds(60);
+
+        /**
+         * Server-sent events idle timeout: stream that doesn't deliver anything (not even comments) for this long is
+         * quietly re-established without notifying change listeners; zero disables idle timeout.
+         */
+        private Duration watchIdleTimeout = Duration.ofMinutes(5);
+
+        /**
+         * Time to wait before re-issuing failed watch request.
+         */
+        private Duration watchRetryInterval = Duration.ofSeconds(5);
+
         /**
          * Sets single HTTP header.
          *
@@ -304,6 +522,11 @@ public final class URLConfigSource extends AbstractConfigSource {
             cfgConfigObject(config, "headers")
                 .ifPresent(e -> e.unwrapped().forEach((key, val) -> header(key, val.toString())));
             cfgBoolean(config, "verify-tls", this::setVerifyTLS);
+            cfgString(config, "watch-mode", e -> setWatchMode(WatchMode.parse(e)));
+            cfgString(config, "watch-url", this::setWatchUrl);
+            cfgDuration(config, "watch-timeout", this::setWatchTimeout);
+            cfgDuration(config, "watch-idle-timeout", this::setWatchIdleTimeout);
+            cfgDuration(config, "watch-retry-interval", this::setWatchRetryInterval);
         }
 
         @Override
@@ -324,6 +547,19 @@ public final class URLConfigSource extends AbstractConfigSource {
 
             Tsc4jImplUtils.optString(getMethod()).orElseThrow(() -> new IllegalArgumentException("HTTP request method must be set."));
 
+            if (watchMode == null) {
+                throw new IllegalArgumentException("Watch mode must be set.");
+            }
+            if (watchTimeout.getSeconds() < 1) {
+                throw new IllegalArgumentException("Watch timeout must be at least one second.");
+            }
+            if (watchIdleTimeout.isNegative()) {
+                throw new IllegalArgumentException("Watch idle timeout cannot be negative.");
+            }
+            if (watchUrl != null && !watchUrl.startsWith("http://") && !watchUrl.startsWith("https://")) {
+                throw new IllegalArgumentException("Bad watch url: " + watchUrl);
+            }
+
             return super.checkState();
         }
 
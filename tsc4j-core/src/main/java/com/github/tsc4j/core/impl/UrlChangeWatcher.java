@@ -0,0 +1,288 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl;
+
+import com.github.tsc4j.core.Tsc4jImplUtils;
+import com.github.tsc4j.core.impl.URLConfigSource.WatchMode;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Watches single url for configuration changes using long-polling or server-sent events and invokes change callback
+ * when server reports a change. Runs in it's own daemon thread until closed.
+ *
+ * @see WatchMode
+ */
+@Slf4j
+final class UrlChangeWatcher implements Closeable {
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final WatchMode mode;
+    private final String url;
+    private final int timeoutMillis;
+    private final int idleTimeoutMillis;
+    private final long retryMillis;
+    private final Function<URL, HttpURLConnection> connectionFactory;
+    private final Runnable onChange;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    private volatile HttpURLConnection currentConn;
+
+    /**
+     * Last version reported by long-poll endpoint.
+     */
+    private String version;
+
+    /**
+     * Last event id received from SSE endpoint.
+     */
+    private String lastEventId;
+
+    /**
+     * Tells whether SSE stream needs to be re-established after it has been lost or has failed; idle timeouts don't
+     * count.
+     */
+    private boolean reconnecting = false;
+
+    /**
+     * Creates new instance.
+     *
+     * @param mode              watch mode
+     * @param url               url to watch
+     * @param timeout           long-poll wait duration
+     * @param idleTimeout       SSE idle timeout, zero for no timeout
+     * @param retryInterval     duration to wait before retrying failed requests
+     * @param connectionFactory connection factory
+     * @param onChange          change callback
+     */
+    UrlChangeWatcher(@NonNull WatchMode mode,
+                     @NonNull String url,
+                     @NonNull Duration timeout,
+                     @NonNull Duration idleTimeout,
+                     @NonNull Duration retryInterval,
+                     @NonNull Function<URL, HttpURLConnection> connectionFactory,
+                     @NonNull Runnable onChange) {
+        if (mode == WatchMode.NONE) {
+            throw new IllegalArgumentException("Invalid watch mode: " + mode);
+        }
+        this.mode = mode;
+        this.url = url;
+        this.timeoutMillis = (int) timeout.toMillis();
+        this.idleTimeoutMillis = (int) idleTimeout.toMillis();
+        this.retryMillis = retryInterval.toMillis();
+        this.connectionFactory = connectionFactory;
+        this.onChange = onChange;
+
+        this.thread = new Thread(this::run, "tsc4j-url-watch-" + THREAD_COUNTER.incrementAndGet());
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts watching.
+     *
+     * @return reference to itself
+     */
+    UrlChangeWatcher start() {
+        log.info("{} starting to watch for changes", this);
+        thread.start();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+        val conn = currentConn;
+        if (conn != null) {
+            conn.disconnect();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (mode == WatchMode.LONG_POLL) {
+                    longPoll();
+                } else {
+                    streamEvents();
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("{} watch request failed, retrying in {} msec: {}", this, retryMillis, e.toString());
+                log.debug("{} watch request exception", this, e);
+                reconnecting = true;
+                sleep(retryMillis);
+            } finally {
+                currentConn = null;
+            }
+        }
+        log.debug("{} stopped watching for changes", this);
+    }
+
+    /**
+     * Performs single long-poll request: server is expected to hold the request until version differs from the one
+     * sent by the client or until wait period expires.
+     * <ul>
+     * <li>{@code 200}: current version is returned in {@code ETag} header or response body</li>
+     * <li>{@code 304}: version didn't change during wait period</li>
+     * </ul>
+     *
+     * @throws IOException in case of I/O errors or unexpected response status
+     */
+    private void longPoll() throws IOException {
+        val previous = version;
+        val pollUrl = url + (url.contains("?") ? "&" : "?") + "wait=" + (timeoutMillis / 1000) +
+            ((previous == null) ? "" : "&version=" + URLEncoder.encode(previous, "UTF-8"));
+
+        // give server some slack to respond after wait period
+        val conn = connect(pollUrl, timeoutMillis + (int) Math.max(retryMillis, 5000));
+        val status = conn.getResponseCode();
+        if (status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            log.trace("{} no changes reported", this);
+            Tsc4jImplUtils.close(conn.getInputStream(), log);
+            return;
+        }
+        if (status != HttpURLConnection.HTTP_OK) {
+            throw new IOException("Unexpected long-poll response status: " + status);
+        }
+
+        val body = readBody(conn);
+        val etag = conn.getHeaderField("ETag");
+        val current = (etag != null) ? etag : body.trim();
+        version = current;
+
+        if (previous == null) {
+            log.debug("{} current version: {}", this, current);
+        } else if (!previous.equals(current)) {
+            log.info("{} change reported, version: {} -> {}", this, previous, current);
+            onChange.run();
+        } else {
+            // server didn't wait, don't hammer it
+            sleep(retryMillis);
+        }
+    }
+
+    /**
+     * Consumes server-sent events stream; every dispatched event with data triggers change callback.
+     * <p>
+     * Stream that stays idle for longer than idle timeout is quietly re-established. Successful reconnect after stream
+     * was lost or has failed triggers change callback only if there's no {@code Last-Event-ID} to resume from, because
+     * changes could have been missed in between; otherwise server is expected to replay missed events.
+     *
+     * @throws IOException in case of I/O errors or unexpected response status
+     */
+    private void streamEvents() throws IOException {
+        val conn = connect(url, idleTimeoutMillis);
+        conn.setRequestProperty("Accept", "text/event-stream");
+        conn.setRequestProperty("Cache-Control", "no-cache");
+        if (lastEventId != null) {
+            conn.setRequestProperty("Last-Event-ID", lastEventId);
+        }
+
+        val status = conn.getResponseCode();
+        if (status != HttpURLConnection.HTTP_OK) {
+            throw new IOException("Unexpected event stream response status: " + status);
+        }
+
+        log.debug("{} connected to event stream", this);
+        if (reconnecting) {
+            reconnecting = false;
+            if (lastEventId == null) {
+                log.info("{} event stream re-established without last event id, changes could have been missed", this);
+                onChange.run();
+            }
+        }
+
+        try (val reader = new BufferedReader(new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
+            boolean hasData = false;
+            String line;
+            while (running && (line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    // blank line dispatches the event
+                    if (hasData) {
+                        log.info("{} change event received", this);
+                        onChange.run();
+                    }
+                    hasData = false;
+                } else if (!line.startsWith(":")) {
+                    val idx = line.indexOf(':');
+                    val field = (idx < 0) ? line : line.substring(0, idx);
+                    val value = (idx < 0) ? "" : line.substring(idx + 1).replaceFirst("^ ", "");
+                    if (field.equals("data")) {
+                        hasData = true;
+                    } else if (field.equals("id")) {
+                        lastEventId = value;
+                    }
+                }
+            }
+        } catch (SocketTimeoutException e) {
+            log.debug("{} event stream idle for {} msec, reconnecting", this, idleTimeoutMillis);
+            return;
+        }
+
+        // stream ended, reconnect
+        reconnecting = true;
+        sleep(retryMillis);
+    }
+
+    private HttpURLConnection connect(String url, int readTimeoutMillis) throws IOException {
+        val conn = connectionFactory.apply(new URL(url));
+        conn.setReadTimeout(readTimeoutMillis);
+        conn.setUseCaches(false);
+        conn.setRequestProperty("Accept-Encoding", "identity");
+        currentConn = conn;
+        return conn;
+    }
+
+    private String readBody(HttpURLConnection conn) throws IOException {
+        try (val reader = new BufferedReader(new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.joining("\n"));
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + mode + ", " + url + ")";
+    }
+}
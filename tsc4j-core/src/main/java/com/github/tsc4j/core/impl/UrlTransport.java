@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl;
+
+import com.github.tsc4j.core.Tsc4jImplUtils;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP transport used by {@link URLConfigSource}; implementation is created by {@link UrlTransports}.
+ * <p>
+ * On Java 8 requests are sent using {@link java.net.HttpURLConnection}, on Java 11+ class from
+ * {@code META-INF/versions/11} of multi-release jar sends them asynchronously using shared
+ * {@code java.net.http.HttpClient} with connection pooling and HTTP/2 multiplexing.
+ */
+interface UrlTransport {
+    /**
+     * Tells whether requests are sent asynchronously; synchronous transport completes future returned by
+     * {@link #send(Request)} on the calling thread before returning it.
+     *
+     * @return true/false
+     */
+    boolean isAsync();
+
+    /**
+     * Sends request.
+     *
+     * @param request request
+     * @return future of response, completed exceptionally in case of I/O errors
+     * @throws NullPointerException in case of null arguments
+     */
+    CompletableFuture<Response> send(@NonNull Request request);
+
+    /**
+     * HTTP request.
+     */
+    @Value
+    class Request {
+        String url;
+        String method;
+
+        /**
+         * Request headers with lower-case names.
+         */
+        Map<String, String> headers;
+        Duration timeout;
+    }
+
+    /**
+     * HTTP response; body must be consumed or response closed so that underlying connection can be reused.
+     */
+    @Value
+    class Response implements Closeable {
+        int status;
+
+        /**
+         * Response headers with lower-case names, last value wins for repeated headers.
+         */
+        Map<String, String> headers;
+        InputStream body;
+
+        /**
+         * Returns response header.
+         *
+         * @param name header name, case-insensitive
+         * @return optional of header value
+         */
+        Optional<String> header(@NonNull String name) {
+            return Optional.ofNullable(headers.get(name.toLowerCase(Locale.ENGLISH)));
+        }
+
+        @Override
+        public void close() {
+            Tsc4jImplUtils.close(body);
+        }
+    }
+}
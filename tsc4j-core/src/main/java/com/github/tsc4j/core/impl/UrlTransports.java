@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Creates {@link UrlTransport} suitable for running JVM: this Java 8 variant always creates
+ * {@link HttpURLConnectionTransport}, multi-release jar contains Java 11+ variant in {@code META-INF/versions/11}.
+ */
+@UtilityClass
+class UrlTransports {
+    /**
+     * Creates transport.
+     *
+     * @param verifyTls verify TLS certificates and hostnames?
+     * @return transport
+     */
+    UrlTransport create(boolean verifyTls) {
+        return new HttpURLConnectionTransport(verifyTls);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl;
+
+import com.github.tsc4j.core.Tsc4jException;
+import com.github.tsc4j.core.Tsc4jExecutorConfig;
+import com.github.tsc4j.core.Tsc4jImplUtils;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * {@link com.github.tsc4j.core.Tsc4jExecutorStrategy} that runs each task in new virtual thread; each bulkhead gets
+ * it's own executor so that statistics are recorded per bulkhead.
+ * <p>
+ * Virtual threads require JDK 21 or newer while tsc4j targets Java 8, therefore they are created reflectively; use
+ * {@link #isSupported()} to check whether current runtime supports them.
+ *
+ * @see Tsc4jExecutorConfig.Strategy#VIRTUAL
+ */
+@Slf4j
+public final class VirtualThreadExecutorStrategy extends AbstractExecutorStrategy {
+    private static final VirtualThreads VIRTUAL_THREADS = VirtualThreads.create();
+
+    /**
+     * Creates new instance.
+     *
+     * @throws IllegalStateException if virtual threads are not supported by current runtime
+     * @see #isSupported()
+     */
+    public VirtualThreadExecutorStrategy() {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads are not supported by java " +
+                System.getProperty("java.version"));
+        }
+    }
+
+    /**
+     * Tells whether current runtime supports virtual threads.
+     *
+     * @return true/false
+     */
+    public static boolean isSupported() {
+        return VIRTUAL_THREADS != null;
+    }
+
+    @Override
+    public Tsc4jExecutorConfig.Strategy getType() {
+        return Tsc4jExecutorConfig.Strategy.VIRTUAL;
+    }
+
+    @Override
+    protected String executorName(@NonNull String bulkhead) {
+        return bulkhead;
+    }
+
+    @Override
+    protected ExecutorService createExecutorService(@NonNull String name) {
+        return VIRTUAL_THREADS.newExecutor(Tsc4jImplUtils.NAME + "-" + name + "-");
+    }
+
+    /**
+     * Reflective access to JDK 21 virtual thread API.
+     */
+    private static final class VirtualThreads {
+        private final Method ofVirtual;
+        private final Method name;
+        private final Method factory;
+        private final Method newThreadPerTaskExecutor;
+
+        private VirtualThreads() throws ReflectiveOperationException {
+            val builderClass = Class.forName("java.lang.Thread$Builder");
+            this.ofVirtual = Thread.class.getMethod("ofVirtual");
+            this.name = builderClass.getMethod("name", String.class, long.class);
+            this.factory = builderClass.getMethod("factory");
+            this.newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        }
+
+        /**
+         * Looks up virtual thread API and verifies that virtual threads can be created; on JDK 19 and 20 they are
+         * available only if preview features are enabled.
+         *
+         * @return virtual thread API accessor, {@code null} if virtual threads are not supported
+         */
+        static VirtualThreads create() {
+            try {
+                val virtualThreads = new VirtualThreads();
+                virtualThreads.newExecutor("probe-").shutdown();
+                return virtualThreads;
+            } catch (Throwable t) {
+                log.debug("virtual threads are not supported: {}", t.toString());
+                return null;
+            }
+        }
+
+        ExecutorService newExecutor(String threadNamePrefix) {
+            try {
+                val builder = name.invoke(ofVirtual.invoke(null), threadNamePrefix, 1L);
+                val threadFactory = (ThreadFactory) factory.invoke(builder);
+                return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+            } catch (ReflectiveOperationException e) {
+                throw Tsc4jException.of("Error creating virtual thread executor: %%s", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.utils;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Streaming decompression utilities for compressed config objects ({@code application.conf.gz},
+ * {@code application.json.zst}) and HTTP {@code Content-Encoding} responses.
+ * <p>
+ * Gzip and deflate are always supported, zstandard requires
+ * <a href="https://github.com/luben/zstd-jni">zstd-jni</a> to be present on the classpath.
+ */
+@UtilityClass
+public class CompressionUtils {
+    /**
+     * Gzip encoding name.
+     */
+    public static final String GZIP = "gzip";
+
+    /**
+     * Deflate encoding name.
+     */
+    public static final String DEFLATE = "deflate";
+
+    /**
+     * Zstandard encoding name.
+     */
+    public static final String ZSTD = "zstd";
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final boolean ZSTD_AVAILABLE = isClassAvailable("com.github.luben.zstd.ZstdInputStream");
+
+    /**
+     * Tells whether zstandard decompression is available.
+     *
+     * @return true/false
+     */
+    public boolean isZstdAvailable() {
+        return ZSTD_AVAILABLE;
+    }
+
+    /**
+     * Returns value suitable for {@code Accept-Encoding} HTTP request header.
+     *
+     * @return accept encoding header value
+     */
+    public String acceptEncoding() {
+        return isZstdAvailable() ? ZSTD + ", " + GZIP + ", " + DEFLATE : GZIP + ", " + DEFLATE;
+    }
+
+    /**
+     * Returns compression encoding for given path by looking at it's suffix.
+     *
+     * @param path path, object key or url
+     * @return optional of encoding name
+     */
+    public Optional<String> compressionOf(@NonNull String path) {
+        val lcPath = path.toLowerCase(Locale.ENGLISH);
+        if (lcPath.endsWith(".gz")) {
+            return Optional.of(GZIP);
+        } else if (lcPath.endsWith(".zst") || lcPath.endsWith(".zstd")) {
+            return Optional.of(ZSTD);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Tells whether given path denotes compressed object.
+     *
+     * @param path path, object key or url
+     * @return true/false
+     * @see #compressionOf(String)
+     */
+    public boolean isCompressed(@NonNull String path) {
+        return compressionOf(path).isPresent();
+    }
+
+    /**
+     * Removes compression suffix from a given path.
+     *
+     * @param path path, object key or url
+     * @return path without compression suffix or original path if it doesn't denote compressed object.
+     */
+    public String stripCompressionSuffix(@NonNull String path) {
+        if (!isCompressed(path)) {
+            return path;
+        }
+        val idx = path.lastIndexOf('.');
+        return path.substring(0, idx);
+    }
+
+    /**
+     * Wraps given input stream with decompressing input stream for a given encoding.
+     *
+     * @param inputStream input stream
+     * @param encoding    encoding name ({@code Content-Encoding} value); {@code null}, empty string and
+     *                    {@code identity} return {@code inputStream} as-is.
+     * @return input stream that decompresses data on the fly
+     * @throws NullPointerException     in case of null arguments
+     * @throws IllegalArgumentException if encoding is not supported
+     * @throws RuntimeException         if decompressing stream can't be initialized
+     */
+    @SneakyThrows
+    public InputStream decompress(@NonNull InputStream inputStream, String encoding) {
+        val enc = (encoding == null) ? "" : encoding.trim().toLowerCase(Locale.ENGLISH);
+        if (enc.isEmpty() || enc.equals("identity")) {
+            return inputStream;
+        } else if (enc.equals(GZIP) || enc.equals("x-gzip")) {
+            return new GZIPInputStream(inputStream, BUFFER_SIZE);
+        } else if (enc.equals(DEFLATE)) {
+            return new InflaterInputStream(inputStream);
+        } else if (enc.equals(ZSTD)) {
+            if (!isZstdAvailable()) {
+                throw new IllegalArgumentException("Zstandard decompression requires zstd-jni on the classpath.");
+            }
+            return Zstd.decompress(inputStream);
+        }
+        throw new IllegalArgumentException("Unsupported compression encoding: " + encoding);
+    }
+
+    /**
+     * Wraps given input stream with decompressing input stream according to {@code path} suffix.
+     *
+     * @param inputStream input stream
+     * @param path        path, object key or url
+     * @return input stream that decompresses data on the fly or {@code inputStream} if path doesn't denote compressed
+     *     object.
+     * @see #compressionOf(String)
+     * @see #decompress(InputStream, String)
+     */
+    public InputStream decompressPath(@NonNull InputStream inputStream, @NonNull String path) {
+        return decompress(inputStream, compressionOf(path).orElse(null));
+    }
+
+    private boolean isClassAvailable(String className) {
+        try {
+            Class.forName(className, false, CompressionUtils.class.getClassLoader());
+            return true;
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    /**
+     * Isolates references to optional zstd-jni classes.
+     */
+    private static final class Zstd {
+        @SneakyThrows
+        static InputStream decompress(InputStream inputStream) {
+            return new com.github.luben.zstd.ZstdInputStream(inputStream);
+        }
+    }
+}
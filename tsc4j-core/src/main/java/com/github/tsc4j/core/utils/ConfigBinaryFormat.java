@@ -0,0 +1,460 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.utils;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigList;
+import com.typesafe.config.ConfigObject;
+import com.typesafe.config.ConfigOrigin;
+import com.typesafe.config.ConfigOriginFactory;
+import com.typesafe.config.ConfigValue;
+import com.typesafe.config.ConfigValueFactory;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of resolved {@link Config} trees, which can be read back much faster than HOCON/JSON text.
+ * <p>
+ * Layout: magic bytes, format version, string table (all object keys, string values and origin descriptions are
+ * stored exactly once), origin table and value tree. Every value carries a reference to it's origin, so that origin
+ * descriptions, filenames, urls, line numbers and comments are preserved. Numbers keep their type
+ * ({@code int}, {@code long}, {@code double}).
+ */
+@UtilityClass
+public class ConfigBinaryFormat {
+    /**
+     * Current binary format version.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Magic bytes every binary config starts with; leading {@code NUL} byte never appears in text configs.
+     */
+    private static final byte[] MAGIC = {0, 'T', 'S', 'C', '4', 'J', 'B'};
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_TRUE = 1;
+    private static final int TAG_FALSE = 2;
+    private static final int TAG_INT = 3;
+    private static final int TAG_LONG = 4;
+    private static final int TAG_DOUBLE = 5;
+    private static final int TAG_STRING = 6;
+    private static final int TAG_LIST = 7;
+    private static final int TAG_OBJECT = 8;
+
+    private static final int ORIGIN_SIMPLE = 0;
+    private static final int ORIGIN_FILE = 1;
+    private static final int ORIGIN_URL = 2;
+
+    /**
+     * Tells whether given bytes contain binary config.
+     *
+     * @param bytes bytes
+     * @return true/false
+     */
+    public boolean isBinaryConfig(@NonNull byte[] bytes) {
+        return bytes.length >= MAGIC.length && Arrays.equals(Arrays.copyOf(bytes, MAGIC.length), MAGIC);
+    }
+
+    /**
+     * Tells whether given input stream contains binary config; stream position is not changed.
+     *
+     * @param inputStream input stream, must support {@link InputStream#mark(int)}
+     * @return true/false
+     * @throws IllegalArgumentException if input stream doesn't support marks
+     */
+    @SneakyThrows
+    public boolean isBinaryConfig(@NonNull InputStream inputStream) {
+        if (!inputStream.markSupported()) {
+            throw new IllegalArgumentException("Input stream doesn't support marks: " + inputStream);
+        }
+
+        inputStream.mark(MAGIC.length);
+        try {
+            val header = new byte[MAGIC.length];
+            int pos = 0;
+            while (pos < header.length) {
+                val n = inputStream.read(header, pos, header.length - pos);
+                if (n < 0) {
+                    return false;
+                }
+                pos += n;
+            }
+            return Arrays.equals(header, MAGIC);
+        } finally {
+            inputStream.reset();
+        }
+    }
+
+    /**
+     * Encodes resolved config.
+     *
+     * @param config resolved config
+     * @return binary config
+     * @throws IllegalArgumentException if config is not resolved
+     */
+    public byte[] write(@NonNull Config config) {
+        val out = new ByteArrayOutputStream();
+        write(config, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Encodes resolved config to output stream; output stream is not closed.
+     *
+     * @param config       resolved config
+     * @param outputStream output stream
+     * @throws IllegalArgumentException if config is not resolved
+     * @throws RuntimeException         in case of I/O errors
+     */
+    @SneakyThrows
+    public void write(@NonNull Config config, @NonNull OutputStream outputStream) {
+        if (!config.isResolved()) {
+            throw new IllegalArgumentException("Only resolved configs can be encoded in binary format.");
+        }
+
+        val writer = new Writer();
+        writer.writeValue(config.root());
+
+        val out = new DataOutputStream(outputStream);
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+
+        writeVarInt(out, writer.strings.size());
+        for (val str : writer.strings.keySet()) {
+            val bytes = str.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, bytes.length);
+            out.write(bytes);
+        }
+
+        writeVarInt(out, writer.origins.size());
+        writer.origins.keySet().forEach(origin -> writer.writeOrigin(out, origin));
+
+        writer.tree.writeTo(out);
+        out.flush();
+    }
+
+    /**
+     * Decodes binary config.
+     *
+     * @param bytes binary config
+     * @return config
+     * @throws IllegalArgumentException if bytes don't contain binary config of supported version
+     * @throws RuntimeException         in case of decoding errors
+     */
+    public Config read(@NonNull byte[] bytes) {
+        return read(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Decodes binary config from input stream; input stream is not closed.
+     *
+     * @param inputStream input stream
+     * @return config
+     * @throws IllegalArgumentException if stream doesn't contain binary config of supported version
+     * @throws RuntimeException         in case of I/O or decoding errors
+     */
+    @SneakyThrows
+    public Config read(@NonNull InputStream inputStream) {
+        val is = (inputStream instanceof ByteArrayInputStream || inputStream instanceof BufferedInputStream) ?
+            inputStream : new BufferedInputStream(inputStream);
+        val in = new DataInputStream(is);
+
+        val header = new byte[MAGIC.length];
+        in.readFully(header);
+        if (!Arrays.equals(header, MAGIC)) {
+            throw new IllegalArgumentException("Input doesn't contain binary config.");
+        }
+        val version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary config format version: " + version);
+        }
+
+        val strings = new String[readVarInt(in)];
+        for (int i = 0; i < strings.length; i++) {
+            val bytes = new byte[readVarInt(in)];
+            in.readFully(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        val origins = new ConfigOrigin[readVarInt(in)];
+        for (int i = 0; i < origins.length; i++) {
+            origins[i] = readOrigin(in, strings);
+        }
+
+        val root = readValue(in, strings, origins);
+        if (!(root instanceof ConfigObject)) {
+            throw new IllegalArgumentException("Binary config root is not an object.");
+        }
+        return ((ConfigObject) root).toConfig();
+    }
+
+    private ConfigOrigin readOrigin(DataInputStream in, String[] strings) throws IOException {
+        val kind = in.readUnsignedByte();
+        val main = strings[readVarInt(in)];
+        val lineNumber = readVarInt(in) - 1;
+        val numComments = readVarInt(in);
+
+        ConfigOrigin origin;
+        if (kind == ORIGIN_FILE) {
+            origin = ConfigOriginFactory.newFile(main);
+        } else if (kind == ORIGIN_URL) {
+            origin = ConfigOriginFactory.newURL(new URL(main));
+        } else {
+            origin = ConfigOriginFactory.newSimple(main);
+        }
+        if (lineNumber >= 0) {
+            origin = origin.withLineNumber(lineNumber);
+        }
+        if (numComments > 0) {
+            val comments = new ArrayList<String>(numComments);
+            for (int i = 0; i < numComments; i++) {
+                comments.add(strings[readVarInt(in)]);
+            }
+            origin = origin.withComments(comments);
+        }
+        return origin;
+    }
+
+    private ConfigValue readValue(DataInputStream in, String[] strings, ConfigOrigin[] origins) throws IOException {
+        val tag = in.readUnsignedByte();
+        val origin = origins[readVarInt(in)];
+
+        switch (tag) {
+            case TAG_NULL:
+                return ConfigValueFactory.fromAnyRef(null).withOrigin(origin);
+            case TAG_TRUE:
+                return ConfigValueFactory.fromAnyRef(true).withOrigin(origin);
+            case TAG_FALSE:
+                return ConfigValueFactory.fromAnyRef(false).withOrigin(origin);
+            case TAG_INT:
+                return ConfigValueFactory.fromAnyRef((int) zigZagDecode(readVarLong(in))).withOrigin(origin);
+            case TAG_LONG:
+                return ConfigValueFactory.fromAnyRef(zigZagDecode(readVarLong(in))).withOrigin(origin);
+            case TAG_DOUBLE:
+                return ConfigValueFactory.fromAnyRef(in.readDouble()).withOrigin(origin);
+            case TAG_STRING:
+                return ConfigValueFactory.fromAnyRef(strings[readVarInt(in)]).withOrigin(origin);
+            case TAG_LIST: {
+                val size = readVarInt(in);
+                val list = new ArrayList<ConfigValue>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in, strings, origins));
+                }
+                return ConfigValueFactory.fromIterable(list).withOrigin(origin);
+            }
+            case TAG_OBJECT: {
+                val size = readVarInt(in);
+                val map = new HashMap<String, ConfigValue>(Math.max(4, (int) (size / 0.75f) + 1));
+                for (int i = 0; i < size; i++) {
+                    val key = strings[readVarInt(in)];
+                    map.put(key, readValue(in, strings, origins));
+                }
+                return ConfigValueFactory.fromMap(map).withOrigin(origin);
+            }
+            default:
+                throw new IllegalArgumentException("Invalid binary config value tag: " + tag);
+        }
+    }
+
+    private void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    private int readVarInt(DataInputStream in) throws IOException {
+        val value = readVarLong(in);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid binary config varint: " + value);
+        }
+        return (int) value;
+    }
+
+    private long readVarLong(DataInputStream in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            val b = in.readUnsignedByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed binary config varint.");
+    }
+
+    private long zigZagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private long zigZagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Encodes value tree while building string and origin tables.
+     */
+    private static final class Writer {
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+        private final Map<ConfigOrigin, Integer> origins = new LinkedHashMap<>();
+        private final ByteArrayOutputStream tree = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(tree);
+
+        private int string(String str) {
+            return strings.computeIfAbsent(str, it -> strings.size());
+        }
+
+        private int origin(ConfigOrigin origin) {
+            val existing = origins.get(origin);
+            if (existing != null) {
+                return existing;
+            }
+
+            // intern all origin strings before origin table is written
+            string(originMain(origin));
+            origin.comments().forEach(this::string);
+
+            val idx = origins.size();
+            origins.put(origin, idx);
+            return idx;
+        }
+
+        @SneakyThrows
+        private void writeValue(ConfigValue value) {
+            val tag = tagOf(value);
+            out.writeByte(tag);
+            writeVarInt(out, origin(value.origin()));
+
+            switch (tag) {
+                case TAG_INT:
+                case TAG_LONG:
+                    writeVarLong(out, zigZagEncode(((Number) value.unwrapped()).longValue()));
+                    break;
+                case TAG_DOUBLE:
+                    out.writeDouble(((Number) value.unwrapped()).doubleValue());
+                    break;
+                case TAG_STRING:
+                    writeVarInt(out, string((String) value.unwrapped()));
+                    break;
+                case TAG_LIST: {
+                    val list = (ConfigList) value;
+                    writeVarInt(out, list.size());
+                    list.forEach(this::writeValue);
+                    break;
+                }
+                case TAG_OBJECT: {
+                    val obj = (ConfigObject) value;
+                    writeVarInt(out, obj.size());
+                    for (val entry : obj.entrySet()) {
+                        writeVarInt(out, string(entry.getKey()));
+                        writeValue(entry.getValue());
+                    }
+                    break;
+                }
+                default:
+                    // value is fully described by a tag
+            }
+        }
+
+        private int tagOf(ConfigValue value) {
+            switch (value.valueType()) {
+                case NULL:
+                    return TAG_NULL;
+                case BOOLEAN:
+                    return Boolean.TRUE.equals(value.unwrapped()) ? TAG_TRUE : TAG_FALSE;
+                case NUMBER: {
+                    val number = value.unwrapped();
+                    if (number instanceof Integer) {
+                        return TAG_INT;
+                    }
+                    return (number instanceof Long) ? TAG_LONG : TAG_DOUBLE;
+                }
+                case STRING:
+                    return TAG_STRING;
+                case LIST:
+                    return TAG_LIST;
+                case OBJECT:
+                    return TAG_OBJECT;
+                default:
+                    throw new IllegalArgumentException("Unsupported config value type: " + value.valueType());
+            }
+        }
+
+        @SneakyThrows
+        private void writeOrigin(DataOutputStream dos, ConfigOrigin origin) {
+            dos.writeByte(originKind(origin));
+            writeVarInt(dos, string(originMain(origin)));
+            writeVarInt(dos, Math.max(0, origin.lineNumber() + 1));
+
+            val comments = (origin.comments() == null) ? Collections.<String>emptyList() : origin.comments();
+            writeVarInt(dos, comments.size());
+            for (val comment : comments) {
+                writeVarInt(dos, string(comment));
+            }
+        }
+
+        private static int originKind(ConfigOrigin origin) {
+            if (origin.filename() != null) {
+                return ORIGIN_FILE;
+            }
+            return (origin.url() != null && origin.resource() == null) ? ORIGIN_URL : ORIGIN_SIMPLE;
+        }
+
+        private static String originMain(ConfigOrigin origin) {
+            val kind = originKind(origin);
+            if (kind == ORIGIN_FILE) {
+                return origin.filename();
+            } else if (kind == ORIGIN_URL) {
+                return origin.url().toExternalForm();
+            }
+
+            // description contains line number suffix, it's restored separately
+            val description = origin.description();
+            val lineSuffix = ": " + origin.lineNumber();
+            return (origin.lineNumber() >= 0 && description.endsWith(lineSuffix)) ?
+                description.substring(0, description.length() - lineSuffix.length()) :
+                description;
+        }
+    }
+}
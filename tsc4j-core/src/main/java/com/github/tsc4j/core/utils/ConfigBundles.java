@@ -0,0 +1,255 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.utils;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Utilities for dealing with config bundles: single archive objects ({@code zip}, {@code tar}, {@code tar.gz}) that
+ * contain several configuration files, usually {@code application.conf} and {@code conf.d/} fragments.
+ */
+@UtilityClass
+public class ConfigBundles {
+    /**
+     * Recognized config bundle filename suffixes.
+     */
+    public static final List<String> BUNDLE_SUFFIXES = Collections.unmodifiableList(
+        Arrays.asList(".zip", ".tar", ".tar.gz", ".tgz"));
+
+    private static final int TAR_BLOCK_SIZE = 512;
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Tells whether given path refers to a config bundle.
+     *
+     * @param path path, object key or url
+     * @return true/false
+     */
+    public boolean isBundle(@NonNull String path) {
+        val lcPath = path.toLowerCase(Locale.ENGLISH);
+        return BUNDLE_SUFFIXES.stream().anyMatch(lcPath::endsWith);
+    }
+
+    /**
+     * Extracts all regular files from a config bundle.
+     *
+     * @param bundleBytes bundle contents
+     * @param name        bundle name, used to determine archive format
+     * @return map of bundle-relative file names to their contents, in archive order
+     * @throws NullPointerException     in case of null arguments
+     * @throws IllegalArgumentException if {@code name} doesn't denote supported bundle format
+     * @throws RuntimeException         if bundle can't be read
+     * @see #isBundle(String)
+     */
+    public Map<String, byte[]> extract(@NonNull byte[] bundleBytes, @NonNull String name) {
+        return extract(new ByteArrayInputStream(bundleBytes), name);
+    }
+
+    /**
+     * Extracts all regular files from a config bundle; input stream is not closed.
+     *
+     * @param inputStream bundle input stream
+     * @param name        bundle name, used to determine archive format
+     * @return map of bundle-relative file names to their contents, in archive order
+     * @throws NullPointerException     in case of null arguments
+     * @throws IllegalArgumentException if {@code name} doesn't denote supported bundle format
+     * @throws RuntimeException         if bundle can't be read
+     * @see #isBundle(String)
+     */
+    @SneakyThrows
+    public Map<String, byte[]> extract(@NonNull InputStream inputStream, @NonNull String name) {
+        val lcName = name.toLowerCase(Locale.ENGLISH);
+        if (lcName.endsWith(".zip")) {
+            return extractZip(inputStream);
+        } else if (lcName.endsWith(".tar")) {
+            return extractTar(inputStream);
+        } else if (lcName.endsWith(".tar.gz") || lcName.endsWith(".tgz")) {
+            return extractTar(new GZIPInputStream(inputStream, BUFFER_SIZE));
+        }
+        throw new IllegalArgumentException("Unsupported config bundle format: " + name);
+    }
+
+    private Map<String, byte[]> extractZip(InputStream is) throws IOException {
+        val result = new LinkedHashMap<String, byte[]>();
+        val zis = new ZipInputStream(is, StandardCharsets.UTF_8);
+        for (ZipEntry entry = zis.getNextEntry(); entry != null; entry = zis.getNextEntry()) {
+            if (!entry.isDirectory()) {
+                putEntry(result, entry.getName(), readAll(zis));
+            }
+        }
+        return result;
+    }
+
+    private Map<String, byte[]> extractTar(InputStream is) throws IOException {
+        val result = new LinkedHashMap<String, byte[]>();
+        val header = new byte[TAR_BLOCK_SIZE];
+        String longName = null;
+
+        while (readBlock(is, header) && !isZeroBlock(header)) {
+            val size = tarNumber(header, 124, 12);
+            val type = header[156];
+            val data = readBytes(is, size);
+            skipFully(is, (TAR_BLOCK_SIZE - (size % TAR_BLOCK_SIZE)) % TAR_BLOCK_SIZE);
+
+            if (type == 'L') {
+                // GNU long name, applies to next entry
+                longName = tarString(data, 0, data.length);
+            } else if (type == 'x') {
+                // PAX extended header, applies to next entry
+                longName = paxPath(data);
+            } else if (type == '0' || type == 0) {
+                val name = (longName != null) ? longName : tarEntryName(header);
+                putEntry(result, name, data);
+                longName = null;
+            } else {
+                longName = null;
+            }
+        }
+
+        return result;
+    }
+
+    private String tarEntryName(byte[] header) {
+        val name = tarString(header, 0, 100);
+        val isUstar = tarString(header, 257, 6).startsWith("ustar");
+        val prefix = isUstar ? tarString(header, 345, 155) : "";
+        return prefix.isEmpty() ? name : prefix + "/" + name;
+    }
+
+    private String paxPath(byte[] data) {
+        // records look like: "<length> <key>=<value>\n"
+        val records = new String(data, StandardCharsets.UTF_8).split("\n");
+        for (val record : records) {
+            val idx = record.indexOf(" path=");
+            if (idx > 0) {
+                return record.substring(idx + 6);
+            }
+        }
+        return null;
+    }
+
+    private void putEntry(Map<String, byte[]> result, String name, byte[] data) {
+        String sanitized = name.replace('\\', '/');
+        while (sanitized.startsWith("./") || sanitized.startsWith("/")) {
+            sanitized = sanitized.substring(sanitized.startsWith("/") ? 1 : 2);
+        }
+        if (!sanitized.isEmpty() && !sanitized.endsWith("/")) {
+            result.put(sanitized, data);
+        }
+    }
+
+    private String tarString(byte[] buf, int offset, int len) {
+        int end = offset;
+        while (end < offset + len && buf[end] != 0) {
+            end++;
+        }
+        return new String(buf, offset, end - offset, StandardCharsets.UTF_8).trim();
+    }
+
+    private int tarNumber(byte[] header, int offset, int len) {
+        val str = tarString(header, offset, len);
+        if (str.isEmpty()) {
+            return 0;
+        }
+        val size = Long.parseLong(str, 8);
+        if (size < 0 || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid tar entry size: " + size);
+        }
+        return (int) size;
+    }
+
+    private boolean isZeroBlock(byte[] block) {
+        for (val b : block) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean readBlock(InputStream is, byte[] block) throws IOException {
+        int pos = 0;
+        while (pos < block.length) {
+            val n = is.read(block, pos, block.length - pos);
+            if (n < 0) {
+                if (pos == 0) {
+                    return false;
+                }
+                throw new EOFException("Truncated tar header.");
+            }
+            pos += n;
+        }
+        return true;
+    }
+
+    private byte[] readBytes(InputStream is, int size) throws IOException {
+        val data = new byte[size];
+        int pos = 0;
+        while (pos < size) {
+            val n = is.read(data, pos, size - pos);
+            if (n < 0) {
+                throw new EOFException("Truncated tar entry.");
+            }
+            pos += n;
+        }
+        return data;
+    }
+
+    private void skipFully(InputStream is, long count) throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            val n = is.skip(remaining);
+            if (n <= 0) {
+                if (is.read() < 0) {
+                    throw new EOFException("Truncated tar archive.");
+                }
+                remaining--;
+            } else {
+                remaining -= n;
+            }
+        }
+    }
+
+    private byte[] readAll(InputStream is) throws IOException {
+        val out = new ByteArrayOutputStream();
+        val buf = new byte[BUFFER_SIZE];
+        int n;
+        while ((n = is.read(buf)) >= 0) {
+            out.write(buf, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.utils;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigObject;
+import com.typesafe.config.ConfigValue;
+import com.typesafe.config.ConfigValueFactory;
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds {@link Config} from large number of flat (path, value) entries in linear time.
+ * <p>
+ * Folding entries with {@link Config#withValue(String, ConfigValue)} copies the growing tree on every call, which
+ * results in quadratic running time; this builder collects entries into nested maps instead and creates config
+ * object once. Semantics of repeated {@link Config#withValue(String, ConfigValue)} calls are retained: later entries
+ * replace earlier ones on the same path and a value replaces any value that stands in the way of it's path.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class ConfigTreeBuilder {
+    private final Map<String, Object> root = new LinkedHashMap<>();
+    private int size = 0;
+
+    /**
+     * Puts value on a given path.
+     *
+     * @param path  path keys, must not be empty
+     * @param value value
+     * @return reference to itself
+     * @throws IllegalArgumentException if path is empty
+     */
+    public ConfigTreeBuilder put(@NonNull List<String> path, @NonNull ConfigValue value) {
+        if (path.isEmpty()) {
+            throw new IllegalArgumentException("Config path cannot be empty.");
+        }
+
+        Map<String, Object> node = root;
+        val last = path.size() - 1;
+        for (int i = 0; i < last; i++) {
+            node = childNode(node, path.get(i));
+        }
+        node.put(path.get(last), value);
+        size++;
+        return this;
+    }
+
+    /**
+     * Puts value on a given path.
+     *
+     * @param value value
+     * @param path  path keys, must not be empty
+     * @return reference to itself
+     * @throws IllegalArgumentException if path is empty
+     * @see #put(List, ConfigValue)
+     */
+    public ConfigTreeBuilder put(@NonNull ConfigValue value, @NonNull String... path) {
+        return put(Arrays.asList(path), value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> childNode(Map<String, Object> node, String key) {
+        val existing = node.get(key);
+        if (existing instanceof Map) {
+            return (Map<String, Object>) existing;
+        }
+
+        // Config.withValue() merges into existing config objects and replaces any other value
+        val child = (existing instanceof ConfigObject)
+            ? new LinkedHashMap<String, Object>((ConfigObject) existing)
+            : new LinkedHashMap<String, Object>();
+        node.put(key, child);
+        return child;
+    }
+
+    /**
+     * Returns number of entries put into the builder.
+     *
+     * @return number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Builds config; values put into the builder retain their origins.
+     *
+     * @param originDescription origin description of intermediate config objects
+     * @return config
+     */
+    public Config build(@NonNull String originDescription) {
+        return ConfigValueFactory.fromMap(root, originDescription).toConfig();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + size + " entries)";
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.utils;
+
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Sorted index of slash-separated paths (object keys, urls, ...) that supports logarithmic prefix lookups. Suitable
+ * as a fetch context for filesystem-like config sources that are backed by flat object listings.
+ *
+ * @param <V> value type
+ */
+public final class PathIndex<V> {
+    private final NavigableMap<String, V> map = new TreeMap<>();
+
+    /**
+     * Adds path to the index.
+     *
+     * @param path  path
+     * @param value value associated with the path
+     * @return reference to itself
+     */
+    public PathIndex<V> put(@NonNull String path, @NonNull V value) {
+        map.put(path, value);
+        return this;
+    }
+
+    /**
+     * Adds all paths from another index to this index.
+     *
+     * @param other other index
+     * @return reference to itself
+     */
+    public PathIndex<V> putAll(@NonNull PathIndex<V> other) {
+        map.putAll(other.map);
+        return this;
+    }
+
+    /**
+     * Returns value associated with exact path.
+     *
+     * @param path path
+     * @return optional of associated value
+     */
+    public Optional<V> get(@NonNull String path) {
+        return Optional.ofNullable(map.get(path));
+    }
+
+    /**
+     * Tells whether index contains any path that starts with given prefix.
+     *
+     * @param prefix path prefix
+     * @return true/false
+     */
+    public boolean containsPrefix(@NonNull String prefix) {
+        val key = map.ceilingKey(prefix);
+        return key != null && key.startsWith(prefix);
+    }
+
+    /**
+     * Tells whether given path is a directory, meaning that index contains at least one path below it.
+     *
+     * @param path path
+     * @return true/false
+     */
+    public boolean isDirectory(@NonNull String path) {
+        return containsPrefix(dirPrefix(path));
+    }
+
+    /**
+     * Lists all paths below given directory path, relative to it.
+     *
+     * @param path directory path
+     * @return stream of relative paths, sorted
+     */
+    public Stream<String> listDirectory(@NonNull String path) {
+        val prefix = dirPrefix(path);
+        return subMap(prefix).keySet().stream()
+            .map(e -> e.substring(prefix.length()))
+            .filter(e -> !e.isEmpty());
+    }
+
+    /**
+     * Returns read-only view of all entries whose paths start with given prefix.
+     *
+     * @param prefix path prefix
+     * @return sorted map view
+     */
+    public NavigableMap<String, V> subMap(@NonNull String prefix) {
+        val view = prefix.isEmpty() ? map : map.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        return Collections.unmodifiableNavigableMap(view);
+    }
+
+    /**
+     * Returns read-only view of the whole index.
+     *
+     * @return sorted map view
+     */
+    public NavigableMap<String, V> asMap() {
+        return Collections.unmodifiableNavigableMap(map);
+    }
+
+    /**
+     * Returns number of paths in the index.
+     *
+     * @return number of paths
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Tells whether index is empty.
+     *
+     * @return true/false
+     */
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    private static String dirPrefix(String path) {
+        return path.endsWith("/") ? path : path + "/";
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + map.size() + " paths)";
+    }
+
+    /**
+     * Creates index from given map.
+     *
+     * @param map map of paths to values
+     * @param <V> value type
+     * @return path index
+     */
+    public static <V> PathIndex<V> of(@NonNull Map<String, V> map) {
+        val index = new PathIndex<V>();
+        map.forEach(index::put);
+        return index;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import javax.net.ssl.SSLContext;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link UrlTransport} that sends requests asynchronously using {@link HttpClient}, available on Java 11+.
+ * <p>
+ * All instances share one client per TLS verification mode, so that connections are pooled across config sources
+ * and requests to the same server are multiplexed over a single HTTP/2 connection if server supports it.
+ * <p>
+ * <b>NOTE:</b> disabling TLS verification disables certificate validation only, {@link HttpClient} doesn't support
+ * disabling hostname verification per client.
+ */
+@Slf4j
+final class HttpClientTransport implements UrlTransport {
+    /**
+     * Headers that are set by {@link HttpClient} itself and can't be set on request.
+     */
+    private static final Set<String> RESTRICTED_HEADERS =
+        Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final HttpClient client;
+
+    /**
+     * Creates new instance.
+     *
+     * @param verifyTls verify TLS certificates?
+     */
+    HttpClientTransport(boolean verifyTls) {
+        this.client = verifyTls ? SecureClient.INSTANCE : InsecureClient.INSTANCE;
+    }
+
+    private static HttpClient createClient(SSLContext sslContext) {
+        val builder = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NORMAL);
+        if (sslContext != null) {
+            builder.sslContext(sslContext);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public boolean isAsync() {
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<Response> send(@NonNull Request request) {
+        try {
+            val httpRequest = createRequest(request);
+            log.debug("{} sending request: {}", this, httpRequest);
+            return client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(HttpClientTransport::toResponse);
+        } catch (RuntimeException e) {
+            val future = new CompletableFuture<Response>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+
+    private HttpRequest createRequest(Request request) {
+        val builder = HttpRequest.newBuilder(URI.create(request.getUrl()))
+            .method(request.getMethod(), HttpRequest.BodyPublishers.noBody())
+            .timeout(request.getTimeout());
+        request.getHeaders().forEach((name, value) -> {
+            if (RESTRICTED_HEADERS.contains(name)) {
+                log.debug("{} ignoring restricted request header: {}", this, name);
+            } else {
+                builder.header(name, value);
+            }
+        });
+        return builder.build();
+    }
+
+    private static Response toResponse(HttpResponse<InputStream> response) {
+        val headers = new LinkedHashMap<String, String>();
+        response.headers().map().forEach((name, values) -> {
+            if (!values.isEmpty()) {
+                headers.put(name.toLowerCase(Locale.ENGLISH), values.get(values.size() - 1));
+            }
+        });
+        return new Response(response.statusCode(), Collections.unmodifiableMap(headers), response.body());
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + client.version() + ")";
+    }
+
+    /**
+     * Lazily created shared client that verifies TLS certificates.
+     */
+    private static final class SecureClient {
+        static final HttpClient INSTANCE = createClient(null);
+    }
+
+    /**
+     * Lazily created shared client that trusts all TLS certificates.
+     */
+    private static final class InsecureClient {
+        static final HttpClient INSTANCE = createClient(HttpURLConnectionTransport.insecureTlsContext());
+    }
+}
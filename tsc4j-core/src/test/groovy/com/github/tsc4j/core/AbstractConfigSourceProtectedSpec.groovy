@@ -22,6 +22,8 @@ import com.github.tsc4j.core.CloseableInstance
 import com.github.tsc4j.core.ConfigQuery
 import com.github.tsc4j.core.ConfigSource
 import com.github.tsc4j.core.ConfigSourceBuilder
+import com.github.tsc4j.core.utils.CompressionUtilsSpec
+import com.github.tsc4j.core.utils.ConfigBundlesSpec
 import com.typesafe.config.Config
 import com.typesafe.config.ConfigFactory
 import groovy.util.logging.Slf4j
@@ -191,6 +193,69 @@ class AbstractConfigSourceProtectedSpec extends Specification {
         path << [null, "", "  ", "foo"]
     }
 
+    def "bundleEntryNames() should return root configs followed by conf.d configs"() {
+        given:
+        def names = [
+            'conf.d/20-b.conf',
+            'README.md',
+            'application.json',
+            'conf.d/10-a.properties',
+            'conf.d/sub/30-c.conf',
+            'conf.d/notes.txt',
+            'application.conf',
+            'dev/application.conf',
+        ]
+
+        expect:
+        source().bundleEntryNames(names) == [
+            'application.conf',
+            'application.json',
+            'conf.d/10-a.properties',
+            'conf.d/20-b.conf',
+        ]
+    }
+
+    def "readConfigBundle() should merge bundled configs in load order"() {
+        given:
+        def files = [
+            'conf.d/20-b.conf': 'a = 3, c = 3',
+            'application.conf': 'a = 1, b = 1, c = 1',
+            'conf.d/10-a.conf': 'a = 2, b = 2',
+            'other.conf'      : 'a = 4',
+        ]
+
+        when:
+        def config = source().readConfigBundle(ConfigBundlesSpec.zip(files), 's3://bucket/app/bundle.zip')
+
+        then:
+        config.root().unwrapped() == [a: 3, b: 2, c: 3]
+        config.origin().description().contains('bundle.zip!/')
+    }
+
+    def "readConfigObject() should decompress and expand #path"() {
+        given:
+        def bundle = ConfigBundlesSpec.tar([
+            'application.conf': 'a = 1, b = 1',
+            'conf.d/10-a.conf': 'b = 2',
+        ])
+
+        and:
+        def bytes = [
+            'application.conf'   : 'a = 1, b = 2'.getBytes('UTF-8'),
+            'application.conf.gz': ConfigBundlesSpec.gzip('a = 1, b = 2'.getBytes('UTF-8')),
+            'bundle.tar.zst'     : CompressionUtilsSpec.zstd(bundle),
+        ][path]
+
+        when:
+        def config = source().readConfigObject(new ByteArrayInputStream(bytes), path)
+
+        then:
+        config.root().unwrapped() == [a: 1, b: 2]
+
+        where:
+        path << ['application.conf', 'application.conf.gz', 'bundle.tar.zst']
+    }
+
     def assignLogger(AbstractConfigSource source, Logger logger) {
         def logField = CloseableInstance.getDeclaredField("log")
         logField.setAccessible(true)
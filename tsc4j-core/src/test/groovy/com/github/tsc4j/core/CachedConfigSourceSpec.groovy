@@ -24,6 +24,12 @@ import spock.lang.Specification
 import spock.lang.Unroll
 
 import java.time.Duration
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 @Unroll
 class CachedConfigSourceSpec extends Specification {
@@ -137,6 +143,133 @@ class CachedConfigSourceSpec extends Specification {
         source.size() == 0
     }
 
+    def "should serve stale config while revalidating it"() {
+        given:
+        def newConfig = ConfigFactory.parseMap(a: "new")
+        def source = staleSource(Duration.ofMinutes(10))
+
+        when:
+        def res = source.get(query)
+
+        then:
+        1 * delegate.get(query) >> config
+        res == config
+
+        when: "entry expires, but is within max staleness"
+        clock.plus(cacheTtl.plusMinutes(1))
+        res = source.get(query)
+
+        then: "stale config is returned and revalidated"
+        1 * delegate.get(query) >> newConfig
+        res == config
+
+        when:
+        res = source.get(query)
+
+        then: "revalidated config is served from cache"
+        0 * delegate.get(_)
+        res == newConfig
+    }
+
+    def "should fetch config synchronously if it's staler than max staleness"() {
+        given:
+        def newConfig = ConfigFactory.parseMap(a: "new")
+        def source = staleSource(Duration.ofMinutes(10))
+
+        when:
+        source.get(query)
+        clock.plus(cacheTtl.plusMinutes(10))
+        def res = source.get(query)
+
+        then:
+        2 * delegate.get(query) >>> [config, newConfig]
+        res == newConfig
+    }
+
+    def "should serve stale config if background revalidation fails"() {
+        given:
+        def source = staleSource(Duration.ofMinutes(10))
+
+        when:
+        source.get(query)
+        clock.plus(cacheTtl.plusMinutes(1))
+        def res = source.get(query)
+
+        then:
+        2 * delegate.get(query) >>> [config] >> { throw new RuntimeException("boom") }
+        noExceptionThrown()
+        res == config
+    }
+
+    def "should fall back to last good config if delegate fails"() {
+        given:
+        def source = new CachedConfigSource(delegate, testCache())
+
+        when:
+        source.get(query)
+        clock.plus(cacheTtl)
+        def res = source.get(query)
+
+        then:
+        2 * delegate.get(query) >>> [config] >> { throw new RuntimeException("boom") }
+        noExceptionThrown()
+        res == config
+        source.size() == 0
+    }
+
+    def "should propagate delegate exception after last good config expires"() {
+        given:
+        def source = staleSource(Duration.ofMinutes(10))
+        def exception = new RuntimeException("boom")
+
+        when:
+        source.get(query)
+        clock.plus(CachedConfigSource.MIN_LAST_GOOD_AGE.plusMinutes(1))
+        source.get(query)
+
+        then:
+        2 * delegate.get(query) >>> [config] >> { throw exception }
+        def thrown = thrown(RuntimeException)
+        thrown.is(exception)
+    }
+
+    def "concurrent cache misses should be coalesced into single delegate call"() {
+        given:
+        def numCalls = new AtomicInteger()
+        def started = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def blockingDelegate = Stub(ConfigSource) {
+            get(query) >> {
+                numCalls.incrementAndGet()
+                started.countDown()
+                release.await(5, TimeUnit.SECONDS)
+                config
+            }
+        }
+        def source = new CachedConfigSource(blockingDelegate, testCache())
+        def numThreads = 8
+        def executor = Executors.newFixedThreadPool(numThreads)
+
+        when:
+        def futures = (1..numThreads).collect { executor.submit({ source.get(query) } as Callable) }
+        started.await(5, TimeUnit.SECONDS)
+        Thread.sleep(100)
+        release.countDown()
+        def results = futures.collect { it.get(5, TimeUnit.SECONDS) }
+
+        then:
+        results.every { it == config }
+        numCalls.get() == 1
+
+        cleanup:
+        executor?.shutdownNow()
+    }
+
+    CachedConfigSource staleSource(Duration maxStale) {
+        def directExecutor = { Runnable r -> r.run() } as Executor
+        new CachedConfigSource(delegate, testCache(), cacheTtl, maxStale, clock, directExecutor)
+    }
+
     Tsc4jCache testCache() {
         new SimpleTsc4jCache("cache", cacheTtl, clock)
     }
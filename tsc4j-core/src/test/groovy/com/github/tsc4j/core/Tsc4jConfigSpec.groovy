@@ -42,6 +42,22 @@ class Tsc4jConfigSpec extends Specification {
         cfg.getSources().isEmpty()
         cfg.getTransformers().isEmpty()
         cfg.getValueProviders().isEmpty()
+        cfg.getExecutor() == null
+    }
+
+    def "withConfig() on builder should configure executor"() {
+        given:
+        def builder = Tsc4jConfig.builder()
+        def config = ConfigFactory.parseString("executor { strategy = bulkhead, max-threads = 10 }")
+
+        when:
+        builder.withConfig(config)
+        def cfg = builder.build()
+
+        then:
+        cfg.getExecutor().getStrategy() == Tsc4jExecutorConfig.Strategy.BULKHEAD
+        cfg.getExecutor().getMaxThreads() == 10
+        cfg.getExecutor().getQueueSize() == 0
     }
 
     def "withConfig() on builder should correctly configure builder instance"() {
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core
+
+import com.typesafe.config.ConfigFactory
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Duration
+
+@Unroll
+class Tsc4jExecutorConfigSpec extends Specification {
+    def "empty instance should contain expected defaults"() {
+        when:
+        def cfg = Tsc4jExecutorConfig.builder().build()
+
+        then:
+        cfg.getStrategy() == Tsc4jExecutorConfig.Strategy.BOUNDED
+        cfg.getMaxThreads() == 500
+        cfg.getQueueSize() == 0
+        cfg.getKeepAlive() == Duration.ofSeconds(5)
+        cfg.validate().is(cfg)
+    }
+
+    def "withConfig() should configure builder"() {
+        given:
+        def config = ConfigFactory.parseString("""
+            strategy    = Bulkhead
+            max-threads = 20
+            queue-size  = 5
+            keep-alive  = 1m
+        """)
+        def builder = Tsc4jExecutorConfig.builder()
+
+        when:
+        builder.withConfig(config)
+        def cfg = builder.build()
+
+        then:
+        cfg.getStrategy() == Tsc4jExecutorConfig.Strategy.BULKHEAD
+        cfg.getMaxThreads() == 20
+        cfg.getQueueSize() == 5
+        cfg.getKeepAlive() == Duration.ofMinutes(1)
+    }
+
+    def "parse() should parse '#name' to #expected"() {
+        expect:
+        Tsc4jExecutorConfig.Strategy.parse(name) == expected
+
+        where:
+        name          | expected
+        "bounded"     | Tsc4jExecutorConfig.Strategy.BOUNDED
+        " BULKHEAD  " | Tsc4jExecutorConfig.Strategy.BULKHEAD
+        "Virtual"     | Tsc4jExecutorConfig.Strategy.VIRTUAL
+    }
+
+    def "parse() should throw on invalid strategy name"() {
+        when:
+        Tsc4jExecutorConfig.Strategy.parse("carrier-pigeon")
+
+        then:
+        def exception = thrown(IllegalArgumentException)
+        exception.getMessage().contains("bounded, bulkhead, virtual")
+    }
+
+    def "validate() should throw on invalid configuration: #builder"() {
+        when:
+        builder.build().validate()
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        builder << [
+            Tsc4jExecutorConfig.builder().maxThreads(0),
+            Tsc4jExecutorConfig.builder().queueSize(-1),
+            Tsc4jExecutorConfig.builder().keepAlive(Duration.ofSeconds(-1)),
+        ]
+    }
+}
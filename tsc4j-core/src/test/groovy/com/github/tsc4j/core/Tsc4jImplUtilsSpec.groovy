@@ -17,9 +17,10 @@
 
 package com.github.tsc4j.core
 
+import com.github.tsc4j.core.impl.BoundedTsc4jCache
+import com.github.tsc4j.core.impl.BulkheadExecutorStrategy
 import com.github.tsc4j.core.impl.ClasspathConfigSource
 import com.github.tsc4j.core.impl.CliConfigSource
-import com.github.tsc4j.core.impl.SimpleTsc4jCache
 import com.github.tsc4j.core.impl.Stopwatch
 import com.github.tsc4j.testsupport.TestUtils
 import com.typesafe.config.Config
@@ -39,7 +40,10 @@ import java.nio.file.Files
 import java.time.Duration
 import java.util.concurrent.Callable
 import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
 import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
 import java.util.concurrent.atomic.AtomicInteger
 
 import static com.github.tsc4j.testsupport.TestConstants.TEST_CFG_INVALID_STR
@@ -430,6 +434,99 @@ class Tsc4jImplUtilsSpec extends Specification {
         executors.every { it.is(first) }
     }
 
+    def "configureExecutorStrategy() should replace strategy only if configuration differs"() {
+        given:
+        def defaultConfig = Tsc4jExecutorConfig.builder().build()
+        def bulkheadConfig = defaultConfig.toBuilder().strategy(Tsc4jExecutorConfig.Strategy.BULKHEAD).build()
+        def initial = Tsc4jImplUtils.configureExecutorStrategy(defaultConfig)
+
+        expect:
+        Tsc4jImplUtils.configureExecutorStrategy(defaultConfig).is(initial)
+        Tsc4jImplUtils.executorStrategy().is(initial)
+
+        when:
+        def strategy = Tsc4jImplUtils.configureExecutorStrategy(bulkheadConfig)
+
+        then:
+        strategy.getType() == Tsc4jExecutorConfig.Strategy.BULKHEAD
+        Tsc4jImplUtils.executorStrategy().is(strategy)
+        initial.isClosed()
+
+        when:
+        def threadNames = Tsc4jImplUtils.runTasks("foo.bar", [{ Thread.currentThread().getName() } as Callable], true)
+
+        then:
+        threadNames.size() == 1
+        threadNames[0].startsWith("tsc4j-foo.bar-")
+        strategy.stats().containsKey("foo.bar")
+
+        cleanup:
+        Tsc4jImplUtils.configureExecutorStrategy(defaultConfig)
+    }
+
+    def "executor() should keep accepting tasks while executor strategy is being replaced"() {
+        given:
+        def defaultConfig = Tsc4jExecutorConfig.builder().build()
+        def bulkheadConfig = defaultConfig.toBuilder().strategy(Tsc4jExecutorConfig.Strategy.BULKHEAD).build()
+        def executor = Tsc4jImplUtils.executor("swap")
+        def running = new AtomicBoolean(true)
+        def completed = new AtomicInteger()
+        def failures = Collections.synchronizedList([])
+        def submitters = Executors.newFixedThreadPool(4)
+
+        when: "tasks are submitted while strategies are being swapped"
+        def futures = (1..4).collect {
+            submitters.submit({
+                while (running.get()) {
+                    try {
+                        executor.submit({ completed.incrementAndGet() } as Runnable).get(5, TimeUnit.SECONDS)
+                        Tsc4jImplUtils.runTasks("swap", [{ completed.incrementAndGet() } as Callable], true)
+                    } catch (Throwable t) {
+                        failures.add(t)
+                    }
+                }
+            } as Runnable)
+        }
+        (1..50).each {
+            Tsc4jImplUtils.configureExecutorStrategy((it % 2 == 0) ? defaultConfig : bulkheadConfig)
+            Thread.sleep(5)
+        }
+        running.set(false)
+        futures.each { it.get(10, TimeUnit.SECONDS) }
+
+        then:
+        failures.isEmpty()
+        completed.get() > 0
+        Tsc4jImplUtils.executor("swap").is(executor)
+
+        cleanup:
+        running.set(false)
+        submitters?.shutdownNow()
+        Tsc4jImplUtils.configureExecutorStrategy(Tsc4jExecutorConfig.builder().build())
+    }
+
+    def "custom strategy survives configSource() without an executor section"() {
+        given:
+        def defaultConfig = Tsc4jExecutorConfig.builder().build()
+        def strategy = new BulkheadExecutorStrategy(defaultConfig)
+        Tsc4jImplUtils.setExecutorStrategy(strategy)
+
+        and:
+        def config = Tsc4jConfig.builder().cliEnabled(false).build()
+
+        when:
+        def source = Tsc4j.configSource(config, [])
+
+        then:
+        source != null
+        Tsc4jImplUtils.executorStrategy().is(strategy)
+        !strategy.isClosed()
+
+        cleanup:
+        source?.close()
+        Tsc4jImplUtils.configureExecutorStrategy(defaultConfig)
+    }
+
     def "threadFactory() should create a thread with correct name"() {
         given:
         def poolName = "somePoolName"
@@ -933,6 +1030,61 @@ class Tsc4jImplUtilsSpec extends Specification {
         ] as Set
     }
 
+    def "configDiff() should return empty map for equal configs"() {
+        given:
+        def configA = ConfigFactory.parseMap([foo: "bar", bar: [a: 1, b: [1, 2]]])
+        def configB = ConfigFactory.parseMap([foo: "bar", bar: [a: 1, b: [1, 2]]])
+
+        expect:
+        Tsc4jImplUtils.configDiff(null, null).isEmpty()
+        Tsc4jImplUtils.configDiff(configA, configA).isEmpty()
+        Tsc4jImplUtils.configDiff(configA, configB).isEmpty()
+    }
+
+    def "configDiff() should return changed paths mapped to previous values"() {
+        given:
+        def oldConfig = ConfigFactory.parseMap([
+            foo     : "bar",
+            same    : [x: "y"],
+            changed : [a: 1, b: [1, 2], c: "c"],
+            replaced: [a: 1],
+            removed : "r",
+        ])
+        def newConfig = ConfigFactory.parseMap([
+            foo     : "bar",
+            same    : [x: "y"],
+            changed : [a: 2, b: [1, 2, 3], d: "d"],
+            replaced: "leaf",
+            added   : [x: [y: "z"]],
+            '"a.b"' : "quoted",
+        ])
+
+        when:
+        def diff = Tsc4jImplUtils.configDiff(oldConfig, newConfig)
+        def unwrapped = diff.collectEntries { [(it.key): it.value.unwrapped()] }
+
+        then:
+        diff.keySet() as List == [
+            '"a.b"', 'added.x.y', 'changed.a', 'changed.b', 'changed.c', 'changed.d',
+            'removed', 'replaced', 'replaced.a'
+        ]
+        unwrapped == [
+            '"a.b"'     : "quoted",
+            'added.x.y' : "z",
+            'changed.a' : 1,
+            'changed.b' : [1, 2],
+            'changed.c' : "c",
+            'changed.d' : "d",
+            'removed'   : "r",
+            'replaced'  : "leaf",
+            'replaced.a': 1,
+        ]
+
+        and:
+        Tsc4jImplUtils.configDiff(null, newConfig).keySet() == newConfig.entrySet().collect { it.key } as Set
+        Tsc4jImplUtils.configDiff(oldConfig, null).keySet() == oldConfig.entrySet().collect { it.key } as Set
+    }
+
     def "getPropertyFromConfig('#name') should return '#expected'"() {
         given:
         def map = [
@@ -1075,6 +1227,7 @@ class Tsc4jImplUtilsSpec extends Specification {
 
         then:
         cache.size() == 0
-        cache instanceof SimpleTsc4jCache
+        cache instanceof BoundedTsc4jCache
+        cache.maxSize == Tsc4jImplUtils.DEFAULT_CACHE_MAX_SIZE
     }
 }
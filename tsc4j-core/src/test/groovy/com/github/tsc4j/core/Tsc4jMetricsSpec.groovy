@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core
+
+import com.github.tsc4j.core.impl.AbstractReloadable
+import com.github.tsc4j.core.impl.DefaultReloadableConfig
+import com.typesafe.config.ConfigFactory
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Duration
+import java.util.function.Supplier
+
+@Unroll
+class Tsc4jMetricsSpec extends Specification {
+    def metrics = Mock(Tsc4jMetrics)
+
+    def setup() {
+        assert Tsc4jImplUtils.registerMetrics(metrics)
+    }
+
+    def cleanup() {
+        Tsc4jImplUtils.unregisterMetrics(metrics)
+    }
+
+    def "registerMetrics() should not register the same instance twice"() {
+        expect:
+        !Tsc4jImplUtils.registerMetrics(metrics)
+        Tsc4jImplUtils.unregisterMetrics(metrics)
+        !Tsc4jImplUtils.unregisterMetrics(metrics)
+    }
+
+    def "metricsName() should return component name or type"() {
+        given:
+        def provider = Mock(ConfigValueProvider)
+        provider.getName() >> name
+        provider.getType() >> "some-type"
+
+        expect:
+        Tsc4jImplUtils.metricsName(provider) == expected
+
+        where:
+        name      | expected
+        "foo"     | "foo"
+        " bar "   | "bar"
+        ""        | "some-type"
+        null      | "some-type"
+    }
+
+    def "config source fetches should be recorded"() {
+        given:
+        def source = Mock(ConfigSource)
+        source.allowErrors() >> true
+        source.toString() >> "my-source"
+
+        def aggSource = AggConfigSource.builder().source(source).build()
+
+        when:
+        def result = aggSource.fetchConfig(source, ConfigQuery.builder().appName("app").build())
+
+        then:
+        1 * source.get(_) >> ConfigFactory.parseMap([a: 1])
+        1 * metrics.sourceFetch("my-source", { it >= 0 }, true)
+        result.isPresent()
+
+        when:
+        result = aggSource.fetchConfig(source, ConfigQuery.builder().appName("app").build())
+
+        then:
+        1 * source.get(_) >> { throw new RuntimeException("boom") }
+        1 * metrics.sourceFetch("my-source", { it >= 0 }, false)
+        !result.isPresent()
+    }
+
+    def "config transformations should be recorded"() {
+        given:
+        def config = ConfigFactory.parseMap([a: 1])
+        def transformerA = Mock(ConfigTransformer)
+        transformerA.getName() >> "a"
+        def transformerB = Mock(ConfigTransformer)
+        transformerB.getName() >> "b"
+        transformerB.allowErrors() >> true
+
+        def transformer = new AggConfigTransformer(transformerA, transformerB)
+
+        when:
+        def result = transformer.transform(config)
+
+        then:
+        1 * transformerA.transform(config) >> config
+        1 * transformerB.transform(config) >> { throw new RuntimeException("boom") }
+        1 * metrics.transform("a", { it >= 0 }, true)
+        1 * metrics.transform("b", { it >= 0 }, false)
+        result == config
+    }
+
+    def "created caches should be announced"() {
+        given:
+        def announced = null
+
+        when:
+        def cache = Tsc4jImplUtils.newCache("my-cache", Duration.ofMinutes(1))
+
+        then:
+        1 * metrics.cacheCreated("my-cache", _) >> { announced = it[1] }
+        announced.is(cache)
+    }
+
+    def "config refreshes and reloadable updates should be recorded"() {
+        given:
+        def config = ConfigFactory.parseMap([foo: [bar: "baz"]])
+        def reloadableConfig = DefaultReloadableConfig.builder()
+                                                      .configSupplier({ config } as Supplier)
+                                                      .refreshInterval(Duration.ZERO)
+                                                      .build()
+        def reloadable = reloadableConfig.register("foo.bar", String)
+
+        when:
+        reloadableConfig.refresh().toCompletableFuture().get()
+
+        then:
+        1 * metrics.configRefresh({ it.startsWith("DefaultReloadableConfig-") }, { it >= 0 }, true)
+        1 * metrics.reloadableUpdate("foo.bar", { it >= 0 })
+        reloadable.get() == "baz"
+
+        cleanup:
+        reloadableConfig?.close()
+    }
+
+    def "slow update consumers should be recorded"() {
+        given:
+        def threshold = AbstractReloadable.SLOW_CONSUMER_THRESHOLD_MILLIS
+        def config = ConfigFactory.parseMap([foo: "bar"])
+        def reloadableConfig = DefaultReloadableConfig.builder()
+                                                      .configSupplier({ config } as Supplier)
+                                                      .refreshInterval(Duration.ZERO)
+                                                      .build()
+        def reloadable = reloadableConfig.register("foo", String)
+        reloadable.register({ Thread.sleep(threshold + 50) })
+        reloadable.register({ })
+
+        when:
+        reloadableConfig.refresh().toCompletableFuture().get()
+
+        then:
+        1 * metrics.slowConsumer("foo", { it >= threshold * 1_000_000 })
+
+        cleanup:
+        reloadableConfig?.close()
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl
+
+import com.github.tsc4j.core.Tsc4jExecutorConfig
+import com.github.tsc4j.core.Tsc4jExecutorStrategy
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class BoundedExecutorStrategySpec extends Specification {
+    def config = Tsc4jExecutorConfig.builder().maxThreads(3).build()
+    def strategy = new BoundedExecutorStrategy(config)
+
+    def cleanup() {
+        if (!strategy.isClosed()) {
+            strategy.close()
+        }
+    }
+
+    def "should reject invalid configuration"() {
+        when:
+        new BoundedExecutorStrategy(Tsc4jExecutorConfig.builder().maxThreads(0).build())
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "all bulkheads should share single executor"() {
+        when:
+        def a = strategy.executor("aws2.s3")
+        def b = strategy.executor("credstash")
+        def c = strategy.executor(Tsc4jExecutorStrategy.DEFAULT_BULKHEAD)
+
+        then:
+        strategy.getType() == Tsc4jExecutorConfig.Strategy.BOUNDED
+        a.is(b)
+        a.is(c)
+        a.getName() == Tsc4jExecutorStrategy.DEFAULT_BULKHEAD
+        strategy.stats().keySet() == [Tsc4jExecutorStrategy.DEFAULT_BULKHEAD] as Set
+        strategy.stats()[Tsc4jExecutorStrategy.DEFAULT_BULKHEAD].maxPoolSize == 3
+    }
+
+    def "executor should run tasks in tsc4j threads"() {
+        when:
+        def threadName = strategy.executor("foo").submit({ Thread.currentThread().getName() } as Callable).get()
+
+        then:
+        threadName.startsWith("tsc4j-default-")
+    }
+
+    def "queued pool should grow up to max threads"() {
+        given:
+        def queuedConfig = config.toBuilder().queueSize(10).keepAlive(Duration.ofSeconds(1)).build()
+        def queued = new BoundedExecutorStrategy(queuedConfig)
+        def started = new CountDownLatch(3)
+        def release = new CountDownLatch(1)
+        def executor = queued.executor("foo")
+
+        when:
+        5.times { executor.execute({ started.countDown(); release.await() }) }
+
+        then:
+        started.await(5, TimeUnit.SECONDS)
+        with(executor.stats()) {
+            activeCount == 3
+            poolSize == 3
+            queueSize == 2
+            rejectedTaskCount == 0
+        }
+
+        cleanup:
+        release.countDown()
+        queued.close()
+    }
+
+    def "close() should shut down executors and prevent creation of new ones"() {
+        given:
+        def executor = strategy.executor("foo")
+
+        when:
+        strategy.close()
+
+        then:
+        executor.isShutdown()
+
+        when:
+        strategy.executor("foo")
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "default configuration should create the same pool as before executor strategies were introduced"() {
+        given:
+        def pool = AbstractExecutorStrategy.createThreadPool("foo", Tsc4jExecutorConfig.builder().build())
+
+        expect:
+        pool.getCorePoolSize() == 0
+        pool.getMaximumPoolSize() == 500
+        pool.getKeepAliveTime(TimeUnit.SECONDS) == 5
+        pool.getQueue().remainingCapacity() == 0
+
+        cleanup:
+        pool.shutdown()
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl
+
+import com.github.tsc4j.core.Tsc4jCacheStats
+import com.github.tsc4j.testsupport.TestClock
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Duration
+import java.util.concurrent.Executor
+import java.util.function.Function
+
+@Unroll
+class BoundedTsc4jCacheSpec extends Specification {
+    static def cacheTtl = Duration.ofMinutes(5)
+
+    def clock = new TestClock()
+
+    def "empty cache should be empty"() {
+        given:
+        def cache = createCache(10)
+
+        expect:
+        cache.size() == 0
+        !cache.get("foo").isPresent()
+        cache.stats() == new Tsc4jCacheStats(0, 1, 0, 0)
+    }
+
+    def "added entry should be available until it expires"() {
+        given:
+        def cache = createCache(10)
+
+        when:
+        def res = cache.put("a", "x")
+
+        then:
+        res.is(cache)
+        cache.get("a").get() == "x"
+
+        when: "move clock before expiration time"
+        clock.plus(cacheTtl.minusSeconds(1))
+
+        then:
+        cache.get("a").get() == "x"
+
+        when: "move clock to expiration time"
+        clock.plus(Duration.ofSeconds(1))
+
+        then:
+        !cache.get("a").isPresent()
+        cache.size() == 0
+        cache.stats() == new Tsc4jCacheStats(2, 1, 0, 1)
+    }
+
+    def "entries should expire in write order"() {
+        given:
+        def cache = createCache(10)
+
+        when:
+        cache.put("a", "1")
+        clock.plus(Duration.ofMinutes(1))
+        cache.put("b", "2")
+        clock.plus(Duration.ofMinutes(1))
+        cache.put("a", "3") // rewrite renews the entry
+        clock.plus(cacheTtl.minusMinutes(1))
+
+        then: "b is expired, a was rewritten and is still valid"
+        cache.size() == 1
+        !cache.get("b").isPresent()
+        cache.get("a").get() == "3"
+        cache.stats().expirationCount == 1
+    }
+
+    def "clear() should clear the cache"() {
+        given:
+        def cache = createCache(10)
+        (1..5).each { cache.put("k" + it, "v" + it) }
+
+        expect:
+        cache.size() == 5
+
+        when:
+        def res = cache.clear()
+
+        then:
+        res.is(cache)
+        cache.size() == 0
+        !cache.get("k1").isPresent()
+
+        when: "cache is usable after clearing"
+        cache.put("k1", "x")
+
+        then:
+        cache.get("k1").get() == "x"
+    }
+
+    def "cache should never exceed max size #maxSize"() {
+        given:
+        def cache = createCache(maxSize)
+        def numEntries = 1000
+
+        when:
+        (1..numEntries).each { cache.put("key-" + it, "value-" + it) }
+
+        then:
+        cache.size() == Math.min(maxSize, numEntries)
+        cache.stats().evictionCount == Math.max(0, numEntries - maxSize)
+
+        where:
+        maxSize << [1, 2, 10, 100, 999, 1000, 5000]
+    }
+
+    def "cache should not be size-bounded if max size is #maxSize"() {
+        given:
+        def cache = createCache(maxSize)
+
+        when:
+        (1..20_000).each { cache.put(it, it) }
+
+        then:
+        cache.size() == 20_000
+        cache.stats().evictionCount == 0
+
+        where:
+        maxSize << [0, -1]
+    }
+
+    def "frequently used entries should survive a flood of one-time entries"() {
+        given:
+        def cache = createCache(100)
+        def hotKeys = (1..50).collect { "hot-" + it }
+        hotKeys.each { cache.put(it, it) }
+        cache.put("filler", "x") // pushes last hot key out of the admission window
+
+        and: "hot keys are used repeatedly"
+        5.times { hotKeys.each { assert cache.get(it).isPresent() } }
+
+        when: "cache is flooded with one-time entries"
+        (1..10_000).each { cache.put("cold-" + it, "x") }
+
+        then:
+        cache.size() == 100
+        cache.stats().evictionCount == 10_000 + 51 - 100
+        hotKeys.every { cache.get(it).isPresent() }
+    }
+
+    def "should refresh entries ahead of expiration"() {
+        given:
+        def loads = []
+        def loader = { key -> loads << key; key + "-reloaded" } as Function
+        def executor = { Runnable r -> r.run() } as Executor
+        def cache = createCache(10).setRefreshAhead(Duration.ofMinutes(4), loader, executor)
+        cache.put("a", "a")
+
+        expect: "young entry is not refreshed"
+        cache.get("a").get() == "a"
+        loads.isEmpty()
+
+        when: "entry becomes old"
+        clock.plus(Duration.ofMinutes(4))
+        def stale = cache.get("a")
+
+        then: "stale value is returned, entry is reloaded"
+        stale.get() == "a"
+        loads == ["a"]
+        cache.get("a").get() == "a-reloaded"
+
+        when: "reloaded entry is valid for another ttl period"
+        clock.plus(Duration.ofMinutes(3))
+
+        then:
+        cache.get("a").get() == "a-reloaded"
+        loads == ["a"]
+    }
+
+    def "failed refresh should retain cached entry"() {
+        given:
+        def loader = { key -> throw new RuntimeException("boom") } as Function
+        def executor = { Runnable r -> r.run() } as Executor
+        def cache = createCache(10).setRefreshAhead(Duration.ofMinutes(1), loader, executor)
+        cache.put("a", "a")
+
+        when:
+        clock.plus(Duration.ofMinutes(2))
+
+        then:
+        cache.get("a").get() == "a"
+        cache.get("a").get() == "a"
+    }
+
+    def "stats should compute hit rate"() {
+        given:
+        def cache = createCache(10)
+        cache.put("a", "a")
+
+        when:
+        3.times { cache.get("a") }
+        cache.get("b")
+        def stats = cache.stats()
+
+        then:
+        stats.hitCount == 3
+        stats.missCount == 1
+        stats.requestCount() == 4
+        stats.hitRate() == 0.75d
+    }
+
+    def "frequency sketch should estimate frequencies"() {
+        given:
+        def sketch = new BoundedTsc4jCache.FrequencySketch(100)
+
+        when:
+        10.times { sketch.increment("foo") }
+        20.times { sketch.increment("bar") }
+
+        then:
+        sketch.frequency("foo") >= 10
+        sketch.frequency("bar") == 15 // counters saturate
+        sketch.frequency("baz") <= 1
+    }
+
+    BoundedTsc4jCache createCache(int maxSize) {
+        new BoundedTsc4jCache("test-cache", cacheTtl, maxSize, clock)
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl
+
+import com.github.tsc4j.core.Tsc4jExecutorConfig
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class BulkheadExecutorStrategySpec extends Specification {
+    def strategy = new BulkheadExecutorStrategy(Tsc4jExecutorConfig.builder().maxThreads(1).build())
+
+    def cleanup() {
+        strategy.close()
+    }
+
+    def "each bulkhead should get it's own executor"() {
+        when:
+        def s3 = strategy.executor("aws2.s3")
+        def ssm = strategy.executor("aws2.ssm")
+
+        then:
+        strategy.getType() == Tsc4jExecutorConfig.Strategy.BULKHEAD
+        !s3.is(ssm)
+        s3.is(strategy.executor("aws2.s3"))
+        s3.getName() == "aws2.s3"
+        strategy.stats().keySet() == ["aws2.s3", "aws2.ssm"] as Set
+    }
+
+    def "saturated bulkhead should not affect other bulkheads"() {
+        given:
+        def started = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def slow = strategy.executor("slow")
+        slow.execute({ started.countDown(); release.await() })
+        started.await()
+
+        when:
+        def threadName = strategy.executor("fast").submit({ Thread.currentThread().getName() } as Callable)
+                                 .get(5, TimeUnit.SECONDS)
+
+        then:
+        threadName.startsWith("tsc4j-fast-")
+        strategy.stats()["slow"].activeCount == 1
+        strategy.stats()["slow"].utilization() == 1.0
+        strategy.stats()["fast"].rejectedTaskCount == 0
+
+        cleanup:
+        release.countDown()
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl
+
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
+
+@Unroll
+class ClasspathResourceIndexSpec extends Specification {
+    @Shared
+    File jarFile
+
+    @Shared
+    URLClassLoader classLoader
+
+    def setupSpec() {
+        def innerJar = jar([
+            "nested/"      : null,
+            "nested/c.conf": "c = 3"
+        ])
+
+        jarFile = Files.createTempFile("tsc4j-classpath-index", ".jar").toFile()
+        jarFile.bytes = jar([
+            "config/"           : null,
+            "config/a.conf"     : "a = 1",
+            "config/sub/"       : null,
+            "config/sub/b.conf" : "b = 2",
+            "lib/"              : null,
+            "lib/inner.jar"     : innerJar,
+            "application.conf"  : "x = y"
+        ])
+        classLoader = new URLClassLoader([jarFile.toURI().toURL()] as URL[], (ClassLoader) null)
+    }
+
+    def cleanupSpec() {
+        classLoader?.close()
+        jarFile?.delete()
+    }
+
+    def "forClassLoader() should return the same instance for the same class loader"() {
+        expect:
+        ClasspathResourceIndex.forClassLoader(classLoader).is(ClasspathResourceIndex.forClassLoader(classLoader))
+    }
+
+    def "should recognize jar directories: #path"() {
+        given:
+        def index = ClasspathResourceIndex.forClassLoader(classLoader)
+
+        expect:
+        index.exists(path) == exists
+        index.isDirectory(path) == isDir
+        index.list(path) == listing
+
+        where:
+        path                | exists | isDir | listing
+        "/config/"          | true   | true  | ["a.conf", "sub"]
+        "config"            | true   | true  | ["a.conf", "sub"]
+        "/config/sub"       | true   | true  | ["b.conf"]
+        "/config/a.conf"    | true   | false | []
+        "/application.conf" | true   | false | []
+        "/nonexistent"      | false  | false | []
+    }
+
+    def "should list nested jar directories"() {
+        given:
+        def index = ClasspathResourceIndex.forClassLoader(classLoader)
+        def url = new URL("jar:" + jarFile.toURI().toURL() + "!/lib/inner.jar!/nested")
+
+        expect:
+        index.isDirectory(url)
+        index.list(url).collect() == ["c.conf"]
+    }
+
+    def "should parse resources only once"() {
+        given:
+        def index = ClasspathResourceIndex.forClassLoader(classLoader)
+
+        when:
+        def configA = index.parse("/config/a.conf")
+        def configB = index.parse("config/a.conf")
+
+        then:
+        configA.getInt("a") == 1
+        configA.is(configB)
+    }
+
+    static byte[] jar(Map<String, Object> entries) {
+        def baos = new ByteArrayOutputStream()
+        def jos = new JarOutputStream(baos)
+        entries.each { name, content ->
+            jos.putNextEntry(new JarEntry(name))
+            if (content != null) {
+                jos.write(content instanceof byte[] ? (byte[]) content : content.toString().getBytes("UTF-8"))
+            }
+            jos.closeEntry()
+        }
+        jos.close()
+        baos.toByteArray()
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl
+
+import com.github.tsc4j.core.Tsc4jCache
+import com.github.tsc4j.core.Tsc4jExecutor
+import com.github.tsc4j.core.Tsc4jMetrics
+import spock.lang.Specification
+
+class CompositeTsc4jMetricsSpec extends Specification {
+    def composite = new CompositeTsc4jMetrics()
+
+    def "should dispatch measurements to all delegates"() {
+        given:
+        def a = Mock(Tsc4jMetrics)
+        def b = Mock(Tsc4jMetrics)
+        composite.add(a)
+        composite.add(b)
+
+        when:
+        composite.configRefresh("config", 1, true)
+        composite.sourceFetch("source", 2, false)
+        composite.transform("transformer", 3, true)
+        composite.valueProviderFetch("provider", 10, 4, true)
+        composite.reloadableUpdate("a.b", 5)
+        composite.slowConsumer("a.b", 6)
+
+        then:
+        1 * a.configRefresh("config", 1, true)
+        1 * a.sourceFetch("source", 2, false)
+        1 * a.transform("transformer", 3, true)
+        1 * a.valueProviderFetch("provider", 10, 4, true)
+        1 * a.reloadableUpdate("a.b", 5)
+        1 * a.slowConsumer("a.b", 6)
+
+        1 * b.configRefresh("config", 1, true)
+        1 * b.sourceFetch("source", 2, false)
+        1 * b.transform("transformer", 3, true)
+        1 * b.valueProviderFetch("provider", 10, 4, true)
+        1 * b.reloadableUpdate("a.b", 5)
+        1 * b.slowConsumer("a.b", 6)
+    }
+
+    def "should ignore exceptions thrown by delegates"() {
+        given:
+        def a = Mock(Tsc4jMetrics)
+        def b = Mock(Tsc4jMetrics)
+        composite.add(a)
+        composite.add(b)
+
+        when:
+        composite.sourceFetch("source", 1, true)
+
+        then:
+        noExceptionThrown()
+        1 * a.sourceFetch("source", 1, true) >> { throw new RuntimeException("boom") }
+        1 * b.sourceFetch("source", 1, true)
+    }
+
+    def "add() and remove() should manage delegates"() {
+        given:
+        def metrics = Mock(Tsc4jMetrics)
+
+        expect:
+        composite.isEmpty()
+        composite.add(metrics)
+        !composite.add(metrics)
+        !composite.add(composite)
+        !composite.isEmpty()
+
+        when:
+        composite.remove(metrics)
+        composite.configRefresh("config", 1, true)
+
+        then:
+        0 * metrics._
+        composite.isEmpty()
+        !composite.remove(metrics)
+    }
+
+    def "delegates should be notified about caches created before their registration"() {
+        given:
+        def cacheA = Mock(Tsc4jCache)
+        def cacheB = Mock(Tsc4jCache)
+        def metrics = Mock(Tsc4jMetrics)
+
+        composite.cacheCreated("a", cacheA)
+
+        when:
+        composite.add(metrics)
+
+        then:
+        1 * metrics.cacheCreated("a", cacheA)
+
+        when:
+        composite.cacheCreated("b", cacheB)
+
+        then:
+        1 * metrics.cacheCreated("b", cacheB)
+        0 * metrics.cacheCreated("a", _)
+    }
+
+    def "delegates should be notified about executors created before their registration"() {
+        given:
+        def executorA = Mock(Tsc4jExecutor)
+        def executorB = Mock(Tsc4jExecutor)
+        def metrics = Mock(Tsc4jMetrics)
+
+        composite.executorCreated("a", executorA)
+
+        when:
+        composite.add(metrics)
+
+        then:
+        1 * metrics.executorCreated("a", executorA)
+
+        when:
+        composite.executorCreated("b", executorB)
+
+        then:
+        1 * metrics.executorCreated("b", executorB)
+        0 * metrics.executorCreated("a", _)
+    }
+}
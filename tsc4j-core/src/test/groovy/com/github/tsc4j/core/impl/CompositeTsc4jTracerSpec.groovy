@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl
+
+import com.github.tsc4j.core.Tsc4jSpan
+import com.github.tsc4j.core.Tsc4jStage
+import com.github.tsc4j.core.Tsc4jTracer
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+
+class CompositeTsc4jTracerSpec extends Specification {
+    def composite = new CompositeTsc4jTracer()
+
+    def "should return noop span if there are no delegates"() {
+        expect:
+        composite.isEmpty()
+        composite.start(Tsc4jStage.REFRESH, "foo").is(Tsc4jSpan.NOOP)
+    }
+
+    def "should return delegate's span if there is only one delegate"() {
+        given:
+        def span = Mock(Tsc4jSpan)
+        def tracer = Mock(Tsc4jTracer)
+        composite.add(tracer)
+
+        when:
+        def result = composite.start(Tsc4jStage.MERGE, "foo")
+
+        then:
+        1 * tracer.start(Tsc4jStage.MERGE, "foo") >> span
+        result.is(span)
+    }
+
+    def "should dispatch to spans of all delegates"() {
+        given:
+        def spanA = Mock(Tsc4jSpan)
+        def spanB = Mock(Tsc4jSpan)
+        def tracerA = Mock(Tsc4jTracer) { start(_, _) >> spanA }
+        def tracerB = Mock(Tsc4jTracer) { start(_, _) >> spanB }
+        composite.add(tracerA)
+        composite.add(tracerB)
+        def exception = new RuntimeException("boom")
+
+        when:
+        def span = composite.start(Tsc4jStage.SOURCE_FETCH, "foo")
+        def recording = span.isRecording()
+        span.setAttribute("a", 1)
+        span.setAttribute("b", "c")
+        span.setError(exception)
+        span.close()
+
+        then:
+        1 * spanA.isRecording() >> false
+        1 * spanB.isRecording() >> true
+        recording
+
+        1 * spanA.setAttribute("a", 1)
+        1 * spanB.setAttribute("a", 1)
+        1 * spanA.setAttribute("b", "c")
+        1 * spanB.setAttribute("b", "c")
+        1 * spanA.setError(exception)
+        1 * spanB.setError(exception)
+        1 * spanA.close()
+        1 * spanB.close()
+    }
+
+    def "should ignore delegates that throw or return null"() {
+        given:
+        def span = Mock(Tsc4jSpan)
+        composite.add(Mock(Tsc4jTracer) { start(_, _) >> { throw new RuntimeException("boom") } })
+        composite.add(Mock(Tsc4jTracer) { start(_, _) >> null })
+
+        expect:
+        composite.start(Tsc4jStage.CHECKSUM, "foo").is(Tsc4jSpan.NOOP)
+
+        when:
+        composite.add(Mock(Tsc4jTracer) { start(_, _) >> span })
+        composite.start(Tsc4jStage.CHECKSUM, "foo").close()
+
+        then:
+        1 * span.close()
+    }
+
+    def "wrap() should return the same task if there are no delegates"() {
+        given:
+        def runnable = {} as Runnable
+        def callable = { 42 } as Callable
+
+        expect:
+        composite.wrap(runnable).is(runnable)
+        composite.wrap(callable).is(callable)
+        composite.current().is(Tsc4jSpan.NOOP)
+    }
+
+    def "wrap() should wrap task using all delegates"() {
+        given:
+        def task = { 42 } as Callable
+        def wrappedA = { 43 } as Callable
+        def wrappedB = { 44 } as Callable
+        def tracerA = Mock(Tsc4jTracer)
+        def tracerB = Mock(Tsc4jTracer)
+        composite.add(tracerA)
+        composite.add(tracerB)
+
+        when:
+        def result = composite.wrap(task)
+
+        then:
+        1 * tracerA.wrap(task) >> wrappedA
+        1 * tracerB.wrap(wrappedA) >> wrappedB
+        result.is(wrappedB)
+    }
+
+    def "add() and remove() should manage delegates"() {
+        given:
+        def tracer = Mock(Tsc4jTracer)
+
+        expect:
+        composite.add(tracer)
+        !composite.add(tracer)
+        !composite.add(composite)
+        !composite.isEmpty()
+        composite.remove(tracer)
+        !composite.remove(tracer)
+        composite.isEmpty()
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl
+
+import com.typesafe.config.ConfigFactory
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ConfigSnapshotStoreSpec extends Specification {
+    static def key = Base64.encoder.encodeToString((1..32).collect { it as byte } as byte[])
+    static def config = ConfigFactory.parseMap([
+        "foo"   : "bar",
+        "secret": [password: "s3cr3t", port: 42]
+    ])
+
+    Path dir = Files.createTempDirectory("tsc4j-snapshot")
+    Path file = dir.resolve("sub/snapshot.conf")
+
+    def cleanup() {
+        dir.toFile().deleteDir()
+    }
+
+    def "should write and load snapshot, encrypted: #encrypted"() {
+        given:
+        def store = new ConfigSnapshotStore(file, "fp1", encrypted ? key : null)
+
+        when:
+        def written = store.save(config)
+
+        then:
+        written
+        Files.exists(file)
+        ConfigFactory.parseFile(file.toFile()).getBoolean("tsc4j-snapshot.encrypted") == encrypted
+        !file.toFile().text.contains("s3cr3t")
+        dir.resolve("sub").toFile().list() as List == ["snapshot.conf"]
+
+        when:
+        def loaded = new ConfigSnapshotStore(file, "fp1", encrypted ? key : null).load()
+
+        then:
+        loaded.isPresent()
+        loaded.get() == config
+
+        where:
+        encrypted << [false, true]
+    }
+
+    def "should not load snapshot with different fingerprint or without key"() {
+        given:
+        new ConfigSnapshotStore(file, "fp1", key).save(config)
+
+        expect:
+        !new ConfigSnapshotStore(file, "fp2", key).load().isPresent()
+        !new ConfigSnapshotStore(file, "fp1", null).load().isPresent()
+        new ConfigSnapshotStore(file, "fp1", key).load().isPresent()
+    }
+
+    def "should not load missing or corrupted snapshot"() {
+        given:
+        def store = new ConfigSnapshotStore(file, "fp1", null)
+
+        expect:
+        !store.load().isPresent()
+
+        when:
+        Files.createDirectories(file.parent)
+        file.toFile().text = "tsc4j-snapshot { version = 1, fingerp"
+
+        then:
+        !store.load().isPresent()
+    }
+
+    def "should not rewrite unchanged snapshot"() {
+        given:
+        def store = new ConfigSnapshotStore(file, "fp1", null)
+
+        expect:
+        store.save(config)
+        !store.save(config)
+        store.save(config.withValue("foo", com.typesafe.config.ConfigValueFactory.fromAnyRef("baz")))
+    }
+
+    def "should reject invalid key"() {
+        when:
+        new ConfigSnapshotStore(file, "fp1", Base64.encoder.encodeToString("short".bytes))
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
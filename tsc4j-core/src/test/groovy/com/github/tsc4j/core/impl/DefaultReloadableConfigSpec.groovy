@@ -290,6 +290,36 @@ class DefaultReloadableConfigSpec extends AbstractReloadableConfigSpec<DefaultRe
         rc?.close()
     }
 
+    def "should serve initial config until first refresh completes"() {
+        given:
+        def latch = new java.util.concurrent.CountDownLatch(1)
+        def configSupplier = {
+            latch.await(5, TimeUnit.SECONDS)
+            ConfigFactory.parseMap([foo: "fetched"])
+        } as Supplier<Config>
+
+        and:
+        def rc = DefaultReloadableConfig.builder()
+                                        .configSupplier(configSupplier)
+                                        .refreshInterval(Duration.ZERO)
+                                        .initialConfig(ConfigFactory.parseMap([foo: "snapshot"]))
+                                        .build()
+
+        expect: "initial config is available immediately"
+        rc.isPresent()
+        rc.getSync().getString("foo") == "snapshot"
+
+        when: "fetch completes"
+        latch.countDown()
+        Thread.sleep(200)
+
+        then:
+        rc.getSync().getString("foo") == "fetched"
+
+        cleanup:
+        rc?.close()
+    }
+
     def "register(Class) should throw on null arguments"() {
         given:
         def rc = createReloadableConfig()
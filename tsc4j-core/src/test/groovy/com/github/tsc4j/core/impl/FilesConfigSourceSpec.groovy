@@ -23,6 +23,15 @@ import com.github.tsc4j.core.FilesystemLikeConfigSourceSpec
 import groovy.util.logging.Slf4j
 import spock.lang.Shared
 
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.nio.file.StandardCopyOption
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.zip.GZIPOutputStream
+
 @Slf4j
 class FilesConfigSourceSpec extends FilesystemLikeConfigSourceSpec {
     @Shared
@@ -86,6 +95,119 @@ class FilesConfigSourceSpec extends FilesystemLikeConfigSourceSpec {
         config.getString("sect_zz.y") == "bar"
     }
 
+    def "should decompress compressed files in conf.d directory"() {
+        given:
+        def dir = Files.createTempDirectory("tsc4j-files-compressed")
+        write(dir.resolve("application.conf"), 'foo = 1\nbar = a')
+        writeGzip(dir.resolve("conf.d/x.conf.gz"), 'bar = b\nbaz = c')
+
+        and:
+        def source = builder()
+            .withPath(dir.toString())
+            .setWatch(watch)
+            .build()
+
+        when:
+        def config = source.get(defaultConfigQuery)
+
+        then:
+        config.getInt("foo") == 1
+        config.getString("bar") == "b"
+        config.getString("baz") == "c"
+
+        cleanup:
+        source?.close()
+        dir?.toFile()?.deleteDir()
+
+        where:
+        watch << [false, true]
+    }
+
+    def "watch mode should notify change listeners and reuse unchanged parsed files"() {
+        given:
+        def dir = Files.createTempDirectory("tsc4j-files-watch")
+        write(dir.resolve("application.conf"), 'include "included.conf"\nfoo = 1')
+        write(dir.resolve("included.conf"), 'bar = a')
+
+        and:
+        def source = builder()
+            .withPath(dir.toString())
+            .setWatch(true)
+            .setWatchDebounce(Duration.ofMillis(50))
+            .build()
+        def latch = new CountDownLatch(1)
+        source.addChangeListener({ latch.countDown() })
+
+        when: "config is fetched twice"
+        def configA = source.get(defaultConfigQuery)
+        def configB = source.get(defaultConfigQuery)
+
+        then:
+        configA.getInt("foo") == 1
+        configA.getString("bar") == "a"
+        configB == configA
+
+        when: "included file changes"
+        write(dir.resolve("included.conf"), 'bar = bb')
+
+        then:
+        latch.await(10, TimeUnit.SECONDS)
+        source.get(defaultConfigQuery).getString("bar") == "bb"
+
+        cleanup:
+        source?.close()
+        dir?.toFile()?.deleteDir()
+    }
+
+    def "should read kubernetes volume from single ..data snapshot and notify listeners after symlink swap"() {
+        given: "kubernetes-like volume layout"
+        def dir = Files.createTempDirectory("tsc4j-files-k8s")
+        write(dir.resolve("..2022_01_01/application.conf"), 'foo = old')
+        Files.createSymbolicLink(dir.resolve("..data"), Paths.get("..2022_01_01"))
+        Files.createSymbolicLink(dir.resolve("application.conf"), Paths.get("..data/application.conf"))
+
+        and:
+        def source = builder()
+            .withPath(dir.toString())
+            .setWatch(true)
+            .setWatchDebounce(Duration.ofMillis(50))
+            .build()
+        def latch = new CountDownLatch(1)
+        source.addChangeListener({ latch.countDown() })
+
+        expect:
+        source.get(defaultConfigQuery).getString("foo") == "old"
+
+        when: "new snapshot is written, but not yet published"
+        write(dir.resolve("..2022_01_02/application.conf"), 'foo = new')
+
+        then:
+        !latch.await(500, TimeUnit.MILLISECONDS)
+        source.get(defaultConfigQuery).getString("foo") == "old"
+
+        when: "..data symlink is atomically swapped"
+        Files.createSymbolicLink(dir.resolve("..data_tmp"), Paths.get("..2022_01_02"))
+        Files.move(dir.resolve("..data_tmp"), dir.resolve("..data"), StandardCopyOption.ATOMIC_MOVE)
+
+        then:
+        latch.await(10, TimeUnit.SECONDS)
+        source.get(defaultConfigQuery).getString("foo") == "new"
+
+        cleanup:
+        source?.close()
+        dir?.toFile()?.deleteDir()
+    }
+
+    def write(Path path, String content) {
+        Files.createDirectories(path.parent)
+        path.toFile().setText(content, "UTF-8")
+    }
+
+    def writeGzip(Path path, String content) {
+        Files.createDirectories(path.parent)
+        new GZIPOutputStream(Files.newOutputStream(path)).withCloseable { it.write(content.getBytes("UTF-8")) }
+    }
+
     FilesConfigSource.Builder builder() {
         FilesConfigSource.builder()
     }
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl
+
+import com.github.tsc4j.core.ConfigQuery
+import com.sun.net.httpserver.HttpServer
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class HttpClientTransportSpec extends Specification {
+    def query = ConfigQuery.builder().appName("myApp").build()
+    def server = HttpServer.create(new InetSocketAddress("localhost", 0), 0)
+
+    def setup() {
+        server.executor = Executors.newCachedThreadPool()
+        server.start()
+    }
+
+    def cleanup() {
+        server.stop(0)
+        server.executor.shutdownNow()
+    }
+
+    def "url source should send all requests at once"() {
+        given: "each response is held until all requests arrive"
+        def latch = new CountDownLatch(2)
+        def concurrent = Collections.synchronizedList([])
+        ["a", "b"].each { name ->
+            server.createContext("/${name}.conf", { exchange ->
+                latch.countDown()
+                concurrent.add(latch.await(5, TimeUnit.SECONDS))
+                respond(exchange, 200, [:], "${name} = 1, foo = ${name}")
+            })
+        }
+
+        and:
+        def source = urlSource(URLConfigSource.builder()
+                                             .url(url("/a.conf"))
+                                             .url(url("/b.conf")))
+
+        when:
+        def config = source.get(query)
+
+        then:
+        concurrent == [true, true]
+        config.root().unwrapped() == [a: 1, b: 1, foo: "b"]
+
+        cleanup:
+        source?.close()
+    }
+
+    def "url source should send conditional requests and reuse parsed config on 304 response"() {
+        given:
+        def conditionalHeaders = Collections.synchronizedList([])
+        server.createContext("/cond.conf", { exchange ->
+            def etag = exchange.requestHeaders.getFirst("If-None-Match")
+            conditionalHeaders.add(etag)
+            if (etag == '"v1"') {
+                respond(exchange, 304, [:], null)
+            } else {
+                respond(exchange, 200, [ETag: '"v1"'], 'foo = bar')
+            }
+        })
+
+        and:
+        def source = urlSource(URLConfigSource.builder().url(url("/cond.conf")))
+
+        when:
+        def configA = source.get(query)
+        def configB = source.get(query)
+
+        then:
+        configA.root().unwrapped() == [foo: "bar"]
+        configB == configA
+        conditionalHeaders == [null, '"v1"']
+
+        cleanup:
+        source?.close()
+    }
+
+    def "url source should handle missing and failed urls"() {
+        given:
+        server.createContext("/error.conf", { exchange -> respond(exchange, 500, [:], "boom") })
+
+        and:
+        def missing = urlSource(URLConfigSource.builder()
+                                              .url(url("/missing.conf"))
+                                              .setFailOnMissing(false))
+        def failing = urlSource(URLConfigSource.builder().url(url("/error.conf")))
+
+        expect:
+        missing.get(query).isEmpty()
+
+        when:
+        failing.get(query)
+
+        then:
+        def exception = thrown(RuntimeException)
+        exception.message.contains("500")
+
+        cleanup:
+        missing?.close()
+        failing?.close()
+    }
+
+    def "transport should return response status, headers and body"() {
+        given:
+        server.createContext("/foo", { exchange ->
+            assert exchange.requestHeaders.getFirst("X-Foo") == "bar"
+            respond(exchange, 201, ["X-Bar": "baz"], "hello")
+        })
+        def transport = new HttpClientTransport(true)
+        def headers = ["x-foo": "bar", host: "ignored"]
+        def request = new UrlTransport.Request(url("/foo"), "GET", headers, Duration.ofSeconds(5))
+
+        when:
+        def response = transport.send(request).get(5, TimeUnit.SECONDS)
+
+        then:
+        transport.isAsync()
+        response.status == 201
+        response.header("x-bar").get() == "baz"
+        response.body.getText("UTF-8") == "hello"
+    }
+
+    URLConfigSource urlSource(URLConfigSource.Builder builder) {
+        new URLConfigSource(builder, new HttpClientTransport(true))
+    }
+
+    String url(String path) {
+        "http://localhost:${server.address.port}${path}"
+    }
+
+    def respond(exchange, int status, Map<String, String> headers, String body) {
+        def bytes = (body == null) ? new byte[0] : body.getBytes(StandardCharsets.UTF_8)
+        headers.each { k, v -> exchange.responseHeaders.add(k, v) }
+        exchange.sendResponseHeaders(status, (bytes.length == 0) ? -1 : bytes.length)
+        if (bytes.length > 0) {
+            exchange.responseBody.write(bytes)
+        }
+        exchange.close()
+    }
+}
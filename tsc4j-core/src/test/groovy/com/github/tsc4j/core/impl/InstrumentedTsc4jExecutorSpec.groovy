@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl
+
+import com.github.tsc4j.core.Tsc4jExecutorStats
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.SynchronousQueue
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+
+class InstrumentedTsc4jExecutorSpec extends Specification {
+    def pool = new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS, new SynchronousQueue<Runnable>())
+    def executor = new InstrumentedTsc4jExecutor("foo", pool)
+
+    def cleanup() {
+        pool.shutdownNow()
+    }
+
+    def "new executor should have empty statistics"() {
+        expect:
+        executor.getName() == "foo"
+        executor.stats() == new Tsc4jExecutorStats(0, 0, 1, 0, 0, 0)
+    }
+
+    def "should record active and completed tasks"() {
+        given:
+        def started = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+
+        when:
+        def future = executor.submit({ started.countDown(); release.await(); "x" } as Callable)
+        started.await()
+
+        then:
+        with(executor.stats()) {
+            activeCount == 1
+            poolSize == 1
+            completedTaskCount == 0
+            utilization() == 1.0
+        }
+
+        when:
+        release.countDown()
+
+        then:
+        future.get() == "x"
+        new PollingConditions(timeout: 5).eventually {
+            assert executor.stats().completedTaskCount == 1
+            assert executor.stats().activeCount == 0
+        }
+    }
+
+    def "saturated executor should run tasks in submitting thread"() {
+        given:
+        def started = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        executor.execute({ started.countDown(); release.await() })
+        started.await()
+
+        when:
+        def threadName = executor.submit({ Thread.currentThread().getName() } as Callable).get()
+
+        then:
+        threadName == Thread.currentThread().getName()
+        executor.stats().rejectedTaskCount == 1
+
+        cleanup:
+        release.countDown()
+    }
+
+    def "shut down executor should reject tasks"() {
+        given:
+        executor.shutdown()
+
+        when:
+        executor.execute({})
+
+        then:
+        thrown(RejectedExecutionException)
+        executor.isShutdown()
+        executor.stats().rejectedTaskCount == 0
+    }
+}
@@ -24,15 +24,29 @@ import com.github.tsc4j.core.AbstractConfigSourceSpec
 import com.github.tsc4j.core.ConfigQuery
 import com.github.tsc4j.core.ConfigSourceBuilder
 import com.github.tsc4j.core.Tsc4j
+import com.github.tsc4j.core.utils.CompressionUtilsSpec
+import com.github.tsc4j.core.utils.ConfigBundlesSpec
+import com.sun.net.httpserver.HttpServer
 import com.typesafe.config.ConfigFactory
 import groovy.util.logging.Slf4j
 import org.junit.Rule
 import spock.lang.Unroll
+import spock.util.concurrent.PollingConditions
+
+import java.nio.charset.StandardCharsets
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo
 import static com.github.tomakehurst.wiremock.client.WireMock.get
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor
 import static com.github.tomakehurst.wiremock.client.WireMock.givenThat
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo
+import static com.github.tomakehurst.wiremock.client.WireMock.verify
 
 @Unroll
 @Slf4j
@@ -71,6 +85,283 @@ class URLConfigSourceSpec extends AbstractConfigSourceSpec {
         config.getString("x") == "y"
     }
 
+    def "should expand config bundle fetched from url"() {
+        given:
+        def bundle = ConfigBundlesSpec.tar([
+            'application.conf': 'foo = bar, x = y',
+            'conf.d/10-a.conf': 'foo = baz',
+        ])
+        givenThat(get(urlEqualTo('/bundle.tar?v=1'))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/x-tar")
+                .withBody(bundle)))
+
+        and:
+        def source = dummyBuilder()
+            .url("http://localhost:$PORT/bundle.tar?v=1")
+            .build()
+
+        when:
+        def config = source.get(ConfigQuery.builder().appName("myApp").build())
+
+        then:
+        config.root().unwrapped() == [foo: "baz", x: "y"]
+    }
+
+    def "should decompress #name config objects"() {
+        given:
+        givenThat(get(urlEqualTo("/$name"))
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withBody(bytes)))
+
+        and:
+        def source = dummyBuilder()
+            .url("http://localhost:$PORT/$name")
+            .build()
+
+        when:
+        def config = source.get(ConfigQuery.builder().appName("myApp").build())
+
+        then:
+        config.root().unwrapped() == [foo: "bar"]
+
+        where:
+        name                  | bytes
+        'application.conf.gz' | ConfigBundlesSpec.gzip('foo = bar'.getBytes('UTF-8'))
+        'application.json.zst'| CompressionUtilsSpec.zstd('{"foo": "bar"}'.getBytes('UTF-8'))
+    }
+
+    def "should send conditional requests and reuse parsed config on 304 response"() {
+        given:
+        givenThat(get(urlEqualTo('/cond.conf'))
+            .atPriority(10)
+            .willReturn(aResponse()
+                .withStatus(200)
+                .withHeader("ETag", '"v1"')
+                .withHeader("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT")
+                .withBody('foo = bar')))
+        givenThat(get(urlEqualTo('/cond.conf'))
+            .atPriority(1)
+            .withHeader("If-None-Match", equalTo('"v1"'))
+            .withHeader("If-Modified-Since", equalTo("Wed, 21 Oct 2015 07:28:00 GMT"))
+            .willReturn(aResponse().withStatus(304)))
+
+        and:
+        def source = dummyBuilder()
+            .url("http://localhost:$PORT/cond.conf")
+            .build()
+        def query = ConfigQuery.builder().appName("myApp").build()
+
+        when:
+        def configA = source.get(query)
+        def configB = source.get(query)
+
+        then:
+        configA.root().unwrapped() == [foo: "bar"]
+        configB.root().unwrapped() == [foo: "bar"]
+
+        verify(2, getRequestedFor(urlEqualTo('/cond.conf')))
+        verify(1, getRequestedFor(urlEqualTo('/cond.conf')).withHeader("If-None-Match", equalTo('"v1"')))
+    }
+
+    def "should notify change listeners when long-poll endpoint reports new version"() {
+        given:
+        def requests = Collections.synchronizedList([])
+        def server = watchServer { exchange ->
+            def query = exchange.requestURI.query
+            requests.add(query)
+            if (!query.contains("version=")) {
+                respond(exchange, 200, "v1")
+            } else if (query.contains("version=v1")) {
+                Thread.sleep(100)
+                respond(exchange, 200, "v2")
+            } else {
+                Thread.sleep(200)
+                respond(exchange, 304, null)
+            }
+        }
+
+        and:
+        givenThat(get(urlEqualTo('/watched.conf')).willReturn(aResponse().withStatus(200).withBody('foo = bar')))
+        def source = dummyBuilder()
+            .url("http://localhost:$PORT/watched.conf")
+            .setWatchMode(URLConfigSource.WatchMode.LONG_POLL)
+            .setWatchUrl("http://localhost:${server.address.port}/" + '${application}/version')
+            .setWatchRetryInterval(Duration.ofMillis(100))
+            .build()
+
+        def latch = new CountDownLatch(1)
+        source.addChangeListener({ latch.countDown() })
+
+        when:
+        source.get(ConfigQuery.builder().appName("myApp").build())
+
+        then:
+        latch.await(5, TimeUnit.SECONDS)
+        requests[0] == "wait=60"
+        requests[1] == "wait=60&version=v1"
+
+        cleanup:
+        source?.close()
+        server?.stop(0)
+    }
+
+    def "should notify change listeners on server-sent events"() {
+        given:
+        def paths = Collections.synchronizedList([])
+        def server = watchServer { exchange ->
+            paths.add(exchange.requestURI.path)
+            assert exchange.requestHeaders.getFirst("Accept") == "text/event-stream"
+            exchange.responseHeaders.add("Content-Type", "text/event-stream")
+            exchange.sendResponseHeaders(200, 0)
+            def out = exchange.responseBody
+            [": heartbeat\n\n", "id: 1\nevent: change\ndata: v2\n\n"].each {
+                Thread.sleep(100)
+                out.write(it.getBytes(StandardCharsets.UTF_8))
+                out.flush()
+            }
+            Thread.sleep(5000)
+            exchange.close()
+        }
+
+        and:
+        givenThat(get(urlEqualTo('/watched.conf')).willReturn(aResponse().withStatus(200).withBody('foo = bar')))
+        def source = dummyBuilder()
+            .url("http://localhost:$PORT/watched.conf")
+            .setWatchMode(URLConfigSource.WatchMode.parse("sse"))
+            .setWatchUrl("http://localhost:${server.address.port}/" + '${application}/events')
+            .build()
+
+        def latch = new CountDownLatch(1)
+        def notifications = 0
+        source.addChangeListener({ notifications++; latch.countDown() })
+
+        when:
+        source.get(ConfigQuery.builder().appName("myApp").build())
+        source.get(ConfigQuery.builder().appName("myApp").build())
+
+        then:
+        latch.await(5, TimeUnit.SECONDS)
+        notifications == 1
+        paths == ["/myApp/events"]
+
+        cleanup:
+        source?.close()
+        server?.stop(0)
+    }
+
+    def "idle server-sent events stream should be re-established without notifying change listeners"() {
+        given: "server that never sends anything, not even comments"
+        def connections = new AtomicInteger()
+        def server = watchServer { exchange ->
+            connections.incrementAndGet()
+            exchange.responseHeaders.add("Content-Type", "text/event-stream")
+            exchange.sendResponseHeaders(200, 0)
+            exchange.responseBody.flush()
+            Thread.sleep(5000)
+            exchange.close()
+        }
+
+        and:
+        givenThat(get(urlEqualTo('/watched.conf')).willReturn(aResponse().withStatus(200).withBody('foo = bar')))
+        def source = dummyBuilder()
+            .url("http://localhost:$PORT/watched.conf")
+            .setWatchMode(URLConfigSource.WatchMode.SSE)
+            .setWatchUrl("http://localhost:${server.address.port}/events")
+            .setWatchIdleTimeout(Duration.ofMillis(200))
+            .build()
+
+        def notifications = new AtomicInteger()
+        source.addChangeListener({ notifications.incrementAndGet() })
+
+        when:
+        source.get(ConfigQuery.builder().appName("myApp").build())
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert connections.get() >= 3
+        }
+        notifications.get() == 0
+
+        cleanup:
+        source?.close()
+        server?.stop(0)
+    }
+
+    def "lost server-sent events stream should be resumed from last event id without notifying change listeners"() {
+        given:
+        def lastEventIds = Collections.synchronizedList([])
+        def server = watchServer { exchange ->
+            lastEventIds.add(exchange.requestHeaders.getFirst("Last-Event-ID"))
+            exchange.responseHeaders.add("Content-Type", "text/event-stream")
+            exchange.sendResponseHeaders(200, 0)
+            if (lastEventIds.size() == 1) {
+                // event id without data, then stream is lost
+                exchange.responseBody.write("id: 7\n\n".getBytes(StandardCharsets.UTF_8))
+                exchange.responseBody.flush()
+                Thread.sleep(100)
+            } else {
+                Thread.sleep(5000)
+            }
+            exchange.close()
+        }
+
+        and:
+        givenThat(get(urlEqualTo('/watched.conf')).willReturn(aResponse().withStatus(200).withBody('foo = bar')))
+        def source = dummyBuilder()
+            .url("http://localhost:$PORT/watched.conf")
+            .setWatchMode(URLConfigSource.WatchMode.SSE)
+            .setWatchUrl("http://localhost:${server.address.port}/events")
+            .setWatchRetryInterval(Duration.ofMillis(100))
+            .build()
+
+        def notifications = new AtomicInteger()
+        source.addChangeListener({ notifications.incrementAndGet() })
+
+        when:
+        source.get(ConfigQuery.builder().appName("myApp").build())
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert lastEventIds == [null, "7"]
+        }
+        notifications.get() == 0
+
+        cleanup:
+        source?.close()
+        server?.stop(0)
+    }
+
+    def "watch mode should be parsed"() {
+        expect:
+        URLConfigSource.WatchMode.parse(str) == expected
+
+        where:
+        str         | expected
+        "none"      | URLConfigSource.WatchMode.NONE
+        "long-poll" | URLConfigSource.WatchMode.LONG_POLL
+        " SSE "     | URLConfigSource.WatchMode.SSE
+    }
+
+    def watchServer(Closure handler) {
+        def server = HttpServer.create(new InetSocketAddress("localhost", 0), 0)
+        server.executor = Executors.newCachedThreadPool()
+        server.createContext("/", { exchange -> handler.call(exchange) })
+        server.start()
+        server
+    }
+
+    def respond(exchange, int status, String body) {
+        def bytes = (body == null) ? new byte[0] : body.getBytes(StandardCharsets.UTF_8)
+        exchange.sendResponseHeaders(status, (bytes.length == 0) ? -1 : bytes.length)
+        if (bytes.length > 0) {
+            exchange.responseBody.write(bytes)
+        }
+        exchange.close()
+    }
+
     def mockHttpResponses() {
         [
             get(urlEqualTo('/someDc/envA/myApp/foo.conf'))
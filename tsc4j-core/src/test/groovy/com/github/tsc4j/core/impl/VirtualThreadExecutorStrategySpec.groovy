@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.impl
+
+import com.github.tsc4j.core.Tsc4jExecutorConfig
+import spock.lang.IgnoreIf
+import spock.lang.Requires
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.Callable
+
+class VirtualThreadExecutorStrategySpec extends Specification {
+    @Requires({ VirtualThreadExecutorStrategy.isSupported() })
+    def "should run tasks in virtual threads"() {
+        given:
+        def strategy = new VirtualThreadExecutorStrategy()
+
+        when:
+        def executor = strategy.executor("aws2.s3")
+        def thread = executor.submit({ Thread.currentThread() } as Callable).get()
+
+        then:
+        strategy.getType() == Tsc4jExecutorConfig.Strategy.VIRTUAL
+        thread.isVirtual()
+        thread.getName().startsWith("tsc4j-aws2.s3-")
+        strategy.stats()["aws2.s3"].maxPoolSize == 0
+        strategy.stats()["aws2.s3"].utilization() == 0.0
+        new PollingConditions(timeout: 5).eventually {
+            assert strategy.stats()["aws2.s3"].completedTaskCount == 1
+        }
+
+        cleanup:
+        strategy.close()
+    }
+
+    @IgnoreIf({ VirtualThreadExecutorStrategy.isSupported() })
+    def "should not be created if runtime doesn't support virtual threads"() {
+        when:
+        new VirtualThreadExecutorStrategy()
+
+        then:
+        thrown(IllegalStateException)
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.utils
+
+import com.github.luben.zstd.ZstdOutputStream
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.charset.StandardCharsets
+import java.util.zip.DeflaterOutputStream
+
+@Unroll
+class CompressionUtilsSpec extends Specification {
+    static def content = 'foo = bar\n' * 100
+
+    def "compressionOf('#path') should return #expected"() {
+        expect:
+        CompressionUtils.compressionOf(path).orElse(null) == expected
+        CompressionUtils.isCompressed(path) == (expected != null)
+        CompressionUtils.stripCompressionSuffix(path) == stripped
+
+        where:
+        path                          | expected | stripped
+        's3://b/application.conf'     | null     | 's3://b/application.conf'
+        's3://b/application.conf.gz'  | 'gzip'   | 's3://b/application.conf'
+        's3://b/application.json.ZST' | 'zstd'   | 's3://b/application.json'
+        'bundle.tar.zstd'             | 'zstd'   | 'bundle.tar'
+        'gz'                          | null     | 'gz'
+    }
+
+    def "zstd should be available in tests"() {
+        expect:
+        CompressionUtils.isZstdAvailable()
+        CompressionUtils.acceptEncoding() == 'zstd, gzip, deflate'
+    }
+
+    def "decompress() should decode #encoding streams"() {
+        when:
+        def is = CompressionUtils.decompress(new ByteArrayInputStream(bytes), encoding)
+
+        then:
+        new String(is.bytes, StandardCharsets.UTF_8) == content
+
+        where:
+        encoding   | bytes
+        null       | raw()
+        ''         | raw()
+        'identity' | raw()
+        'gzip'     | ConfigBundlesSpec.gzip(raw())
+        ' X-GZIP ' | ConfigBundlesSpec.gzip(raw())
+        'deflate'  | deflate(raw())
+        'zstd'     | zstd(raw())
+    }
+
+    def "decompressPath() should decode according to path suffix"() {
+        when:
+        def is = CompressionUtils.decompressPath(new ByteArrayInputStream(zstd(raw())), 'application.conf.zst')
+
+        then:
+        new String(is.bytes, StandardCharsets.UTF_8) == content
+    }
+
+    def "decompress() should throw on unsupported encodings"() {
+        when:
+        CompressionUtils.decompress(new ByteArrayInputStream(raw()), 'br')
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    static byte[] raw() {
+        content.getBytes(StandardCharsets.UTF_8)
+    }
+
+    static byte[] deflate(byte[] bytes) {
+        def out = new ByteArrayOutputStream()
+        new DeflaterOutputStream(out).withCloseable { it.write(bytes) }
+        out.toByteArray()
+    }
+
+    static byte[] zstd(byte[] bytes) {
+        def out = new ByteArrayOutputStream()
+        new ZstdOutputStream(out).withCloseable { it.write(bytes) }
+        out.toByteArray()
+    }
+}
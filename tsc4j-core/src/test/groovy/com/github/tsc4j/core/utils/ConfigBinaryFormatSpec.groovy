@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.utils
+
+import com.github.tsc4j.core.Tsc4jImplUtils
+import com.typesafe.config.ConfigFactory
+import com.typesafe.config.ConfigParseOptions
+import com.typesafe.config.ConfigValueType
+import spock.lang.Specification
+import spock.lang.Unroll
+
+@Unroll
+class ConfigBinaryFormatSpec extends Specification {
+    static def hocon = '''
+        # database settings
+        db {
+          host = "localhost"
+          port = 5432
+          timeout = 2.5
+          big = 9999999999
+          negative = -42
+          enabled = true
+          disabled = false
+          nothing = null
+        }
+        list = [1, "two", { three = 3 }, [4]]
+        empty-list = []
+        empty-obj {}
+        "quoted.key" = "ščćž ✓"
+        ref = ${db.host}
+    '''
+
+    static def config = ConfigFactory.parseString(hocon, ConfigParseOptions.defaults().setOriginDescription("test.conf"))
+                                     .resolve()
+
+    def "should round-trip config"() {
+        when:
+        def bytes = ConfigBinaryFormat.write(config)
+        def decoded = ConfigBinaryFormat.read(bytes)
+
+        then:
+        decoded == config
+        decoded.root().render() == config.root().render()
+        ConfigBinaryFormat.isBinaryConfig(bytes)
+    }
+
+    def "should preserve number types"() {
+        when:
+        def decoded = ConfigBinaryFormat.read(ConfigBinaryFormat.write(config))
+
+        then:
+        decoded.getValue("db.port").unwrapped() instanceof Integer
+        decoded.getValue("db.big").unwrapped() instanceof Long
+        decoded.getValue("db.timeout").unwrapped() instanceof Double
+        decoded.getInt("db.negative") == -42
+        decoded.getValue("db.nothing").valueType() == ConfigValueType.NULL
+    }
+
+    def "should preserve origins"() {
+        when:
+        def decoded = ConfigBinaryFormat.read(ConfigBinaryFormat.write(config))
+        def origin = decoded.getValue("db.port").origin()
+        def expected = config.getValue("db.port").origin()
+
+        then:
+        origin.description() == expected.description()
+        origin.lineNumber() == expected.lineNumber()
+        decoded.getObject("db").origin().comments() == config.getObject("db").origin().comments()
+    }
+
+    def "should preserve file origins"() {
+        given:
+        def file = File.createTempFile("tsc4j-binary", ".conf")
+        file.text = "a = 1\nb = 2"
+        def fileConfig = ConfigFactory.parseFile(file).resolve()
+
+        when:
+        def decoded = ConfigBinaryFormat.read(ConfigBinaryFormat.write(fileConfig))
+
+        then:
+        decoded.getValue("b").origin().filename() == file.path
+        decoded.getValue("b").origin().lineNumber() == 2
+
+        cleanup:
+        file?.delete()
+    }
+
+    def "should store strings only once"() {
+        given:
+        def value = "x" * 100
+        def cfg = ConfigFactory.parseMap((1..50).collectEntries { ["key" + it, value] })
+
+        expect:
+        ConfigBinaryFormat.write(cfg).length < 50 * value.length()
+    }
+
+    def "should refuse unresolved configs"() {
+        when:
+        ConfigBinaryFormat.write(ConfigFactory.parseString('a = ${b}, b = 1'))
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "should refuse #name"() {
+        when:
+        ConfigBinaryFormat.read(bytes as byte[])
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        name                  | bytes
+        "text"                | "a = 1\nb = 2\n".bytes
+        "unsupported version" | [0, 'T', 'S', 'C', '4', 'J', 'B', 99].collect { it instanceof String ? (byte) it.charAt(0) : (byte) it }
+    }
+
+    def "Tsc4jImplUtils.readConfig() should detect binary configs"() {
+        given:
+        def bytes = ConfigBinaryFormat.write(config)
+
+        expect:
+        Tsc4jImplUtils.readConfig(bytes, "whatever") == config
+        Tsc4jImplUtils.readConfig(new ByteArrayInputStream(bytes), "whatever") == config
+        Tsc4jImplUtils.readConfig("a = 1".bytes, "text").getInt("a") == 1
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.utils
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.charset.StandardCharsets
+import java.util.zip.GZIPOutputStream
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+@Unroll
+class ConfigBundlesSpec extends Specification {
+    static def files = [
+        'application.conf'      : 'a = 1',
+        'conf.d/10-foo.conf'    : 'foo = 10',
+        './conf.d/20-bar.conf'  : 'bar = 20',
+        ('dir/' + ('x' * 120))  : 'long = true',
+    ]
+
+    def "isBundle('#path') should return #expected"() {
+        expect:
+        ConfigBundles.isBundle(path) == expected
+
+        where:
+        path                          | expected
+        's3://bucket/app/bundle.zip'  | true
+        's3://bucket/app/bundle.TAR'  | true
+        'gs://bucket/bundle.tar.gz'   | true
+        'bundle.tgz'                  | true
+        'application.conf'            | false
+        'bundle.gz'                   | false
+        'bundle.zip/application.conf' | false
+    }
+
+    def "extract() should return all regular files from #name"() {
+        when:
+        def result = ConfigBundles.extract(bytes, name)
+
+        then:
+        result.keySet() as List == ['application.conf', 'conf.d/10-foo.conf', 'conf.d/20-bar.conf', 'dir/' + ('x' * 120)]
+        result.collectEntries { k, v -> [(k): new String(v, StandardCharsets.UTF_8)] }.values() as List == files.values() as List
+
+        where:
+        name            | bytes
+        'bundle.zip'    | zip(files)
+        'bundle.tar'    | tar(files)
+        'bundle.tar.gz' | gzip(tar(files))
+        'bundle.tgz'    | gzip(tar(files))
+    }
+
+    def "extract() should throw on unsupported bundle formats"() {
+        when:
+        ConfigBundles.extract(zip(files), 'bundle.rar')
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "extract() should throw on truncated tar archive"() {
+        given:
+        def bytes = tar(files)
+        def truncated = Arrays.copyOf(bytes, 700)
+
+        when:
+        ConfigBundles.extract(truncated, 'bundle.tar')
+
+        then:
+        thrown(EOFException)
+    }
+
+    static byte[] zip(Map<String, String> files) {
+        def out = new ByteArrayOutputStream()
+        new ZipOutputStream(out).withCloseable { zos ->
+            zos.putNextEntry(new ZipEntry('conf.d/'))
+            zos.closeEntry()
+            files.each { name, content ->
+                zos.putNextEntry(new ZipEntry(name))
+                zos.write(content.getBytes(StandardCharsets.UTF_8))
+                zos.closeEntry()
+            }
+        }
+        out.toByteArray()
+    }
+
+    static byte[] gzip(byte[] bytes) {
+        def out = new ByteArrayOutputStream()
+        new GZIPOutputStream(out).withCloseable { it.write(bytes) }
+        out.toByteArray()
+    }
+
+    /**
+     * Creates minimal ustar archive; names longer than 100 chars are stored using GNU long name entries.
+     */
+    static byte[] tar(Map<String, String> files) {
+        def out = new ByteArrayOutputStream()
+        out.write(tarHeader('conf.d/', 0, '5' as char))
+        files.each { name, content ->
+            def data = content.getBytes(StandardCharsets.UTF_8)
+            def nameBytes = name.getBytes(StandardCharsets.UTF_8)
+            if (nameBytes.length > 100) {
+                out.write(tarHeader('././@LongLink', nameBytes.length, 'L' as char))
+                out.write(padded(nameBytes))
+            }
+            out.write(tarHeader(name, data.length, '0' as char))
+            out.write(padded(data))
+        }
+        out.write(new byte[1024])
+        out.toByteArray()
+    }
+
+    static byte[] tarHeader(String name, int size, char type) {
+        def header = new byte[512]
+        def put = { String str, int offset ->
+            def bytes = str.getBytes(StandardCharsets.UTF_8)
+            System.arraycopy(bytes, 0, header, offset, Math.min(bytes.length, 100))
+        }
+        put(name, 0)
+        put('0000644', 100)
+        put(String.format('%011o', size), 124)
+        header[156] = (byte) type
+        put('ustar', 257)
+        put('00', 263)
+        header
+    }
+
+    static byte[] padded(byte[] data) {
+        def len = ((data.length + 511).intdiv(512)) * 512
+        Arrays.copyOf(data, len as int)
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.utils
+
+import com.typesafe.config.ConfigFactory
+import com.typesafe.config.ConfigUtil
+import com.typesafe.config.ConfigValueFactory
+import spock.lang.Specification
+import spock.lang.Unroll
+
+@Unroll
+class ConfigTreeBuilderSpec extends Specification {
+    def "should produce the same config as folding with withValue(): #entries"() {
+        given:
+        def builder = new ConfigTreeBuilder()
+        def folded = ConfigFactory.empty()
+
+        when:
+        entries.each { path, value ->
+            def configValue = ConfigValueFactory.fromAnyRef(value)
+            builder.put(path, configValue)
+            folded = folded.withValue(ConfigUtil.joinPath(path), configValue)
+        }
+        def config = builder.build("test")
+
+        then:
+        config == folded
+        builder.size() == entries.size()
+
+        where:
+        entries << [
+            [],
+            [[["a"], 1]],
+            [[["a", "b"], 1], [["a", "c"], "x"], [["d"], [1, 2]]],
+            [[["a"], 1], [["a", "b"], 2]],
+            [[["a", "b"], 2], [["a"], 1]],
+            [[["a", "b"], 1], [["a", "b"], 2]],
+            [[["a"], [b: 1]], [["a", "c"], 2]],
+            [[["a.b", "c"], 1]],
+        ]
+    }
+
+    def "should retain value origins"() {
+        given:
+        def value = ConfigValueFactory.fromAnyRef("x", "my origin")
+
+        when:
+        def config = new ConfigTreeBuilder()
+            .put(value, "a", "b")
+            .build("builder")
+
+        then:
+        config.getValue("a.b").origin().description().contains("my origin")
+        config.getObject("a").origin().description().contains("builder")
+    }
+
+    def "should build large configs"() {
+        given:
+        def builder = new ConfigTreeBuilder()
+        def num = 20_000
+
+        when:
+        (1..num).each { builder.put(ConfigValueFactory.fromAnyRef(it), "app", "group" + (it % 100), "key" + it) }
+        def config = builder.build("test")
+
+        then:
+        config.getObject("app").size() == 100
+        config.getInt("app.group7.key507") == 507
+        builder.size() == num
+    }
+
+    def "should throw on empty path"() {
+        when:
+        new ConfigTreeBuilder().put([], ConfigValueFactory.fromAnyRef(1))
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
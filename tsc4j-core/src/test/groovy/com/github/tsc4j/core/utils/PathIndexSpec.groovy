@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.core.utils
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.stream.Collectors
+
+class PathIndexSpec extends Specification {
+    def paths = [
+        's3://bucket/app/a.conf',
+        's3://bucket/app/dev/b.conf',
+        's3://bucket/app/dev/c.conf',
+        's3://bucket/application.conf',
+        's3://bucket/other/d.conf',
+    ]
+
+    def index = PathIndex.of(paths.collectEntries { [(it): it.toUpperCase()] })
+
+    def "get() should return value for exact paths only"() {
+        expect:
+        index.get('s3://bucket/app/a.conf').get() == 'S3://BUCKET/APP/A.CONF'
+        !index.get('s3://bucket/app').isPresent()
+        !index.get('s3://bucket/app/a').isPresent()
+    }
+
+    @Unroll
+    def "containsPrefix('#prefix') should return #expected"() {
+        expect:
+        index.containsPrefix(prefix) == expected
+
+        where:
+        prefix                         | expected
+        ''                             | true
+        's3://bucket'                  | true
+        's3://bucket/app'              | true
+        's3://bucket/app/dev/c.conf'   | true
+        's3://bucket/app/dev/c.confx'  | false
+        's3://bucket/b'                | false
+        's3://bucket/zzz'              | false
+    }
+
+    @Unroll
+    def "isDirectory('#path') should return #expected"() {
+        expect:
+        index.isDirectory(path) == expected
+
+        where:
+        path                       | expected
+        's3://bucket'              | true
+        's3://bucket/'             | true
+        's3://bucket/app'          | true
+        's3://bucket/app/dev'      | true
+        's3://bucket/app/a.conf'   | false
+        's3://bucket/applic'       | false
+        's3://bucket/other/d'      | false
+    }
+
+    def "listDirectory() should return sorted relative paths"() {
+        expect:
+        list('s3://bucket/app') == ['a.conf', 'dev/b.conf', 'dev/c.conf']
+        list('s3://bucket/app/') == ['a.conf', 'dev/b.conf', 'dev/c.conf']
+        list('s3://bucket/app/dev') == ['b.conf', 'c.conf']
+        list('s3://bucket/app/a.conf').isEmpty()
+        list('s3://bucket/non-existing').isEmpty()
+    }
+
+    def "subMap() should return only entries with given prefix"() {
+        expect:
+        index.subMap('s3://bucket/app').keySet() as List == paths.findAll { it.startsWith('s3://bucket/app') }
+        index.subMap('').size() == paths.size()
+        index.subMap('x').isEmpty()
+    }
+
+    def "returned map views should be read-only"() {
+        when:
+        index.asMap().put('foo', 'bar')
+
+        then:
+        thrown(UnsupportedOperationException)
+        index.size() == paths.size()
+    }
+
+    def "putAll() should merge indexes"() {
+        given:
+        def other = new PathIndex<String>()
+            .put('s3://bucket/app/z.conf', 'z')
+            .put('s3://bucket/app/a.conf', 'a')
+
+        when:
+        def result = index.putAll(other)
+
+        then:
+        result.is(index)
+        index.size() == paths.size() + 1
+        index.get('s3://bucket/app/a.conf').get() == 'a'
+        list('s3://bucket/app') == ['a.conf', 'dev/b.conf', 'dev/c.conf', 'z.conf']
+    }
+
+    def list(String path) {
+        index.listDirectory(path).collect(Collectors.toList())
+    }
+}
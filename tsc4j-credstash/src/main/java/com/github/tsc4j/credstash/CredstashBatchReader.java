@@ -0,0 +1,317 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.credstash;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.kms.AWSKMS;
+import com.amazonaws.services.kms.model.DecryptRequest;
+import com.github.tsc4j.core.Tsc4jCache;
+import com.github.tsc4j.core.Tsc4jException;
+import com.github.tsc4j.core.Tsc4jImplUtils;
+import com.github.tsc4j.core.impl.Stopwatch;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+/**
+ * Reads latest versions of many credstash credentials at once: credential items are read from DynamoDB table in a
+ * single scan and decrypted locally with bounded parallelism. KMS-decrypted data keys are cached by their ciphertext,
+ * so that re-reading unchanged credentials doesn't require any KMS calls.
+ *
+ * @see <a href="https://github.com/fugue/credstash">credstash</a>
+ */
+@Slf4j
+final class CredstashBatchReader implements Closeable {
+    /**
+     * Maximum number of operands in DynamoDB {@code IN} comparator.
+     */
+    private static final int MAX_FILTER_NAMES = 100;
+
+    /**
+     * Credstash data key length: 32 bytes AES key followed by 32 bytes HMAC key.
+     */
+    private static final int DATA_KEY_LENGTH = 64;
+
+    private final AmazonDynamoDB dynamoDb;
+    private final AWSKMS kms;
+    private final String tableName;
+    private final Map<String, String> encryptionContext;
+    private final Tsc4jCache<String, byte[]> dataKeyCache;
+    private final int maxConcurrency;
+    private final boolean parallel;
+
+    /**
+     * Creates new instance.
+     *
+     * @param dynamoDb          dynamodb client
+     * @param kms               kms client
+     * @param tableName         credstash table name
+     * @param encryptionContext KMS encryption context
+     * @param dataKeyCache      cache of decrypted data keys
+     * @param maxConcurrency    maximum number of concurrent decryption tasks
+     * @param parallel          decrypt credentials in parallel?
+     */
+    CredstashBatchReader(@NonNull AmazonDynamoDB dynamoDb,
+                         @NonNull AWSKMS kms,
+                         @NonNull String tableName,
+                         @NonNull Map<String, String> encryptionContext,
+                         @NonNull Tsc4jCache<String, byte[]> dataKeyCache,
+                         int maxConcurrency,
+                         boolean parallel) {
+        this.dynamoDb = dynamoDb;
+        this.kms = kms;
+        this.tableName = tableName;
+        this.encryptionContext = encryptionContext;
+        this.dataKeyCache = dataKeyCache;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.parallel = parallel;
+    }
+
+    /**
+     * Reads and decrypts latest versions of given credentials.
+     *
+     * @param names credential names
+     * @return map of credential name to plaintext secret; credentials that don't exist are not present in the map.
+     * @throws RuntimeException if credentials can't be read or decrypted
+     */
+    Map<String, String> read(@NonNull Collection<String> names) {
+        if (names.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+
+        val sw = new Stopwatch();
+        val items = scanLatestVersions(names);
+        log.debug("{} found {}/{} credential(s) in {}", this, items.size(), names.size(), sw);
+
+        val chunkSize = (items.size() + maxConcurrency - 1) / maxConcurrency;
+        val tasks = Tsc4jImplUtils.partitionList(items.values(), Math.max(1, chunkSize)).stream()
+            .map(chunk -> (Callable<Map<String, String>>) () -> decrypt(chunk))
+            .collect(Collectors.toList());
+
+        val result = new LinkedHashMap<String, String>();
+        Tsc4jImplUtils.runTasks(CredstashConfigValueProvider.TYPE, tasks, parallel).forEach(result::putAll);
+        log.debug("{} decrypted {} credential(s) using {} task(s) in {}", this, result.size(), tasks.size(), sw);
+        return result;
+    }
+
+    /**
+     * Scans credstash table and returns items with latest version for each of requested names.
+     *
+     * @param names credential names
+     * @return map of credential name to latest credential item
+     */
+    private Map<String, Map<String, AttributeValue>> scanLatestVersions(Collection<String> names) {
+        val wanted = names.stream().collect(Collectors.toSet());
+        val request = createScanRequest(wanted);
+
+        val result = new HashMap<String, Map<String, AttributeValue>>();
+        Map<String, AttributeValue> startKey = null;
+        int numPages = 0;
+        do {
+            val response = dynamoDb.scan(request.withExclusiveStartKey(startKey));
+            numPages++;
+            response.getItems().forEach(item -> {
+                val name = stringAttr(item, "name");
+                if (wanted.contains(name)) {
+                    result.merge(name, item, CredstashBatchReader::newerItem);
+                }
+            });
+            startKey = response.getLastEvaluatedKey();
+        } while (startKey != null && !startKey.isEmpty());
+
+        log.debug("{} scanned table {} in {} page(s)", this, tableName, numPages);
+        return result;
+    }
+
+    private ScanRequest createScanRequest(Set<String> names) {
+        val attrNames = new HashMap<String, String>();
+        attrNames.put("#n", "name");
+        attrNames.put("#v", "version");
+        attrNames.put("#k", "key");
+
+        val request = new ScanRequest(tableName)
+            .withProjectionExpression("#n, #v, #k, contents, hmac, digest")
+            .withExpressionAttributeNames(attrNames);
+
+        // server-side filtering doesn't reduce consumed capacity, but reduces amount of transferred data
+        if (names.size() <= MAX_FILTER_NAMES) {
+            val values = new HashMap<String, AttributeValue>();
+            names.forEach(name -> values.put(":n" + values.size(), new AttributeValue(name)));
+            request
+                .withFilterExpression("#n IN (" + String.join(", ", values.keySet()) + ")")
+                .withExpressionAttributeValues(values);
+        }
+        return request;
+    }
+
+    private static Map<String, AttributeValue> newerItem(Map<String, AttributeValue> a,
+                                                         Map<String, AttributeValue> b) {
+        return compareVersions(stringAttr(a, "version"), stringAttr(b, "version")) >= 0 ? a : b;
+    }
+
+    /**
+     * Compares credstash versions, which are zero-padded integers.
+     *
+     * @param a version a
+     * @param b version b
+     * @return comparison result
+     */
+    static int compareVersions(@NonNull String a, @NonNull String b) {
+        val x = a.replaceFirst("^0+(?=.)", "");
+        val y = b.replaceFirst("^0+(?=.)", "");
+        return (x.length() != y.length()) ? Integer.compare(x.length(), y.length()) : x.compareTo(y);
+    }
+
+    private Map<String, String> decrypt(List<Map<String, AttributeValue>> items) {
+        val result = new LinkedHashMap<String, String>();
+        items.forEach(item -> {
+            val name = stringAttr(item, "name");
+            try {
+                result.put(name, decrypt(item));
+            } catch (Exception e) {
+                throw Tsc4jException.of("Error decrypting credstash credential '%s': %%s", e, name);
+            }
+        });
+        return result;
+    }
+
+    @SneakyThrows
+    private String decrypt(Map<String, AttributeValue> item) {
+        val dataKey = dataKey(stringAttr(item, "key"));
+        val aesKey = Arrays.copyOfRange(dataKey, 0, 32);
+        val hmacKey = Arrays.copyOfRange(dataKey, 32, DATA_KEY_LENGTH);
+        val contents = Base64.getDecoder().decode(stringAttr(item, "contents"));
+
+        val macAlgorithm = "Hmac" + digestAttr(item);
+        val mac = Mac.getInstance(macAlgorithm);
+        mac.init(new SecretKeySpec(hmacKey, macAlgorithm));
+        val expectedHmac = hexAttr(item, "hmac");
+        if (!MessageDigest.isEqual(expectedHmac, toHex(mac.doFinal(contents)))) {
+            throw new IllegalStateException("HMAC integrity check failed.");
+        }
+
+        // credstash uses AES-256 in CTR mode with initial counter value of 1
+        val iv = new byte[16];
+        iv[15] = 1;
+        val cipher = Cipher.getInstance("AES/CTR/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(aesKey, "AES"), new IvParameterSpec(iv));
+        return new String(cipher.doFinal(contents), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns decrypted data key, consulting data key cache first.
+     *
+     * @param encryptedKey base64 encoded KMS ciphertext blob
+     * @return decrypted data key
+     */
+    private byte[] dataKey(String encryptedKey) {
+        val cached = dataKeyCache.get(encryptedKey);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        log.trace("{} decrypting data key with KMS", this);
+        val request = new DecryptRequest()
+            .withCiphertextBlob(ByteBuffer.wrap(Base64.getDecoder().decode(encryptedKey)))
+            .withEncryptionContext(encryptionContext);
+        val plaintext = kms.decrypt(request).getPlaintext();
+        val dataKey = new byte[plaintext.remaining()];
+        plaintext.get(dataKey);
+        if (dataKey.length != DATA_KEY_LENGTH) {
+            throw new IllegalStateException("Invalid credstash data key length: " + dataKey.length);
+        }
+
+        dataKeyCache.put(encryptedKey, dataKey);
+        return dataKey;
+    }
+
+    private static String stringAttr(Map<String, AttributeValue> item, String name) {
+        val attr = item.get(name);
+        if (attr == null || attr.getS() == null) {
+            throw new IllegalStateException("Credstash item is missing string attribute: " + name);
+        }
+        return attr.getS();
+    }
+
+    private static String digestAttr(Map<String, AttributeValue> item) {
+        val attr = item.get("digest");
+        val digest = (attr == null || attr.getS() == null) ? "SHA256" : attr.getS();
+        return digest.toUpperCase(Locale.ENGLISH).replace("-", "");
+    }
+
+    /**
+     * Returns lower-cased hex-encoded attribute bytes; newer credstash versions store hmac as a binary attribute
+     * containing hex string, older ones as a string attribute.
+     *
+     * @param item item
+     * @param name attribute name
+     * @return attribute bytes
+     */
+    private static byte[] hexAttr(Map<String, AttributeValue> item, String name) {
+        val attr = item.get(name);
+        if (attr != null && attr.getB() != null) {
+            val buf = attr.getB().duplicate();
+            val bytes = new byte[buf.remaining()];
+            buf.get(bytes);
+            return new String(bytes, StandardCharsets.US_ASCII).toLowerCase(Locale.ENGLISH)
+                .getBytes(StandardCharsets.US_ASCII);
+        }
+        return stringAttr(item, name).toLowerCase(Locale.ENGLISH).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] toHex(byte[] bytes) {
+        val sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public void close() {
+        dynamoDb.shutdown();
+        kms.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + tableName + ")";
+    }
+}
@@ -16,7 +16,9 @@
 
 package com.github.tsc4j.credstash;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClient;
 import com.amazonaws.services.dynamodbv2.model.ResourceNotFoundException;
+import com.amazonaws.services.kms.AWSKMSClient;
 import com.github.tsc4j.aws.common.AwsConfig;
 import com.github.tsc4j.aws.common.WithAwsConfig;
 import com.github.tsc4j.aws.sdk1.AwsSdk1Utils;
@@ -42,6 +44,7 @@ import lombok.val;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -52,6 +55,10 @@ import java.util.stream.Collectors;
 
 /**
  * Value provider that provides values from <a href="https://github.com/fugue/credstash">credstash secrets store</a>.
+ * <p>
+ * By default every credential is fetched separately, which requires one DynamoDB query and one KMS decrypt call per
+ * credential. In batch mode latest versions of all requested credentials are read from DynamoDB in a single table
+ * scan and decrypted locally using cached data keys.
  */
 public final class CredstashConfigValueProvider extends AbstractConfigValueProvider implements WithCache<String, ConfigValue> {
     static final String TYPE = "credstash";
@@ -60,6 +67,8 @@ public final class CredstashConfigValueProvider extends AbstractConfigValueProvi
     private final JCredStash credstash;
     private final String tableName;
     private final Map<String, String> encryptionContext;
+    private final int maxConcurrency;
+    private final CredstashBatchReader batchReader;
     @Getter
     private final Tsc4jCache<String, ConfigValue> cache;
 
@@ -84,11 +93,48 @@ public final class CredstashConfigValueProvider extends AbstractConfigValueProvi
      * @param credstash credstash instance
      */
     protected CredstashConfigValueProvider(@NonNull Builder builder, @NonNull JCredStash credstash) {
+        this(builder, credstash, builder.isBatch() ? createBatchReader(builder) : null);
+    }
+
+    /**
+     * Creates new instance.
+     *
+     * @param builder     builder
+     * @param credstash   credstash instance
+     * @param batchReader batch reader, may be null if batch mode is not enabled
+     */
+    CredstashConfigValueProvider(@NonNull Builder builder,
+                                 @NonNull JCredStash credstash,
+                                 CredstashBatchReader batchReader) {
         super(builder.getName(), TYPE, Collections.emptySet(), builder.isAllowMissing(), builder.isParallel());
         this.credstash = credstash;
         this.tableName = builder.getTableName();
         this.encryptionContext = Collections.unmodifiableMap(new LinkedHashMap<>(builder.getEncryptionContext()));
-        this.cache = Tsc4jImplUtils.newCache(toString(), builder.getCacheTtl(), builder.getClock());
+        this.maxConcurrency = Math.max(1, builder.getMaxConcurrency());
+        this.batchReader = batchReader;
+        this.cache = Tsc4jImplUtils.newCache(
+            toString(), builder.getCacheTtl(), builder.getCacheMaxSize(), builder.getClock());
+    }
+
+    /**
+     * Creates batch reader from a builder.
+     *
+     * @param b builder
+     * @return batch reader
+     */
+    private static CredstashBatchReader createBatchReader(@NonNull Builder b) {
+        val awsConfig = b.getAwsConfig();
+        val dataKeyCache = Tsc4jImplUtils.<String, byte[]>newCache(
+            "[" + TYPE + " data keys, name=" + b.getName() + "]",
+            b.getDataKeyCacheTtl(), b.getCacheMaxSize(), b.getClock());
+        return new CredstashBatchReader(
+            AwsSdk1Utils.configuredClient(AmazonDynamoDBClient::builder, awsConfig),
+            AwsSdk1Utils.configuredClient(AWSKMSClient::builder, awsConfig),
+            b.getTableName().trim(),
+            new HashMap<>(b.getEncryptionContext()),
+            dataKeyCache,
+            b.getMaxConcurrency(),
+            b.isParallel());
     }
 
     /**
@@ -136,31 +182,94 @@ public final class CredstashConfigValueProvider extends AbstractConfigValueProvi
 
     @Override
     protected Map<String, ConfigValue> doGet(List<String> names) {
-        val res = new LinkedHashMap<String, ConfigValue>();
-        runTasks(createFetchTasks(names), isParallel())
-            .stream()
-            .forEach(e -> res.putAll(e));
-        return res;
+        return (batchReader == null) ? fetchIndividually(names) : fetchBatched(names);
     }
 
     @Override
     protected void doClose() {
         Tsc4jImplUtils.close(credstash, log);
+        Tsc4jImplUtils.close(batchReader, log);
         super.doClose();
     }
 
+    private Map<String, ConfigValue> fetchIndividually(List<String> names) {
+        val res = new LinkedHashMap<String, ConfigValue>();
+        runTasks(createFetchTasks(names), isParallel())
+            .forEach(res::putAll);
+        return res;
+    }
+
     /**
-     * Creates fetch tasks for specified credential names.
+     * Creates fetch tasks for specified credential names; number of tasks is bounded by max concurrency.
      *
      * @param credentialNames credential names
      * @return list of callable tasks
      */
-    private List<Callable<Map<String, ConfigValue>>> createFetchTasks(@NonNull Collection<String> credentialNames) {
-        return credentialNames.stream()
-            .map(name -> (Callable<Map<String, ConfigValue>>) () -> getCredential(name))
+    private List<Callable<Map<String, ConfigValue>>> createFetchTasks(@NonNull List<String> credentialNames) {
+        val chunkSize = (credentialNames.size() + maxConcurrency - 1) / maxConcurrency;
+        return Tsc4jImplUtils.partitionList(credentialNames, Math.max(1, chunkSize)).stream()
+            .map(chunk -> (Callable<Map<String, ConfigValue>>) () -> getCredentials(chunk))
             .collect(Collectors.toList());
     }
 
+    private Map<String, ConfigValue> getCredentials(@NonNull Collection<String> credentialNames) {
+        val res = new LinkedHashMap<String, ConfigValue>();
+        credentialNames.forEach(name -> res.putAll(getCredential(name)));
+        return res;
+    }
+
+    /**
+     * Fetches credentials that are not cached using batch reader.
+     *
+     * @param names credential names
+     * @return map of {@code name -> value} pairs
+     */
+    private Map<String, ConfigValue> fetchBatched(List<String> names) {
+        val res = new LinkedHashMap<String, ConfigValue>();
+        val toFetch = new LinkedHashMap<String, String>();
+        names.forEach(name -> {
+            val cached = getFromCache(name);
+            if (cached.isPresent()) {
+                res.put(name, cached.get());
+            } else {
+                val fixedName = fixCredentialName(name);
+                if (!fixedName.isEmpty()) {
+                    toFetch.put(fixedName, name);
+                }
+            }
+        });
+        if (toFetch.isEmpty()) {
+            return res;
+        }
+
+        log.debug("{} fetching {} credential(s) from credstash in batch mode.", this, toFetch.size());
+        val secrets = readBatch(toFetch.keySet());
+        toFetch.forEach((fixedName, name) -> {
+            val secret = secrets.get(fixedName);
+            if (secret != null) {
+                res.put(name, putToCache(name, toConfigValue(fixedName, secret)));
+            } else if (allowMissing()) {
+                log.warn("{} credstash doesn't contain credential: '{}'", this, fixedName);
+            } else {
+                throw Tsc4jException.of("Credstash credential doesn't exist: %s",
+                    new IllegalStateException("Secret " + fixedName + " could not be found"), fixedName);
+            }
+        });
+        return res;
+    }
+
+    private Map<String, String> readBatch(Collection<String> names) {
+        try {
+            return batchReader.read(names);
+        } catch (ResourceNotFoundException e) {
+            throw Tsc4jException.of("Cannot read credstash table '%s': %%s", e, tableName);
+        } catch (Tsc4jException e) {
+            throw e;
+        } catch (Exception e) {
+            throw Tsc4jException.of("Error fetching %d credstash credential(s): %%s", e, names.size());
+        }
+    }
+
     /**
      * Fetches credential secret, consulting cache if enabled..
      *
@@ -276,6 +385,23 @@ public final class CredstashConfigValueProvider extends AbstractConfigValueProvi
          */
         private Map<String, String> encryptionContext = Collections.emptyMap();
 
+        /**
+         * Read credentials in batch mode: latest versions of all requested credentials are read from DynamoDB table
+         * in a single scan and decrypted locally (default: false). Scan reads the whole table, so batch mode pays
+         * off when many credentials are requested from a table that doesn't contain many unrelated items.
+         */
+        private boolean batch = false;
+
+        /**
+         * Maximum number of concurrent fetch/decryption tasks when parallel fetching is enabled (default: 4).
+         */
+        private int maxConcurrency = 4;
+
+        /**
+         * Duration for which KMS-decrypted credential data keys are cached in batch mode (default: 15 minutes).
+         */
+        private Duration dataKeyCacheTtl = Duration.ofMinutes(15);
+
         /**
          * Sets encryption context from a {@link Config} instance.
          *
@@ -305,6 +431,12 @@ public final class CredstashConfigValueProvider extends AbstractConfigValueProvi
             if (tn.isEmpty()) {
                 throw new IllegalStateException("dynamoDb table name cannot be empty.");
             }
+            if (getMaxConcurrency() < 1) {
+                throw new IllegalStateException("Max concurrency must be positive.");
+            }
+            if (getDataKeyCacheTtl() == null || getDataKeyCacheTtl().isNegative()) {
+                throw new IllegalStateException("Data key cache TTL cannot be null or negative.");
+            }
             return super.checkState();
         }
 
@@ -316,6 +448,9 @@ public final class CredstashConfigValueProvider extends AbstractConfigValueProvi
 
             cfgString(cfg, "table-name", this::setTableName);
             cfgConfig(cfg, "encryption-context", this::withEncryptionContext);
+            cfgBoolean(cfg, "batch", this::setBatch);
+            cfgInt(cfg, "max-concurrency", this::setMaxConcurrency);
+            cfgDuration(cfg, "data-key-cache-ttl", this::setDataKeyCacheTtl);
         }
 
         @Override
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.credstash
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB
+import com.amazonaws.services.dynamodbv2.model.AttributeValue
+import com.amazonaws.services.dynamodbv2.model.ScanRequest
+import com.amazonaws.services.dynamodbv2.model.ScanResult
+import com.amazonaws.services.kms.AWSKMS
+import com.amazonaws.services.kms.model.DecryptRequest
+import com.amazonaws.services.kms.model.DecryptResult
+import com.github.tsc4j.core.Tsc4jException
+import com.github.tsc4j.core.Tsc4jImplUtils
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.crypto.Cipher
+import javax.crypto.Mac
+import javax.crypto.spec.IvParameterSpec
+import javax.crypto.spec.SecretKeySpec
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+import java.security.SecureRandom
+import java.time.Duration
+
+@Unroll
+class CredstashBatchReaderSpec extends Specification {
+    static def random = new SecureRandom()
+
+    def dynamoDb = Mock(AmazonDynamoDB)
+    def kms = Mock(AWSKMS)
+    def dataKeys = [:]
+
+    def "should read latest versions of credentials in a single scan (parallel: #parallel)"() {
+        given:
+        def reader = createReader(parallel)
+        def sharedKey = "shared-key"
+        def pageA = [
+            item("foo", "0000000000000000001", "old-foo", sharedKey),
+            item("bar", "0000000000000000001", "bar-value", sharedKey),
+            item("unrelated", "0000000000000000001", "blah"),
+        ]
+        def pageB = [
+            item("foo", "0000000000000000010", "new-foo"),
+            item("foo", "0000000000000000002", "older-foo"),
+        ]
+
+        when:
+        def result = reader.read(["foo", "bar", "missing"])
+
+        then:
+        1 * dynamoDb.scan({ ScanRequest it -> it.exclusiveStartKey == null }) >> scanResult(pageA, [name: new AttributeValue("x")])
+        1 * dynamoDb.scan({ ScanRequest it -> it.exclusiveStartKey != null }) >> scanResult(pageB, null)
+        2 * kms.decrypt(_) >> { DecryptRequest req -> decryptResult(req) }
+
+        result == [foo: "new-foo", bar: "bar-value"]
+
+        when: "read again"
+        result = reader.read(["foo", "bar"])
+
+        then: "data keys should be served from cache"
+        1 * dynamoDb.scan(_) >> scanResult(pageA + pageB, null)
+        0 * kms._
+
+        result == [foo: "new-foo", bar: "bar-value"]
+
+        where:
+        parallel << [false, true]
+    }
+
+    def "should filter scan by names if there's not too many of them"() {
+        given:
+        def reader = createReader(false)
+        ScanRequest request = null
+
+        when:
+        reader.read(names)
+
+        then:
+        1 * dynamoDb.scan(_) >> { ScanRequest it -> request = it; scanResult([], null) }
+        request.tableName == "table"
+        (request.filterExpression != null) == filtered
+        request.expressionAttributeNames['#n'] == "name"
+
+        where:
+        names                          | filtered
+        ["a", "b"]                     | true
+        (1..100).collect { "n" + it }  | true
+        (1..101).collect { "n" + it }  | false
+    }
+
+    def "should support binary hmac attribute"() {
+        given:
+        def reader = createReader(false)
+        def credential = item("foo", "1", "value")
+        credential.hmac = new AttributeValue().withB(ByteBuffer.wrap(credential.hmac.s.bytes))
+
+        when:
+        def result = reader.read(["foo"])
+
+        then:
+        1 * dynamoDb.scan(_) >> scanResult([credential], null)
+        1 * kms.decrypt(_) >> { DecryptRequest req -> decryptResult(req) }
+
+        result == [foo: "value"]
+    }
+
+    def "should fail if hmac doesn't match"() {
+        given:
+        def reader = createReader(false)
+        def credential = item("foo", "1", "value")
+        credential.hmac = new AttributeValue("00" * 32)
+
+        when:
+        reader.read(["foo"])
+
+        then:
+        1 * dynamoDb.scan(_) >> scanResult([credential], null)
+        1 * kms.decrypt(_) >> { DecryptRequest req -> decryptResult(req) }
+
+        def ex = thrown(Tsc4jException)
+        ex.message.contains("foo")
+        ex.message.contains("HMAC")
+    }
+
+    def "compareVersions('#a', '#b') should return #expected"() {
+        expect:
+        Integer.signum(CredstashBatchReader.compareVersions(a, b)) == expected
+
+        where:
+        a                     | b                     | expected
+        "1"                   | "1"                   | 0
+        "0000000000000000001" | "1"                   | 0
+        "0000000000000000002" | "0000000000000000010" | -1
+        "10"                  | "9"                   | 1
+        "0"                   | "00"                  | 0
+    }
+
+    def "close() should shut down clients"() {
+        when:
+        createReader(false).close()
+
+        then:
+        1 * dynamoDb.shutdown()
+        1 * kms.shutdown()
+    }
+
+    CredstashBatchReader createReader(boolean parallel) {
+        def cache = Tsc4jImplUtils.<String, byte[]> newCache("test", Duration.ofMinutes(5))
+        new CredstashBatchReader(dynamoDb, kms, "table", [:], cache, 2, parallel)
+    }
+
+    Map<String, AttributeValue> item(String name, String version, String value, String keyId = null) {
+        keyId = keyId ?: UUID.randomUUID().toString()
+        def dataKey = dataKeys.computeIfAbsent(keyId, { byte[] bytes = new byte[64]; random.nextBytes(bytes); bytes })
+        def aesKey = Arrays.copyOfRange(dataKey, 0, 32)
+        def hmacKey = Arrays.copyOfRange(dataKey, 32, 64)
+
+        def iv = new byte[16]
+        iv[15] = 1
+        def cipher = Cipher.getInstance("AES/CTR/NoPadding")
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(aesKey, "AES"), new IvParameterSpec(iv))
+        def contents = cipher.doFinal(value.getBytes(StandardCharsets.UTF_8))
+
+        def mac = Mac.getInstance("HmacSHA256")
+        mac.init(new SecretKeySpec(hmacKey, "HmacSHA256"))
+        def hmac = mac.doFinal(contents).encodeHex().toString()
+
+        [
+            name    : new AttributeValue(name),
+            version : new AttributeValue(version),
+            key     : new AttributeValue(keyId.bytes.encodeBase64().toString()),
+            contents: new AttributeValue(contents.encodeBase64().toString()),
+            hmac    : new AttributeValue(hmac),
+            digest  : new AttributeValue("SHA256"),
+        ]
+    }
+
+    ScanResult scanResult(List<Map<String, AttributeValue>> items, Map<String, AttributeValue> lastKey) {
+        new ScanResult().withItems(items).withLastEvaluatedKey(lastKey)
+    }
+
+    DecryptResult decryptResult(DecryptRequest request) {
+        def blob = request.ciphertextBlob.duplicate()
+        def bytes = new byte[blob.remaining()]
+        blob.get(bytes)
+        new DecryptResult().withPlaintext(ByteBuffer.wrap(dataKeys[new String(bytes)] as byte[]))
+    }
+}
@@ -18,12 +18,16 @@
 package com.github.tsc4j.credstash
 
 import com.amazonaws.SDKGlobalConfiguration
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB
+import com.amazonaws.services.dynamodbv2.model.ScanResult
+import com.amazonaws.services.kms.AWSKMS
 import com.github.tsc4j.core.AbstractConfigValueProviderSpec
 import com.github.tsc4j.core.Tsc4jException
 import com.github.tsc4j.core.Tsc4jImplUtils
 import com.github.tsc4j.testsupport.TestClock
 import com.jessecoyle.JCredStash
 import com.typesafe.config.ConfigFactory
+import com.typesafe.config.ConfigValueFactory
 import com.typesafe.config.ConfigValueType
 import spock.lang.Unroll
 import spock.util.environment.RestoreSystemProperties
@@ -41,6 +45,7 @@ class CredstashConfigValueProviderSpec extends AbstractConfigValueProviderSpec {
               table-name:   someTableName
               region:       us-west-8
               cache-ttl:    71m
+              cache-max-size: 500
             }
         """
     static def builderConfig = ConfigFactory.parseString(configStr)
@@ -71,6 +76,7 @@ class CredstashConfigValueProviderSpec extends AbstractConfigValueProviderSpec {
 
         provider.getCache().name == "[credstash, name=topsecret]"
         provider.getCache().cacheTtl == Duration.ofMinutes(71)
+        provider.getCache().maxSize == 500
     }
 
     @RestoreSystemProperties
@@ -264,6 +270,75 @@ class CredstashConfigValueProviderSpec extends AbstractConfigValueProviderSpec {
         result[credNameC].unwrapped() == credValueC
     }
 
+    def "withConfig() should configure batch mode settings"() {
+        given:
+        def config = ConfigFactory.parseMap([
+            "batch"             : true,
+            "max-concurrency"   : 7,
+            "data-key-cache-ttl": "3m",
+        ])
+
+        when:
+        def builder = builder()
+
+        then: "default values"
+        !builder.isBatch()
+        builder.getMaxConcurrency() == 4
+        builder.getDataKeyCacheTtl() == Duration.ofMinutes(15)
+
+        when:
+        builder.withConfig(config)
+
+        then:
+        builder.isBatch()
+        builder.getMaxConcurrency() == 7
+        builder.getDataKeyCacheTtl() == Duration.ofMinutes(3)
+    }
+
+    def "should fetch values in batch mode"() {
+        given:
+        def dynamoDb = Mock(AmazonDynamoDB)
+        def provider = batchProvider(dynamoDb, true)
+
+        when:
+        def result = provider.get(["foo", "missing"])
+
+        then:
+        1 * dynamoDb.scan(_) >> new ScanResult().withItems([])
+        result.isEmpty()
+
+        when: "cached values are requested"
+        provider.putToCache("foo", ConfigValueFactory.fromAnyRef("bar"))
+        result = provider.get(["foo"])
+
+        then: "no remote calls should be made"
+        0 * dynamoDb._
+        result.foo.unwrapped() == "bar"
+    }
+
+    def "should throw in case of non-existing value in batch mode"() {
+        given:
+        def dynamoDb = Mock(AmazonDynamoDB)
+        def provider = batchProvider(dynamoDb, false)
+
+        when:
+        provider.get(["missing"])
+
+        then:
+        1 * dynamoDb.scan(_) >> new ScanResult().withItems([])
+
+        def exception = thrown(Tsc4jException)
+        exception.getMessage().contains("Credstash credential doesn't exist:")
+    }
+
+    CredstashConfigValueProvider batchProvider(AmazonDynamoDB dynamoDb, boolean allowMissing) {
+        def cache = Tsc4jImplUtils.<String, byte[]> newCache("test", Duration.ofMinutes(5))
+        def reader = new CredstashBatchReader(dynamoDb, Mock(AWSKMS), "table", [:], cache, 4, false)
+        def builder = builder().setAllowMissing(allowMissing)
+                               .setCacheTtl(Duration.ofMinutes(5))
+        new CredstashConfigValueProvider(builder, Mock(JCredStash), reader)
+    }
+
     CredstashConfigValueProvider.Builder builder() {
         CredstashConfigValueProvider.builder().setRegion("us-west-1")
     }
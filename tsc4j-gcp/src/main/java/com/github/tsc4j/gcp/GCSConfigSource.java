@@ -24,10 +24,15 @@ import com.github.tsc4j.core.Tsc4jCache;
 import com.github.tsc4j.core.Tsc4jException;
 import com.github.tsc4j.core.Tsc4jImplUtils;
 import com.github.tsc4j.core.WithCache;
+import com.github.tsc4j.core.utils.PathIndex;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.Storage.BlobField;
 import com.google.cloud.storage.Storage.BlobListOption;
+import com.google.cloud.storage.Storage.BlobSourceOption;
+import com.google.cloud.storage.StorageException;
 import com.typesafe.config.Config;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -41,11 +46,10 @@ import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
-import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.regex.Matcher;
@@ -57,14 +61,23 @@ import static com.google.cloud.storage.StorageOptions.getDefaultInstance;
 
 /**
  * <a href="https://cloud.google.com/storage/">Google cloud storage</a> implementation of {@link ConfigSource}.
+ * <p>
+ * Bucket paths are listed once per fetch; parsed configs are cached by blob url and generation, so only blobs whose
+ * generation changed since the last fetch are downloaded. Downloads are streamed and pinned to listed generation.
  */
 public final class GCSConfigSource
-    extends FilesystemLikeConfigSource<Map<String, Blob>>
+    extends FilesystemLikeConfigSource<PathIndex<Blob>>
     implements WithCache<String, Config> {
     private static final String GCS_URL_PREFIX = "gs://";
     private static final Pattern GCS_URL_PATTERN = Pattern.compile("^" + GCS_URL_PREFIX + "([\\w\\-\\.]+)/(.*)");
     static final String TYPE = "gcp.gcs";
 
+    /**
+     * Blob fields that are requested when listing bucket paths.
+     */
+    private static final BlobListOption LIST_FIELDS = BlobListOption.fields(
+        BlobField.NAME, BlobField.BUCKET, BlobField.GENERATION, BlobField.METAGENERATION, BlobField.SIZE);
+
     @Getter
     private final Tsc4jCache<String, Config> cache;
 
@@ -74,9 +87,20 @@ public final class GCSConfigSource
      * Creates new instance.
      */
     protected GCSConfigSource(Builder builder) {
+        this(builder, null);
+    }
+
+    /**
+     * Creates new instance with given storage client.
+     *
+     * @param builder builder
+     * @param storage storage client, if {@code null} it's going to be created from builder settings.
+     */
+    GCSConfigSource(@NonNull Builder builder, Storage storage) {
         super(builder);
-        this.storage = createStorage(builder);
-        this.cache = Tsc4jImplUtils.newCache(toString(), builder.getCacheTtl(), builder.getClock());
+        this.storage = (storage == null) ? createStorage(builder) : storage;
+        this.cache = Tsc4jImplUtils.newCache(
+            toString(), builder.getCacheTtl(), builder.getCacheMaxSize(), builder.getClock());
     }
 
     private Storage createStorage(Builder builder) {
@@ -140,85 +164,111 @@ public final class GCSConfigSource
     }
 
     @Override
-    protected Map<String, Blob> createFetchContext(@NonNull ConfigQuery query) {
+    protected PathIndex<Blob> createFetchContext(@NonNull ConfigQuery query) {
         val tasks = createFetchContextTasks(query);
         val results = runTasks(tasks, isParallel());
 
-        val map = new LinkedHashMap<String, Blob>();
-        results.forEach(e -> map.putAll(e));
+        val index = new PathIndex<Blob>();
+        results.forEach(index::putAll);
 
-        log.trace("{} created fetch context ctx: {}", this, map);
-        return map;
+        log.trace("{} created fetch context ctx: {}", this, index);
+        return index;
     }
 
-    private List<Callable<Map<String, Blob>>> createFetchContextTasks(@NonNull ConfigQuery query) {
+    private List<Callable<PathIndex<Blob>>> createFetchContextTasks(@NonNull ConfigQuery query) {
         return interpolateVarStrings(getPaths(), query).stream()
             .map(this::toFetchContextTask)
             .collect(Collectors.toList());
     }
 
-    private Callable<Map<String, Blob>> toFetchContextTask(@NonNull String gcsUrl) {
+    private Callable<PathIndex<Blob>> toFetchContextTask(@NonNull String gcsUrl) {
         return () -> fetchGsUrlSummary(gcsUrl);
     }
 
     @Override
-    protected boolean isDirectory(@NonNull String path, @NonNull Map<String, Blob> context) {
-        return context.keySet().stream()
-            .anyMatch(url -> url.startsWith(path + "/"));
+    protected boolean isDirectory(@NonNull String path, @NonNull PathIndex<Blob> context) {
+        return debugIsDirectory(path, context.isDirectory(path));
     }
 
     @Override
-    protected boolean pathExists(@NonNull String path, @NonNull Map<String, Blob> context) {
-        return context.keySet().stream()
-            .anyMatch(url -> url.startsWith(path));
+    protected boolean pathExists(@NonNull String path, @NonNull PathIndex<Blob> context) {
+        return debugPathExists(path, context.containsPrefix(path));
     }
 
     @Override
-    protected Stream<String> listDirectory(@NonNull String gcsUrl, @NonNull Map<String, Blob> context) {
-        val prefix = gcsUrl + "/";
-        return context.keySet().stream()
-            .filter(e -> e.startsWith(prefix))
-            .map(e -> e.replace(gcsUrl, "").substring(1))
-            .filter(e -> !e.isEmpty());
+    protected Stream<String> listDirectory(@NonNull String gcsUrl, @NonNull PathIndex<Blob> context) {
+        return context.listDirectory(gcsUrl);
     }
 
     @Override
-    protected Config loadConfig(@NonNull String gcsUrl, @NonNull Map<String, Blob> context) {
-        val etag = Optional.ofNullable(context.get(gcsUrl))
-            .map(blob -> blob.getEtag())
-            .orElse("");
-        val cacheKey = cacheKey(gcsUrl, etag);
+    protected Config loadConfig(@NonNull String gcsUrl, @NonNull PathIndex<Blob> context) {
+        val blob = context.get(gcsUrl);
+        if (!blob.isPresent()) {
+            return super.loadConfig(gcsUrl, context);
+        }
+
+        // blob contents can only change by creating new generation; metageneration changes are metadata-only
+        val cacheKey = cacheKey(gcsUrl, blob.get().getGeneration());
         return getFromCache(cacheKey)
-            .orElseGet(() -> putToCache(cacheKey, loadConfig(gcsUrl, context)));
+            .orElseGet(() -> {
+                log.debug("{} loading changed blob: {} (generation: {}, metageneration: {})",
+                    this, gcsUrl, blob.get().getGeneration(), blob.get().getMetageneration());
+                return putToCache(cacheKey, super.loadConfig(gcsUrl, context));
+            });
     }
 
     @Override
-    protected Optional<Reader> openConfig(@NonNull String gcsUrl, @NonNull Map<String, Blob> context) {
-        return Optional.ofNullable(context.get(gcsUrl))
-            .map(blob -> blob.getContent())
-            .map(ByteArrayInputStream::new)
+    protected Optional<Reader> openConfig(@NonNull String gcsUrl, @NonNull PathIndex<Blob> context) {
+        return openStream(gcsUrl, context)
             .map(is -> new InputStreamReader(is, StandardCharsets.UTF_8));
     }
 
-    private String cacheKey(String url, String etag) {
-        return url + "|" + etag;
+    @Override
+    protected Optional<InputStream> openStream(@NonNull String gcsUrl, @NonNull PathIndex<Blob> context) {
+        return context.get(gcsUrl)
+            .map(blob -> openBlob(gcsUrl, blob));
+    }
+
+    /**
+     * Opens streaming reader for a blob; read fails if blob generation changed since it has been listed.
+     *
+     * @param gcsUrl gcs url
+     * @param blob   listed blob
+     * @return blob input stream
+     */
+    private InputStream openBlob(String gcsUrl, Blob blob) {
+        log.debug("{} opening blob: {} (generation: {})", this, gcsUrl, blob.getGeneration());
+        try {
+            val blobId = BlobId.of(blob.getBucket(), blob.getName(), blob.getGeneration());
+            val reader = storage.reader(blobId, BlobSourceOption.generationMatch());
+            return Channels.newInputStream(reader);
+        } catch (Exception e) {
+            throw Tsc4jException.of("Error opening GCS blob %s: %%s", e, gcsUrl);
+        }
     }
 
-    private Map<String, Blob> fetchGsUrlSummary(@NonNull String gcsUrl) {
+    private String cacheKey(String url, Long generation) {
+        return url + "|" + generation;
+    }
+
+    private PathIndex<Blob> fetchGsUrlSummary(@NonNull String gcsUrl) {
         val bucketName = bucketName(gcsUrl);
         val path = bucketPath(gcsUrl);
         log.debug("{} fetching gcs summary for: {}", this, gcsUrl);
 
         try {
-            val map = new LinkedHashMap<String, Blob>();
-            Optional.ofNullable(storage.get(bucketName))
-                .map(bucket -> bucket.list(BlobListOption.prefix(path)).iterateAll())
-                .orElse(Collections.emptyList())
-                .forEach(blob -> {
-                    val url = GCS_URL_PREFIX + blob.getBucket() + "/" + blob.getName();
-                    map.put(url, blob);
-                });
-            return map;
+            val index = new PathIndex<Blob>();
+            storage.list(bucketName, BlobListOption.prefix(path), LIST_FIELDS)
+                .iterateAll()
+                .forEach(blob -> index.put(GCS_URL_PREFIX + blob.getBucket() + "/" + blob.getName(), blob));
+            return index;
+        } catch (StorageException e) {
+            if (e.getCode() == 404) {
+                warnOrThrowOnMissingConfigLocation(gcsUrl);
+                log.debug("{} non-existing gcs bucket: {}: {}", this, gcsUrl, e.getMessage());
+                return new PathIndex<>();
+            }
+            throw Tsc4jException.of("Error fetching GCS url summary of %s: %%s", e, gcsUrl);
         } catch (Exception e) {
             throw Tsc4jException.of("Error fetching GCS url summary of %s: %%s", e, gcsUrl);
         }
@@ -280,6 +330,11 @@ public final class GCSConfigSource
         @Getter
         private String credentialsString = null;
 
+        @Override
+        protected Duration defaultCacheTtl() {
+            return Duration.ofDays(7);
+        }
+
         @Override
         public void withConfig(@NonNull Config config) {
             super.withConfig(config);
@@ -21,12 +21,19 @@ import com.github.tsc4j.core.AbstractConfigSource
 import com.github.tsc4j.core.ConfigSourceBuilder
 import com.github.tsc4j.core.FilesystemLikeConfigSourceSpec
 import com.github.tsc4j.core.Tsc4jImplUtils
+import com.google.api.gax.paging.Page
+import com.google.cloud.ReadChannel
+import com.google.cloud.storage.Blob
+import com.google.cloud.storage.BlobId
+import com.google.cloud.storage.Storage
 import com.typesafe.config.ConfigValueFactory
 import groovy.util.logging.Slf4j
 import spock.lang.Ignore
 import spock.lang.Requires
 import spock.lang.Unroll
 
+import java.nio.ByteBuffer
+
 import static com.typesafe.config.ConfigFactory.empty
 
 @Slf4j
@@ -153,6 +160,76 @@ class GCSConfigSourceSpec extends FilesystemLikeConfigSourceSpec {
         ]
     }
 
+    def "should download only blobs with changed generation"() {
+        given:
+        def generations = ['application.conf': 1L, 'conf.d/10-a.conf': 1L]
+        def contents = ['application.conf': 'a = 1, b = 1', 'conf.d/10-a.conf': 'b = 2']
+
+        and:
+        def storage = Mock(Storage)
+        def source = new GCSConfigSource(builder().withPath('gs://bucket/app'), storage)
+
+        when: "fetch for the first time"
+        def config = source.get(defaultConfigQuery)
+
+        then:
+        1 * storage.list('bucket', _, _) >> page(generations)
+        2 * storage.reader({ it.generation == 1L }, _) >> { BlobId id, opts -> readChannel(contents[id.name - 'app/']) }
+        0 * storage._
+        config.root().unwrapped() == [a: 1, b: 2]
+
+        when: "fetch again, nothing changed"
+        config = source.get(defaultConfigQuery)
+
+        then:
+        1 * storage.list('bucket', _, _) >> page(generations)
+        0 * storage.reader(*_)
+        config.root().unwrapped() == [a: 1, b: 2]
+
+        when: "fetch after single blob changed"
+        generations['conf.d/10-a.conf'] = 2L
+        contents['conf.d/10-a.conf'] = 'b = 3'
+        config = source.get(defaultConfigQuery)
+
+        then:
+        1 * storage.list('bucket', _, _) >> page(generations)
+        1 * storage.reader({ it.name == 'app/conf.d/10-a.conf' && it.generation == 2L }, _) >>
+            { BlobId id, opts -> readChannel(contents['conf.d/10-a.conf']) }
+        0 * storage.reader(*_)
+        config.root().unwrapped() == [a: 1, b: 3]
+    }
+
+    def page(Map<String, Long> generations) {
+        def blobs = generations.collect { name, generation ->
+            Mock(Blob) {
+                getBucket() >> 'bucket'
+                getName() >> 'app/' + name
+                getGeneration() >> generation
+                getMetageneration() >> 1L
+            }
+        }
+        Mock(Page) {
+            iterateAll() >> blobs
+        }
+    }
+
+    def readChannel(String content) {
+        def bytes = content.getBytes('UTF-8')
+        def pos = 0
+        Mock(ReadChannel) {
+            isOpen() >> true
+            read(_) >> { ByteBuffer buf ->
+                if (pos >= bytes.length) {
+                    return -1
+                }
+                def n = Math.min(buf.remaining(), bytes.length - pos)
+                buf.put(bytes, pos, n)
+                pos += n
+                n
+            }
+        }
+    }
+
     GCSConfigSource.Builder builder(appName = "appName") {
         GCSConfigSource.builder()
     }
@@ -17,21 +17,50 @@
 package com.github.tsc4j.guice;
 
 
+import com.github.tsc4j.api.Reloadable;
 import com.github.tsc4j.api.ReloadableConfig;
+import com.github.tsc4j.api.Tsc4jConfigPath;
+import com.github.tsc4j.core.Pair;
 import com.github.tsc4j.core.ReloadableConfigFactory;
+import com.github.tsc4j.core.Tsc4j;
 import com.github.tsc4j.core.Tsc4jImplUtils;
 import com.google.inject.AbstractModule;
+import com.google.inject.Key;
+import com.google.inject.Provider;
 import com.google.inject.Provides;
+import com.google.inject.TypeLiteral;
+import com.google.inject.name.Names;
+import com.google.inject.util.Types;
 import com.typesafe.config.Config;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
- * {@link ReloadableConfig} guice module.
+ * {@link ReloadableConfig} guice module.<p/>
+ * <p>
+ * Besides {@link ReloadableConfig} and {@link Config} this module binds:
+ * <ul>
+ * <li>{@code T} and {@code Reloadable<T>} for every bean class annotated with {@link Tsc4jConfigPath} that was
+ * registered using {@link #withBeanClasses(Collection)}; all injection points share the same {@link Reloadable}
+ * instance</li>
+ * <li>{@link com.google.inject.name.Named} annotated config values from config snapshot taken at injector creation
+ * time if {@link #setBindConfigValues(boolean)} is enabled</li>
+ * </ul>
  */
+@Slf4j
 public class ReloadableConfigModule extends AbstractModule {
     /**
      * Application name.
@@ -51,6 +80,27 @@ public class ReloadableConfigModule extends AbstractModule {
     @Getter
     private final List<String> environments;
 
+    /**
+     * Bean classes annotated with {@link Tsc4jConfigPath} that should be bound.
+     */
+    private final Set<Class<?>> beanClasses = new LinkedHashSet<>();
+
+    /**
+     * Reloadables registered by this module, keyed by (config path, bean class).
+     *
+     * @see #getReloadable(String, Class)
+     */
+    private final Map<Pair<String, Class<?>>, Reloadable<?>> reloadables = new ConcurrentHashMap<>();
+
+    /**
+     * Bind config values from config snapshot so that they can be injected using {@code @Named("config.path")}?
+     */
+    @Getter
+    private boolean bindConfigValues = false;
+
+    private volatile ReloadableConfig reloadableConfig;
+    private volatile Reloadable<Config> configReloadable;
+
     /**
      * Creates new instance.
      *
@@ -66,6 +116,46 @@ public class ReloadableConfigModule extends AbstractModule {
         this.environments = Tsc4jImplUtils.sanitizeEnvs(environments);
     }
 
+    /**
+     * Adds bean classes annotated with {@link Tsc4jConfigPath} for which {@code T} and {@code Reloadable<T>} should
+     * be bound.
+     *
+     * @param classes bean classes
+     * @return reference to itself
+     * @throws IllegalArgumentException if any of given classes is not annotated with {@link Tsc4jConfigPath}
+     * @see #withBeanClasses(Collection)
+     */
+    public ReloadableConfigModule withBeanClasses(@NonNull Class<?>... classes) {
+        return withBeanClasses(Arrays.asList(classes));
+    }
+
+    /**
+     * Adds bean classes annotated with {@link Tsc4jConfigPath} for which {@code T} and {@code Reloadable<T>} should
+     * be bound.
+     *
+     * @param classes bean classes
+     * @return reference to itself
+     * @throws IllegalArgumentException if any of given classes is not annotated with {@link Tsc4jConfigPath}
+     */
+    public ReloadableConfigModule withBeanClasses(@NonNull Collection<Class<?>> classes) {
+        classes.forEach(ReloadableConfigModule::beanConfigPath);
+        beanClasses.addAll(classes);
+        return this;
+    }
+
+    /**
+     * Sets whether config values should be bound from config snapshot taken at injector creation time, so that
+     * they can be injected using {@code @Named("config.path")}. Enabling this blocks injector creation until first
+     * config fetch completes.
+     *
+     * @param bindConfigValues true/false
+     * @return reference to itself
+     */
+    public ReloadableConfigModule setBindConfigValues(boolean bindConfigValues) {
+        this.bindConfigValues = bindConfigValues;
+        return this;
+    }
+
     /**
      * Provides {@link ReloadableConfig} singleton.
      *
@@ -88,11 +178,84 @@ public class ReloadableConfigModule extends AbstractModule {
      */
     @Provides
     public Config config(@NonNull ReloadableConfig rc) {
-        return rc.getSync();
+        val reloadable = configReloadable;
+        return (reloadable != null && reloadable.isPresent()) ? reloadable.get() : rc.getSync();
+    }
+
+    /**
+     * Returns reloadable for given config path and type. Reloadables are registered only once per (path, type)
+     * pair, all subsequent invocations return the same instance. This method is intended to be used by
+     * {@link Provides} methods of subclasses.
+     *
+     * @param path  config path
+     * @param clazz value type
+     * @param <T>   value type
+     * @return reloadable
+     * @throws IllegalStateException if module has not been configured yet
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> Reloadable<T> getReloadable(@NonNull String path, @NonNull Class<T> clazz) {
+        val rc = Optional.ofNullable(reloadableConfig)
+            .orElseThrow(() -> new IllegalStateException("Module " + this + " has not been configured yet."));
+        val key = new Pair<String, Class<?>>(path, clazz);
+        return (Reloadable<T>) reloadables.computeIfAbsent(key, it -> rc.register(path, clazz));
     }
 
     @Override
     protected void configure() {
-        bind(ReloadableConfig.class).toInstance(reloadableConfig());
+        val rc = reloadableConfig();
+        this.reloadableConfig = rc;
+        this.configReloadable = rc.register(Function.identity());
+
+        bind(ReloadableConfig.class).toInstance(rc);
+        bind(new TypeLiteral<Reloadable<Config>>() {
+        }).toInstance(configReloadable);
+
+        beanClasses.forEach(this::bindBean);
+
+        if (bindConfigValues) {
+            bindConfigValues(rc.getSync());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void bindBean(@NonNull Class<T> clazz) {
+        val path = beanConfigPath(clazz);
+        val reloadable = getReloadable(path, clazz);
+        val reloadableKey = (Key<Reloadable<T>>) Key.get(Types.newParameterizedType(Reloadable.class, clazz));
+
+        Provider<T> beanProvider = () -> beanValue(reloadable, path, clazz);
+
+        bind(reloadableKey).toInstance(reloadable);
+        bind(clazz).toProvider(beanProvider);
+        log.debug("{} bound bean class {} to config path: {}", this, clazz.getName(), path);
+    }
+
+    private <T> T beanValue(@NonNull Reloadable<T> reloadable, @NonNull String path, @NonNull Class<T> clazz) {
+        if (reloadable.isPresent()) {
+            return reloadable.get();
+        }
+
+        // first config fetch might not be complete yet
+        val config = reloadableConfig.getSync();
+        if (!config.hasPath(path)) {
+            throw new IllegalStateException("Can't provide instance of " + clazz.getName() +
+                ": config doesn't contain path: " + path);
+        }
+        return reloadable.isPresent() ? reloadable.get() : Tsc4jImplUtils.beanMapper().create(clazz, config, path);
+    }
+
+    private void bindConfigValues(@NonNull Config config) {
+        val properties = new LinkedHashMap<String, String>();
+        config.entrySet().forEach(e -> properties.put(e.getKey(), Tsc4j.stringify(e.getValue())));
+        Names.bindProperties(binder(), properties);
+        log.debug("{} bound {} config values from config snapshot.", this, properties.size());
+    }
+
+    private static String beanConfigPath(@NonNull Class<?> clazz) {
+        return Optional.ofNullable(clazz.getAnnotation(Tsc4jConfigPath.class))
+            .flatMap(e -> Tsc4jImplUtils.optString(e.value()))
+            .orElseThrow(() -> new IllegalArgumentException("Class " + clazz.getName() +
+                " is not annotated with @" + Tsc4jConfigPath.class.getSimpleName()));
     }
 }
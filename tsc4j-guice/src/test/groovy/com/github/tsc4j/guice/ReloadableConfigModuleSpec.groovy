@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 - 2019 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.github.tsc4j.guice
+
+import com.github.tsc4j.api.Reloadable
+import com.github.tsc4j.api.ReloadableConfig
+import com.google.inject.AbstractModule
+import com.google.inject.Injector
+import com.google.inject.Key
+import com.google.inject.TypeLiteral
+import com.google.inject.name.Named
+import com.typesafe.config.Config
+import spock.guice.UseModules
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.inject.Inject
+
+@UseModules([TestModule])
+class ReloadableConfigModuleSpec extends Specification {
+    static String appName = "someApp"
+    static String datacenter = "myDatacenter"
+    static List<String> envs = ["test", "funky"]
+
+    @Inject
+    Injector injector
+
+    @Inject
+    AppBean appBean
+
+    @Inject
+    Reloadable<AppBean> appBeanReloadable
+
+    @Inject
+    Reloadable<Config> configReloadable
+
+    @Inject
+    @Named("app.var2")
+    int var2
+
+    @Inject
+    @Named("spring.application.name")
+    String springAppName
+
+    @Shared
+    @Inject
+    @AutoCleanup
+    ReloadableConfig rc
+
+    def "should inject bean and it's reloadable"() {
+        expect:
+        appBean.var2 == 42
+        appBean.var3 == "overriden in funky/application.conf: mySuperFunkyApp"
+
+        appBeanReloadable.isPresent()
+        appBeanReloadable.get().var2 == 42
+    }
+
+    def "should always provide the same bean reloadable"() {
+        given:
+        def key = Key.get(new TypeLiteral<Reloadable<AppBean>>() {})
+
+        when:
+        def reloadables = (1..10).collect { injector.getInstance(key) }
+
+        then:
+        reloadables.every { it.is(appBeanReloadable) }
+    }
+
+    def "should provide config from shared reloadable"() {
+        when:
+        def configs = (1..10).collect { injector.getInstance(Config) }
+
+        then:
+        configReloadable.isPresent()
+        configs.every { it.is(configReloadable.get()) }
+        configs.every { it.is(rc.getSync()) }
+    }
+
+    def "should inject named config values"() {
+        expect:
+        var2 == 42
+        springAppName == "mySuperFunkyApp"
+    }
+
+    def "withBeanClasses() should throw on classes without config path annotation"() {
+        given:
+        def module = new ReloadableConfigModule(appName, datacenter, envs)
+
+        when:
+        module.withBeanClasses(String)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    static class TestModule extends AbstractModule {
+        @Override
+        protected void configure() {
+            install(new ReloadableConfigModule(appName, datacenter, envs)
+                .withBeanClasses(AppBean)
+                .setBindConfigValues(true))
+        }
+    }
+}
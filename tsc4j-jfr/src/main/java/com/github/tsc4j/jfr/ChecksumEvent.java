@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.jfr;
+
+import com.github.tsc4j.core.Tsc4jSpan;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event emitted for {@link com.github.tsc4j.core.Tsc4jStage#CHECKSUM} stage.
+ */
+@Name("com.github.tsc4j.Checksum")
+@Label("Checksum")
+@Description("Checksum computation, named by checksummed object class name.")
+public final class ChecksumEvent extends Tsc4jEvent {
+    @Label("Size")
+    @Description("Size of checksummed data")
+    @DataAmount(DataAmount.BYTES)
+    long bytes;
+
+    @Override
+    public Tsc4jSpan setAttribute(String key, long value) {
+        if (Tsc4jSpan.BYTES.equals(key)) {
+            this.bytes = value;
+        }
+        return this;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.jfr;
+
+import com.github.tsc4j.core.Tsc4jSpan;
+import com.github.tsc4j.core.Tsc4jStage;
+import com.github.tsc4j.core.Tsc4jTracer;
+import jdk.jfr.EventType;
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * {@link Tsc4jTracer} that emits JDK Flight Recorder events for configuration refresh pipeline stages; it's
+ * registered automatically via {@link java.util.ServiceLoader} if this module is on the classpath.
+ * <p>
+ * Events are emitted only while flight recording is running and events are not disabled by recording settings
+ * (they are enabled by default); otherwise starting a span doesn't allocate anything. Events are named
+ * {@code com.github.tsc4j.*}, carry stage name, outcome and stage specific sizes, see {@link Tsc4jEvent} subclasses.
+ */
+public final class JfrTsc4jTracer implements Tsc4jTracer {
+    /**
+     * Event types indexed by {@link Tsc4jStage#ordinal()}.
+     */
+    private final EventType[] eventTypes;
+
+    /**
+     * Creates new instance.
+     */
+    public JfrTsc4jTracer() {
+        val stages = Tsc4jStage.values();
+        this.eventTypes = new EventType[stages.length];
+        for (val stage : stages) {
+            eventTypes[stage.ordinal()] = EventType.getEventType(eventClass(stage));
+        }
+    }
+
+    @Override
+    public Tsc4jSpan start(@NonNull Tsc4jStage stage, String name) {
+        if (!eventTypes[stage.ordinal()].isEnabled()) {
+            return Tsc4jSpan.NOOP;
+        }
+
+        val event = newEvent(stage);
+        event.name = name;
+        event.begin();
+        return event;
+    }
+
+    private static Class<? extends Tsc4jEvent> eventClass(Tsc4jStage stage) {
+        switch (stage) {
+            case REFRESH:
+                return RefreshEvent.class;
+            case SOURCE_FETCH:
+                return SourceFetchEvent.class;
+            case MERGE:
+                return MergeEvent.class;
+            case RESOLVE:
+                return ResolveEvent.class;
+            case TRANSFORM:
+                return TransformEvent.class;
+            case VALUE_PROVIDER_FETCH:
+                return ValueProviderFetchEvent.class;
+            case CHECKSUM:
+                return ChecksumEvent.class;
+            case CONSUMER:
+                return ConsumerEvent.class;
+            default:
+                throw new IllegalArgumentException("Unsupported stage: " + stage);
+        }
+    }
+
+    private static Tsc4jEvent newEvent(Tsc4jStage stage) {
+        switch (stage) {
+            case REFRESH:
+                return new RefreshEvent();
+            case SOURCE_FETCH:
+                return new SourceFetchEvent();
+            case MERGE:
+                return new MergeEvent();
+            case RESOLVE:
+                return new ResolveEvent();
+            case TRANSFORM:
+                return new TransformEvent();
+            case VALUE_PROVIDER_FETCH:
+                return new ValueProviderFetchEvent();
+            case CHECKSUM:
+                return new ChecksumEvent();
+            case CONSUMER:
+                return new ConsumerEvent();
+            default:
+                throw new IllegalArgumentException("Unsupported stage: " + stage);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName();
+    }
+}
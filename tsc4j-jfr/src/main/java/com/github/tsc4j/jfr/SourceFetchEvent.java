@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.jfr;
+
+import com.github.tsc4j.core.Tsc4jSpan;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event emitted for {@link com.github.tsc4j.core.Tsc4jStage#SOURCE_FETCH} stage.
+ */
+@Name("com.github.tsc4j.SourceFetch")
+@Label("Config Source Fetch")
+@Description("Configuration fetch from a single config source, named by config source.")
+public final class SourceFetchEvent extends Tsc4jEvent {
+    @Label("Paths")
+    @Description("Number of top-level paths of fetched configuration")
+    long paths;
+
+    @Override
+    public Tsc4jSpan setAttribute(String key, long value) {
+        if (Tsc4jSpan.PATHS.equals(key)) {
+            this.paths = value;
+        }
+        return this;
+    }
+}
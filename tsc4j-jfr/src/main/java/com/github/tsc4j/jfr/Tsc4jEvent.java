@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.jfr;
+
+import com.github.tsc4j.core.Tsc4jSpan;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base class of tsc4j flight recorder events; event itself is a {@link Tsc4jSpan} that is committed when it's
+ * closed.
+ */
+@Category({"tsc4j", "Configuration Refresh"})
+@StackTrace(false)
+public abstract class Tsc4jEvent extends Event implements Tsc4jSpan {
+    @Label("Name")
+    String name;
+
+    @Label("Succeeded")
+    boolean succeeded = true;
+
+    @Label("Error")
+    String error;
+
+    @Override
+    public final boolean isRecording() {
+        return true;
+    }
+
+    @Override
+    public Tsc4jSpan setAttribute(String key, long value) {
+        return this;
+    }
+
+    @Override
+    public Tsc4jSpan setAttribute(String key, String value) {
+        return this;
+    }
+
+    @Override
+    public final Tsc4jSpan setError(Throwable error) {
+        this.succeeded = false;
+        this.error = (error == null) ? null : error.toString();
+        return this;
+    }
+
+    @Override
+    public final void close() {
+        commit();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.jfr;
+
+import com.github.tsc4j.core.Tsc4jSpan;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event emitted for {@link com.github.tsc4j.core.Tsc4jStage#VALUE_PROVIDER_FETCH} stage.
+ */
+@Name("com.github.tsc4j.ValueProviderFetch")
+@Label("Config Value Provider Fetch")
+@Description("Single batch fetch from a config value provider, named by config value provider.")
+public final class ValueProviderFetchEvent extends Tsc4jEvent {
+    @Label("Batch Size")
+    @Description("Number of requested values")
+    long batchSize;
+
+    @Label("Values")
+    @Description("Number of returned values")
+    long values;
+
+    @Override
+    public Tsc4jSpan setAttribute(String key, long value) {
+        if (Tsc4jSpan.BATCH_SIZE.equals(key)) {
+            this.batchSize = value;
+        } else if (Tsc4jSpan.VALUES.equals(key)) {
+            this.values = value;
+        }
+        return this;
+    }
+}
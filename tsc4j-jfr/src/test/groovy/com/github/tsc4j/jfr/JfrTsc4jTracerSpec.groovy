@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.jfr
+
+import com.github.tsc4j.core.Tsc4jImplUtils
+import com.github.tsc4j.core.Tsc4jSpan
+import com.github.tsc4j.core.Tsc4jStage
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordingFile
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class JfrTsc4jTracerSpec extends Specification {
+    def tracer = new JfrTsc4jTracer()
+
+    def "should return noop span if there is no running recording"() {
+        expect:
+        tracer.start(stage, "foo").is(Tsc4jSpan.NOOP)
+
+        where:
+        stage << Tsc4jStage.values()
+    }
+
+    def "should be registered via service loader"() {
+        expect:
+        Tsc4jImplUtils.loadImplementations(com.github.tsc4j.core.Tsc4jTracer).any { it instanceof JfrTsc4jTracer }
+    }
+
+    def "should emit events while recording is running"() {
+        given:
+        def file = Files.createTempFile("tsc4j-", ".jfr")
+        def recording = new Recording()
+        recording.enable("com.github.tsc4j.SourceFetch")
+        recording.enable("com.github.tsc4j.ConfigRefresh")
+        recording.enable("com.github.tsc4j.Checksum")
+        recording.start()
+
+        when:
+        def span = tracer.start(Tsc4jStage.SOURCE_FETCH, "my-source")
+        span.setAttribute(Tsc4jSpan.PATHS, 42)
+        span.close()
+
+        tracer.start(Tsc4jStage.REFRESH, "my-config")
+              .setError(new IllegalStateException("boom"))
+              .close()
+
+        Tsc4jImplUtils.objectChecksum("some string")
+
+        recording.stop()
+        recording.dump(file)
+        def events = RecordingFile.readAllEvents(file)
+
+        then:
+        span.isRecording()
+
+        with(events.find { it.eventType.name == "com.github.tsc4j.SourceFetch" }) {
+            getString("name") == "my-source"
+            getLong("paths") == 42
+            getBoolean("succeeded")
+            getString("error") == null
+        }
+        with(events.find { it.eventType.name == "com.github.tsc4j.ConfigRefresh" }) {
+            getString("name") == "my-config"
+            !getBoolean("succeeded")
+            getString("error").contains("boom")
+        }
+        with(events.find { it.eventType.name == "com.github.tsc4j.Checksum" && it.getString("name") == "java.lang.String" }) {
+            getLong("bytes") > 11
+        }
+
+        cleanup:
+        recording?.close()
+        Files.deleteIfExists(file)
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.aws.sdk2;
+
+import com.github.tsc4j.core.ConfigSource;
+import com.github.tsc4j.loadtest.FakeBackend;
+import lombok.NonNull;
+import lombok.val;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.paginators.ListObjectsV2Iterable;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory {@link S3Client} that implements operations used by {@link S3ConfigSource}: listing objects and fetching
+ * object contents. Every operation is recorded and delayed by its {@link FakeBackend}.
+ */
+public final class FakeS3Client implements S3Client {
+    private static final int MAX_KEYS = 1000;
+
+    private final FakeBackend backend;
+    private final Clock clock;
+    private final AtomicLong versions = new AtomicLong();
+    private final Map<String, ConcurrentNavigableMap<String, StoredObject>> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Creates new instance.
+     *
+     * @param backend simulated backend
+     * @param clock   clock used for object modification times
+     */
+    public FakeS3Client(@NonNull FakeBackend backend, @NonNull Clock clock) {
+        this.backend = backend;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates S3 config source that uses this client.
+     *
+     * @param builder config source builder
+     * @return config source
+     */
+    public ConfigSource createConfigSource(@NonNull S3ConfigSource.Builder builder) {
+        return new S3ConfigSource(builder, this);
+    }
+
+    /**
+     * Stores object, bucket is created if it doesn't exist; stored object is left intact if content didn't change.
+     *
+     * @param bucket  bucket name
+     * @param key     object key
+     * @param content object content
+     * @return true if object was created or modified, otherwise false
+     */
+    public boolean store(@NonNull String bucket, @NonNull String key, @NonNull String content) {
+        val bytes = content.getBytes(StandardCharsets.UTF_8);
+        val objects = buckets.computeIfAbsent(bucket, it -> new ConcurrentSkipListMap<>());
+        val existing = objects.get(key);
+        if (existing != null && Arrays.equals(existing.content, bytes)) {
+            return false;
+        }
+        val etag = "\"" + Long.toHexString(versions.incrementAndGet()) + "-" +
+            Integer.toHexString(content.hashCode()) + "\"";
+        objects.put(key, new StoredObject(bytes, etag, clock.instant()));
+        return true;
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        // instance is shared by many config sources
+    }
+
+    @Override
+    public ListObjectsV2Iterable listObjectsV2Paginator(@NonNull ListObjectsV2Request request) {
+        return new ListObjectsV2Iterable(this, request);
+    }
+
+    @Override
+    public ListObjectsV2Response listObjectsV2(@NonNull ListObjectsV2Request request) {
+        backend.call("ListObjectsV2");
+
+        val objects = bucket(request.bucket());
+        val prefix = (request.prefix() == null) ? "" : request.prefix();
+        val maxKeys = (request.maxKeys() == null) ? MAX_KEYS : Math.min(MAX_KEYS, request.maxKeys());
+        val token = request.continuationToken();
+
+        val candidates = (token == null) ? objects.tailMap(prefix, true) : objects.tailMap(token, false);
+        val contents = new ArrayList<S3Object>();
+        boolean truncated = false;
+        for (val e : candidates.entrySet()) {
+            if (!e.getKey().startsWith(prefix)) {
+                break;
+            }
+            if (contents.size() == maxKeys) {
+                truncated = true;
+                break;
+            }
+            contents.add(e.getValue().toS3Object(e.getKey()));
+        }
+
+        return ListObjectsV2Response.builder()
+            .name(request.bucket())
+            .prefix(prefix)
+            .maxKeys(maxKeys)
+            .keyCount(contents.size())
+            .contents(contents)
+            .isTruncated(truncated)
+            .continuationToken(token)
+            .nextContinuationToken(truncated ? contents.get(contents.size() - 1).key() : null)
+            .build();
+    }
+
+    @Override
+    public ResponseInputStream<GetObjectResponse> getObject(@NonNull GetObjectRequest request) {
+        backend.call("GetObject");
+
+        val object = bucket(request.bucket()).get(request.key());
+        if (object == null) {
+            throw (NoSuchKeyException) NoSuchKeyException.builder()
+                .statusCode(404)
+                .message("The specified key does not exist: " + request.key())
+                .build();
+        }
+
+        val response = GetObjectResponse.builder()
+            .eTag(object.etag)
+            .lastModified(object.lastModified)
+            .contentLength((long) object.content.length)
+            .build();
+        val is = AbortableInputStream.create(new ByteArrayInputStream(object.content));
+        return new ResponseInputStream<>(response, is);
+    }
+
+    private ConcurrentNavigableMap<String, StoredObject> bucket(String name) {
+        val objects = buckets.get(name);
+        if (objects == null) {
+            throw (NoSuchBucketException) NoSuchBucketException.builder()
+                .statusCode(404)
+                .message("The specified bucket does not exist: " + name)
+                .build();
+        }
+        return objects;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + backend.getName() + ")";
+    }
+
+    private static final class StoredObject {
+        final byte[] content;
+        final String etag;
+        final Instant lastModified;
+
+        StoredObject(byte[] content, String etag, Instant lastModified) {
+            this.content = content;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        S3Object toS3Object(String key) {
+            return S3Object.builder()
+                .key(key)
+                .eTag(etag)
+                .size((long) content.length)
+                .lastModified(lastModified)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.aws.sdk2;
+
+import com.github.tsc4j.core.ConfigSource;
+import com.github.tsc4j.core.ConfigValueProvider;
+import com.github.tsc4j.loadtest.FakeBackend;
+import lombok.NonNull;
+import lombok.val;
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersRequest;
+import software.amazon.awssdk.services.ssm.model.DescribeParametersResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathResponse;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+import software.amazon.awssdk.services.ssm.model.ParameterMetadata;
+import software.amazon.awssdk.services.ssm.model.ParameterType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory {@link SsmClient} that implements parameter store operations used by {@link ParameterStoreConfigSource}
+ * and {@link ParameterStoreValueProvider}. Secure string parameters fetched without decryption contain fake
+ * ciphertext instead of a value, just like real AWS SSM. Every operation is recorded and delayed by its
+ * {@link FakeBackend}.
+ */
+public final class FakeSsmClient implements SsmClient {
+    private static final int MAX_RESULTS = 10;
+    private static final int DESCRIBE_MAX_RESULTS = 50;
+    private static final String ARN_PREFIX = "arn:aws:ssm:us-east-1:000000000000:parameter";
+
+    private final FakeBackend backend;
+    private final Clock clock;
+    private final ConcurrentNavigableMap<String, Parameter> parameters = new ConcurrentSkipListMap<>();
+
+    /**
+     * Creates new instance.
+     *
+     * @param backend simulated backend
+     * @param clock   clock used for parameter modification times
+     */
+    public FakeSsmClient(@NonNull FakeBackend backend, @NonNull Clock clock) {
+        this.backend = backend;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates parameter store config source that uses this client.
+     *
+     * @param builder config source builder
+     * @return config source
+     */
+    public ConfigSource createConfigSource(@NonNull ParameterStoreConfigSource.Builder builder) {
+        return new ParameterStoreConfigSource(builder, this);
+    }
+
+    /**
+     * Creates parameter store value provider that uses this client.
+     *
+     * @param builder value provider builder
+     * @return value provider
+     */
+    public ConfigValueProvider createValueProvider(@NonNull ParameterStoreValueProvider.Builder builder) {
+        return new ParameterStoreValueProvider(builder, this);
+    }
+
+    /**
+     * Stores parameter; parameter version is incremented only if its value or type changed.
+     *
+     * @param name   parameter name
+     * @param value  parameter value
+     * @param secure store parameter as a secure string?
+     * @return true if parameter was created or modified, otherwise false
+     */
+    public boolean store(@NonNull String name, @NonNull String value, boolean secure) {
+        val ssmName = SsmFacade.ssmParamName(name);
+        val type = secure ? ParameterType.SECURE_STRING : ParameterType.STRING;
+        val existing = parameters.get(ssmName);
+        if (existing != null && existing.value().equals(value) && existing.type() == type) {
+            return false;
+        }
+
+        val version = (existing == null) ? 1L : existing.version() + 1;
+        val param = Parameter.builder()
+            .name(ssmName)
+            .value(value)
+            .type(type)
+            .version(version)
+            .dataType("text")
+            .lastModifiedDate(clock.instant())
+            .arn(ARN_PREFIX + ssmName)
+            .build();
+        parameters.put(ssmName, param);
+        return true;
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        // instance is shared by many config sources and value providers
+    }
+
+    @Override
+    public GetParametersByPathResponse getParametersByPath(@NonNull GetParametersByPathRequest request) {
+        backend.call("GetParametersByPath");
+
+        val path = request.path().endsWith("/") ? request.path() : request.path() + "/";
+        val recursive = Boolean.TRUE.equals(request.recursive());
+        val decrypt = Boolean.TRUE.equals(request.withDecryption());
+        val maxResults = (request.maxResults() == null) ? MAX_RESULTS : Math.min(MAX_RESULTS, request.maxResults());
+        val token = request.nextToken();
+
+        val candidates = (token == null) ? parameters.tailMap(path, true) : parameters.tailMap(token, false);
+        val result = new ArrayList<Parameter>();
+        String nextToken = null;
+        for (val e : candidates.entrySet()) {
+            val name = e.getKey();
+            if (!name.startsWith(path)) {
+                break;
+            }
+            if (!recursive && name.indexOf('/', path.length()) >= 0) {
+                continue;
+            }
+            if (result.size() == maxResults) {
+                nextToken = result.get(result.size() - 1).name();
+                break;
+            }
+            result.add(maybeEncrypt(e.getValue(), decrypt));
+        }
+
+        return GetParametersByPathResponse.builder()
+            .parameters(result)
+            .nextToken(nextToken)
+            .build();
+    }
+
+    @Override
+    public GetParametersResponse getParameters(@NonNull GetParametersRequest request) {
+        backend.call("GetParameters");
+
+        if (request.names().size() > MAX_RESULTS) {
+            throw new IllegalArgumentException("At most " + MAX_RESULTS + " parameters can be fetched at once.");
+        }
+
+        val decrypt = Boolean.TRUE.equals(request.withDecryption());
+        val found = new ArrayList<Parameter>();
+        val invalid = new ArrayList<String>();
+        request.names().forEach(name -> {
+            val param = parameters.get(name);
+            if (param == null) {
+                invalid.add(name);
+            } else {
+                found.add(maybeEncrypt(param, decrypt));
+            }
+        });
+
+        return GetParametersResponse.builder()
+            .parameters(found)
+            .invalidParameters(invalid)
+            .build();
+    }
+
+    @Override
+    public DescribeParametersResponse describeParameters(@NonNull DescribeParametersRequest request) {
+        backend.call("DescribeParameters");
+
+        val maxResults = (request.maxResults() == null) ?
+            DESCRIBE_MAX_RESULTS : Math.min(DESCRIBE_MAX_RESULTS, request.maxResults());
+        val token = request.nextToken();
+
+        val candidates = (token == null) ? parameters.values() : parameters.tailMap(token, false).values();
+        val result = new ArrayList<ParameterMetadata>();
+        String nextToken = null;
+        for (val param : candidates) {
+            if (result.size() == maxResults) {
+                nextToken = result.get(result.size() - 1).name();
+                break;
+            }
+            result.add(ParameterMetadata.builder()
+                .name(param.name())
+                .type(param.type())
+                .version(param.version())
+                .dataType(param.dataType())
+                .lastModifiedDate(param.lastModifiedDate())
+                .build());
+        }
+
+        return DescribeParametersResponse.builder()
+            .parameters(result)
+            .nextToken(nextToken)
+            .build();
+    }
+
+    private static Parameter maybeEncrypt(Parameter param, boolean decrypt) {
+        if (decrypt || param.type() != ParameterType.SECURE_STRING) {
+            return param;
+        }
+        val ciphertext = Base64.getEncoder().encodeToString(param.value().getBytes(StandardCharsets.UTF_8));
+        return param.toBuilder().value(ciphertext).build();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + backend.getName() + ")";
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.credstash;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.regions.AwsRegionProvider;
+import com.github.tsc4j.core.ConfigValueProvider;
+import com.github.tsc4j.loadtest.FakeBackend;
+import com.jessecoyle.CredStashBouncyCastleCrypto;
+import com.jessecoyle.JCredStash;
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link JCredStash} that serves secrets without DynamoDB and KMS. Every secret fetch is recorded and
+ * delayed by its {@link FakeBackend}.
+ */
+public final class FakeCredstash extends JCredStash {
+    private final FakeBackend backend;
+    private final Map<String, String> secrets = new ConcurrentHashMap<>();
+
+    /**
+     * Creates new instance.
+     *
+     * @param backend simulated backend
+     */
+    public FakeCredstash(@NonNull FakeBackend backend) {
+        // aws clients created by the superclass are never used
+        super(CredstashConfigValueProvider.DEFAULT_TABLE_NAME,
+            new AWSStaticCredentialsProvider(new BasicAWSCredentials("fake", "fake")),
+            new FixedRegionProvider(),
+            new CredStashBouncyCastleCrypto());
+        this.backend = backend;
+    }
+
+    /**
+     * Creates credstash value provider that uses this instance.
+     *
+     * @param builder value provider builder
+     * @return value provider
+     */
+    public ConfigValueProvider createValueProvider(@NonNull CredstashConfigValueProvider.Builder builder) {
+        return new CredstashConfigValueProvider(builder, this);
+    }
+
+    /**
+     * Stores secret.
+     *
+     * @param name  secret name
+     * @param value secret value
+     * @return true if secret was created or modified, otherwise false
+     */
+    public boolean store(@NonNull String name, @NonNull String value) {
+        return !value.equals(secrets.put(name, value));
+    }
+
+    @Override
+    public String getSecret(String name, Map<String, String> context) {
+        backend.call("GetSecret");
+
+        val secret = secrets.get(name);
+        if (secret == null) {
+            // same message as thrown by JCredStash
+            throw new IllegalStateException("Secret " + name + " could not be found");
+        }
+        return secret;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + backend.getName() + ")";
+    }
+
+    private static final class FixedRegionProvider extends AwsRegionProvider {
+        @Override
+        public String getRegion() {
+            return "us-east-1";
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.loadtest;
+
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe counter of simulated backend API calls.
+ */
+public final class ApiCalls {
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Records single API call.
+     *
+     * @param api api name
+     */
+    public void record(@NonNull String api) {
+        counters.computeIfAbsent(api, it -> new LongAdder()).increment();
+    }
+
+    /**
+     * Returns number of recorded calls of given API.
+     *
+     * @param api api name
+     * @return number of recorded calls
+     */
+    public long count(@NonNull String api) {
+        val counter = counters.get(api);
+        return (counter == null) ? 0 : counter.sum();
+    }
+
+    /**
+     * Returns total number of recorded calls.
+     *
+     * @return total number of recorded calls
+     */
+    public long total() {
+        return counters.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Returns snapshot of recorded call counts.
+     *
+     * @return sorted map of {@code api -> number of calls}
+     */
+    public SortedMap<String, Long> snapshot() {
+        val result = new TreeMap<String, Long>();
+        counters.forEach((api, counter) -> result.put(api, counter.sum()));
+        return Collections.unmodifiableSortedMap(result);
+    }
+
+    /**
+     * Resets all counters.
+     */
+    public void reset() {
+        counters.clear();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + snapshot();
+    }
+}
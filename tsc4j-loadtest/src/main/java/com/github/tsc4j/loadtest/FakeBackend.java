@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.loadtest;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Simulated backend: every call is recorded and delayed for simulated latency.
+ */
+@Value
+public class FakeBackend {
+    /**
+     * Backend name, used as api name prefix.
+     */
+    @NonNull
+    String name;
+
+    /**
+     * Simulated call latency.
+     */
+    @NonNull
+    Latency latency;
+
+    /**
+     * Api call counter.
+     */
+    @NonNull
+    ApiCalls apiCalls;
+
+    /**
+     * Records the call and blocks calling thread for simulated latency.
+     *
+     * @param operation operation name
+     */
+    public void call(@NonNull String operation) {
+        apiCalls.record(name + "." + operation);
+        latency.await();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process HTTP server that serves stored documents on a loopback interface. Responses carry {@code ETag} header and
+ * conditional requests are answered with {@code 304 Not Modified}. Every request is recorded and delayed by its
+ * {@link FakeBackend} as {@code GET <status code>}.
+ */
+@Slf4j
+public final class FakeHttpServer implements Closeable {
+    private final FakeBackend backend;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong versions = new AtomicLong();
+    private final Map<String, Document> documents = new ConcurrentHashMap<>();
+
+    /**
+     * Creates and starts new instance on a random port.
+     *
+     * @param backend simulated backend
+     * @throws IOException if server can't be started
+     */
+    public FakeHttpServer(@NonNull FakeBackend backend) throws IOException {
+        this.backend = backend;
+        this.executor = Executors.newCachedThreadPool(daemonThreadFactory());
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        val counter = new AtomicInteger();
+        return r -> {
+            val thread = new Thread(r, "fake-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Returns url of the document path.
+     *
+     * @param path document path, starting with {@code /}
+     * @return url
+     */
+    public String url(@NonNull String path) {
+        val address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort() + path;
+    }
+
+    /**
+     * Stores document; stored document is left intact if content didn't change.
+     *
+     * @param path    document path, starting with {@code /}
+     * @param content document content
+     * @return true if document was created or modified, otherwise false
+     */
+    public boolean store(@NonNull String path, @NonNull String content) {
+        val bytes = content.getBytes(StandardCharsets.UTF_8);
+        val existing = documents.get(path);
+        if (existing != null && Arrays.equals(existing.content, bytes)) {
+            return false;
+        }
+        documents.put(path, new Document(bytes, "\"" + Long.toHexString(versions.incrementAndGet()) + "\""));
+        return true;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            // discard request body, if any
+            val buf = new byte[1024];
+            while (exchange.getRequestBody().read(buf) >= 0) {
+                // discard
+            }
+
+            val document = documents.get(exchange.getRequestURI().getPath());
+            val status = responseStatus(exchange, document);
+            backend.call("GET " + status);
+
+            if (document != null) {
+                exchange.getResponseHeaders().set("ETag", document.etag);
+            }
+            if (status == 200) {
+                exchange.getResponseHeaders().set("Content-Type", "application/hocon; charset=utf-8");
+                exchange.sendResponseHeaders(status, document.content.length);
+                exchange.getResponseBody().write(document.content);
+            } else {
+                exchange.sendResponseHeaders(status, -1);
+            }
+        } catch (RuntimeException e) {
+            log.error("{} error handling request: {}", this, exchange.getRequestURI(), e);
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private int responseStatus(HttpExchange exchange, Document document) {
+        if (document == null) {
+            return 404;
+        } else if (!"GET".equals(exchange.getRequestMethod())) {
+            return 405;
+        } else if (document.etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            return 304;
+        }
+        return 200;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + url("/") + ")";
+    }
+
+    private static final class Document {
+        final byte[] content;
+        final String etag;
+
+        Document(byte[] content, String etag) {
+            this.content = content;
+            this.etag = etag;
+        }
+    }
+}
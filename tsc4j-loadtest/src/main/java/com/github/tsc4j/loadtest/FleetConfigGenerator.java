@@ -0,0 +1,209 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.loadtest;
+
+import com.github.tsc4j.loadtest.LoadTestOptions.ReferenceType;
+import com.github.tsc4j.loadtest.LoadTestOptions.SourceType;
+import com.typesafe.config.ConfigUtil;
+import lombok.NonNull;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates deterministic fleet configuration: config values served by each config source of each instance, value
+ * provider references and secrets they point to.
+ * <p>
+ * Values of instance {@code i} served by config source {@code j} reside at
+ * {@code fleet.app-i.src-j.section-N.key-M} config paths, where each section contains up to 10 keys; value
+ * provider references reside at {@code fleet.app-i.src-0.refs.ref-N}. Only value of the first key of each source
+ * depends on config revision, so that config changes are small, like they usually are.
+ */
+public final class FleetConfigGenerator {
+    /**
+     * Root config path of generated configuration.
+     */
+    public static final String ROOT = "fleet";
+
+    private static final int SECTION_SIZE = 10;
+
+    private final LoadTestOptions options;
+
+    /**
+     * Creates new instance.
+     *
+     * @param options load test options
+     */
+    public FleetConfigGenerator(@NonNull LoadTestOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Returns config path of the instance.
+     *
+     * @param instance instance number
+     * @return config path
+     */
+    public String appPath(int instance) {
+        return ROOT + ".app-" + instance;
+    }
+
+    /**
+     * Returns config path of values served by config source of the instance.
+     *
+     * @param instance instance number
+     * @param source   config source number
+     * @return config path
+     */
+    public String sourcePath(int instance, int source) {
+        return appPath(instance) + ".src-" + source;
+    }
+
+    /**
+     * Returns type of the config source.
+     *
+     * @param source config source number
+     * @return config source type
+     */
+    public SourceType sourceType(int source) {
+        val types = options.getSourceTypes();
+        return types.get(source % types.size());
+    }
+
+    /**
+     * Returns value provider type of the value reference.
+     *
+     * @param reference reference number
+     * @return value provider type
+     */
+    public ReferenceType referenceType(int reference) {
+        val types = options.getReferenceTypes();
+        return types.get(reference % types.size());
+    }
+
+    /**
+     * Generates values served by config source of the instance.
+     *
+     * @param instance instance number
+     * @param source   config source number
+     * @param revision config revision
+     * @return ordered map of {@code config path -> value}
+     */
+    public Map<String, String> sourceValues(int instance, int source, long revision) {
+        val sourcePath = sourcePath(instance, source);
+        val values = new LinkedHashMap<String, String>();
+        for (int key = 0; key < options.getKeys(); key++) {
+            val path = sourcePath + ".section-" + (key / SECTION_SIZE) + ".key-" + key;
+            val value = "value-" + instance + "-" + source + "-" + key;
+            values.put(path, (key == 0) ? value + "-r" + revision : value);
+        }
+        if (source == 0) {
+            for (int ref = 0; ref < options.getReferences(); ref++) {
+                values.put(sourcePath + ".refs.ref-" + ref, reference(instance, ref));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns value provider reference.
+     *
+     * @param instance  instance number
+     * @param reference reference number
+     * @return value provider reference
+     */
+    public String reference(int instance, int reference) {
+        if (referenceType(reference) == ReferenceType.CREDSTASH) {
+            return "%{credstash://" + secretName(instance, reference) + "}";
+        }
+        // leading slash is added by the value provider
+        return "%{ssm://" + secretName(instance, reference).substring(1) + "}";
+    }
+
+    /**
+     * Returns name of the secret that value provider reference points to.
+     *
+     * @param instance  instance number
+     * @param reference reference number
+     * @return credstash secret name or SSM parameter name, depending on reference type
+     */
+    public String secretName(int instance, int reference) {
+        val name = appPath(instance) + ".secrets.secret-" + reference;
+        return (referenceType(reference) == ReferenceType.CREDSTASH) ? name : toSsmName(name);
+    }
+
+    /**
+     * Returns value of the secret that value provider reference points to.
+     *
+     * @param instance  instance number
+     * @param reference reference number
+     * @return secret value
+     */
+    public String secretValue(int instance, int reference) {
+        return "secret-" + instance + "-" + reference;
+    }
+
+    /**
+     * Returns config paths at which reloadables of the instance are registered; paths of all generated values are
+     * used in round-robin fashion.
+     *
+     * @param instance instance number
+     * @return list of config paths
+     */
+    public List<String> reloadablePaths(int instance) {
+        val valuePaths = new ArrayList<String>();
+        for (int source = 0; source < options.getSources(); source++) {
+            valuePaths.addAll(sourceValues(instance, source, 0).keySet());
+        }
+
+        val result = new ArrayList<String>(options.getReloadables());
+        for (int i = 0; i < options.getReloadables(); i++) {
+            result.add(valuePaths.get(i % valuePaths.size()));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Renders values as HOCON document.
+     *
+     * @param values map of {@code config path -> value}
+     * @return HOCON document
+     */
+    public static String toHocon(@NonNull Map<String, String> values) {
+        val sb = new StringBuilder();
+        values.forEach((path, value) -> sb
+            .append(path)
+            .append(" = ")
+            .append(ConfigUtil.quoteString(value))
+            .append('\n'));
+        return sb.toString();
+    }
+
+    /**
+     * Converts config path to SSM parameter name.
+     *
+     * @param path config path
+     * @return SSM parameter name
+     */
+    public static String toSsmName(@NonNull String path) {
+        return "/" + path.replace('.', '/');
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.loadtest;
+
+import lombok.experimental.UtilityClass;
+import lombok.val;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * JVM resource usage counters, available on HotSpot-based JVMs.
+ */
+@UtilityClass
+class JvmStats {
+    /**
+     * Returns CPU time used by the JVM process.
+     *
+     * @return CPU time in nanoseconds, {@code -1} if not supported by the JVM
+     */
+    long processCpuNanos() {
+        val os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+        }
+        return -1;
+    }
+
+    /**
+     * Returns number of bytes allocated by all live threads; allocations of threads that have already terminated are
+     * not included.
+     *
+     * @return allocated bytes, {@code -1} if not supported by the JVM
+     */
+    long allocatedBytes() {
+        val threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+
+        val hotspotThreads = (com.sun.management.ThreadMXBean) threads;
+        if (!hotspotThreads.isThreadAllocatedMemorySupported() || !hotspotThreads.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+
+        long sum = 0;
+        for (val bytes : hotspotThreads.getThreadAllocatedBytes(hotspotThreads.getAllThreadIds())) {
+            // threads that terminated in the meantime report -1
+            if (bytes > 0) {
+                sum += bytes;
+            }
+        }
+        return sum;
+    }
+}
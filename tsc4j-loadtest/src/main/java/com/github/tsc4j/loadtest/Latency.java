@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.loadtest;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simulated backend call latency: every call is delayed for base latency plus random jitter in range of
+ * {@code [0, jitter)}.
+ */
+@Value
+public class Latency {
+    /**
+     * No latency.
+     */
+    public static final Latency NONE = new Latency(Duration.ZERO, Duration.ZERO);
+
+    /**
+     * Base latency.
+     */
+    Duration base;
+
+    /**
+     * Maximum random jitter added to base latency.
+     */
+    Duration jitter;
+
+    /**
+     * Creates new instance.
+     *
+     * @param base   base latency
+     * @param jitter maximum random jitter added to base latency
+     * @throws IllegalArgumentException if durations are negative
+     */
+    public Latency(@NonNull Duration base, @NonNull Duration jitter) {
+        if (base.isNegative() || jitter.isNegative()) {
+            throw new IllegalArgumentException("Latency cannot be negative.");
+        }
+        this.base = base;
+        this.jitter = jitter;
+    }
+
+    /**
+     * Creates new instance with jitter expressed as percentage of base latency.
+     *
+     * @param base      base latency
+     * @param jitterPct jitter percentage of base latency (0 - 100)
+     * @return latency
+     * @throws IllegalArgumentException if arguments are out of range
+     */
+    public static Latency of(@NonNull Duration base, int jitterPct) {
+        if (jitterPct < 0 || jitterPct > 100) {
+            throw new IllegalArgumentException(
+                "Invalid latency jitter percentage (must be in range 0-100): " + jitterPct);
+        }
+        return new Latency(base, base.multipliedBy(jitterPct).dividedBy(100));
+    }
+
+    /**
+     * Blocks calling thread for base latency plus random jitter.
+     */
+    public void await() {
+        val jitterNanos = jitter.toNanos();
+        val nanos = base.toNanos() + ((jitterNanos > 0) ? ThreadLocalRandom.current().nextLong(jitterNanos) : 0);
+        if (nanos <= 0) {
+            return;
+        }
+
+        // park might return early, make sure that full latency is spent
+        val deadline = System.nanoTime() + nanos;
+        long remaining = nanos;
+        while (remaining > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return base.toMillis() + "ms" + (jitter.isZero() ? "" : " (+" + jitter.toMillis() + "ms jitter)");
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.loadtest;
+
+import com.github.tsc4j.aws.sdk2.FakeS3Client;
+import com.github.tsc4j.aws.sdk2.FakeSsmClient;
+import com.github.tsc4j.aws.sdk2.ParameterStoreConfigSource;
+import com.github.tsc4j.aws.sdk2.ParameterStoreValueProvider;
+import com.github.tsc4j.aws.sdk2.S3ConfigSource;
+import com.github.tsc4j.core.AggConfigSource;
+import com.github.tsc4j.core.CloseableReloadableConfig;
+import com.github.tsc4j.core.ConfigQuery;
+import com.github.tsc4j.core.ConfigSource;
+import com.github.tsc4j.core.ConfigSourceWithTransformer;
+import com.github.tsc4j.core.ConfigTransformer;
+import com.github.tsc4j.core.ConfigValueProvider;
+import com.github.tsc4j.core.Tsc4jImplUtils;
+import com.github.tsc4j.core.impl.ConfigSupplier;
+import com.github.tsc4j.core.impl.ConfigValueProviderConfigTransformer;
+import com.github.tsc4j.core.impl.DefaultReloadableConfig;
+import com.github.tsc4j.core.impl.URLConfigSource;
+import com.github.tsc4j.credstash.CredstashConfigValueProvider;
+import com.github.tsc4j.credstash.FakeCredstash;
+import com.github.tsc4j.loadtest.LoadTestOptions.ReferenceType;
+import com.github.tsc4j.loadtest.LoadTestOptions.SourceType;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+
+import static com.github.tsc4j.loadtest.FleetConfigGenerator.toHocon;
+import static com.github.tsc4j.loadtest.FleetConfigGenerator.toSsmName;
+
+/**
+ * Synthetic fleet load test: simulates fleet of application instances, each of them with its own
+ * {@link com.github.tsc4j.api.ReloadableConfig} that aggregates S3, SSM parameter store and HTTP config sources and
+ * resolves credstash and SSM parameter store value references. All backends are in-process fakes with simulated
+ * latency, so that no cloud resources are needed.
+ * <p>
+ * Instances are refreshed in rounds; before each round {@link VirtualClock} is advanced for refresh interval instead
+ * of waiting and configs of randomly chosen instances are changed. Each refresh runs on the calling thread, one at a
+ * time, so that refresh durations, CPU time and allocations can be attributed to refreshes; note that numbers include
+ * fake backend overhead, which is small compared to config parsing and merging.
+ */
+@Slf4j
+public final class LoadTest {
+    private static final Instant START = Instant.parse("2022-01-01T00:00:00Z");
+    private static final String BUCKET = "tsc4j-loadtest";
+
+    private final LoadTestOptions options;
+    private final FleetConfigGenerator generator;
+
+    /**
+     * Creates new instance.
+     *
+     * @param options load test options
+     * @throws IllegalStateException if options are invalid
+     */
+    public LoadTest(@NonNull LoadTestOptions options) {
+        this.options = options.validate();
+        this.generator = new FleetConfigGenerator(options);
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @return load test report
+     * @throws IOException if fake http server can't be started
+     */
+    public LoadTestReport run() throws IOException {
+        try (Fleet fleet = new Fleet(new VirtualClock(START), new ApiCalls())) {
+            return fleet.run();
+        }
+    }
+
+    private FakeBackend backend(String name, Duration latency, ApiCalls apiCalls) {
+        return new FakeBackend(name, Latency.of(latency, options.getLatencyJitterPct()), apiCalls);
+    }
+
+    /**
+     * Fleet of simulated instances and fake backends they fetch configuration from.
+     */
+    private final class Fleet implements Closeable {
+        private final VirtualClock clock;
+        private final ApiCalls apiCalls;
+        private final FakeS3Client s3;
+        private final FakeSsmClient ssm;
+        private final FakeCredstash credstash;
+        private final FakeHttpServer http;
+        private final long[] revisions = new long[options.getInstances()];
+        private final List<CloseableReloadableConfig> configs = new ArrayList<>();
+        private final Random random = new Random(options.getSeed());
+
+        Fleet(VirtualClock clock, ApiCalls apiCalls) throws IOException {
+            this.clock = clock;
+            this.apiCalls = apiCalls;
+            this.s3 = new FakeS3Client(backend("s3", options.getS3Latency(), apiCalls), clock);
+            this.ssm = new FakeSsmClient(backend("ssm", options.getSsmLatency(), apiCalls), clock);
+            this.credstash = new FakeCredstash(backend("credstash", options.getCredstashLatency(), apiCalls));
+            this.http = new FakeHttpServer(backend("http", options.getHttpLatency(), apiCalls));
+
+            try {
+                for (int instance = 0; instance < options.getInstances(); instance++) {
+                    publishConfig(instance);
+                    publishSecrets(instance);
+                    configs.add(createReloadableConfig(instance));
+                }
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+            log.info("created fleet of {} instance(s): {}", configs.size(), options);
+        }
+
+        LoadTestReport run() {
+            val durations = new long[options.getRounds() * configs.size()];
+            int numRefreshes = 0;
+            long failures = 0;
+            long changes = 0;
+            long cpuNanos = 0;
+            long allocatedBytes = 0;
+            long elapsedNanos = 0;
+
+            val totalRounds = options.getWarmupRounds() + options.getRounds();
+            for (int round = 0; round < totalRounds; round++) {
+                val measured = round >= options.getWarmupRounds();
+                if (round > 0) {
+                    clock.advance(options.getRefreshInterval());
+                    val changed = changeConfigs();
+                    changes += measured ? changed : 0;
+                }
+                if (round == options.getWarmupRounds()) {
+                    apiCalls.reset();
+                }
+
+                val cpuStart = JvmStats.processCpuNanos();
+                val allocStart = JvmStats.allocatedBytes();
+                val roundStart = System.nanoTime();
+                for (val config : configs) {
+                    val start = System.nanoTime();
+                    val succeeded = refresh(config);
+                    val duration = System.nanoTime() - start;
+                    if (measured) {
+                        durations[numRefreshes++] = duration;
+                        failures += succeeded ? 0 : 1;
+                    }
+                }
+                if (measured) {
+                    elapsedNanos += System.nanoTime() - roundStart;
+                    cpuNanos = accumulate(cpuNanos, cpuStart, JvmStats.processCpuNanos());
+                    allocatedBytes = accumulate(allocatedBytes, allocStart, JvmStats.allocatedBytes());
+                }
+                log.debug("finished refresh round #{} at {}", round, clock.instant());
+            }
+
+            return LoadTestReport.withDurations(durations)
+                .options(options)
+                .failures(failures)
+                .changes(changes)
+                .elapsed(Duration.ofNanos(elapsedNanos))
+                .cpuNanosPerRefresh((cpuNanos < 0) ? -1 : cpuNanos / numRefreshes)
+                .allocatedBytesPerRefresh((allocatedBytes < 0) ? -1 : allocatedBytes / numRefreshes)
+                .apiCalls(apiCalls.snapshot())
+                .build();
+        }
+
+        private long accumulate(long sum, long start, long end) {
+            return (sum < 0 || start < 0 || end < 0) ? -1 : sum + Math.max(0, end - start);
+        }
+
+        private boolean refresh(CloseableReloadableConfig config) {
+            try {
+                config.refresh().toCompletableFuture().join();
+                return true;
+            } catch (CompletionException e) {
+                log.warn("{} refresh failed: {}", config, e.getCause().toString());
+                return false;
+            }
+        }
+
+        /**
+         * Changes configs of randomly chosen instances.
+         *
+         * @return number of changed instance configs
+         */
+        private int changeConfigs() {
+            int changed = 0;
+            for (int instance = 0; instance < revisions.length; instance++) {
+                if (random.nextDouble() < options.getChangeRate()) {
+                    revisions[instance]++;
+                    publishConfig(instance);
+                    changed++;
+                }
+            }
+            return changed;
+        }
+
+        private void publishConfig(int instance) {
+            for (int source = 0; source < options.getSources(); source++) {
+                val values = generator.sourceValues(instance, source, revisions[instance]);
+                val type = generator.sourceType(source);
+                if (type == SourceType.S3) {
+                    s3.store(BUCKET, s3Dir(instance, source) + "/application.conf", toHocon(values));
+                } else if (type == SourceType.SSM) {
+                    values.forEach((path, value) -> ssm.store(toSsmName(path), value, false));
+                } else {
+                    http.store(httpPath(instance, source), toHocon(values));
+                }
+            }
+        }
+
+        private void publishSecrets(int instance) {
+            for (int ref = 0; ref < options.getReferences(); ref++) {
+                val name = generator.secretName(instance, ref);
+                val value = generator.secretValue(instance, ref);
+                if (generator.referenceType(ref) == ReferenceType.CREDSTASH) {
+                    credstash.store(name, value);
+                } else {
+                    ssm.store(name, value, true);
+                }
+            }
+        }
+
+        private String s3Dir(int instance, int source) {
+            return generator.sourcePath(instance, source).replace('.', '/');
+        }
+
+        private String httpPath(int instance, int source) {
+            return "/" + generator.sourcePath(instance, source).replace('.', '/') + ".conf";
+        }
+
+        private CloseableReloadableConfig createReloadableConfig(int instance) {
+            val aggBuilder = AggConfigSource.builder();
+            for (int source = 0; source < options.getSources(); source++) {
+                aggBuilder.source(createConfigSource(instance, source));
+            }
+
+            ConfigSource source = aggBuilder.build();
+            if (options.getReferences() > 0) {
+                source = new ConfigSourceWithTransformer(source, createTransformer(instance));
+            }
+
+            val query = ConfigQuery.builder().appName("app-" + instance).build();
+            val config = DefaultReloadableConfig.builder()
+                .configSupplier(new ConfigSupplier(source, query))
+                // too small refresh interval disables automatic refresh, instances are refreshed by the load test
+                .refreshInterval(Duration.ZERO)
+                .build();
+            generator.reloadablePaths(instance).forEach(path -> config.register(path, String.class));
+            return config;
+        }
+
+        private ConfigSource createConfigSource(int instance, int source) {
+            val name = "app-" + instance + "-src-" + source;
+            val type = generator.sourceType(source);
+            if (type == SourceType.S3) {
+                val builder = S3ConfigSource.builder()
+                    .withPath("s3://" + BUCKET + "/" + s3Dir(instance, source))
+                    .setName(name)
+                    .setClock(clock)
+                    .setParallel(options.isParallel());
+                return s3.createConfigSource(builder);
+            } else if (type == SourceType.SSM) {
+                val builder = ParameterStoreConfigSource.builder()
+                    .withPath(toSsmName(generator.sourcePath(instance, source)))
+                    .setName(name)
+                    .setClock(clock)
+                    .setParallel(options.isParallel());
+                return ssm.createConfigSource(builder);
+            }
+            return URLConfigSource.builder()
+                .url(http.url(httpPath(instance, source)))
+                .setName(name)
+                .setClock(clock)
+                .setParallel(options.isParallel())
+                .build();
+        }
+
+        private ConfigTransformer createTransformer(int instance) {
+            val providers = new ArrayList<ConfigValueProvider>();
+            val types = options.getReferenceTypes();
+            if (types.contains(ReferenceType.CREDSTASH)) {
+                val builder = CredstashConfigValueProvider.builder()
+                    .setName("app-" + instance + "-credstash")
+                    .setClock(clock)
+                    .setParallel(options.isParallel());
+                providers.add(credstash.createValueProvider(builder));
+            }
+            if (types.contains(ReferenceType.SSM)) {
+                val builder = ParameterStoreValueProvider.builder()
+                    .setName("app-" + instance + "-ssm")
+                    .setClock(clock)
+                    .setParallel(options.isParallel());
+                providers.add(ssm.createValueProvider(builder));
+            }
+            return ConfigValueProviderConfigTransformer.builder()
+                .withProviders(providers)
+                .build();
+        }
+
+        @Override
+        public void close() {
+            configs.forEach(it -> Tsc4jImplUtils.close(it, log));
+            configs.clear();
+            Tsc4jImplUtils.close(http, log);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.loadtest;
+
+import com.typesafe.config.ConfigFactory;
+import lombok.val;
+
+/**
+ * Command line entry point of the fleet load test.
+ * <p>
+ * Arguments are {@code key=value} pairs of {@link LoadTestOptions} in kebab-case, for example:
+ * {@code instances=200 keys=1000 source-types=[s3,http] references=50 refresh-interval=5m}.
+ */
+public final class LoadTestMain {
+    private LoadTestMain() {
+    }
+
+    /**
+     * Runs the load test and prints report to stdout.
+     *
+     * @param args command line arguments
+     * @throws Exception if load test can't be run
+     */
+    public static void main(String[] args) throws Exception {
+        val config = ConfigFactory.parseString(String.join("\n", args));
+        val options = LoadTestOptions.fromConfig(config);
+        val report = new LoadTest(options).run();
+        System.out.print(report.format());
+        System.exit(report.getFailures() == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.loadtest;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigValueType;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.Value;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fleet load test options.
+ */
+@Value
+@Builder(toBuilder = true)
+public class LoadTestOptions {
+    /**
+     * Number of simulated application instances, each of them with its own
+     * {@link com.github.tsc4j.api.ReloadableConfig}.
+     */
+    @Builder.Default
+    int instances = 50;
+
+    /**
+     * Number of config keys served by each config source.
+     */
+    @Builder.Default
+    int keys = 100;
+
+    /**
+     * Number of config sources of each instance.
+     */
+    @Builder.Default
+    int sources = 3;
+
+    /**
+     * Config source types, assigned to config sources in round-robin fashion.
+     */
+    @Singular
+    List<SourceType> sourceTypes;
+
+    /**
+     * Number of value provider references ({@code %{type://name}}) in config of each instance.
+     */
+    @Builder.Default
+    int references = 10;
+
+    /**
+     * Value provider types, assigned to value references in round-robin fashion.
+     */
+    @Singular
+    List<ReferenceType> referenceTypes;
+
+    /**
+     * Number of reloadables registered on each instance's reloadable config.
+     */
+    @Builder.Default
+    int reloadables = 10;
+
+    /**
+     * Number of measured refresh rounds; every instance is refreshed once in each round.
+     */
+    @Builder.Default
+    int rounds = 10;
+
+    /**
+     * Number of refresh rounds that precede measured rounds; first round includes initial config fetch.
+     */
+    @Builder.Default
+    int warmupRounds = 1;
+
+    /**
+     * Virtual time between refresh rounds; it affects only time based caches, because virtual clock is advanced
+     * instead of waiting.
+     */
+    @NonNull
+    @Builder.Default
+    Duration refreshInterval = Duration.ofMinutes(1);
+
+    /**
+     * Probability (0 - 1) that config of an instance changes before a refresh round.
+     */
+    @Builder.Default
+    double changeRate = 0.1;
+
+    /**
+     * Fetch from config sources and value providers in parallel?
+     */
+    @Builder.Default
+    boolean parallel = true;
+
+    /**
+     * Simulated latency of S3 api calls.
+     */
+    @NonNull
+    @Builder.Default
+    Duration s3Latency = Duration.ofMillis(20);
+
+    /**
+     * Simulated latency of SSM api calls.
+     */
+    @NonNull
+    @Builder.Default
+    Duration ssmLatency = Duration.ofMillis(15);
+
+    /**
+     * Simulated latency of credstash secret fetch.
+     */
+    @NonNull
+    @Builder.Default
+    Duration credstashLatency = Duration.ofMillis(10);
+
+    /**
+     * Simulated latency of HTTP requests.
+     */
+    @NonNull
+    @Builder.Default
+    Duration httpLatency = Duration.ofMillis(5);
+
+    /**
+     * Latency jitter as percentage of simulated latency.
+     */
+    @Builder.Default
+    int latencyJitterPct = 20;
+
+    /**
+     * Random seed used to choose instances whose config changes.
+     */
+    @Builder.Default
+    long seed = 42;
+
+    /**
+     * Returns config source types, all types if they're not set.
+     *
+     * @return config source types
+     */
+    public List<SourceType> getSourceTypes() {
+        return sourceTypes.isEmpty() ? Arrays.asList(SourceType.values()) : sourceTypes;
+    }
+
+    /**
+     * Returns value provider types, all types if they're not set.
+     *
+     * @return value provider types
+     */
+    public List<ReferenceType> getReferenceTypes() {
+        return referenceTypes.isEmpty() ? Arrays.asList(ReferenceType.values()) : referenceTypes;
+    }
+
+    /**
+     * Validates options.
+     *
+     * @return reference to itself
+     * @throws IllegalStateException if options are invalid
+     */
+    public LoadTestOptions validate() {
+        check(instances > 0, "instances must be > 0");
+        check(keys > 0, "keys must be > 0");
+        check(sources > 0, "sources must be > 0");
+        check(references >= 0, "references must be >= 0");
+        check(reloadables >= 0, "reloadables must be >= 0");
+        check(rounds > 0, "rounds must be > 0");
+        check(warmupRounds >= 0, "warmup rounds must be >= 0");
+        check(!refreshInterval.isNegative(), "refresh interval cannot be negative");
+        check(changeRate >= 0 && changeRate <= 1, "change rate must be in range 0 - 1");
+        check(latencyJitterPct >= 0 && latencyJitterPct <= 100, "latency jitter percentage must be in range 0 - 100");
+        return this;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException("Invalid load test options: " + message);
+        }
+    }
+
+    /**
+     * Creates options from a config; config keys are kebab-case option names (for example {@code source-types}),
+     * options that are not present in the config are set to their defaults.
+     *
+     * @param config config
+     * @return options
+     */
+    public static LoadTestOptions fromConfig(@NonNull Config config) {
+        val b = builder();
+        if (config.hasPath("instances")) {
+            b.instances(config.getInt("instances"));
+        }
+        if (config.hasPath("keys")) {
+            b.keys(config.getInt("keys"));
+        }
+        if (config.hasPath("sources")) {
+            b.sources(config.getInt("sources"));
+        }
+        if (config.hasPath("source-types")) {
+            b.sourceTypes(stringList(config, "source-types", SourceType::parse));
+        }
+        if (config.hasPath("references")) {
+            b.references(config.getInt("references"));
+        }
+        if (config.hasPath("reference-types")) {
+            b.referenceTypes(stringList(config, "reference-types", ReferenceType::parse));
+        }
+        if (config.hasPath("reloadables")) {
+            b.reloadables(config.getInt("reloadables"));
+        }
+        if (config.hasPath("rounds")) {
+            b.rounds(config.getInt("rounds"));
+        }
+        if (config.hasPath("warmup-rounds")) {
+            b.warmupRounds(config.getInt("warmup-rounds"));
+        }
+        if (config.hasPath("refresh-interval")) {
+            b.refreshInterval(config.getDuration("refresh-interval"));
+        }
+        if (config.hasPath("change-rate")) {
+            b.changeRate(config.getDouble("change-rate"));
+        }
+        if (config.hasPath("parallel")) {
+            b.parallel(config.getBoolean("parallel"));
+        }
+        if (config.hasPath("s3-latency")) {
+            b.s3Latency(config.getDuration("s3-latency"));
+        }
+        if (config.hasPath("ssm-latency")) {
+            b.ssmLatency(config.getDuration("ssm-latency"));
+        }
+        if (config.hasPath("credstash-latency")) {
+            b.credstashLatency(config.getDuration("credstash-latency"));
+        }
+        if (config.hasPath("http-latency")) {
+            b.httpLatency(config.getDuration("http-latency"));
+        }
+        if (config.hasPath("latency-jitter-pct")) {
+            b.latencyJitterPct(config.getInt("latency-jitter-pct"));
+        }
+        if (config.hasPath("seed")) {
+            b.seed(config.getLong("seed"));
+        }
+        return b.build();
+    }
+
+    /**
+     * Reads list of values that can be specified either as a list or as a comma separated string.
+     */
+    private static <T> List<T> stringList(Config config, String path, Function<String, T> parser) {
+        val strings = (config.getValue(path).valueType() == ConfigValueType.LIST) ?
+            config.getStringList(path) : Arrays.asList(config.getString(path).split(","));
+        return strings.stream()
+            .map(String::trim)
+            .filter(it -> !it.isEmpty())
+            .map(parser)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Config source types.
+     */
+    public enum SourceType {
+        /**
+         * {@link com.github.tsc4j.aws.sdk2.S3ConfigSource} backed by {@link com.github.tsc4j.aws.sdk2.FakeS3Client}.
+         */
+        S3,
+
+        /**
+         * {@link com.github.tsc4j.aws.sdk2.ParameterStoreConfigSource} backed by
+         * {@link com.github.tsc4j.aws.sdk2.FakeSsmClient}.
+         */
+        SSM,
+
+        /**
+         * {@link com.github.tsc4j.core.impl.URLConfigSource} backed by {@link FakeHttpServer}.
+         */
+        HTTP;
+
+        /**
+         * Parses config source type.
+         *
+         * @param str string
+         * @return config source type
+         * @throws IllegalArgumentException if string doesn't denote valid type
+         */
+        public static SourceType parse(@NonNull String str) {
+            return valueOf(str.trim().toUpperCase(Locale.ENGLISH));
+        }
+    }
+
+    /**
+     * Value provider types.
+     */
+    public enum ReferenceType {
+        /**
+         * {@link com.github.tsc4j.credstash.CredstashConfigValueProvider} backed by
+         * {@link com.github.tsc4j.credstash.FakeCredstash}.
+         */
+        CREDSTASH,
+
+        /**
+         * {@link com.github.tsc4j.aws.sdk2.ParameterStoreValueProvider} backed by
+         * {@link com.github.tsc4j.aws.sdk2.FakeSsmClient}.
+         */
+        SSM;
+
+        /**
+         * Parses value provider type.
+         *
+         * @param str string
+         * @return value provider type
+         * @throws IllegalArgumentException if string doesn't denote valid type
+         */
+        public static ReferenceType parse(@NonNull String str) {
+            return valueOf(str.trim().toUpperCase(Locale.ENGLISH));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.loadtest;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fleet load test report; all values cover measured refresh rounds only.
+ */
+@Value
+@Builder
+public class LoadTestReport {
+    /**
+     * Load test options.
+     */
+    @NonNull
+    LoadTestOptions options;
+
+    /**
+     * Number of refreshes.
+     */
+    long refreshes;
+
+    /**
+     * Number of failed refreshes.
+     */
+    long failures;
+
+    /**
+     * Number of instance config changes.
+     */
+    long changes;
+
+    /**
+     * Wall clock time spent refreshing.
+     */
+    @NonNull
+    Duration elapsed;
+
+    /**
+     * Median refresh duration in nanoseconds.
+     */
+    long p50Nanos;
+
+    /**
+     * 99th percentile of refresh duration in nanoseconds.
+     */
+    long p99Nanos;
+
+    /**
+     * Maximum refresh duration in nanoseconds.
+     */
+    long maxNanos;
+
+    /**
+     * Average process CPU time per refresh in nanoseconds, {@code -1} if not supported by the JVM.
+     */
+    long cpuNanosPerRefresh;
+
+    /**
+     * Average number of bytes allocated per refresh, {@code -1} if not supported by the JVM.
+     */
+    long allocatedBytesPerRefresh;
+
+    /**
+     * Number of backend api calls by api name.
+     */
+    @NonNull
+    SortedMap<String, Long> apiCalls;
+
+    /**
+     * Computes percentile using nearest-rank method.
+     *
+     * @param sorted sorted values
+     * @param pct    percentile (0 - 100)
+     * @return percentile value, {@code 0} if there are no values
+     */
+    static long percentile(@NonNull long[] sorted, double pct) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        val rank = (int) Math.ceil(pct / 100 * sorted.length);
+        return sorted[Math.min(sorted.length - 1, Math.max(0, rank - 1))];
+    }
+
+    /**
+     * Creates report builder with latency percentiles computed from given refresh durations.
+     *
+     * @param durations refresh durations in nanoseconds
+     * @return report builder
+     */
+    static LoadTestReportBuilder withDurations(@NonNull long[] durations) {
+        val sorted = Arrays.copyOf(durations, durations.length);
+        Arrays.sort(sorted);
+        return builder()
+            .refreshes(sorted.length)
+            .p50Nanos(percentile(sorted, 50))
+            .p99Nanos(percentile(sorted, 99))
+            .maxNanos(percentile(sorted, 100));
+    }
+
+    /**
+     * Returns average number of backend api calls per refresh.
+     *
+     * @return api calls per refresh
+     */
+    public double getApiCallsPerRefresh() {
+        val total = apiCalls.values().stream().mapToLong(Long::longValue).sum();
+        return (refreshes == 0) ? 0 : ((double) total) / refreshes;
+    }
+
+    /**
+     * Formats report as human readable text.
+     *
+     * @return report text
+     */
+    public String format() {
+        val sb = new StringBuilder()
+            .append(String.format(Locale.ENGLISH, "%s%n", options))
+            .append(String.format(Locale.ENGLISH, "refreshes:          %d (%d failed), config changes: %d, took %s%n",
+                refreshes, failures, changes, elapsed))
+            .append(String.format(Locale.ENGLISH, "refresh latency:    p50=%.3fms p99=%.3fms max=%.3fms%n",
+                millis(p50Nanos), millis(p99Nanos), millis(maxNanos)))
+            .append(String.format(Locale.ENGLISH, "cpu per refresh:    %s%n",
+                (cpuNanosPerRefresh < 0) ? "n/a" : String.format(Locale.ENGLISH, "%.3fms", millis(cpuNanosPerRefresh))))
+            .append(String.format(Locale.ENGLISH, "alloc per refresh:  %s%n",
+                (allocatedBytesPerRefresh < 0) ? "n/a" : allocatedBytesPerRefresh + " bytes"))
+            .append(String.format(Locale.ENGLISH, "api calls:          %.2f per refresh%n", getApiCallsPerRefresh()));
+        apiCalls.forEach((api, count) -> sb.append(String.format(Locale.ENGLISH, "  %-30s %10d%n", api, count)));
+        return sb.toString();
+    }
+
+    private static double millis(long nanos) {
+        return ((double) nanos) / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
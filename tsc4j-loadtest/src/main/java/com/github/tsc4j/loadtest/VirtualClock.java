@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.loadtest;
+
+import lombok.NonNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link Clock} that only moves when it's explicitly advanced, which allows simulating hours of periodic refreshes
+ * without waiting for refresh intervals to elapse. Clocks derived using {@link #withZone(ZoneId)} share the time with
+ * the original clock.
+ */
+public final class VirtualClock extends Clock {
+    private final AtomicLong millis;
+    private final ZoneId zone;
+
+    /**
+     * Creates new instance.
+     *
+     * @param start initial clock instant
+     */
+    public VirtualClock(@NonNull Instant start) {
+        this(new AtomicLong(start.toEpochMilli()), ZoneOffset.UTC);
+    }
+
+    private VirtualClock(AtomicLong millis, ZoneId zone) {
+        this.millis = millis;
+        this.zone = zone;
+    }
+
+    /**
+     * Advances the clock.
+     *
+     * @param duration duration to advance the clock for
+     * @return new clock instant
+     * @throws IllegalArgumentException if duration is negative
+     */
+    public Instant advance(@NonNull Duration duration) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("Virtual clock cannot go backwards: " + duration);
+        }
+        return Instant.ofEpochMilli(millis.addAndGet(duration.toMillis()));
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(@NonNull ZoneId zone) {
+        return zone.equals(this.zone) ? this : new VirtualClock(millis, zone);
+    }
+
+    @Override
+    public long millis() {
+        return millis.get();
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis());
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + instant() + ")";
+    }
+}
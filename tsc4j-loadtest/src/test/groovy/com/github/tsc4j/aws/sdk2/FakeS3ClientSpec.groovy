@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.aws.sdk2
+
+import com.github.tsc4j.core.ConfigQuery
+import com.github.tsc4j.loadtest.ApiCalls
+import com.github.tsc4j.loadtest.FakeBackend
+import com.github.tsc4j.loadtest.Latency
+import com.github.tsc4j.loadtest.VirtualClock
+import software.amazon.awssdk.services.s3.model.GetObjectRequest
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException
+import spock.lang.Specification
+
+import java.time.Instant
+
+class FakeS3ClientSpec extends Specification {
+    def apiCalls = new ApiCalls()
+    def client = new FakeS3Client(new FakeBackend("s3", Latency.NONE, apiCalls), new VirtualClock(Instant.EPOCH))
+
+    def "store() should change etag only if content changes"() {
+        expect:
+        client.store("bucket", "a", "foo")
+        !client.store("bucket", "a", "foo")
+
+        when:
+        def first = client.getObject(request("bucket", "a")).response().eTag()
+        client.store("bucket", "a", "bar")
+        def second = client.getObject(request("bucket", "a"))
+
+        then:
+        first != second.response().eTag()
+        second.text == "bar"
+        apiCalls.count("s3.GetObject") == 2
+    }
+
+    def "paginator should return all objects with given prefix"() {
+        given:
+        (0..<2500).each { client.store("bucket", "dir/key-${it}", "x") }
+        client.store("bucket", "dir2/key", "x")
+
+        when:
+        def keys = client.listObjectsV2Paginator(ListObjectsV2Request.builder().bucket("bucket").prefix("dir/").build())
+                         .contents()
+                         .collect { it.key() }
+
+        then:
+        keys.size() == 2500
+        keys == keys.toSorted()
+        apiCalls.count("s3.ListObjectsV2") == 3
+    }
+
+    def "should throw 404 exceptions for missing buckets and keys"() {
+        given:
+        client.store("bucket", "a", "foo")
+
+        when:
+        client.getObject(request("bucket", "b"))
+
+        then:
+        def e = thrown(NoSuchKeyException)
+        e.statusCode() == 404
+
+        when:
+        client.listObjectsV2(ListObjectsV2Request.builder().bucket("other").build())
+
+        then:
+        e = thrown(NoSuchBucketException)
+        e.statusCode() == 404
+    }
+
+    def "s3 config source should fetch configs using fake client"() {
+        given:
+        client.store("bucket", "app/application.conf", "foo.bar = 42")
+
+        and:
+        def source = client.createConfigSource(S3ConfigSource.builder().withPath("s3://bucket/app"))
+
+        when:
+        def config = source.get(ConfigQuery.builder().appName("app").build())
+
+        then:
+        config.getInt("foo.bar") == 42
+    }
+
+    def request(String bucket, String key) {
+        GetObjectRequest.builder().bucket(bucket).key(key).build()
+    }
+}
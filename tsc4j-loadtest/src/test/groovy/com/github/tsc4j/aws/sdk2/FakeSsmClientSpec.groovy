@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.aws.sdk2
+
+import com.github.tsc4j.core.ConfigQuery
+import com.github.tsc4j.loadtest.ApiCalls
+import com.github.tsc4j.loadtest.FakeBackend
+import com.github.tsc4j.loadtest.Latency
+import com.github.tsc4j.loadtest.VirtualClock
+import software.amazon.awssdk.services.ssm.model.GetParametersByPathRequest
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest
+import spock.lang.Specification
+
+import java.time.Instant
+
+class FakeSsmClientSpec extends Specification {
+    def apiCalls = new ApiCalls()
+    def client = new FakeSsmClient(new FakeBackend("ssm", Latency.NONE, apiCalls), new VirtualClock(Instant.EPOCH))
+
+    def "store() should bump parameter version only if value changes"() {
+        expect:
+        client.store("/a/b", "x", false)
+        !client.store("a/b", "x", false)
+        client.store("/a/b", "y", false)
+
+        when:
+        def params = client.getParameters(GetParametersRequest.builder().names("/a/b", "/a/c").build())
+
+        then:
+        params.parameters().size() == 1
+        params.parameters()[0].version() == 2
+        params.parameters()[0].value() == "y"
+        params.invalidParameters() == ["/a/c"]
+        apiCalls.count("ssm.GetParameters") == 1
+    }
+
+    def "getParametersByPath() should paginate and respect recursive flag"() {
+        given:
+        (0..<25).each { client.store("/app/key-${it}", "value-${it}", false) }
+        client.store("/app/nested/key", "nested", false)
+        client.store("/application/key", "other", false)
+
+        when:
+        def recursive = fetchAll("/app", true)
+        def nonRecursive = fetchAll("/app/", false)
+
+        then:
+        recursive.size() == 26
+        nonRecursive.size() == 25
+        apiCalls.count("ssm.GetParametersByPath") == 6
+    }
+
+    def "secure parameters fetched without decryption should not contain value"() {
+        given:
+        client.store("/secrets/password", "s3cr3t", true)
+
+        when:
+        def encrypted = fetch("/secrets", false)
+        def decrypted = fetch("/secrets", true)
+
+        then:
+        encrypted.parameters()[0].value() != "s3cr3t"
+        decrypted.parameters()[0].value() == "s3cr3t"
+    }
+
+    def "config source and value provider should fetch parameters using fake client"() {
+        given:
+        client.store("/app/db/url", "jdbc:foo", false)
+        client.store("/app/db/password", "s3cr3t", true)
+
+        and:
+        def source = client.createConfigSource(ParameterStoreConfigSource.builder().withPath("/app"))
+        def provider = client.createValueProvider(ParameterStoreValueProvider.builder())
+
+        when:
+        def config = source.get(ConfigQuery.builder().appName("app").build())
+        def values = provider.get(["app/db/password"])
+
+        then:
+        config.getString("app.db.url") == "jdbc:foo"
+        config.getString("app.db.password") == "s3cr3t"
+        values["app/db/password"].unwrapped() == "s3cr3t"
+    }
+
+    def fetch(String path, boolean decrypt) {
+        client.getParametersByPath(GetParametersByPathRequest.builder()
+                                                             .path(path)
+                                                             .recursive(true)
+                                                             .withDecryption(decrypt)
+                                                             .build())
+    }
+
+    def fetchAll(String path, boolean recursive) {
+        def result = []
+        String token = null
+        while (true) {
+            def response = client.getParametersByPath(GetParametersByPathRequest.builder()
+                                                                                .path(path)
+                                                                                .recursive(recursive)
+                                                                                .nextToken(token)
+                                                                                .build())
+            result.addAll(response.parameters())
+            token = response.nextToken()
+            if (token == null) {
+                return result
+            }
+        }
+    }
+}
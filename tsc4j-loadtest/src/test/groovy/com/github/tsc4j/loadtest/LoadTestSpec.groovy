@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.loadtest
+
+import com.github.tsc4j.loadtest.LoadTestOptions.ReferenceType
+import com.github.tsc4j.loadtest.LoadTestOptions.SourceType
+import com.typesafe.config.ConfigFactory
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Duration
+
+@Unroll
+class LoadTestSpec extends Specification {
+    def "fromConfig() should create options with defaults for missing keys"() {
+        given:
+        def config = ConfigFactory.parseString("""
+            instances = 7
+            source-types = "s3, http"
+            reference-types = [credstash]
+            refresh-interval = 5m
+            change-rate = 0.5
+        """)
+
+        when:
+        def options = LoadTestOptions.fromConfig(config)
+
+        then:
+        options.instances == 7
+        options.sourceTypes == [SourceType.S3, SourceType.HTTP]
+        options.referenceTypes == [ReferenceType.CREDSTASH]
+        options.refreshInterval == Duration.ofMinutes(5)
+        options.changeRate == 0.5d
+
+        options.keys == LoadTestOptions.builder().build().keys
+        options.rounds == LoadTestOptions.builder().build().rounds
+    }
+
+    def "options without types should use all types"() {
+        when:
+        def options = LoadTestOptions.builder().build()
+
+        then:
+        options.sourceTypes == SourceType.values().toList()
+        options.referenceTypes == ReferenceType.values().toList()
+    }
+
+    def "validate() should throw on invalid options: #options"() {
+        when:
+        new LoadTest(options)
+
+        then:
+        thrown(IllegalStateException)
+
+        where:
+        options << [
+            LoadTestOptions.builder().instances(0).build(),
+            LoadTestOptions.builder().keys(0).build(),
+            LoadTestOptions.builder().rounds(0).build(),
+            LoadTestOptions.builder().changeRate(1.5).build(),
+            LoadTestOptions.builder().refreshInterval(Duration.ofSeconds(-1)).build(),
+        ]
+    }
+
+    def "percentile() should compute nearest rank percentile"() {
+        given:
+        long[] sorted = (1..100).collect { it as long }
+
+        expect:
+        LoadTestReport.percentile(sorted, 50) == 50
+        LoadTestReport.percentile(sorted, 99) == 99
+        LoadTestReport.percentile(sorted, 100) == 100
+        LoadTestReport.percentile(new long[0], 50) == 0
+    }
+
+    def "generator should produce values for every source and references only in the first source"() {
+        given:
+        def options = LoadTestOptions.builder().keys(15).references(3).reloadables(50).build()
+        def generator = new FleetConfigGenerator(options)
+
+        when:
+        def first = generator.sourceValues(2, 0, 0)
+        def second = generator.sourceValues(2, 1, 3)
+
+        then:
+        first.size() == 18
+        first["fleet.app-2.src-0.section-0.key-0"] == "value-2-0-0-r0"
+        first["fleet.app-2.src-0.section-1.key-14"] == "value-2-0-14"
+        first["fleet.app-2.src-0.refs.ref-0"] == "%{credstash://fleet.app-2.secrets.secret-0}"
+        first["fleet.app-2.src-0.refs.ref-1"] == "%{ssm://fleet/app-2/secrets/secret-1}"
+
+        second.size() == 15
+        second["fleet.app-2.src-1.section-0.key-0"] == "value-2-1-0-r3"
+
+        generator.secretName(2, 1) == "/fleet/app-2/secrets/secret-1"
+        generator.reloadablePaths(2).size() == 50
+        generator.reloadablePaths(2).toSet().size() == 15 * 3 + 3
+
+        ConfigFactory.parseString(FleetConfigGenerator.toHocon(first)).getString("fleet.app-2.src-0.refs.ref-0") ==
+            first["fleet.app-2.src-0.refs.ref-0"]
+    }
+
+    def "should run load test on a small fleet using #sourceTypes sources and #referenceTypes references"() {
+        given:
+        def options = LoadTestOptions.builder()
+                                     .instances(4)
+                                     .keys(25)
+                                     .sources(3)
+                                     .sourceTypes(sourceTypes)
+                                     .references(4)
+                                     .referenceTypes(referenceTypes)
+                                     .reloadables(5)
+                                     .rounds(3)
+                                     .changeRate(1)
+                                     .s3Latency(Duration.ZERO)
+                                     .ssmLatency(Duration.ZERO)
+                                     .credstashLatency(Duration.ZERO)
+                                     .httpLatency(Duration.ZERO)
+                                     .build()
+
+        when:
+        def report = new LoadTest(options).run()
+
+        then:
+        report.refreshes == 12
+        report.failures == 0
+        report.changes == 12
+        report.p50Nanos > 0
+        report.p50Nanos <= report.p99Nanos
+        report.p99Nanos <= report.maxNanos
+        report.apiCalls.keySet().containsAll(expectedApis)
+        report.apiCallsPerRefresh > 0
+        !report.format().isEmpty()
+
+        where:
+        sourceTypes                                         | referenceTypes            | expectedApis
+        [SourceType.S3]                                     | [ReferenceType.CREDSTASH] | ["s3.ListObjectsV2", "s3.GetObject"]
+        [SourceType.SSM]                                    | [ReferenceType.SSM]       | ["ssm.GetParametersByPath"]
+        [SourceType.HTTP]                                   | [ReferenceType.CREDSTASH] | ["http.GET 200"]
+        [SourceType.S3, SourceType.SSM, SourceType.HTTP]    | []                        | ["s3.GetObject", "ssm.GetParametersByPath", "http.GET 200"]
+    }
+
+    def "unchanged configs should be revalidated without refetching"() {
+        given:
+        def options = LoadTestOptions.builder()
+                                     .instances(2)
+                                     .keys(10)
+                                     .sourceTypes([SourceType.S3, SourceType.HTTP])
+                                     .sources(2)
+                                     .references(0)
+                                     .rounds(2)
+                                     .changeRate(0)
+                                     .s3Latency(Duration.ZERO)
+                                     .httpLatency(Duration.ZERO)
+                                     .build()
+
+        when:
+        def report = new LoadTest(options).run()
+
+        then:
+        report.failures == 0
+        report.changes == 0
+        report.apiCalls["s3.ListObjectsV2"] > 0
+        report.apiCalls["http.GET 304"] == 4
+        !report.apiCalls.containsKey("s3.GetObject")
+        !report.apiCalls.containsKey("http.GET 200")
+    }
+}
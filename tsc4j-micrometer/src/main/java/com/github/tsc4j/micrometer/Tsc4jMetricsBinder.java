@@ -0,0 +1,330 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.micrometer;
+
+import com.github.tsc4j.core.Tsc4jCache;
+import com.github.tsc4j.core.Tsc4jExecutor;
+import com.github.tsc4j.core.Tsc4jImplUtils;
+import com.github.tsc4j.core.Tsc4jMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer {@link MeterBinder} that records tsc4j configuration refresh pipeline measurements.
+ * <p>
+ * Binder registers itself as {@link Tsc4jMetrics} implementation when it's bound to a meter registry and unregisters
+ * itself on {@link #close()}. Following meters are registered:
+ * <ul>
+ * <li>{@value #CONFIG_REFRESH} timer, tags: {@code config}, {@code outcome}</li>
+ * <li>{@value #SOURCE_FETCH} timer, tags: {@code source}, {@code outcome}</li>
+ * <li>{@value #TRANSFORMER_TRANSFORM} timer, tags: {@code transformer}, {@code outcome}</li>
+ * <li>{@value #VALUE_PROVIDER_FETCH} timer, tags: {@code provider}, {@code outcome}</li>
+ * <li>{@value #VALUE_PROVIDER_BATCH_SIZE} distribution summary, tags: {@code provider}</li>
+ * <li>{@value #RELOADABLE_UPDATE} timer, tags: {@code path}</li>
+ * <li>{@value #RELOADABLE_SLOW_CONSUMERS} counter, tags: {@code path}</li>
+ * <li>{@value #CACHE_GETS} function counter, tags: {@code cache}, {@code result} ({@code hit} or {@code miss})</li>
+ * <li>{@value #CACHE_EVICTIONS}, {@value #CACHE_EXPIRATIONS} function counters, tags: {@code cache}</li>
+ * <li>{@value #CACHE_SIZE}, {@value #CACHE_HIT_RATIO} gauges, tags: {@code cache}</li>
+ * <li>{@value #EXECUTOR_ACTIVE}, {@value #EXECUTOR_POOL_SIZE}, {@value #EXECUTOR_QUEUED},
+ * {@value #EXECUTOR_UTILIZATION} gauges, tags: {@code executor}</li>
+ * <li>{@value #EXECUTOR_COMPLETED}, {@value #EXECUTOR_REJECTED} function counters, tags: {@code executor}</li>
+ * </ul>
+ * Outcome tag is either {@code success} or {@code failure}. Reloadables with root config path are tagged with
+ * {@value #ROOT_PATH} path.
+ * <p>
+ * Usage:
+ * <pre>
+ * {@code
+ * new Tsc4jMetricsBinder().bindTo(meterRegistry);
+ * }
+ * </pre>
+ */
+@Slf4j
+public final class Tsc4jMetricsBinder implements MeterBinder, Tsc4jMetrics, Closeable {
+    public static final String CONFIG_REFRESH = "tsc4j.config.refresh";
+    public static final String SOURCE_FETCH = "tsc4j.source.fetch";
+    public static final String TRANSFORMER_TRANSFORM = "tsc4j.transformer.transform";
+    public static final String VALUE_PROVIDER_FETCH = "tsc4j.value.provider.fetch";
+    public static final String VALUE_PROVIDER_BATCH_SIZE = "tsc4j.value.provider.batch.size";
+    public static final String RELOADABLE_UPDATE = "tsc4j.reloadable.update";
+    public static final String RELOADABLE_SLOW_CONSUMERS = "tsc4j.reloadable.slow.consumers";
+    public static final String CACHE_GETS = "tsc4j.cache.gets";
+    public static final String CACHE_EVICTIONS = "tsc4j.cache.evictions";
+    public static final String CACHE_EXPIRATIONS = "tsc4j.cache.expirations";
+    public static final String CACHE_SIZE = "tsc4j.cache.size";
+    public static final String CACHE_HIT_RATIO = "tsc4j.cache.hit.ratio";
+    public static final String EXECUTOR_ACTIVE = "tsc4j.executor.active";
+    public static final String EXECUTOR_POOL_SIZE = "tsc4j.executor.pool.size";
+    public static final String EXECUTOR_QUEUED = "tsc4j.executor.queued";
+    public static final String EXECUTOR_UTILIZATION = "tsc4j.executor.utilization";
+    public static final String EXECUTOR_COMPLETED = "tsc4j.executor.completed";
+    public static final String EXECUTOR_REJECTED = "tsc4j.executor.rejected";
+
+    /**
+     * Path tag value of reloadables with root config path (value: <b>{@value}</b>)
+     */
+    public static final String ROOT_PATH = "/";
+
+    private static final String OUTCOME = "outcome";
+
+    private final Tags tags;
+    private final boolean publishHistograms;
+
+    private volatile MeterRegistry registry;
+
+    /**
+     * Meters of executors by executor name; guarded by itself.
+     */
+    private final Map<String, List<Meter>> executorMeters = new HashMap<>();
+
+    /**
+     * Creates new instance that publishes histograms and doesn't add any common tags.
+     */
+    public Tsc4jMetricsBinder() {
+        this(Collections.emptyList(), true);
+    }
+
+    /**
+     * Creates new instance.
+     *
+     * @param tags              tags added to all registered meters
+     * @param publishHistograms publish percentile histograms of timers and distribution summaries?
+     */
+    public Tsc4jMetricsBinder(@NonNull Iterable<Tag> tags, boolean publishHistograms) {
+        this.tags = Tags.of(tags);
+        this.publishHistograms = publishHistograms;
+    }
+
+    /**
+     * Binds this instance to given meter registry and registers it as {@link Tsc4jMetrics} implementation.
+     *
+     * @param registry meter registry
+     * @throws IllegalStateException if instance is already bound to another meter registry
+     * @see Tsc4jImplUtils#registerMetrics(Tsc4jMetrics)
+     */
+    @Override
+    public synchronized void bindTo(@NonNull MeterRegistry registry) {
+        if (this.registry != null && this.registry != registry) {
+            throw new IllegalStateException(this + " is already bound to meter registry: " + this.registry);
+        }
+
+        this.registry = registry;
+        Tsc4jImplUtils.registerMetrics(this);
+        log.debug("{} bound to meter registry: {}", this, registry);
+    }
+
+    @Override
+    public void configRefresh(String name, long durationNanos, boolean succeeded) {
+        record(CONFIG_REFRESH, "config", name, durationNanos, succeeded);
+    }
+
+    @Override
+    public void sourceFetch(String name, long durationNanos, boolean succeeded) {
+        record(SOURCE_FETCH, "source", name, durationNanos, succeeded);
+    }
+
+    @Override
+    public void transform(String name, long durationNanos, boolean succeeded) {
+        record(TRANSFORMER_TRANSFORM, "transformer", name, durationNanos, succeeded);
+    }
+
+    @Override
+    public void valueProviderFetch(String name, int batchSize, long durationNanos, boolean succeeded) {
+        val registry = this.registry;
+        if (registry == null) {
+            return;
+        }
+
+        record(VALUE_PROVIDER_FETCH, "provider", name, durationNanos, succeeded);
+        DistributionSummary.builder(VALUE_PROVIDER_BATCH_SIZE)
+            .description("Number of values requested from config value provider in a single call")
+            .baseUnit("values")
+            .tags(tags)
+            .tag("provider", tagValue(name))
+            .publishPercentileHistogram(publishHistograms)
+            .register(registry)
+            .record(batchSize);
+    }
+
+    @Override
+    public void cacheCreated(String name, @NonNull Tsc4jCache<?, ?> cache) {
+        val registry = this.registry;
+        if (registry == null) {
+            return;
+        }
+
+        val cacheTags = tags.and("cache", tagValue(name));
+        FunctionCounter.builder(CACHE_GETS, cache, it -> it.stats().getHitCount())
+            .description("Number of cache lookups")
+            .tags(cacheTags)
+            .tag("result", "hit")
+            .register(registry);
+        FunctionCounter.builder(CACHE_GETS, cache, it -> it.stats().getMissCount())
+            .description("Number of cache lookups")
+            .tags(cacheTags)
+            .tag("result", "miss")
+            .register(registry);
+        FunctionCounter.builder(CACHE_EVICTIONS, cache, it -> it.stats().getEvictionCount())
+            .description("Number of entries evicted because cache exceeded it's maximum size")
+            .tags(cacheTags)
+            .register(registry);
+        FunctionCounter.builder(CACHE_EXPIRATIONS, cache, it -> it.stats().getExpirationCount())
+            .description("Number of entries removed because they expired")
+            .tags(cacheTags)
+            .register(registry);
+        Gauge.builder(CACHE_SIZE, cache, Tsc4jCache::size)
+            .description("Number of cache entries")
+            .tags(cacheTags)
+            .register(registry);
+        Gauge.builder(CACHE_HIT_RATIO, cache, it -> it.stats().hitRate())
+            .description("Ratio of cache lookups that returned cached value")
+            .tags(cacheTags)
+            .register(registry);
+    }
+
+    @Override
+    public void executorCreated(String name, @NonNull Tsc4jExecutor executor) {
+        val registry = this.registry;
+        if (registry == null) {
+            return;
+        }
+
+        val executorName = tagValue(name);
+        val executorTags = tags.and("executor", executorName);
+        synchronized (executorMeters) {
+            // executor replaced by a new executor strategy: meters with the same id would keep tracking the old one
+            val previous = executorMeters.remove(executorName);
+            if (previous != null) {
+                previous.forEach(registry::remove);
+            }
+
+            val meters = Arrays.<Meter>asList(
+                Gauge.builder(EXECUTOR_ACTIVE, executor, it -> it.stats().getActiveCount())
+                    .description("Number of tasks that are currently running")
+                    .tags(executorTags)
+                    .register(registry),
+                Gauge.builder(EXECUTOR_POOL_SIZE, executor, it -> it.stats().getPoolSize())
+                    .description("Number of threads that currently exist in the pool")
+                    .tags(executorTags)
+                    .register(registry),
+                Gauge.builder(EXECUTOR_QUEUED, executor, it -> it.stats().getQueueSize())
+                    .description("Number of tasks waiting in the queue")
+                    .tags(executorTags)
+                    .register(registry),
+                Gauge.builder(EXECUTOR_UTILIZATION, executor, it -> it.stats().utilization())
+                    .description("Ratio of running tasks to maximum number of threads")
+                    .tags(executorTags)
+                    .register(registry),
+                FunctionCounter.builder(EXECUTOR_COMPLETED, executor, it -> it.stats().getCompletedTaskCount())
+                    .description("Number of tasks that completed execution")
+                    .tags(executorTags)
+                    .register(registry),
+                FunctionCounter.builder(EXECUTOR_REJECTED, executor, it -> it.stats().getRejectedTaskCount())
+                    .description("Number of tasks rejected by saturated executor and run by submitting thread")
+                    .tags(executorTags)
+                    .register(registry));
+            executorMeters.put(executorName, meters);
+        }
+    }
+
+    @Override
+    public void reloadableUpdate(String path, long durationNanos) {
+        val registry = this.registry;
+        if (registry == null) {
+            return;
+        }
+
+        Timer.builder(RELOADABLE_UPDATE)
+            .description("Time spent updating reloadable with new configuration, including it's update consumers")
+            .tags(tags)
+            .tag("path", pathTagValue(path))
+            .publishPercentileHistogram(publishHistograms)
+            .register(registry)
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void slowConsumer(String path, long durationNanos) {
+        val registry = this.registry;
+        if (registry == null) {
+            return;
+        }
+
+        Counter.builder(RELOADABLE_SLOW_CONSUMERS)
+            .description("Number of reloadable update consumer invocations that exceeded slow consumer threshold")
+            .tags(tags)
+            .tag("path", pathTagValue(path))
+            .register(registry)
+            .increment();
+    }
+
+    private void record(String meterName, String tagName, String name, long durationNanos, boolean succeeded) {
+        val registry = this.registry;
+        if (registry == null) {
+            return;
+        }
+
+        Timer.builder(meterName)
+            .tags(tags)
+            .tag(tagName, tagValue(name))
+            .tag(OUTCOME, succeeded ? "success" : "failure")
+            .publishPercentileHistogram(publishHistograms)
+            .register(registry)
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String tagValue(String value) {
+        return Tsc4jImplUtils.optString(value).orElse("unknown");
+    }
+
+    private static String pathTagValue(String path) {
+        return Tsc4jImplUtils.optString(path).orElse(ROOT_PATH);
+    }
+
+    /**
+     * Unregisters this instance from {@link Tsc4jImplUtils#metrics()}; already registered meters are not removed from
+     * meter registry.
+     */
+    @Override
+    public void close() {
+        Tsc4jImplUtils.unregisterMetrics(this);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + tags + ")";
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.micrometer
+
+import com.github.tsc4j.core.Tsc4jExecutor
+import com.github.tsc4j.core.Tsc4jExecutorStats
+import com.github.tsc4j.core.Tsc4jImplUtils
+import io.micrometer.core.instrument.Tag
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+
+class Tsc4jMetricsBinderSpec extends Specification {
+    def registry = new SimpleMeterRegistry()
+    def binder = new Tsc4jMetricsBinder([Tag.of("app", "my-app")], false)
+
+    def cleanup() {
+        binder.close()
+    }
+
+    def "should not record anything if not bound to registry"() {
+        when:
+        binder.configRefresh("config", 1_000, true)
+        binder.slowConsumer("foo", 1_000)
+
+        then:
+        registry.meters.isEmpty()
+    }
+
+    def "should not allow binding to another registry"() {
+        given:
+        binder.bindTo(registry)
+
+        when:
+        binder.bindTo(registry)
+
+        then:
+        noExceptionThrown()
+
+        when:
+        binder.bindTo(new SimpleMeterRegistry())
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "should record timers with outcome tags"() {
+        given:
+        binder.bindTo(registry)
+
+        when:
+        binder.configRefresh("config", TimeUnit.MILLISECONDS.toNanos(10), true)
+        binder.configRefresh("config", TimeUnit.MILLISECONDS.toNanos(20), true)
+        binder.configRefresh("config", TimeUnit.MILLISECONDS.toNanos(30), false)
+        binder.sourceFetch("s3", TimeUnit.MILLISECONDS.toNanos(5), true)
+        binder.transform("", TimeUnit.MILLISECONDS.toNanos(5), false)
+
+        then:
+        with(registry.get(Tsc4jMetricsBinder.CONFIG_REFRESH).tags("config", "config", "outcome", "success").timer()) {
+            count() == 2
+            totalTime(TimeUnit.MILLISECONDS) == 30
+            getId().getTag("app") == "my-app"
+        }
+        registry.get(Tsc4jMetricsBinder.CONFIG_REFRESH).tags("outcome", "failure").timer().count() == 1
+        registry.get(Tsc4jMetricsBinder.SOURCE_FETCH).tags("source", "s3", "outcome", "success").timer().count() == 1
+        registry.get(Tsc4jMetricsBinder.TRANSFORMER_TRANSFORM).tags("transformer", "unknown").timer().count() == 1
+    }
+
+    def "should record value provider batch sizes"() {
+        given:
+        binder.bindTo(registry)
+
+        when:
+        binder.valueProviderFetch("credstash", 10, 1_000, true)
+        binder.valueProviderFetch("credstash", 30, 1_000, true)
+
+        then:
+        registry.get(Tsc4jMetricsBinder.VALUE_PROVIDER_FETCH).tags("provider", "credstash").timer().count() == 2
+        with(registry.get(Tsc4jMetricsBinder.VALUE_PROVIDER_BATCH_SIZE).tags("provider", "credstash").summary()) {
+            count() == 2
+            totalAmount() == 40
+            max() == 30
+        }
+    }
+
+    def "should record reloadable updates and slow consumers"() {
+        given:
+        binder.bindTo(registry)
+
+        when:
+        binder.reloadableUpdate("", 1_000)
+        binder.reloadableUpdate("foo.bar", 1_000)
+        binder.slowConsumer("foo.bar", 1_000)
+        binder.slowConsumer("foo.bar", 1_000)
+
+        then:
+        registry.get(Tsc4jMetricsBinder.RELOADABLE_UPDATE).tags("path", Tsc4jMetricsBinder.ROOT_PATH).timer().count() == 1
+        registry.get(Tsc4jMetricsBinder.RELOADABLE_UPDATE).tags("path", "foo.bar").timer().count() == 1
+        registry.get(Tsc4jMetricsBinder.RELOADABLE_SLOW_CONSUMERS).tags("path", "foo.bar").counter().count() == 2
+    }
+
+    def "should expose statistics of caches created before and after binding"() {
+        given:
+        def cacheName = "cache-" + UUID.randomUUID()
+        def cacheA = Tsc4jImplUtils.newCache(cacheName + "-a", Duration.ofMinutes(1))
+        cacheA.put("a", "b")
+        cacheA.get("a")
+        cacheA.get("x")
+
+        when:
+        binder.bindTo(registry)
+        def cacheB = Tsc4jImplUtils.newCache(cacheName + "-b", Duration.ofMinutes(1))
+        cacheB.get("x")
+
+        then:
+        registry.get(Tsc4jMetricsBinder.CACHE_GETS).tags("cache", cacheName + "-a", "result", "hit")
+                .functionCounter().count() == 1
+        registry.get(Tsc4jMetricsBinder.CACHE_GETS).tags("cache", cacheName + "-a", "result", "miss")
+                .functionCounter().count() == 1
+        registry.get(Tsc4jMetricsBinder.CACHE_SIZE).tags("cache", cacheName + "-a").gauge().value() == 1
+        registry.get(Tsc4jMetricsBinder.CACHE_HIT_RATIO).tags("cache", cacheName + "-a").gauge().value() == 0.5
+        registry.get(Tsc4jMetricsBinder.CACHE_HIT_RATIO).tags("cache", cacheName + "-b").gauge().value() == 0
+        registry.get(Tsc4jMetricsBinder.CACHE_EVICTIONS).tags("cache", cacheName + "-b").functionCounter().count() == 0
+    }
+
+    def "should expose executor saturation"() {
+        given:
+        def executor = Mock(Tsc4jExecutor) {
+            stats() >> new Tsc4jExecutorStats(3, 4, 6, 2, 10, 1)
+        }
+        binder.bindTo(registry)
+
+        when:
+        binder.executorCreated("aws2.s3", executor)
+
+        then:
+        registry.get(Tsc4jMetricsBinder.EXECUTOR_ACTIVE).tags("executor", "aws2.s3").gauge().value() == 3
+        registry.get(Tsc4jMetricsBinder.EXECUTOR_POOL_SIZE).tags("executor", "aws2.s3").gauge().value() == 4
+        registry.get(Tsc4jMetricsBinder.EXECUTOR_QUEUED).tags("executor", "aws2.s3").gauge().value() == 2
+        registry.get(Tsc4jMetricsBinder.EXECUTOR_UTILIZATION).tags("executor", "aws2.s3").gauge().value() == 0.5
+        registry.get(Tsc4jMetricsBinder.EXECUTOR_COMPLETED).tags("executor", "aws2.s3").functionCounter().count() == 10
+        registry.get(Tsc4jMetricsBinder.EXECUTOR_REJECTED).tags("executor", "aws2.s3").functionCounter().count() == 1
+    }
+
+    def "meters of replaced executor should track new executor"() {
+        given:
+        def oldExecutor = Mock(Tsc4jExecutor) {
+            stats() >> new Tsc4jExecutorStats(1, 1, 1, 0, 0, 0)
+        }
+        def newExecutor = Mock(Tsc4jExecutor) {
+            stats() >> new Tsc4jExecutorStats(0, 0, 1, 0, 0, 0)
+        }
+        binder.bindTo(registry)
+
+        when:
+        binder.executorCreated("default", oldExecutor)
+        binder.executorCreated("default", newExecutor)
+
+        then:
+        registry.get(Tsc4jMetricsBinder.EXECUTOR_ACTIVE).tags("executor", "default").gauges().size() == 1
+        registry.get(Tsc4jMetricsBinder.EXECUTOR_ACTIVE).tags("executor", "default").gauge().value() == 0
+    }
+
+    def "close() should unregister binder"() {
+        given:
+        binder.bindTo(registry)
+
+        when:
+        binder.close()
+        Tsc4jImplUtils.metrics().configRefresh("config", 1_000, true)
+
+        then:
+        registry.find(Tsc4jMetricsBinder.CONFIG_REFRESH).timer() == null
+    }
+}
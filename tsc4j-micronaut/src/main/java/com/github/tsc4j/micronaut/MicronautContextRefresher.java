@@ -19,6 +19,7 @@ package com.github.tsc4j.micronaut;
 import com.github.tsc4j.api.Reloadable;
 import com.github.tsc4j.api.ReloadableConfig;
 import com.github.tsc4j.core.CloseableInstance;
+import com.github.tsc4j.core.Pair;
 import com.github.tsc4j.core.Tsc4jImplUtils;
 import com.typesafe.config.Config;
 import io.micronaut.context.ApplicationContext;
@@ -26,11 +27,14 @@ import io.micronaut.context.annotation.Context;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.runtime.context.scope.refresh.RefreshEvent;
 import lombok.NonNull;
+import lombok.Synchronized;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Function;
 
 /**
@@ -45,6 +49,11 @@ public final class MicronautContextRefresher extends CloseableInstance {
     private final Reloadable<Config> reloadable;
     private final ApplicationContext ctx;
 
+    /**
+     * Last config that has been seen by this refresher.
+     */
+    private volatile Config lastConfig;
+
     /**
      * Creates new instance.
      *
@@ -64,13 +73,16 @@ public final class MicronautContextRefresher extends CloseableInstance {
      * @param ctx        application context
      */
     protected MicronautContextRefresher(@NonNull Reloadable<Config> reloadable, @NonNull ApplicationContext ctx) {
-        this.reloadable = reloadable.register(this::configUpdate);
         this.ctx = ctx;
+        this.lastConfig = reloadable.isPresent() ? reloadable.get() : null;
+        this.reloadable = reloadable.register(this::configUpdate);
         log.debug("initialized micronaut application context refresher: {}", this);
     }
 
     /**
-     * Invoked when {@link #reloadable} is updated with new config
+     * Invoked when {@link #reloadable} is updated with new config. Computes structural difference between previously
+     * seen and new config and publishes {@link RefreshEvent} that contains only changed property names, so that
+     * only affected refreshable beans get refreshed.
      *
      * @param config updated config
      */
@@ -80,13 +92,58 @@ public final class MicronautContextRefresher extends CloseableInstance {
             return;
         }
 
-        val diff = ctx.getEnvironment().refreshAndDiff();
-        log.debug("doRefresh(): maybe refreshing micronaut context environment.");
-        if (!diff.isEmpty()) {
-            log.debug("refreshed micronaut env diff: {}", diff);
-            log.info("{} config changed (diff: {} entries), publishing refresh event.",
-                Tsc4jImplUtils.NAME, diff.size());
-            ctx.publishEvent(new RefreshEvent());
+        val diff = computeDiff(config);
+        if (diff.isEmpty()) {
+            log.debug("{} config update didn't change any property, not refreshing application context.",
+                Tsc4jImplUtils.NAME);
+            return;
+        }
+
+        log.debug("computed micronaut env diff: {}", diff.keySet());
+        updateEnvironment(config, diff);
+
+        log.info("{} config changed (diff: {} entries), publishing refresh event.",
+            Tsc4jImplUtils.NAME, diff.size());
+        ctx.publishEvent(new RefreshEvent(diff));
+    }
+
+    /**
+     * Computes difference between last seen config and given config and remembers given config as last seen.
+     *
+     * @param config new config
+     * @return map of changed property names to their previous values (new values for added properties)
+     */
+    @Synchronized
+    private Map<String, Object> computeDiff(@NonNull Config config) {
+        val previous = lastConfig;
+        lastConfig = config;
+
+        val result = new LinkedHashMap<String, Object>();
+        Tsc4jImplUtils.configDiff(previous, config).forEach((path, value) -> result.put(path, value.unwrapped()));
+        return result;
+    }
+
+    /**
+     * Updates application context environment with new tsc4j config values. Only tsc4j property source is
+     * re-processed if property names were only added or changed; full environment refresh is performed only if
+     * some property names disappeared from the config, because they can't be removed from environment otherwise.
+     *
+     * @param config new config
+     * @param diff   config diff
+     */
+    private void updateEnvironment(Config config, Map<String, Object> diff) {
+        val env = ctx.getEnvironment();
+        val propertySourceOpt = Utils.instanceHolder().get().map(Pair::second);
+        val hasRemovedProps = diff.keySet().stream().anyMatch(path -> !config.hasPath(path));
+
+        if (propertySourceOpt.isPresent() && !hasRemovedProps) {
+            val propertySource = propertySourceOpt.get();
+            propertySource.updateConfig(config);
+            env.addPropertySource(propertySource);
+            log.debug("re-processed {} property source in micronaut environment.", Tsc4jImplUtils.NAME);
+        } else {
+            log.debug("performing full micronaut environment refresh.");
+            env.refresh();
         }
     }
 
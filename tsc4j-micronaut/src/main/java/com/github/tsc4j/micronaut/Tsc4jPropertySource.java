@@ -78,12 +78,20 @@ public final class Tsc4jPropertySource extends CloseableInstance implements Prop
         log.debug("created micronaut property source: {}", this);
     }
 
+    /**
+     * Assigns new config to this property source.
+     *
+     * @param config new config, may be null
+     */
     @Synchronized
-    private void updateConfig(Config config) {
+    void updateConfig(Config config) {
         if (config == null) {
             log.warn("configuration disappeared, retaining current config.");
             return;
         }
+        if (config == this.config) {
+            return;
+        }
 
         this.config = config;
         this.propertyNames = config.entrySet().stream()
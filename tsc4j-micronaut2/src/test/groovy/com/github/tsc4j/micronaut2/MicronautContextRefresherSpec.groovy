@@ -120,7 +120,6 @@ class MicronautContextRefresherSpec extends Specification {
 
         and: "setup app environment"
         def appEnv = Mock(Environment)
-        def envDiffMap = [foo: "bar"]
 
         and: "assign config to reloadable, create refresher"
         reloadable.set(firstConfig)
@@ -129,11 +128,36 @@ class MicronautContextRefresherSpec extends Specification {
         when: "assign new config"
         reloadable.set(updatedConfig)
 
-        then: "application context should not react"
+        then: "application context should publish refresh event containing only changed keys"
         appCtx.getEnvironment() >> appEnv
-        appEnv.refreshAndDiff() >> envDiffMap
+        0 * appEnv.refreshAndDiff()
+
+        1 * appCtx.publishEvent({ it instanceof RefreshEvent && it.getSource() == [foo: "bar"] })
+
+        refresher != null
+    }
+
+    def "should publish refresh event containing only changed keys with their previous values"() {
+        given:
+        def firstConfig = ConfigFactory.parseMap([a: [b: 1, c: 2], x: "y", removed: "r"])
+        def updatedConfig = ConfigFactory.parseMap([a: [b: 1, c: 3], x: "y", added: "z"])
+        reloadable.set(firstConfig)
+
+        and:
+        def appEnv = Mock(Environment)
+        def refresher = newRefresher()
+
+        when: "assign new config"
+        reloadable.set(updatedConfig)
+
+        then: "environment should be refreshed, because some properties disappeared"
+        appCtx.getEnvironment() >> appEnv
+        0 * appEnv.refreshAndDiff()
+        1 * appEnv.refresh()
 
-        1 * appCtx.publishEvent({ it instanceof RefreshEvent })
+        1 * appCtx.publishEvent({
+            it instanceof RefreshEvent && it.getSource() == ['a.c': 2, added: "z", removed: "r"]
+        })
 
         refresher != null
     }
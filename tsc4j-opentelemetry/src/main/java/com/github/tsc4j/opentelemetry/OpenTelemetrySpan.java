@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.opentelemetry;
+
+import com.github.tsc4j.core.Tsc4jSpan;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Scope;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link Tsc4jSpan} backed by OpenTelemetry {@link Span}.
+ */
+final class OpenTelemetrySpan implements Tsc4jSpan {
+    private final OpenTelemetryTsc4jTracer tracer;
+    private final Span span;
+    private final Thread thread;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Scope in which span is current, null if span is not owned by this instance or if it has been detached; it's
+     * accessed only by the thread that started the span.
+     */
+    private Scope scope;
+
+    /**
+     * Creates new instance.
+     *
+     * @param tracer tracer that created the span
+     * @param span   opentelemetry span
+     * @param scope  scope in which span is current, null if span is not owned by this instance, in which case span is
+     *               not ended on {@link #close()}.
+     */
+    OpenTelemetrySpan(OpenTelemetryTsc4jTracer tracer, Span span, Scope scope) {
+        this.tracer = tracer;
+        this.span = span;
+        this.thread = Thread.currentThread();
+        this.scope = scope;
+        if (scope == null) {
+            closed.set(true);
+        }
+    }
+
+    @Override
+    public boolean isRecording() {
+        return span.isRecording();
+    }
+
+    @Override
+    public Tsc4jSpan setAttribute(String key, long value) {
+        span.setAttribute(tracer.attributeName(key), value);
+        return this;
+    }
+
+    @Override
+    public Tsc4jSpan setAttribute(String key, String value) {
+        if (value != null) {
+            span.setAttribute(tracer.attributeName(key), value);
+        }
+        return this;
+    }
+
+    @Override
+    public Tsc4jSpan setAttribute(String key, boolean value) {
+        span.setAttribute(tracer.attributeName(key), value);
+        return this;
+    }
+
+    @Override
+    public Tsc4jSpan setError(Throwable error) {
+        if (error != null) {
+            span.recordException(error);
+            span.setStatus(StatusCode.ERROR, error.getClass().getName());
+        } else {
+            span.setStatus(StatusCode.ERROR);
+        }
+        return this;
+    }
+
+    @Override
+    public Tsc4jSpan detach() {
+        if (Thread.currentThread() == thread && scope != null) {
+            scope.close();
+            scope = null;
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            detach();
+            span.end();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + span + ")";
+    }
+}
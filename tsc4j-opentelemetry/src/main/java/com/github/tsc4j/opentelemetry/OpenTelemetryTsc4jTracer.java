@@ -0,0 +1,179 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.opentelemetry;
+
+import com.github.tsc4j.core.Tsc4jImplUtils;
+import com.github.tsc4j.core.Tsc4jSpan;
+import com.github.tsc4j.core.Tsc4jStage;
+import com.github.tsc4j.core.Tsc4jTracer;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import lombok.NonNull;
+import lombok.val;
+
+import java.io.Closeable;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link Tsc4jTracer} that creates OpenTelemetry spans for configuration refresh pipeline stages.
+ * <p>
+ * Spans are named {@code tsc4j.<stage>}, for example {@code tsc4j.refresh} or {@code tsc4j.source.fetch}; stage name
+ * is recorded as {@value #NAME_ATTRIBUTE} attribute, other attributes are prefixed with {@value #PREFIX}. Refresh
+ * span is a parent of source fetch, merge, resolve, transform and update consumer spans, value provider fetch spans
+ * are children of transform spans. Spans created by instrumented libraries (for example AWS SDK requests) while
+ * stage is running become it's children.
+ * <p>
+ * Tracer is not registered automatically:
+ * <pre>
+ * {@code
+ * OpenTelemetryTsc4jTracer tracer = OpenTelemetryTsc4jTracer.register(openTelemetry);
+ * // ...
+ * tracer.close();
+ * }
+ * </pre>
+ */
+public final class OpenTelemetryTsc4jTracer implements Tsc4jTracer, Closeable {
+    /**
+     * Instrumentation scope name (value: <b>{@value}</b>)
+     */
+    public static final String INSTRUMENTATION_NAME = "com.github.tsc4j";
+
+    /**
+     * Span name and attribute name prefix (value: <b>{@value}</b>)
+     */
+    public static final String PREFIX = "tsc4j.";
+
+    /**
+     * Stage name attribute (value: <b>{@value}</b>)
+     */
+    public static final String NAME_ATTRIBUTE = PREFIX + "name";
+
+    private final Tracer tracer;
+
+    /**
+     * Span names indexed by {@link Tsc4jStage#ordinal()}.
+     */
+    private final String[] spanNames;
+
+    /**
+     * Prefixed attribute names.
+     */
+    private final Map<String, String> attributeNames = new ConcurrentHashMap<>();
+
+    /**
+     * Creates new instance.
+     *
+     * @param openTelemetry opentelemetry instance
+     */
+    public OpenTelemetryTsc4jTracer(@NonNull OpenTelemetry openTelemetry) {
+        this(openTelemetry.getTracer(INSTRUMENTATION_NAME));
+    }
+
+    /**
+     * Creates new instance.
+     *
+     * @param tracer opentelemetry tracer
+     */
+    public OpenTelemetryTsc4jTracer(@NonNull Tracer tracer) {
+        this.tracer = tracer;
+
+        val stages = Tsc4jStage.values();
+        this.spanNames = new String[stages.length];
+        for (val stage : stages) {
+            spanNames[stage.ordinal()] = spanName(stage);
+        }
+    }
+
+    /**
+     * Creates new instance and registers it using {@link Tsc4jImplUtils#registerTracer(Tsc4jTracer)}.
+     *
+     * @param openTelemetry opentelemetry instance
+     * @return registered tracer, unregistered when closed.
+     */
+    public static OpenTelemetryTsc4jTracer register(@NonNull OpenTelemetry openTelemetry) {
+        val tracer = new OpenTelemetryTsc4jTracer(openTelemetry);
+        Tsc4jImplUtils.registerTracer(tracer);
+        return tracer;
+    }
+
+    /**
+     * Returns span name for given stage.
+     *
+     * @param stage pipeline stage
+     * @return span name
+     */
+    static String spanName(@NonNull Tsc4jStage stage) {
+        return PREFIX + stage.name().toLowerCase(Locale.ENGLISH).replace('_', '.');
+    }
+
+    @Override
+    public Tsc4jSpan start(@NonNull Tsc4jStage stage, String name) {
+        val builder = tracer.spanBuilder(spanNames[stage.ordinal()]).setSpanKind(SpanKind.INTERNAL);
+        if (name != null) {
+            builder.setAttribute(NAME_ATTRIBUTE, name);
+        }
+        val span = builder.startSpan();
+        return new OpenTelemetrySpan(this, span, span.makeCurrent());
+    }
+
+    @Override
+    public Tsc4jSpan current() {
+        val span = Span.current();
+        return span.isRecording() ? new OpenTelemetrySpan(this, span, null) : Tsc4jSpan.NOOP;
+    }
+
+    @Override
+    public Runnable wrap(@NonNull Runnable task) {
+        return Context.current().wrap(task);
+    }
+
+    @Override
+    public <T> Callable<T> wrap(@NonNull Callable<T> task) {
+        return Context.current().wrap(task);
+    }
+
+    /**
+     * Returns prefixed attribute name.
+     *
+     * @param key attribute key
+     * @return attribute name
+     */
+    String attributeName(String key) {
+        return attributeNames.computeIfAbsent(key, it -> PREFIX + it);
+    }
+
+    /**
+     * Unregisters tracer.
+     *
+     * @see Tsc4jImplUtils#unregisterTracer(Tsc4jTracer)
+     */
+    @Override
+    public void close() {
+        Tsc4jImplUtils.unregisterTracer(this);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "(" + tracer + ")";
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2017 - 2022 tsc4j project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.tsc4j.opentelemetry
+
+import com.github.tsc4j.core.AggConfigSource
+import com.github.tsc4j.core.CachedConfigSource
+import com.github.tsc4j.core.ConfigQuery
+import com.github.tsc4j.core.ConfigSource
+import com.github.tsc4j.core.Tsc4jImplUtils
+import com.github.tsc4j.core.Tsc4jSpan
+import com.github.tsc4j.core.Tsc4jStage
+import com.github.tsc4j.core.impl.DefaultReloadableConfig
+import com.typesafe.config.ConfigFactory
+import io.opentelemetry.api.common.AttributeKey
+import io.opentelemetry.api.trace.StatusCode
+import io.opentelemetry.sdk.OpenTelemetrySdk
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter
+import io.opentelemetry.sdk.trace.SdkTracerProvider
+import io.opentelemetry.sdk.trace.data.SpanData
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Duration
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.function.Supplier
+
+@Unroll
+class OpenTelemetryTsc4jTracerSpec extends Specification {
+    def exporter = InMemorySpanExporter.create()
+    def tracerProvider = SdkTracerProvider.builder()
+                                          .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                                          .build()
+    def openTelemetry = OpenTelemetrySdk.builder().setTracerProvider(tracerProvider).build()
+
+    OpenTelemetryTsc4jTracer tracer
+
+    def setup() {
+        tracer = OpenTelemetryTsc4jTracer.register(openTelemetry)
+    }
+
+    def cleanup() {
+        tracer.close()
+        tracerProvider.close()
+    }
+
+    def "spanName() should return expected name for #stage"() {
+        expect:
+        OpenTelemetryTsc4jTracer.spanName(stage) == expected
+
+        where:
+        stage                           | expected
+        Tsc4jStage.REFRESH              | "tsc4j.refresh"
+        Tsc4jStage.SOURCE_FETCH         | "tsc4j.source.fetch"
+        Tsc4jStage.VALUE_PROVIDER_FETCH | "tsc4j.value.provider.fetch"
+    }
+
+    def "register() should register tracer and close() should unregister it"() {
+        expect:
+        !Tsc4jImplUtils.registerTracer(tracer)
+
+        when:
+        tracer.close()
+
+        then:
+        Tsc4jImplUtils.registerTracer(tracer)
+    }
+
+    def "started span should record name and attributes"() {
+        when:
+        def span = tracer.start(Tsc4jStage.SOURCE_FETCH, "foo")
+        def recording = span.isRecording()
+        span.setAttribute(Tsc4jSpan.PATHS, 3)
+            .setAttribute(Tsc4jSpan.CONSUMER, "bar")
+            .setAttribute(Tsc4jSpan.CACHE_HIT, true)
+        span.close()
+        span.close()
+
+        then:
+        recording
+
+        def spans = exporter.getFinishedSpanItems()
+        spans.size() == 1
+
+        def data = spans[0]
+        data.getName() == "tsc4j.source.fetch"
+        data.getStatus().getStatusCode() == StatusCode.UNSET
+        data.getAttributes().get(AttributeKey.stringKey("tsc4j.name")) == "foo"
+        data.getAttributes().get(AttributeKey.longKey("tsc4j.paths")) == 3
+        data.getAttributes().get(AttributeKey.stringKey("tsc4j.consumer")) == "bar"
+        data.getAttributes().get(AttributeKey.booleanKey("tsc4j.cache-hit")) == true
+    }
+
+    def "failed span should record exception"() {
+        given:
+        def exception = new IllegalStateException("boom")
+
+        when:
+        def span = tracer.start(Tsc4jStage.TRANSFORM, "foo")
+        span.setError(exception)
+        span.close()
+
+        then:
+        def data = exporter.getFinishedSpanItems()[0]
+        data.getStatus().getStatusCode() == StatusCode.ERROR
+        data.getEvents().size() == 1
+        data.getEvents()[0].getName() == "exception"
+    }
+
+    def "spans should be nested while parent span is current"() {
+        when:
+        def parent = tracer.start(Tsc4jStage.REFRESH, "parent")
+        def child = tracer.start(Tsc4jStage.SOURCE_FETCH, "child")
+        tracer.current().setAttribute(Tsc4jSpan.CACHE_HIT, false)
+        child.close()
+        parent.close()
+
+        def sibling = tracer.start(Tsc4jStage.MERGE, "sibling")
+        sibling.close()
+
+        then:
+        def parentData = findSpan("tsc4j.refresh")
+        def childData = findSpan("tsc4j.source.fetch")
+        def siblingData = findSpan("tsc4j.merge")
+
+        !parentData.getParentSpanContext().isValid()
+        childData.getParentSpanId() == parentData.getSpanId()
+        childData.getAttributes().get(AttributeKey.booleanKey("tsc4j.cache-hit")) == false
+        !siblingData.getParentSpanContext().isValid()
+    }
+
+    def "current() should return noop span if there is no current span"() {
+        expect:
+        tracer.current().is(Tsc4jSpan.NOOP)
+    }
+
+    def "wrapped tasks should propagate context to other threads"() {
+        given:
+        def executor = Executors.newSingleThreadExecutor()
+
+        when:
+        def parent = tracer.start(Tsc4jStage.REFRESH, "parent")
+        def task = Tsc4jImplUtils.tracer().wrap({ tracer.start(Tsc4jStage.MERGE, "child").close() } as Callable)
+        parent.detach()
+
+        then:
+        tracer.current().is(Tsc4jSpan.NOOP)
+
+        when:
+        executor.submit(task).get()
+        executor.submit({ parent.close() } as Runnable).get()
+
+        then:
+        findSpan("tsc4j.merge").getParentSpanId() == findSpan("tsc4j.refresh").getSpanId()
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "config refresh should create span hierarchy"() {
+        given:
+        def source = Mock(ConfigSource)
+        source.get(_) >> ConfigFactory.parseMap([foo: "bar"])
+        source.toString() >> "my-source"
+
+        def cachedSource = new CachedConfigSource(source, Duration.ofMinutes(1))
+        def aggSource = AggConfigSource.builder().source(cachedSource).build()
+        def query = ConfigQuery.builder().appName("app").build()
+
+        def reloadableConfig = DefaultReloadableConfig.builder()
+                                                      .configSupplier({ aggSource.get(query) } as Supplier)
+                                                      .refreshInterval(Duration.ZERO)
+                                                      .build()
+        def reloadable = reloadableConfig.register("foo", String)
+        reloadable.register({ })
+
+        when:
+        reloadableConfig.refresh().toCompletableFuture().get()
+
+        then:
+        reloadable.get() == "bar"
+
+        def refresh = findSpan("tsc4j.refresh")
+        refresh.getAttributes().get(AttributeKey.stringKey("tsc4j.name")).startsWith("DefaultReloadableConfig-")
+
+        def fetch = findSpan("tsc4j.source.fetch")
+        fetch.getParentSpanId() == refresh.getSpanId()
+        fetch.getAttributes().get(AttributeKey.stringKey("tsc4j.name")) == cachedSource.toString()
+        fetch.getAttributes().get(AttributeKey.booleanKey("tsc4j.cache-hit")) == false
+
+        findSpan("tsc4j.merge").getParentSpanId() == refresh.getSpanId()
+        findSpan("tsc4j.resolve").getParentSpanId() == refresh.getSpanId()
+        findSpan("tsc4j.consumer").getTraceId() == refresh.getTraceId()
+
+        when:
+        exporter.reset()
+        reloadableConfig.refresh().toCompletableFuture().get()
+
+        then:
+        findSpan("tsc4j.source.fetch").getAttributes().get(AttributeKey.booleanKey("tsc4j.cache-hit")) == true
+
+        cleanup:
+        reloadableConfig?.close()
+    }
+
+    SpanData findSpan(String name) {
+        def spans = exporter.getFinishedSpanItems().findAll { it.getName() == name }
+        assert spans.size() == 1
+        spans[0]
+    }
+}